@@ -241,5 +241,9 @@ public class Scene implements Disposable {
             skybox.dispose();
         }
         modelCacheManager.dispose();
+
+        if (sceneRenderer instanceof Disposable) {
+            ((Disposable) sceneRenderer).dispose();
+        }
     }
 }
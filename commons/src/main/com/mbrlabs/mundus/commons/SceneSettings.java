@@ -1,5 +1,6 @@
 package com.mbrlabs.mundus.commons;
 
+import com.mbrlabs.mundus.commons.lod.TerrainLevelOfDetailManager;
 import com.mbrlabs.mundus.commons.water.WaterResolution;
 
 /**
@@ -18,4 +19,10 @@ public class SceneSettings {
 
     // Performance
     public boolean useFrustumCulling = true;
+    /** Culls with a spatial index of the scene graph instead of testing every object, for large scenes */
+    public boolean useSpatialIndex = false;
+    /** Renders model components sharing a model and materials instanced, requires GL 3.0 */
+    public boolean useInstancing = false;
+    /** Maximum geometric error of terrain LoD levels on screen in pixels, larger values use coarser levels */
+    public float terrainLodPixelError = TerrainLevelOfDetailManager.DEFAULT_PIXEL_ERROR;
 }
@@ -15,8 +15,10 @@
  */
 package com.mbrlabs.mundus.commons.assets;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Mesh;
 import com.badlogic.gdx.graphics.g3d.Attribute;
 import com.badlogic.gdx.graphics.g3d.Material;
 import com.badlogic.gdx.graphics.g3d.Model;
@@ -26,6 +28,9 @@ import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.UBJsonReader;
 import com.mbrlabs.mundus.commons.assets.meta.Meta;
 import com.mbrlabs.mundus.commons.assets.meta.MetaModel;
+import com.mbrlabs.mundus.commons.dto.LevelOfDetailDTO;
+import com.mbrlabs.mundus.commons.lod.ModelLodFormat;
+import com.mbrlabs.mundus.commons.terrain.LodLevel;
 import com.mbrlabs.mundus.commons.g3d.MG3dModelLoader;
 import com.mbrlabs.mundus.commons.utils.FileFormatUtils;
 import com.mbrlabs.mundus.commons.utils.ModelUtils;
@@ -34,6 +39,7 @@ import net.mgsx.gltf.loaders.gltf.GLTFLoader;
 import net.mgsx.gltf.scene3d.scene.SceneAsset;
 import org.w3c.dom.Attr;
 
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -44,6 +50,8 @@ import static net.mgsx.gltf.scene3d.attributes.PBRTextureAttribute.*;
  * @version 01-10-2016
  */
 public class ModelAsset extends Asset {
+    private static final String TAG = ModelAsset.class.getSimpleName();
+
     protected static long TextureAttributeMask = Diffuse | Specular | Bump | Normal | Ambient | Emissive | Reflection | MetallicRoughnessTexture
             | OcclusionTexture | BaseColorTexture | NormalTexture | EmissiveTexture | BRDFLUTTexture;
 
@@ -52,6 +60,10 @@ public class ModelAsset extends Asset {
     private final Map<String, MaterialAsset> defaultMaterials;
     private final Array<Material> initialModelMaterials; // The initial materials for the model, before mundus modifies them
 
+    private LodLevel[] lodLevels;
+    private float[] lodScreenSizes;
+    private int lodVersion;
+
     public ModelAsset(Meta meta, FileHandle assetFile) {
         super(meta, assetFile);
         defaultMaterials = new HashMap<>();
@@ -84,6 +96,7 @@ public class ModelAsset extends Asset {
 
         copyMaterials();
         updateBoneCount();
+        loadLodLevels();
      }
 
     @Override
@@ -99,6 +112,7 @@ public class ModelAsset extends Asset {
 
         copyMaterials();
         updateBoneCount();
+        loadLodLevels();
     }
 
     @Override
@@ -125,6 +139,7 @@ public class ModelAsset extends Asset {
 
     @Override
     public void dispose() {
+        setLodLevels(null, null);
         if (model != null) {
             model.dispose();
         }
@@ -165,6 +180,140 @@ public class ModelAsset extends Asset {
         return false;
     }
 
+    /**
+     * Returns true if the model has a LoD level for the given int.
+     * @param lodLevel the integer lod level to check
+     * @return true if the model has a LoD level for the given int
+     */
+    public boolean hasLoD(int lodLevel) {
+        return lodLevels != null && lodLevel >= 0 && lodLevel < lodLevels.length;
+    }
+
+    /**
+     * Returns the LodLevel for the given int. Level 0 holds the meshes of the model.
+     * @param lodLevel the integer lod level to get
+     * @return the lod level
+     */
+    public LodLevel getLod(int lodLevel) {
+        // if lodLevel is out of bounds, return the last lod
+        if (lodLevel < 0 || lodLevel >= lodLevels.length)
+            return lodLevels[lodLevels.length - 1];
+
+        return lodLevels[lodLevel];
+    }
+
+    /**
+     * Returns all lod levels for this model, including the base level. May return null if this model does not use lod.
+     * @return all lod levels for this model or null if this model does not use lod
+     */
+    public LodLevel[] getLodLevels() {
+        return lodLevels;
+    }
+
+    /**
+     * Returns the screen sizes of the lod levels after the base level, as fraction of the screen height below which
+     * the level is used. May return null if this model does not use lod.
+     */
+    public float[] getLodScreenSizes() {
+        return lodScreenSizes;
+    }
+
+    /**
+     * Is this model currently using lod?
+     * @return true if this model is using lod
+     */
+    public boolean isUsingLod() {
+        return lodLevels != null;
+    }
+
+    /**
+     * Incremented whenever the lod levels change, so users of the meshes know to update them.
+     */
+    public int getLodVersion() {
+        return lodVersion;
+    }
+
+    /**
+     * Sets the lod levels for this model asset. Sending null will dispose the current lod levels
+     * and disable lod for this model.
+     * @param lodLevels the lod levels including the base level, or null to disable lod
+     * @param screenSizes the screen size of each level after the base level
+     */
+    public void setLodLevels(LodLevel[] lodLevels, float[] screenSizes) {
+        if (lodLevels != null && (screenSizes == null || screenSizes.length != lodLevels.length - 1)) {
+            throw new IllegalArgumentException("Need one screen size per lod level after the base level");
+        }
+
+        if (this.lodLevels != null) {
+            // The base level holds the meshes of the model
+            for (int i = 1; i < this.lodLevels.length; i++) {
+                for (Mesh mesh : this.lodLevels[i].getLodMesh()) {
+                    mesh.dispose();
+                }
+            }
+        }
+
+        this.lodLevels = lodLevels;
+        this.lodScreenSizes = screenSizes;
+        lodVersion++;
+    }
+
+    /**
+     * @return the file next to the model file holding its lod levels, see {@link ModelLodFormat}
+     */
+    public FileHandle getLodFile() {
+        return file.sibling(file.name() + "." + ModelLodFormat.EXTENSION);
+    }
+
+    /**
+     * Creates the lod levels from the given data, the meshes use the vertex attributes of the model meshes.
+     * @param screenSizes the screen size of each level after the base level
+     * @param lods the vertices and indices of each level after the base level, one entry per model mesh
+     */
+    public void createLodLevels(float[] screenSizes, LevelOfDetailDTO[] lods) {
+        LodLevel[] levels = new LodLevel[lods.length + 1]; // +1 for base level
+        levels[0] = new LodLevel(model.meshes.toArray(Mesh.class));
+
+        for (int i = 0; i < lods.length; i++) {
+            Mesh[] lodMeshes = new Mesh[model.meshes.size];
+            for (int j = 0; j < lodMeshes.length; j++) {
+                Mesh baseMesh = model.meshes.get(j);
+                float[] vertices = lods[i].getVertices()[j];
+                short[] indices = lods[i].getIndices()[j];
+
+                int vertexCount = vertices.length / (baseMesh.getVertexSize() / 4);
+                Mesh mesh = new Mesh(true, vertexCount, indices.length, baseMesh.getVertexAttributes());
+                mesh.setVertices(vertices);
+                mesh.setIndices(indices);
+                lodMeshes[j] = mesh;
+            }
+            levels[i + 1] = new LodLevel(lodMeshes);
+        }
+
+        setLodLevels(levels, screenSizes);
+    }
+
+    private void loadLodLevels() {
+        FileHandle lodFile = getLodFile();
+        if (!lodFile.exists()) return;
+
+        ModelLodFormat.Result result = ModelLodFormat.read(ByteBuffer.wrap(lodFile.readBytes()));
+        if (result == null) {
+            Gdx.app.error(TAG, "Unsupported lod file " + lodFile.name());
+            return;
+        }
+
+        // The model may have been replaced after generating its lods
+        for (LevelOfDetailDTO lod : result.lods) {
+            if (lod.getVertices().length != model.meshes.size) {
+                Gdx.app.error(TAG, "Ignoring outdated lod file " + lodFile.name());
+                return;
+            }
+        }
+
+        createLodLevels(result.screenSizes, result.lods);
+    }
+
     /**
      * Copy materials of the model before mundus has modified them
      */
@@ -25,7 +25,9 @@ import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.mbrlabs.mundus.commons.assets.meta.Meta;
 import com.mbrlabs.mundus.commons.dto.LevelOfDetailDTO;
+import com.mbrlabs.mundus.commons.lod.TerrainLodMorph;
 import com.mbrlabs.mundus.commons.terrain.LodLevel;
+import com.mbrlabs.mundus.commons.terrain.PlaneMesh;
 import com.mbrlabs.mundus.commons.terrain.SplatMap;
 import com.mbrlabs.mundus.commons.terrain.SplatTexture;
 import com.mbrlabs.mundus.commons.terrain.Terrain;
@@ -40,6 +42,9 @@ import java.util.Map;
  */
 public class TerrainAsset extends Asset {
 
+    /** Floats per vertex of LoD data saved without its vertex size: position, normal, tangent and uv */
+    private static final int LEGACY_LOD_VERTEX_SIZE = 12;
+
     private float[] data;
     private boolean useLod = false;
     private LodLevel[] lodLevels;
@@ -312,6 +317,11 @@ public class TerrainAsset extends Asset {
 
         useLod = lodLevels != null;
         this.lodLevels = lodLevels;
+
+        if (lodLevels == null && terrain != null && terrain.getPlaneMesh() != null) {
+            terrain.getPlaneMesh().setLodMorphTargets(null);
+            terrain.getPlaneMesh().updateMeshVertices();
+        }
     }
 
     /**
@@ -324,7 +334,8 @@ public class TerrainAsset extends Asset {
 
     private void loadLodLevels() {
         LevelOfDetailDTO[] loDDTOs = terrain.getLoDDTOs();
-        if (loDDTOs == null) return;
+        // Quadtree terrains select their detail per node
+        if (loDDTOs == null || terrain.usesQuadTree()) return;
 
         lodLevels = new LodLevel[loDDTOs.length + 1]; // +1 for base level
 
@@ -333,6 +344,32 @@ public class TerrainAsset extends Asset {
             meshes[i] = terrain.getModel().meshes.get(i);
         }
         lodLevels[0] = new LodLevel(meshes);
+        lodLevels[0].setGeometricError(0f);
+
+        // LoD data saved before the morph attribute was added lacks the trailing floats
+        final PlaneMesh planeMesh = terrain.getPlaneMesh();
+        final int stride = planeMesh.getStride();
+        final int morphOffset = planeMesh.getLodMorphOffset();
+        for (LevelOfDetailDTO dto : loDDTOs) {
+            final int vertexSize = dto.getVertexSize() > 0 ? dto.getVertexSize() : LEGACY_LOD_VERTEX_SIZE;
+            for (int j = 0; j < dto.getVertices().length; j++) {
+                dto.getVertices()[j] = TerrainLodMorph.expandVertices(dto.getVertices()[j], vertexSize, stride, planeMesh.getPositionOffset());
+            }
+        }
+
+        // The morph targets of the terrain mesh are not saved, they are derived from the first level
+        if (morphOffset >= 0 && meshes.length == 1) {
+            float[][] vertices = new float[loDDTOs.length][];
+            short[][] indices = new short[loDDTOs.length][];
+            for (int i = 0; i < loDDTOs.length; i++) {
+                vertices[i] = loDDTOs[i].getVertices()[0];
+                indices[i] = loDDTOs[i].getIndices()[0];
+            }
+            float[] baseTargets = TerrainLodMorph.apply(terrain.vertexResolution, terrain.terrainWidth, terrain.terrainDepth,
+                    stride, planeMesh.getPositionOffset(), morphOffset, vertices, indices);
+            planeMesh.setLodMorphTargets(baseTargets);
+            planeMesh.updateMeshVertices();
+        }
 
         // instantiate meshes for each lod level
         for (int i = 0; i < loDDTOs.length; i++) {
@@ -345,6 +382,7 @@ public class TerrainAsset extends Asset {
                 lodMeshes[j] = mesh;
             }
             lodLevels[i + 1] = new LodLevel(lodMeshes);
+            lodLevels[i + 1].setGeometricError(loDDTOs[i].getGeometricError());
             useLod = true;
         }
 
@@ -14,6 +14,12 @@ public class LevelOfDetailDTO {
     // [Mesh][Indices]
     private final short[][] indices;
 
+    // Floats per vertex, 0 if unknown (written before the size was saved)
+    private int vertexSize = 0;
+
+    // Maximum deviation from the base level in local units, negative if unknown
+    private float geometricError = -1f;
+
     public LevelOfDetailDTO(float[][] vertices, short[][] indices) {
         this.vertices = vertices;
         this.indices = indices;
@@ -26,4 +32,20 @@ public class LevelOfDetailDTO {
     public short[][] getIndices() {
         return indices;
     }
+
+    public int getVertexSize() {
+        return vertexSize;
+    }
+
+    public void setVertexSize(int vertexSize) {
+        this.vertexSize = vertexSize;
+    }
+
+    public float getGeometricError() {
+        return geometricError;
+    }
+
+    public void setGeometricError(float geometricError) {
+        this.geometricError = geometricError;
+    }
 }
@@ -19,6 +19,7 @@ package com.mbrlabs.mundus.commons.dto;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Json;
 import com.badlogic.gdx.utils.JsonValue;
+import com.mbrlabs.mundus.commons.lod.TerrainLevelOfDetailManager;
 import com.mbrlabs.mundus.commons.shadows.ShadowResolution;
 import com.mbrlabs.mundus.commons.water.WaterResolution;
 
@@ -46,6 +47,9 @@ public class SceneDTO implements Json.Serializable {
     private float camFieldOfView;
     private float waterHeight;
     private boolean useFrustumCulling;
+    private boolean useSpatialIndex;
+    private boolean useInstancing;
+    private float terrainLodPixelError = TerrainLevelOfDetailManager.DEFAULT_PIXEL_ERROR;
     private boolean enableWaterReflections = true;
     private boolean enableWaterRefractions = true;
     private WaterResolution waterResolution;
@@ -198,6 +202,30 @@ public class SceneDTO implements Json.Serializable {
         this.useFrustumCulling = useFrustumCulling;
     }
 
+    public boolean isUseSpatialIndex() {
+        return useSpatialIndex;
+    }
+
+    public void setUseSpatialIndex(boolean useSpatialIndex) {
+        this.useSpatialIndex = useSpatialIndex;
+    }
+
+    public boolean isUseInstancing() {
+        return useInstancing;
+    }
+
+    public void setUseInstancing(boolean useInstancing) {
+        this.useInstancing = useInstancing;
+    }
+
+    public float getTerrainLodPixelError() {
+        return terrainLodPixelError;
+    }
+
+    public void setTerrainLodPixelError(float terrainLodPixelError) {
+        this.terrainLodPixelError = terrainLodPixelError;
+    }
+
     public void setSkyboxAssetId(String skyboxAssetId) {
         this.skyboxAssetId = skyboxAssetId;
     }
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2026. See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mbrlabs.mundus.commons.g3d;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.graphics.glutils.VertexData;
+import com.badlogic.gdx.utils.BufferUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * A vertex buffer object like libGDX's VertexBufferObject, except that {@link #updateVertices(int, float[], int, int)}
+ * only uploads the modified range with glBufferSubData instead of re-uploading the whole buffer. Used for meshes
+ * that are modified in small regions at a time, like terrains while sculpting.
+ * <p>
+ * Uses a vertex array object when GL30 is available, as required by core profiles.
+ *
+ * @version October 18, 2026
+ */
+public class PartialVertexBufferObject implements VertexData {
+    private static final IntBuffer tmpHandle = BufferUtils.newIntBuffer(1);
+
+    private final VertexAttributes attributes;
+    private final FloatBuffer buffer;
+    private final ByteBuffer byteBuffer;
+    private final int usage;
+    private int bufferHandle;
+    private int vaoHandle = -1;
+    private boolean isBound = false;
+
+    // Pending upload, in bytes
+    private boolean uploadAll = true;
+    private int dirtyStart = Integer.MAX_VALUE;
+    private int dirtyEnd = Integer.MIN_VALUE;
+
+    public PartialVertexBufferObject(boolean isStatic, int numVertices, VertexAttributes attributes) {
+        this.attributes = attributes;
+        byteBuffer = BufferUtils.newUnsafeByteBuffer(attributes.vertexSize * numVertices);
+        buffer = byteBuffer.asFloatBuffer();
+        buffer.flip();
+        byteBuffer.flip();
+        bufferHandle = Gdx.gl20.glGenBuffer();
+        usage = isStatic ? GL20.GL_STATIC_DRAW : GL20.GL_DYNAMIC_DRAW;
+    }
+
+    @Override
+    public int getNumVertices() {
+        return buffer.limit() * 4 / attributes.vertexSize;
+    }
+
+    @Override
+    public int getNumMaxVertices() {
+        return byteBuffer.capacity() / attributes.vertexSize;
+    }
+
+    @Override
+    public VertexAttributes getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public void setVertices(float[] vertices, int offset, int count) {
+        BufferUtils.copy(vertices, byteBuffer, count, offset);
+        buffer.position(0);
+        buffer.limit(count);
+        uploadAll = true;
+        if (isBound) upload();
+    }
+
+    @Override
+    public void updateVertices(int targetOffset, float[] vertices, int sourceOffset, int count) {
+        final int pos = byteBuffer.position();
+        byteBuffer.position(targetOffset * 4);
+        BufferUtils.copy(vertices, sourceOffset, count, byteBuffer);
+        byteBuffer.position(pos);
+        buffer.position(0);
+
+        dirtyStart = Math.min(dirtyStart, targetOffset * 4);
+        dirtyEnd = Math.max(dirtyEnd, (targetOffset + count) * 4);
+        if (isBound) upload();
+    }
+
+    /** @deprecated use {@link #getBuffer(boolean)} instead */
+    @Deprecated
+    public FloatBuffer getBuffer() {
+        return getBuffer(true);
+    }
+
+    @Override
+    public FloatBuffer getBuffer(boolean forWriting) {
+        uploadAll |= forWriting;
+        return buffer;
+    }
+
+    private void upload() {
+        final GL20 gl = Gdx.gl20;
+        if (uploadAll) {
+            byteBuffer.limit(buffer.limit() * 4);
+            gl.glBufferData(GL20.GL_ARRAY_BUFFER, byteBuffer.limit(), byteBuffer, usage);
+        } else if (dirtyStart < dirtyEnd) {
+            final int limit = byteBuffer.limit();
+            byteBuffer.limit(dirtyEnd);
+            byteBuffer.position(dirtyStart);
+            gl.glBufferSubData(GL20.GL_ARRAY_BUFFER, dirtyStart, dirtyEnd - dirtyStart, byteBuffer);
+            byteBuffer.position(0);
+            byteBuffer.limit(limit);
+        }
+
+        uploadAll = false;
+        dirtyStart = Integer.MAX_VALUE;
+        dirtyEnd = Integer.MIN_VALUE;
+    }
+
+    @Override
+    public void bind(ShaderProgram shader) {
+        bind(shader, null);
+    }
+
+    @Override
+    public void bind(ShaderProgram shader, int[] locations) {
+        if (Gdx.gl30 != null) {
+            if (vaoHandle == -1) {
+                tmpHandle.clear();
+                Gdx.gl30.glGenVertexArrays(1, tmpHandle);
+                vaoHandle = tmpHandle.get();
+            }
+            Gdx.gl30.glBindVertexArray(vaoHandle);
+        }
+
+        final GL20 gl = Gdx.gl20;
+        gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
+        upload();
+
+        final int numAttributes = attributes.size();
+        for (int i = 0; i < numAttributes; i++) {
+            final VertexAttribute attribute = attributes.get(i);
+            final int location = locations == null ? shader.getAttributeLocation(attribute.alias) : locations[i];
+            if (location < 0) continue;
+
+            shader.enableVertexAttribute(location);
+            shader.setVertexAttribute(location, attribute.numComponents, attribute.type, attribute.normalized,
+                    attributes.vertexSize, attribute.offset);
+        }
+        isBound = true;
+    }
+
+    @Override
+    public void unbind(ShaderProgram shader) {
+        unbind(shader, null);
+    }
+
+    @Override
+    public void unbind(ShaderProgram shader, int[] locations) {
+        final int numAttributes = attributes.size();
+        for (int i = 0; i < numAttributes; i++) {
+            final int location = locations == null ? shader.getAttributeLocation(attributes.get(i).alias) : locations[i];
+            if (location >= 0) shader.disableVertexAttribute(location);
+        }
+
+        Gdx.gl20.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+        if (Gdx.gl30 != null && vaoHandle != -1) {
+            Gdx.gl30.glBindVertexArray(0);
+        }
+        isBound = false;
+    }
+
+    @Override
+    public void invalidate() {
+        bufferHandle = Gdx.gl20.glGenBuffer();
+        vaoHandle = -1;
+        uploadAll = true;
+    }
+
+    @Override
+    public void dispose() {
+        final GL20 gl = Gdx.gl20;
+        gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+        gl.glDeleteBuffer(bufferHandle);
+        bufferHandle = 0;
+
+        if (Gdx.gl30 != null && vaoHandle != -1) {
+            tmpHandle.clear();
+            tmpHandle.put(vaoHandle);
+            tmpHandle.flip();
+            Gdx.gl30.glDeleteVertexArrays(1, tmpHandle);
+            vaoHandle = -1;
+        }
+
+        BufferUtils.disposeUnsafeByteBuffer(byteBuffer);
+    }
+}
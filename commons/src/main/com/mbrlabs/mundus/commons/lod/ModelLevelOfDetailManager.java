@@ -0,0 +1,227 @@
+package com.mbrlabs.mundus.commons.lod;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.model.MeshPart;
+import com.badlogic.gdx.graphics.g3d.model.Node;
+import com.badlogic.gdx.graphics.g3d.model.NodePart;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.mbrlabs.mundus.commons.assets.ModelAsset;
+import com.mbrlabs.mundus.commons.scene3d.components.ModelComponent;
+import com.mbrlabs.mundus.commons.utils.Pools;
+
+/**
+ * Manages LoD levels for a model component by checking its projected size on screen. The levels and their screen
+ * sizes come from the model asset, see {@link ModelAsset#getLodLevels()}.
+ * <p>
+ * To avoid flickering between two levels at a threshold, a level is only left once the screen size crossed its
+ * threshold by the hysteresis factor. Mesh parts using only a range of their mesh keep the base mesh, as the
+ * simplified meshes do not preserve index ranges.
+ *
+ * @version October 18, 2026
+ */
+public class ModelLevelOfDetailManager implements LevelOfDetailManager {
+    /** Target index count of each generated level, relative to the base mesh */
+    public static final float[] DEFAULT_SIMPLIFICATION_FACTORS = {0.5f, 0.25f, 0.1f};
+    /** Screen height fraction below which each generated level is used */
+    public static final float[] DEFAULT_SCREEN_SIZES = {0.3f, 0.12f, 0.04f};
+    public static final float DEFAULT_HYSTERESIS = 0.15f;
+
+    private final ModelComponent mc;
+    private final Array<MeshPart> parts = new Array<>();
+    private final Array<MeshPart> baseParts = new Array<>();
+    private final IntArray meshIndices = new IntArray();
+    private ModelInstance capturedInstance;
+
+    private int currentLodIndex = 0;
+    private int lodVersion = -1;
+    private boolean lodDirty = false;
+    private boolean enabled = true;
+    private float hysteresis = DEFAULT_HYSTERESIS;
+
+    public ModelLevelOfDetailManager(ModelComponent modelComponent) {
+        this.mc = modelComponent;
+    }
+
+    @Override
+    public void update(float delta) {
+        if (!enabled) return;
+
+        final ModelAsset asset = mc.getModelAsset();
+        final ModelInstance instance = mc.getModelInstance();
+        if (instance == null) return;
+
+        if (asset == null || !asset.isUsingLod()) {
+            if (currentLodIndex != 0) setLoDLevel(0);
+            return;
+        }
+
+        // Levels were regenerated, the previous meshes are disposed, or the model instance was replaced
+        if (lodVersion != asset.getLodVersion() || instance != capturedInstance) {
+            lodVersion = asset.getLodVersion();
+            lodDirty = true;
+        }
+
+        int lodLevel;
+        if (mc.shouldCache()) {
+            // The model cache is built from the base meshes
+            lodLevel = 0;
+        } else {
+            if (mc.isCulled() && !lodDirty) return;
+            lodLevel = selectLevel(computeScreenSize(), asset.getLodScreenSizes(), currentLodIndex, hysteresis);
+        }
+
+        if (lodLevel != currentLodIndex || lodDirty) {
+            lodDirty = false;
+            setLoDLevel(lodLevel);
+        }
+    }
+
+    @Override
+    public void markDirty() {
+        lodDirty = true;
+    }
+
+    @Override
+    public void enable() {
+        if (enabled) return;
+        enabled = true;
+        lodDirty = true;
+    }
+
+    @Override
+    public void disable() {
+        if (!enabled) return;
+        enabled = false;
+        setLoDLevel(0);
+    }
+
+    /**
+     * @return the index of the level in use, 0 for the base level
+     */
+    public int getCurrentLevel() {
+        return currentLodIndex;
+    }
+
+    public float getHysteresis() {
+        return hysteresis;
+    }
+
+    /**
+     * @param hysteresis the factor by which the screen size must cross a threshold to leave the current level
+     */
+    public void setHysteresis(float hysteresis) {
+        this.hysteresis = hysteresis;
+    }
+
+    /**
+     * @return the diameter of the bounding sphere on screen, as fraction of the screen height
+     */
+    private float computeScreenSize() {
+        final Camera cam = mc.gameObject.sceneGraph.scene.cam;
+        final Vector3 center = Pools.vector3Pool.obtain();
+        center.set(mc.getCenter()).mul(mc.getModelInstance().transform);
+        final float distance = center.dst(cam.position);
+        Pools.vector3Pool.free(center);
+
+        return projectedSize(mc.getRadius(), distance, cam);
+    }
+
+    /**
+     * @return the diameter of a sphere on screen, as fraction of the screen height
+     */
+    static float projectedSize(float radius, float distance, Camera cam) {
+        if (cam instanceof PerspectiveCamera) {
+            if (distance <= radius) return Float.MAX_VALUE;
+            final float halfFov = ((PerspectiveCamera) cam).fieldOfView * 0.5f * MathUtils.degreesToRadians;
+            return radius / (distance * (float) Math.tan(halfFov));
+        }
+        // Orthographic cameras, the size does not depend on the distance
+        float height = cam.viewportHeight;
+        if (cam instanceof OrthographicCamera) height *= ((OrthographicCamera) cam).zoom;
+        return height > 0 ? radius * 2f / height : Float.MAX_VALUE;
+    }
+
+    /**
+     * Selects the level for a screen size.
+     *
+     * @param screenSize the projected size as fraction of the screen height
+     * @param screenSizes the thresholds of the levels after the base level, descending
+     * @param currentLevel the level in use
+     * @param hysteresis the factor by which a threshold must be crossed to leave the current level
+     * @return the level, 0 for the base level
+     */
+    public static int selectLevel(float screenSize, float[] screenSizes, int currentLevel, float hysteresis) {
+        int level = 0;
+        for (int i = 0; i < screenSizes.length; i++) {
+            // Coarser levels than i are only left once clearly above, finer ones only once clearly below
+            final float threshold = screenSizes[i] * (i < currentLevel ? 1f + hysteresis : 1f - hysteresis);
+            if (screenSize >= threshold) break;
+            level = i + 1;
+        }
+        return level;
+    }
+
+    private void setLoDLevel(int lodLevel) {
+        currentLodIndex = lodLevel;
+        final ModelInstance instance = mc.getModelInstance();
+        if (instance == null) return;
+        if (instance != capturedInstance) {
+            captureBaseParts(instance);
+        }
+
+        final ModelAsset asset = mc.getModelAsset();
+        final boolean useLod = lodLevel > 0 && asset != null && asset.hasLoD(lodLevel);
+
+        for (int i = 0; i < parts.size; i++) {
+            final MeshPart part = parts.get(i);
+            final MeshPart base = baseParts.get(i);
+            final int meshIndex = meshIndices.get(i);
+
+            Mesh lodMesh = null;
+            if (useLod && meshIndex >= 0 && base.offset == 0 && base.size == base.mesh.getNumIndices()) {
+                lodMesh = asset.getLod(lodLevel).getLodMesh()[meshIndex];
+            }
+
+            if (lodMesh == null || lodMesh.getNumIndices() == 0) {
+                part.set(base);
+            } else {
+                part.mesh = lodMesh;
+                part.offset = 0;
+                part.size = lodMesh.getNumIndices();
+            }
+        }
+    }
+
+    private void captureBaseParts(ModelInstance instance) {
+        // Restore the previous instance, it may still be rendered somewhere
+        for (int i = 0; i < parts.size; i++) {
+            parts.get(i).set(baseParts.get(i));
+        }
+        parts.clear();
+        baseParts.clear();
+        meshIndices.clear();
+        capturedInstance = instance;
+
+        for (Node node : instance.nodes) {
+            captureBaseParts(instance, node);
+        }
+    }
+
+    private void captureBaseParts(ModelInstance instance, Node node) {
+        for (NodePart nodePart : node.parts) {
+            parts.add(nodePart.meshPart);
+            baseParts.add(new MeshPart(nodePart.meshPart));
+            meshIndices.add(instance.model.meshes.indexOf(nodePart.meshPart.mesh, true));
+        }
+        for (Node child : node.getChildren()) {
+            captureBaseParts(instance, child);
+        }
+    }
+}
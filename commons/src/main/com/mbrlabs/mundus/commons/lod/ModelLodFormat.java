@@ -0,0 +1,83 @@
+package com.mbrlabs.mundus.commons.lod;
+
+import com.mbrlabs.mundus.commons.dto.LevelOfDetailDTO;
+import com.mbrlabs.mundus.commons.terrain.TerraFormat;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Binary layout of the .lod files stored next to model assets, holding the simplified meshes of each level of
+ * detail except the base level. Everything is little-endian.
+ * <pre>
+ * int magic, int version
+ * int levelCount, float[levelCount] screen sizes
+ * LoD levels in the layout of the {@link TerraFormat} LOD section
+ * </pre>
+ * The screen size of a level is the fraction of the screen height below which it is used.
+ *
+ * @version October 18, 2026
+ */
+public final class ModelLodFormat {
+    public static final String EXTENSION = "lod";
+
+    static final int MAGIC = 0x444F4C4D; // "MLOD"
+    static final int VERSION = 1;
+
+    private ModelLodFormat() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @return the exact number of bytes {@link #write(ByteBuffer, float[], LevelOfDetailDTO[])} will write
+     */
+    public static int computeSize(float[] screenSizes, LevelOfDetailDTO[] lods) {
+        return 12 + screenSizes.length * 4 + TerraFormat.lodPayloadSize(lods);
+    }
+
+    /**
+     * Writes the LoD levels to the buffer. The byte order of the buffer is changed to little-endian.
+     *
+     * @param buffer the buffer to write to, with at least {@link #computeSize} bytes remaining
+     * @param screenSizes the screen size of each level, same length as lods
+     * @param lods the LoD levels, excluding the base level
+     */
+    public static void write(ByteBuffer buffer, float[] screenSizes, LevelOfDetailDTO[] lods) {
+        if (screenSizes.length != lods.length) {
+            throw new IllegalArgumentException("Need one screen size per LoD level");
+        }
+
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(screenSizes.length);
+        for (float screenSize : screenSizes) {
+            buffer.putFloat(screenSize);
+        }
+        TerraFormat.writeLods(buffer, lods);
+    }
+
+    /**
+     * Reads a .lod file. The byte order of the buffer is changed to little-endian.
+     *
+     * @param buffer the file contents
+     * @return the read data or null if the buffer does not hold a supported .lod file
+     */
+    public static Result read(ByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < 12 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) return null;
+
+        Result result = new Result();
+        result.screenSizes = new float[buffer.getInt()];
+        for (int i = 0; i < result.screenSizes.length; i++) {
+            result.screenSizes[i] = buffer.getFloat();
+        }
+        result.lods = TerraFormat.readLods(buffer);
+        return result;
+    }
+
+    public static class Result {
+        public float[] screenSizes;
+        public LevelOfDetailDTO[] lods;
+    }
+}
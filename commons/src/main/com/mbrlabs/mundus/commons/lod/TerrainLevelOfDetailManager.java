@@ -1,26 +1,54 @@
 package com.mbrlabs.mundus.commons.lod;
 
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.graphics.g3d.Material;
 import com.badlogic.gdx.graphics.g3d.model.MeshPart;
 import com.badlogic.gdx.graphics.g3d.model.Node;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.math.collision.OrientedBoundingBox;
 import com.mbrlabs.mundus.commons.scene3d.components.TerrainComponent;
+import com.mbrlabs.mundus.commons.terrain.LodLevel;
 import com.mbrlabs.mundus.commons.terrain.Terrain;
+import com.mbrlabs.mundus.commons.terrain.attributes.TerrainLodMorphAttribute;
 import com.mbrlabs.mundus.commons.utils.Pools;
 
 /**
- * Manages LoD levels for a terrain component by checking distance from camera.
+ * Manages LoD levels for a terrain component by projecting the geometric error of each level to the screen. The
+ * coarsest level whose error stays within the pixel error budget of the scene is used.
+ * <p>
+ * A level is only left once its error crossed the budget by the hysteresis factor. Before switching to a coarser
+ * level the vertices are morphed towards its heights in the vertex shader, see {@link TerrainLodMorph}, so the
+ * switch itself does not change the surface. LoD levels without a known error, e.g. saved by older versions, fall
+ * back to selecting levels by distance.
  *
  * @author JamesTKhan
- * @version September 30, 2023
+ * @version October 18, 2026
  */
 public class TerrainLevelOfDetailManager implements LevelOfDetailManager {
-    private static final float UPDATE_INTERVAL = 0.5f;
+    /** Maximum geometric error on screen in pixels, see {@link com.mbrlabs.mundus.commons.SceneSettings#terrainLodPixelError} */
+    public static final float DEFAULT_PIXEL_ERROR = 4f;
+    private static final float MIN_PIXEL_ERROR = 0.1f;
+    public static final float DEFAULT_HYSTERESIS = 0.15f;
+    /** Morphing starts once the error of the coarser level is within this factor of its switch threshold */
+    public static final float DEFAULT_MORPH_RANGE = 1f;
+
+    private static final float DISTANCE_UPDATE_INTERVAL = 0.5f;
+
     private int currentLodIndex = 0;
     private boolean lodDirty = false;
     private boolean enabled = true;
     private final TerrainComponent tc;
     private float timeSinceLastUpdate = 0f;
 
+    private float hysteresis = DEFAULT_HYSTERESIS;
+    private float morphRange = DEFAULT_MORPH_RANGE;
+    private float[] levelErrors;
+    private TerrainLodMorphAttribute morphAttribute;
+
     public TerrainLevelOfDetailManager(TerrainComponent terrainComponent) {
         this.tc = terrainComponent;
     }
@@ -30,13 +58,51 @@ public class TerrainLevelOfDetailManager implements LevelOfDetailManager {
         if (!enabled || tc.isCulled()) return;
         timeSinceLastUpdate += delta;
 
-        if (tc.getTerrainAsset().getLodLevels() == null) {
+        final LodLevel[] lodLevels = tc.getTerrainAsset().getLodLevels();
+        if (lodLevels == null) {
             resetBaseMesh();
+            setMorph(0f);
             enabled = false;
             return;
         }
 
-        if (timeSinceLastUpdate < UPDATE_INTERVAL) return;
+        if (hasGeometricErrors(lodLevels)) {
+            updateScreenSpaceError(lodLevels);
+        } else {
+            updateDistance();
+        }
+    }
+
+    private void updateScreenSpaceError(LodLevel[] lodLevels) {
+        if (levelErrors == null || levelErrors.length != lodLevels.length - 1) {
+            levelErrors = new float[lodLevels.length - 1];
+        }
+        for (int i = 1; i < lodLevels.length; i++) {
+            levelErrors[i - 1] = lodLevels[i].getGeometricError();
+        }
+
+        final float pixelError = Math.max(MIN_PIXEL_ERROR, tc.gameObject.sceneGraph.scene.settings.terrainLodPixelError);
+        final float pixelsPerUnit = computePixelsPerUnit();
+        final int lodLevel = selectLevel(levelErrors, pixelsPerUnit, pixelError, currentLodIndex, hysteresis);
+
+        if (lodLevel != currentLodIndex || lodDirty) {
+            currentLodIndex = lodLevel;
+            lodDirty = false;
+            setLoDLevel(lodLevel);
+        }
+
+        float morph = 0f;
+        if (currentLodIndex < levelErrors.length) {
+            morph = computeMorph(levelErrors[currentLodIndex] * pixelsPerUnit, pixelError, hysteresis, morphRange);
+        }
+        setMorph(morph);
+    }
+
+    /**
+     * Selects levels by the distance to the terrain center, for LoD levels without known geometric errors.
+     */
+    private void updateDistance() {
+        if (timeSinceLastUpdate < DISTANCE_UPDATE_INTERVAL) return;
         timeSinceLastUpdate = 0f;
 
         Vector3 terrainCenter = Pools.vector3Pool.obtain();
@@ -62,6 +128,7 @@ public class TerrainLevelOfDetailManager implements LevelOfDetailManager {
             lodDirty = false;
             setLoDLevel(lodLevel);
         }
+        setMorph(0f);
 
         Pools.free(terrainCenter, cameraPosition, scale);
     }
@@ -89,6 +156,135 @@ public class TerrainLevelOfDetailManager implements LevelOfDetailManager {
         if (tc.getTerrainAsset().hasLoD(0)) {
             setLoDLevel(0);
         }
+        setMorph(0f);
+    }
+
+    /**
+     * @return the index of the level in use, 0 for the base level
+     */
+    public int getCurrentLevel() {
+        return currentLodIndex;
+    }
+
+    public float getHysteresis() {
+        return hysteresis;
+    }
+
+    /**
+     * @param hysteresis the factor by which the error must cross the budget to leave the current level
+     */
+    public void setHysteresis(float hysteresis) {
+        this.hysteresis = MathUtils.clamp(hysteresis, 0f, 0.9f);
+    }
+
+    public float getMorphRange() {
+        return morphRange;
+    }
+
+    /**
+     * @param morphRange how early morphing towards the coarser level starts, relative to the switch threshold.
+     *                   0 disables morphing.
+     */
+    public void setMorphRange(float morphRange) {
+        this.morphRange = Math.max(0f, morphRange);
+    }
+
+    /**
+     * @return the number of pixels one local unit of the terrain covers at its closest point to the camera
+     */
+    private float computePixelsPerUnit() {
+        final Camera cam = tc.gameObject.sceneGraph.scene.cam;
+        final Vector3 scale = Pools.vector3Pool.obtain();
+        tc.gameObject.getScale(scale);
+        final float maxScale = Math.max(Math.abs(scale.x), Math.max(Math.abs(scale.y), Math.abs(scale.z)));
+
+        // Closest point of the world bounds, the terrain surface can be much closer than its center
+        final BoundingBox bounds = Pools.boundingBoxPool.obtain();
+        final OrientedBoundingBox obb = tc.getOrientedBoundingBox();
+        bounds.set(obb.getBounds()).mul(obb.getTransform());
+        final Vector3 closest = Pools.vector3Pool.obtain().set(
+                MathUtils.clamp(cam.position.x, bounds.min.x, bounds.max.x),
+                MathUtils.clamp(cam.position.y, bounds.min.y, bounds.max.y),
+                MathUtils.clamp(cam.position.z, bounds.min.z, bounds.max.z));
+        final float distance = closest.dst(cam.position);
+        Pools.boundingBoxPool.free(bounds);
+        Pools.free(scale, closest);
+
+        // The viewport of the scene camera, which is not the whole window in the editor or with split screens
+        return maxScale * pixelsPerUnit(distance, cam, cam.viewportHeight);
+    }
+
+    /**
+     * @param distance the distance to the camera
+     * @param screenHeight the height of the viewport the camera renders to in pixels
+     * @return the number of pixels one world unit covers at the distance, infinite inside the near plane
+     */
+    static float pixelsPerUnit(float distance, Camera cam, float screenHeight) {
+        if (cam instanceof PerspectiveCamera) {
+            if (distance <= cam.near) return Float.POSITIVE_INFINITY;
+            final float halfFov = ((PerspectiveCamera) cam).fieldOfView * 0.5f * MathUtils.degreesToRadians;
+            return screenHeight / (2f * distance * (float) Math.tan(halfFov));
+        }
+        // Orthographic cameras, the size does not depend on the distance
+        float height = cam.viewportHeight;
+        if (cam instanceof OrthographicCamera) height *= ((OrthographicCamera) cam).zoom;
+        return height > 0 ? screenHeight / height : Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Selects the coarsest level whose projected error stays within the budget.
+     *
+     * @param errors the geometric error of each level after the base level in local units, ascending
+     * @param pixelsPerUnit the number of pixels one local unit covers
+     * @param pixelError the maximum error on screen in pixels
+     * @param currentLevel the level in use
+     * @param hysteresis the factor by which the error must cross the budget to leave the current level
+     * @return the level, 0 for the base level
+     */
+    public static int selectLevel(float[] errors, float pixelsPerUnit, float pixelError, int currentLevel, float hysteresis) {
+        int level = 0;
+        for (int i = 0; i < errors.length; i++) {
+            // Coarser levels are only entered once clearly within the budget, finer ones only once clearly above
+            final float threshold = pixelError * (i + 1 > currentLevel ? 1f - hysteresis : 1f + hysteresis);
+            if (errors[i] * pixelsPerUnit > threshold) break;
+            level = i + 1;
+        }
+        return level;
+    }
+
+    /**
+     * Computes how far the current level morphs towards the next coarser level. The morph is complete before the
+     * coarser level is entered and while it could be left again, so switching in either direction does not change
+     * the surface.
+     *
+     * @param coarserError the projected error of the next coarser level in pixels
+     * @return the morph factor between 0 and 1
+     */
+    public static float computeMorph(float coarserError, float pixelError, float hysteresis, float morphRange) {
+        if (morphRange <= 0f) return 0f;
+
+        // The coarser level is left above this error, the current level is fully morphed below it
+        final float end = pixelError * (1f + hysteresis);
+        final float start = end * (1f + morphRange);
+        if (coarserError <= end) return 1f;
+        if (coarserError >= start) return 0f;
+        return (start - coarserError) / (start - end);
+    }
+
+    private static boolean hasGeometricErrors(LodLevel[] lodLevels) {
+        for (int i = 1; i < lodLevels.length; i++) {
+            if (lodLevels[i].getGeometricError() < 0) return false;
+        }
+        return lodLevels.length > 1;
+    }
+
+    private void setMorph(float morph) {
+        final Material material = tc.getModelInstance().materials.first();
+        if (morphAttribute == null || material.get(TerrainLodMorphAttribute.LodMorph) != morphAttribute) {
+            morphAttribute = new TerrainLodMorphAttribute(morph);
+            material.set(morphAttribute);
+        }
+        morphAttribute.value = morph;
     }
 
     private void setLoDLevel(int lodLevel) {
@@ -127,6 +323,4 @@ public class TerrainLevelOfDetailManager implements LevelOfDetailManager {
         }
         return currentLod;
     }
-
-
 }
@@ -0,0 +1,148 @@
+package com.mbrlabs.mundus.commons.lod;
+
+import java.util.Arrays;
+
+/**
+ * Computes the geomorphing targets of terrain LoD levels. Every vertex of a level stores the height of the next
+ * coarser level at its position, the vertex shader blends towards it while the camera moves away, so switching to
+ * the coarser level does not pop.
+ * <p>
+ * The simplified levels keep the original vertex positions, so all their vertices lie on the grid of the base
+ * level. The surface of a level is sampled by rasterizing its triangles onto that grid.
+ *
+ * @version October 18, 2026
+ */
+public final class TerrainLodMorph {
+
+    private static final float EPSILON = 1e-4f;
+
+    private TerrainLodMorph() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Sets the morph target of the vertices of every level. A level morphs to the next coarser one, the coarsest
+     * level to itself.
+     *
+     * @param vertexResolution the number of vertices per side of the base grid
+     * @param width the terrain width in local units
+     * @param depth the terrain depth in local units
+     * @param stride the size of a vertex in floats
+     * @param posOffset the offset of the position within a vertex in floats
+     * @param morphOffset the offset of the morph target within a vertex in floats
+     * @param vertices the vertices of each level after the base level, finest first. Modified in place.
+     * @param indices the indices of each level after the base level
+     * @return the morph targets of the base grid, the heights of the first level, or null without levels
+     */
+    public static float[] apply(int vertexResolution, float width, float depth, int stride, int posOffset,
+                                int morphOffset, float[][] vertices, short[][] indices) {
+        if (vertices.length == 0) return null;
+
+        final float[] baseTargets = sampleHeights(vertexResolution, width, depth, stride, posOffset, vertices[0], indices[0]);
+
+        for (int level = 0; level < vertices.length; level++) {
+            float[] coarser = null;
+            if (level + 1 < vertices.length) {
+                coarser = sampleHeights(vertexResolution, width, depth, stride, posOffset, vertices[level + 1], indices[level + 1]);
+            }
+            setMorphTargets(vertexResolution, width, depth, stride, posOffset, morphOffset, vertices[level], coarser);
+        }
+
+        return baseTargets;
+    }
+
+    /**
+     * Samples the surface of a mesh at every vertex of the base grid. Grid vertices outside of all triangles get NaN.
+     *
+     * @return the heights, row by row along the z axis
+     */
+    public static float[] sampleHeights(int vertexResolution, float width, float depth, int stride, int posOffset,
+                                        float[] vertices, short[] indices) {
+        final float[] heights = new float[vertexResolution * vertexResolution];
+        Arrays.fill(heights, Float.NaN);
+
+        final float cellWidth = width / (vertexResolution - 1);
+        final float cellDepth = depth / (vertexResolution - 1);
+        final int maxCell = vertexResolution - 1;
+
+        for (int i = 0; i + 2 < indices.length; i += 3) {
+            final int a = (indices[i] & 0xFFFF) * stride + posOffset;
+            final int b = (indices[i + 1] & 0xFFFF) * stride + posOffset;
+            final int c = (indices[i + 2] & 0xFFFF) * stride + posOffset;
+
+            // Triangle in grid coordinates
+            final float ax = vertices[a] / cellWidth, az = vertices[a + 2] / cellDepth, ay = vertices[a + 1];
+            final float bx = vertices[b] / cellWidth, bz = vertices[b + 2] / cellDepth, by = vertices[b + 1];
+            final float cx = vertices[c] / cellWidth, cz = vertices[c + 2] / cellDepth, cy = vertices[c + 1];
+
+            final float area = (bx - ax) * (cz - az) - (cx - ax) * (bz - az);
+            if (Math.abs(area) < EPSILON) continue;
+            final float invArea = 1f / area;
+
+            final int minX = Math.max(0, (int) Math.ceil(Math.min(ax, Math.min(bx, cx)) - EPSILON));
+            final int maxX = Math.min(maxCell, (int) Math.floor(Math.max(ax, Math.max(bx, cx)) + EPSILON));
+            final int minZ = Math.max(0, (int) Math.ceil(Math.min(az, Math.min(bz, cz)) - EPSILON));
+            final int maxZ = Math.min(maxCell, (int) Math.floor(Math.max(az, Math.max(bz, cz)) + EPSILON));
+
+            for (int z = minZ; z <= maxZ; z++) {
+                for (int x = minX; x <= maxX; x++) {
+                    // Barycentric weights, points on edges belong to both triangles
+                    final float wb = ((x - ax) * (cz - az) - (cx - ax) * (z - az)) * invArea;
+                    final float wc = ((bx - ax) * (z - az) - (x - ax) * (bz - az)) * invArea;
+                    final float wa = 1f - wb - wc;
+                    if (wa < -EPSILON || wb < -EPSILON || wc < -EPSILON) continue;
+
+                    heights[z * vertexResolution + x] = wa * ay + wb * by + wc * cy;
+                }
+            }
+        }
+
+        return heights;
+    }
+
+    /**
+     * Sets the morph target of every vertex to the sampled height at its grid position.
+     *
+     * @param heights the sampled heights of the coarser level, or null to morph every vertex to itself
+     */
+    static void setMorphTargets(int vertexResolution, float width, float depth, int stride, int posOffset,
+                                int morphOffset, float[] vertices, float[] heights) {
+        final float cellWidth = width / (vertexResolution - 1);
+        final float cellDepth = depth / (vertexResolution - 1);
+        final int maxCell = vertexResolution - 1;
+
+        for (int v = 0; v + stride <= vertices.length; v += stride) {
+            final float y = vertices[v + posOffset + 1];
+            float target = y;
+            if (heights != null) {
+                final int x = Math.min(maxCell, Math.max(0, Math.round(vertices[v + posOffset] / cellWidth)));
+                final int z = Math.min(maxCell, Math.max(0, Math.round(vertices[v + posOffset + 2] / cellDepth)));
+                final float height = heights[z * vertexResolution + x];
+                if (!Float.isNaN(height)) target = height;
+            }
+            vertices[v + morphOffset] = target;
+        }
+    }
+
+    /**
+     * Converts vertices to a larger vertex size, for LoD data saved before attributes were appended to the terrain
+     * vertices. The appended floats are set to the height of the vertex, which is a valid morph target.
+     *
+     * @return the converted vertices, or the given vertices if the sizes match
+     */
+    public static float[] expandVertices(float[] vertices, int oldStride, int newStride, int posOffset) {
+        if (oldStride == newStride) return vertices;
+
+        final int count = vertices.length / oldStride;
+        final float[] expanded = new float[count * newStride];
+        for (int i = 0; i < count; i++) {
+            final int src = i * oldStride;
+            final int dst = i * newStride;
+            System.arraycopy(vertices, src, expanded, dst, Math.min(oldStride, newStride));
+            for (int j = oldStride; j < newStride; j++) {
+                expanded[dst + j] = vertices[src + posOffset + 1];
+            }
+        }
+        return expanded;
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2026. See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mbrlabs.mundus.commons.picking;
+
+import com.badlogic.gdx.math.collision.Ray;
+
+/**
+ * Bounding volume hierarchy over axis aligned boxes. Items are indices into a bounds array owned by the caller,
+ * with 6 floats per item (minX, minY, minZ, maxX, maxY, maxZ).
+ * <p>
+ * Nodes are stored depth first in flat arrays, the left child of a node directly follows it, so children always
+ * have a higher index than their parent. That allows {@link #refit(float[])} to update the node bounds bottom up
+ * in one pass when items move, without rebuilding the tree.
+ *
+ * @version October 18, 2026
+ */
+public class BoundsHierarchy {
+
+    /**
+     * Narrow phase test of a single item.
+     */
+    public interface RayTest {
+        /**
+         * @param item the item whose bounds are hit by the ray
+         * @param maxDistance the distance of the closest hit found so far
+         * @return the distance of the hit along the ray or {@link Float#POSITIVE_INFINITY} if the item is not hit
+         */
+        float intersect(int item, float maxDistance);
+    }
+
+    private static final int MAX_LEAF_SIZE = 4;
+
+    private float[] nodeBounds = new float[0];
+    // Leaf: first index into items, internal: index of the right child
+    private int[] nodeStart = new int[0];
+    // Leaf: item count, internal: 0
+    private int[] nodeCount = new int[0];
+    private int nodes;
+
+    private int[] items = new int[0];
+    private int itemCount;
+
+    private int[] stack = new int[64];
+    private float[] centroids = new float[0];
+
+    /**
+     * Builds the hierarchy from scratch.
+     *
+     * @param bounds 6 floats per item
+     * @param count number of items
+     */
+    public void build(float[] bounds, int count) {
+        itemCount = count;
+        if (items.length < count) {
+            items = new int[count];
+            centroids = new float[count * 3];
+        }
+        for (int i = 0; i < count; i++) {
+            items[i] = i;
+            centroids[i * 3] = (bounds[i * 6] + bounds[i * 6 + 3]) * 0.5f;
+            centroids[i * 3 + 1] = (bounds[i * 6 + 1] + bounds[i * 6 + 4]) * 0.5f;
+            centroids[i * 3 + 2] = (bounds[i * 6 + 2] + bounds[i * 6 + 5]) * 0.5f;
+        }
+
+        // A binary tree with leaves of at least one item has less than 2 * count nodes
+        int maxNodes = Math.max(1, count * 2);
+        if (nodeStart.length < maxNodes) {
+            nodeBounds = new float[maxNodes * 6];
+            nodeStart = new int[maxNodes];
+            nodeCount = new int[maxNodes];
+        }
+
+        nodes = 0;
+        if (count > 0) {
+            buildNode(0, count);
+            refit(bounds);
+        }
+    }
+
+    /**
+     * Recomputes the bounds of all nodes after item bounds changed. The tree structure stays the same, so the
+     * hierarchy gets less tight the further items move. Rebuild once in a while if many items moved.
+     *
+     * @param bounds 6 floats per item, same item count as the last build
+     */
+    public void refit(float[] bounds) {
+        for (int node = nodes - 1; node >= 0; node--) {
+            final int b = node * 6;
+            if (nodeCount[node] > 0) {
+                setEmpty(b);
+                final int end = nodeStart[node] + nodeCount[node];
+                for (int i = nodeStart[node]; i < end; i++) {
+                    merge(b, bounds, items[i] * 6);
+                }
+            } else {
+                setEmpty(b);
+                merge(b, nodeBounds, (node + 1) * 6);
+                merge(b, nodeBounds, nodeStart[node] * 6);
+            }
+        }
+    }
+
+    /**
+     * Finds the closest item hit by the ray. Nodes are visited front to back and skipped if they are farther
+     * away than the closest hit so far.
+     *
+     * @param ray the ray
+     * @param maxDistance maximum distance along the ray
+     * @param test narrow phase test of items whose bounds are hit
+     * @return the closest item or -1 if nothing was hit
+     */
+    public int raycast(Ray ray, float maxDistance, RayTest test) {
+        if (nodes == 0) return -1;
+
+        final float ox = ray.origin.x, oy = ray.origin.y, oz = ray.origin.z;
+        final float ix = 1f / ray.direction.x, iy = 1f / ray.direction.y, iz = 1f / ray.direction.z;
+
+        float closest = maxDistance;
+        int hit = -1;
+
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            final int node = stack[--top];
+            if (intersect(node, ox, oy, oz, ix, iy, iz, closest) == Float.POSITIVE_INFINITY) continue;
+
+            if (nodeCount[node] > 0) {
+                final int end = nodeStart[node] + nodeCount[node];
+                for (int i = nodeStart[node]; i < end; i++) {
+                    final float distance = test.intersect(items[i], closest);
+                    if (distance < closest) {
+                        closest = distance;
+                        hit = items[i];
+                    }
+                }
+                continue;
+            }
+
+            final int left = node + 1;
+            final int right = nodeStart[node];
+            final float leftDistance = intersect(left, ox, oy, oz, ix, iy, iz, closest);
+            final float rightDistance = intersect(right, ox, oy, oz, ix, iy, iz, closest);
+
+            if (top + 2 > stack.length) {
+                int[] newStack = new int[stack.length * 2];
+                System.arraycopy(stack, 0, newStack, 0, top);
+                stack = newStack;
+            }
+
+            // Push the farther child first so the closer one is visited first
+            if (leftDistance <= rightDistance) {
+                if (rightDistance != Float.POSITIVE_INFINITY) stack[top++] = right;
+                if (leftDistance != Float.POSITIVE_INFINITY) stack[top++] = left;
+            } else {
+                if (leftDistance != Float.POSITIVE_INFINITY) stack[top++] = left;
+                stack[top++] = right;
+            }
+        }
+
+        return hit;
+    }
+
+    /**
+     * @return the number of items of the last build
+     */
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    private void buildNode(int start, int count) {
+        final int node = nodes++;
+        if (count <= MAX_LEAF_SIZE) {
+            nodeStart[node] = start;
+            nodeCount[node] = count;
+            return;
+        }
+
+        // Split at the median centroid along the longest axis of the centroid bounds
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+        for (int i = start; i < start + count; i++) {
+            final int c = items[i] * 3;
+            minX = Math.min(minX, centroids[c]);
+            minY = Math.min(minY, centroids[c + 1]);
+            minZ = Math.min(minZ, centroids[c + 2]);
+            maxX = Math.max(maxX, centroids[c]);
+            maxY = Math.max(maxY, centroids[c + 1]);
+            maxZ = Math.max(maxZ, centroids[c + 2]);
+        }
+        final float dx = maxX - minX, dy = maxY - minY, dz = maxZ - minZ;
+        final int axis = dx >= dy && dx >= dz ? 0 : dy >= dz ? 1 : 2;
+
+        final int mid = start + count / 2;
+        select(start, start + count - 1, mid, axis);
+
+        nodeCount[node] = 0;
+        buildNode(start, mid - start);
+        nodeStart[node] = nodes;
+        buildNode(mid, start + count - mid);
+    }
+
+    /**
+     * Partially sorts items[left..right] so that the item at k is the one that would be there if sorted by
+     * the centroid on the given axis.
+     */
+    private void select(int left, int right, int k, int axis) {
+        while (right > left) {
+            final float pivot = centroids[items[(left + right) >>> 1] * 3 + axis];
+            int i = left, j = right;
+            while (i <= j) {
+                while (centroids[items[i] * 3 + axis] < pivot) i++;
+                while (centroids[items[j] * 3 + axis] > pivot) j--;
+                if (i <= j) {
+                    final int tmp = items[i];
+                    items[i] = items[j];
+                    items[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Slab test of the ray against the node bounds.
+     *
+     * @return the entry distance or {@link Float#POSITIVE_INFINITY} if the node is missed or farther than maxDistance
+     */
+    private float intersect(int node, float ox, float oy, float oz, float ix, float iy, float iz, float maxDistance) {
+        final int b = node * 6;
+        float t1 = (nodeBounds[b] - ox) * ix;
+        float t2 = (nodeBounds[b + 3] - ox) * ix;
+        float tMin = Math.min(t1, t2);
+        float tMax = Math.max(t1, t2);
+
+        t1 = (nodeBounds[b + 1] - oy) * iy;
+        t2 = (nodeBounds[b + 4] - oy) * iy;
+        tMin = Math.max(tMin, Math.min(t1, t2));
+        tMax = Math.min(tMax, Math.max(t1, t2));
+
+        t1 = (nodeBounds[b + 2] - oz) * iz;
+        t2 = (nodeBounds[b + 5] - oz) * iz;
+        tMin = Math.max(tMin, Math.min(t1, t2));
+        tMax = Math.min(tMax, Math.max(t1, t2));
+
+        if (tMax < Math.max(tMin, 0f) || tMin > maxDistance) return Float.POSITIVE_INFINITY;
+        return Math.max(tMin, 0f);
+    }
+
+    private void setEmpty(int b) {
+        nodeBounds[b] = nodeBounds[b + 1] = nodeBounds[b + 2] = Float.POSITIVE_INFINITY;
+        nodeBounds[b + 3] = nodeBounds[b + 4] = nodeBounds[b + 5] = Float.NEGATIVE_INFINITY;
+    }
+
+    private void merge(int b, float[] source, int s) {
+        nodeBounds[b] = Math.min(nodeBounds[b], source[s]);
+        nodeBounds[b + 1] = Math.min(nodeBounds[b + 1], source[s + 1]);
+        nodeBounds[b + 2] = Math.min(nodeBounds[b + 2], source[s + 2]);
+        nodeBounds[b + 3] = Math.max(nodeBounds[b + 3], source[s + 3]);
+        nodeBounds[b + 4] = Math.max(nodeBounds[b + 4], source[s + 4]);
+        nodeBounds[b + 5] = Math.max(nodeBounds[b + 5], source[s + 5]);
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2026. See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mbrlabs.mundus.commons.picking;
+
+import com.badlogic.gdx.math.Vector3;
+import com.mbrlabs.mundus.commons.scene3d.GameObject;
+import com.mbrlabs.mundus.commons.scene3d.components.CullableComponent;
+
+/**
+ * Result of a {@link SceneRayPicker} pick.
+ *
+ * @version October 18, 2026
+ */
+public class PickResult {
+    public GameObject gameObject;
+    public CullableComponent component;
+    /** World space intersection point */
+    public final Vector3 point = new Vector3();
+    /** Distance from the ray origin to the intersection point */
+    public float distance;
+
+    public void clear() {
+        gameObject = null;
+        component = null;
+        point.setZero();
+        distance = Float.POSITIVE_INFINITY;
+    }
+}
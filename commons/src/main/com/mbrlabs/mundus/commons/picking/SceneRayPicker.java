@@ -0,0 +1,419 @@
+/*
+ * Copyright (c) 2026. See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mbrlabs.mundus.commons.picking;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.model.Node;
+import com.badlogic.gdx.graphics.g3d.model.NodePart;
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.math.collision.OrientedBoundingBox;
+import com.badlogic.gdx.math.collision.Ray;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.mbrlabs.mundus.commons.scene3d.DirtyListener;
+import com.mbrlabs.mundus.commons.scene3d.GameObject;
+import com.mbrlabs.mundus.commons.scene3d.SceneGraph;
+import com.mbrlabs.mundus.commons.scene3d.components.CullableComponent;
+import com.mbrlabs.mundus.commons.scene3d.components.ModelComponent;
+import com.mbrlabs.mundus.commons.scene3d.components.TerrainComponent;
+
+/**
+ * Ray picking of scene graph game objects on the CPU, without rendering. Candidates are found with a
+ * {@link BoundsHierarchy} over the oriented bounding boxes of all {@link CullableComponent}s, then tested against
+ * the model triangles, or {@link com.mbrlabs.mundus.commons.terrain.Terrain#getRayIntersection} for terrains.
+ * <p>
+ * Moved game objects are picked up through their dirty listeners, added or removed components through the version
+ * of the {@link com.mbrlabs.mundus.commons.scene3d.ComponentRegistry}. Triangles are read from the meshes once and
+ * cached until the next rebuild, call {@link #rebuild()} after models of components were changed or reloaded.
+ *
+ * @version October 18, 2026
+ */
+public class SceneRayPicker implements Disposable {
+
+    /**
+     * Decides which components can be picked.
+     */
+    public interface Filter {
+        boolean accept(CullableComponent component);
+    }
+
+    /** Rebuild instead of refitting once more than 1 / REBUILD_RATIO of the entries moved */
+    private static final int REBUILD_RATIO = 4;
+
+    private final SceneGraph sceneGraph;
+    private final BoundsHierarchy hierarchy = new BoundsHierarchy();
+    private final Array<Entry> entries = new Array<>();
+    private final ObjectMap<Mesh, MeshData> meshData = new ObjectMap<>();
+
+    private float[] bounds = new float[0];
+    private int dirtyCount = 0;
+    private boolean collected = false;
+    private int collectedVersion = 0;
+    private boolean needsRebuild = true;
+
+    private final BoundingBox tmpBounds = new BoundingBox();
+    private final Matrix4 tmpMatrix = new Matrix4();
+    private final Vector3 tmpVec = new Vector3();
+    private final Vector3 localOrigin = new Vector3();
+    private final Vector3 localDirection = new Vector3();
+    private final Vector3 hitPoint = new Vector3();
+
+    private Ray currentRay;
+    private Filter currentFilter;
+
+    private final BoundsHierarchy.RayTest rayTest = new BoundsHierarchy.RayTest() {
+        @Override
+        public float intersect(int item, float maxDistance) {
+            return intersectEntry(entries.get(item), currentRay, maxDistance);
+        }
+    };
+
+    public SceneRayPicker(SceneGraph sceneGraph) {
+        this.sceneGraph = sceneGraph;
+    }
+
+    public SceneGraph getSceneGraph() {
+        return sceneGraph;
+    }
+
+    /**
+     * Collects the cullable components of the whole scene graph, drops the cached triangles and rebuilds the
+     * hierarchy on the next pick.
+     */
+    public void rebuild() {
+        clearEntries();
+        meshData.clear();
+        collect(sceneGraph.getComponentRegistry().getCullables());
+        collectedVersion = sceneGraph.getComponentRegistry().getVersion();
+        collected = true;
+        needsRebuild = true;
+    }
+
+    /**
+     * Picks the closest game object hit by the ray.
+     *
+     * @param ray the ray, with a normalized direction
+     * @param out the result, cleared if nothing was hit
+     * @return true if a game object was hit
+     */
+    public boolean pick(Ray ray, PickResult out) {
+        return pick(ray, Float.POSITIVE_INFINITY, out);
+    }
+
+    /**
+     * Picks the closest game object hit by the ray within maxDistance.
+     *
+     * @param ray the ray, with a normalized direction
+     * @param maxDistance the maximum distance along the ray
+     * @param out the result, cleared if nothing was hit
+     * @return true if a game object was hit
+     */
+    public boolean pick(Ray ray, float maxDistance, PickResult out) {
+        return pick(ray, maxDistance, null, out);
+    }
+
+    /**
+     * Picks the closest game object hit by the ray within maxDistance, only testing components accepted by the
+     * filter. Components not accepted do not block the ray.
+     *
+     * @param ray the ray, with a normalized direction
+     * @param maxDistance the maximum distance along the ray
+     * @param filter the components to pick, null for all
+     * @param out the result, cleared if nothing was hit
+     * @return true if a game object was hit
+     */
+    public boolean pick(Ray ray, float maxDistance, Filter filter, PickResult out) {
+        out.clear();
+        if (!collected || collectedVersion != sceneGraph.getComponentRegistry().getVersion()) rebuild();
+        update();
+
+        currentRay = ray;
+        currentFilter = filter;
+        int item = hierarchy.raycast(ray, maxDistance, rayTest);
+        currentRay = null;
+        currentFilter = null;
+        if (item < 0) return false;
+
+        // Test again to restore the hit point of the closest entry
+        Entry entry = entries.get(item);
+        out.distance = intersectEntry(entry, ray, Float.POSITIVE_INFINITY);
+        out.point.set(hitPoint);
+        out.component = entry.component;
+        out.gameObject = entry.component.getGameObject();
+        return true;
+    }
+
+    private void update() {
+        if (bounds.length < entries.size * 6) {
+            bounds = new float[entries.size * 6];
+            needsRebuild = true;
+        }
+
+        if (needsRebuild || dirtyCount * REBUILD_RATIO > entries.size) {
+            for (int i = 0; i < entries.size; i++) {
+                updateBounds(i);
+            }
+            hierarchy.build(bounds, entries.size);
+        } else if (dirtyCount > 0) {
+            for (int i = 0; i < entries.size; i++) {
+                if (entries.get(i).dirty) updateBounds(i);
+            }
+            hierarchy.refit(bounds);
+        }
+
+        needsRebuild = false;
+        dirtyCount = 0;
+    }
+
+    private void updateBounds(int index) {
+        Entry entry = entries.get(index);
+        entry.dirty = false;
+
+        OrientedBoundingBox obb = entry.component.getOrientedBoundingBox();
+        if (obb.getBounds().isValid()) {
+            tmpBounds.set(obb.getBounds()).mul(obb.getTransform());
+        } else {
+            // No model yet, keep it in the hierarchy as a point so it can be refit later
+            entry.component.getGameObject().getPosition(tmpVec);
+            tmpBounds.set(tmpVec, tmpVec);
+        }
+
+        final int b = index * 6;
+        bounds[b] = tmpBounds.min.x;
+        bounds[b + 1] = tmpBounds.min.y;
+        bounds[b + 2] = tmpBounds.min.z;
+        bounds[b + 3] = tmpBounds.max.x;
+        bounds[b + 4] = tmpBounds.max.y;
+        bounds[b + 5] = tmpBounds.max.z;
+
+        if (entry.component instanceof TerrainComponent) {
+            // Sculpting does not refresh the bounds of terrains, leave their height to the terrain ray test
+            bounds[b + 1] = -Float.MAX_VALUE;
+            bounds[b + 4] = Float.MAX_VALUE;
+        }
+    }
+
+    /**
+     * @return the distance of the hit, or {@link Float#POSITIVE_INFINITY}. Leaves the hit point in hitPoint.
+     */
+    private float intersectEntry(Entry entry, Ray ray, float maxDistance) {
+        CullableComponent component = entry.component;
+        if (currentFilter != null && !currentFilter.accept(component)) return Float.POSITIVE_INFINITY;
+        if (!isActive(component.getGameObject())) return Float.POSITIVE_INFINITY;
+
+        if (component instanceof TerrainComponent) {
+            TerrainComponent terrainComponent = (TerrainComponent) component;
+            if (terrainComponent.getTerrainAsset() == null) return Float.POSITIVE_INFINITY;
+            if (!terrainComponent.getTerrainAsset().getTerrain().getRayIntersection(hitPoint, ray,
+                    terrainComponent.getModelInstance().transform)) {
+                return Float.POSITIVE_INFINITY;
+            }
+            float distance = hitPoint.dst(ray.origin);
+            return distance > maxDistance ? Float.POSITIVE_INFINITY : distance;
+        }
+
+        OrientedBoundingBox obb = component.getOrientedBoundingBox();
+        if (!obb.getBounds().isValid()) return Float.POSITIVE_INFINITY;
+        if (!Intersector.intersectRayOrientedBounds(ray, obb, tmpVec)) return Float.POSITIVE_INFINITY;
+        if (tmpVec.dst(ray.origin) > maxDistance) return Float.POSITIVE_INFINITY;
+
+        if (component instanceof ModelComponent) {
+            ModelInstance modelInstance = ((ModelComponent) component).getModelInstance();
+            float distance = maxDistance;
+            boolean tested = false;
+            for (Node node : modelInstance.nodes) {
+                distance = intersectNode(node, modelInstance.transform, ray, distance);
+                tested = true;
+            }
+            if (tested) {
+                if (distance >= maxDistance) return Float.POSITIVE_INFINITY;
+                ray.getEndPoint(hitPoint, distance);
+                return distance;
+            }
+        }
+
+        // No triangles to test, the bounding box hit is the best we have
+        hitPoint.set(tmpVec);
+        return tmpVec.dst(ray.origin);
+    }
+
+    private float intersectNode(Node node, Matrix4 transform, Ray ray, float closest) {
+        for (NodePart part : node.parts) {
+            if (!part.enabled) continue;
+
+            // Skinned and non triangle meshes are treated as hit where their bounding box is hit
+            if (part.bones != null || part.meshPart.primitiveType != GL20.GL_TRIANGLES) {
+                closest = Math.min(closest, tmpVec.dst(ray.origin));
+                continue;
+            }
+
+            tmpMatrix.set(transform).mul(node.globalTransform);
+            if (tmpMatrix.det() == 0) continue;
+            tmpMatrix.inv();
+
+            // Keep the local direction unnormalized, so local distances along it equal world distances
+            localOrigin.set(ray.origin).mul(tmpMatrix);
+            localDirection.set(ray.origin).add(ray.direction).mul(tmpMatrix).sub(localOrigin);
+
+            closest = intersectTriangles(getMeshData(part.meshPart.mesh), part.meshPart.offset,
+                    part.meshPart.size, closest);
+        }
+
+        for (Node child : node.getChildren()) {
+            closest = intersectNode(child, transform, ray, closest);
+        }
+        return closest;
+    }
+
+    /**
+     * Möller–Trumbore ray triangle test against the local ray.
+     */
+    private float intersectTriangles(MeshData data, int offset, int count, float closest) {
+        final float[] vertices = data.vertices;
+        final short[] indices = data.indices;
+        final int stride = data.stride;
+        final int pos = data.positionOffset;
+        final float ox = localOrigin.x, oy = localOrigin.y, oz = localOrigin.z;
+        final float dx = localDirection.x, dy = localDirection.y, dz = localDirection.z;
+
+        final int end = offset + count - 2;
+        for (int i = offset; i < end; i += 3) {
+            final int a = (indices != null ? indices[i] & 0xFFFF : i) * stride + pos;
+            final int b = (indices != null ? indices[i + 1] & 0xFFFF : i + 1) * stride + pos;
+            final int c = (indices != null ? indices[i + 2] & 0xFFFF : i + 2) * stride + pos;
+
+            final float e1x = vertices[b] - vertices[a];
+            final float e1y = vertices[b + 1] - vertices[a + 1];
+            final float e1z = vertices[b + 2] - vertices[a + 2];
+            final float e2x = vertices[c] - vertices[a];
+            final float e2y = vertices[c + 1] - vertices[a + 1];
+            final float e2z = vertices[c + 2] - vertices[a + 2];
+
+            final float px = dy * e2z - dz * e2y;
+            final float py = dz * e2x - dx * e2z;
+            final float pz = dx * e2y - dy * e2x;
+            final float det = e1x * px + e1y * py + e1z * pz;
+            if (det > -1e-12f && det < 1e-12f) continue;
+            final float invDet = 1f / det;
+
+            final float sx = ox - vertices[a];
+            final float sy = oy - vertices[a + 1];
+            final float sz = oz - vertices[a + 2];
+            final float u = (sx * px + sy * py + sz * pz) * invDet;
+            if (u < 0f || u > 1f) continue;
+
+            final float qx = sy * e1z - sz * e1y;
+            final float qy = sz * e1x - sx * e1z;
+            final float qz = sx * e1y - sy * e1x;
+            final float v = (dx * qx + dy * qy + dz * qz) * invDet;
+            if (v < 0f || u + v > 1f) continue;
+
+            final float t = (e2x * qx + e2y * qy + e2z * qz) * invDet;
+            if (t >= 0f && t < closest) closest = t;
+        }
+        return closest;
+    }
+
+    private MeshData getMeshData(Mesh mesh) {
+        MeshData data = meshData.get(mesh);
+        if (data == null || !data.matches(mesh)) {
+            VertexAttribute position = mesh.getVertexAttribute(VertexAttributes.Usage.Position);
+            data = new MeshData();
+            data.stride = mesh.getVertexSize() / 4;
+            data.positionOffset = position.offset / 4;
+            data.vertices = mesh.getVertices(new float[mesh.getNumVertices() * data.stride]);
+            if (mesh.getNumIndices() > 0) {
+                data.indices = new short[mesh.getNumIndices()];
+                mesh.getIndices(data.indices);
+            }
+            meshData.put(mesh, data);
+        }
+        return data;
+    }
+
+    private boolean isActive(GameObject go) {
+        GameObject root = sceneGraph.getRoot();
+        while (go != root) {
+            // Removed from the scene graph since the last rebuild
+            if (go == null || !go.active) return false;
+            go = go.getParent();
+        }
+        return true;
+    }
+
+    private void collect(Array<CullableComponent> components) {
+        for (CullableComponent component : components) {
+            Entry entry = new Entry(component);
+            component.getGameObject().addDirtyListener(entry);
+            entries.add(entry);
+        }
+    }
+
+    private void clearEntries() {
+        for (Entry entry : entries) {
+            entry.component.getGameObject().removeDirtyListener(entry);
+        }
+        entries.clear();
+        dirtyCount = 0;
+    }
+
+    @Override
+    public void dispose() {
+        clearEntries();
+        collected = false;
+        meshData.clear();
+    }
+
+    private class Entry implements DirtyListener {
+        final CullableComponent component;
+        boolean dirty = false;
+
+        Entry(CullableComponent component) {
+            this.component = component;
+        }
+
+        @Override
+        public void onDirty() {
+            if (dirty) return;
+            dirty = true;
+            dirtyCount++;
+        }
+    }
+
+    private static class MeshData {
+        float[] vertices;
+        short[] indices;
+        int stride;
+        int positionOffset;
+
+        /**
+         * @return false if the mesh was resized since its triangles were read
+         */
+        boolean matches(Mesh mesh) {
+            return vertices.length == mesh.getNumVertices() * stride
+                    && (indices == null ? 0 : indices.length) == mesh.getNumIndices();
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.mbrlabs.mundus.commons.rendering;
+
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.math.collision.OrientedBoundingBox;
+import com.badlogic.gdx.utils.Array;
+import com.mbrlabs.mundus.commons.scene3d.components.CullableComponent;
+
+/**
+ * World space bounds of all cullable components of a scene graph, stored as structure of arrays so the
+ * {@link FrustumCuller} can test them in tight loops without touching the components.
+ * <p>
+ * Each entry has a world axis aligned box (center and half extents) and a bounding sphere radius around the same
+ * center. Entries without bounds have a NaN center and are never culled. Components keep their index, see
+ * {@link CullableComponent#getBoundsIndex()}, and mark their entry dirty whenever their transform gets dirty. Dirty
+ * entries are updated in one go by {@link #update()}, before culling.
+ *
+ * @version October 18, 2026
+ */
+public class BoundsRegistry {
+
+    /**
+     * Notified when entries change, for example to keep a spatial index in sync.
+     */
+    public interface Listener {
+        /** Called when the component was added or its bounds changed */
+        void boundsChanged(CullableComponent component);
+
+        /** Called before the component is removed */
+        void removed(CullableComponent component);
+    }
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    float[] centerX = new float[INITIAL_CAPACITY];
+    float[] centerY = new float[INITIAL_CAPACITY];
+    float[] centerZ = new float[INITIAL_CAPACITY];
+    float[] extentX = new float[INITIAL_CAPACITY];
+    float[] extentY = new float[INITIAL_CAPACITY];
+    float[] extentZ = new float[INITIAL_CAPACITY];
+    float[] radius = new float[INITIAL_CAPACITY];
+    int[] visiblePasses = new int[INITIAL_CAPACITY];
+    private boolean[] dirty = new boolean[INITIAL_CAPACITY];
+    private final Array<CullableComponent> dirtyComponents = new Array<>(false, 16);
+    private CullableComponent[] components = new CullableComponent[INITIAL_CAPACITY];
+    int size;
+    private Listener listener;
+
+    /**
+     * Adds the component if not registered yet. Its bounds are unknown until {@link #setBounds(int, OrientedBoundingBox)}.
+     *
+     * @return the index of the component
+     */
+    public int add(CullableComponent component) {
+        if (component.getBoundsIndex() >= 0) return component.getBoundsIndex();
+
+        if (size == components.length) {
+            resize(size * 2);
+        }
+        final int index = size++;
+        components[index] = component;
+        visiblePasses[index] = RenderPass.ALL;
+        dirty[index] = false;
+        setUnbounded(index);
+        component.setBoundsIndex(index);
+        return index;
+    }
+
+    /**
+     * Removes the component. The last entry is moved to its index.
+     */
+    public void remove(CullableComponent component) {
+        final int index = component.getBoundsIndex();
+        if (index < 0 || index >= size || components[index] != component) return;
+        if (listener != null) listener.removed(component);
+
+        final int last = --size;
+        if (index != last) {
+            centerX[index] = centerX[last];
+            centerY[index] = centerY[last];
+            centerZ[index] = centerZ[last];
+            extentX[index] = extentX[last];
+            extentY[index] = extentY[last];
+            extentZ[index] = extentZ[last];
+            radius[index] = radius[last];
+            visiblePasses[index] = visiblePasses[last];
+            dirty[index] = dirty[last];
+            components[index] = components[last];
+            components[index].setBoundsIndex(index);
+        }
+        components[last] = null;
+        component.setBoundsIndex(-1);
+    }
+
+    /**
+     * Marks the bounds of an entry as outdated, they are updated by the component on the next {@link #update()}.
+     */
+    public void markDirty(int index) {
+        if (dirty[index]) return;
+        dirty[index] = true;
+        dirtyComponents.add(components[index]);
+    }
+
+    /**
+     * Lets all components whose entry is marked dirty write their current bounds.
+     */
+    public void update() {
+        for (int i = 0; i < dirtyComponents.size; i++) {
+            final CullableComponent component = dirtyComponents.get(i);
+            final int index = component.getBoundsIndex();
+            // Skip removed components
+            if (index < 0 || components[index] != component || !dirty[index]) continue;
+            dirty[index] = false;
+            component.updateRegisteredBounds();
+        }
+        dirtyComponents.clear();
+    }
+
+    /**
+     * Sets the world bounds of an entry from an oriented bounding box.
+     */
+    public void setBounds(int index, OrientedBoundingBox obb) {
+        final BoundingBox bounds = obb.getBounds();
+        if (!bounds.isValid()) {
+            setUnbounded(index);
+            return;
+        }
+
+        final float[] m = obb.getTransform().val;
+        final float lx = (bounds.min.x + bounds.max.x) * 0.5f;
+        final float ly = (bounds.min.y + bounds.max.y) * 0.5f;
+        final float lz = (bounds.min.z + bounds.max.z) * 0.5f;
+        final float ex = (bounds.max.x - bounds.min.x) * 0.5f;
+        final float ey = (bounds.max.y - bounds.min.y) * 0.5f;
+        final float ez = (bounds.max.z - bounds.min.z) * 0.5f;
+
+        centerX[index] = m[Matrix4.M00] * lx + m[Matrix4.M01] * ly + m[Matrix4.M02] * lz + m[Matrix4.M03];
+        centerY[index] = m[Matrix4.M10] * lx + m[Matrix4.M11] * ly + m[Matrix4.M12] * lz + m[Matrix4.M13];
+        centerZ[index] = m[Matrix4.M20] * lx + m[Matrix4.M21] * ly + m[Matrix4.M22] * lz + m[Matrix4.M23];
+
+        // Half axes of the box in world space
+        final float ax = m[Matrix4.M00] * ex, ay = m[Matrix4.M10] * ex, az = m[Matrix4.M20] * ex;
+        final float bx = m[Matrix4.M01] * ey, by = m[Matrix4.M11] * ey, bz = m[Matrix4.M21] * ey;
+        final float cx = m[Matrix4.M02] * ez, cy = m[Matrix4.M12] * ez, cz = m[Matrix4.M22] * ez;
+
+        extentX[index] = Math.abs(ax) + Math.abs(bx) + Math.abs(cx);
+        extentY[index] = Math.abs(ay) + Math.abs(by) + Math.abs(cy);
+        extentZ[index] = Math.abs(az) + Math.abs(bz) + Math.abs(cz);
+
+        // Longest half diagonal, exact for orthogonal axes and still conservative with shear
+        final float squared = ax * ax + ay * ay + az * az + bx * bx + by * by + bz * bz + cx * cx + cy * cy + cz * cz
+                + 2f * (Math.abs(ax * bx + ay * by + az * bz)
+                + Math.abs(ax * cx + ay * cy + az * cz)
+                + Math.abs(bx * cx + by * cy + bz * cz));
+        radius[index] = (float) Math.sqrt(squared);
+        notifyChanged(index);
+    }
+
+    /**
+     * Marks an entry as having no bounds, so it is never culled.
+     */
+    public void setUnbounded(int index) {
+        centerX[index] = centerY[index] = centerZ[index] = Float.NaN;
+        extentX[index] = extentY[index] = extentZ[index] = 0f;
+        radius[index] = 0f;
+        notifyChanged(index);
+    }
+
+    /**
+     * @return the render passes the entry is visible in, as bit mask of {@link RenderPass#mask}
+     */
+    public int getVisiblePasses(int index) {
+        return visiblePasses[index];
+    }
+
+    public CullableComponent getComponent(int index) {
+        return components[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if the entry has bounds, false if it is never culled
+     */
+    public boolean isBounded(int index) {
+        return !Float.isNaN(centerX[index]);
+    }
+
+    /**
+     * Sets the listener notified about changes of entries, null to remove it.
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    private void notifyChanged(int index) {
+        if (listener != null && components[index] != null) {
+            listener.boundsChanged(components[index]);
+        }
+    }
+
+    private void resize(int capacity) {
+        centerX = copyOf(centerX, capacity);
+        centerY = copyOf(centerY, capacity);
+        centerZ = copyOf(centerZ, capacity);
+        extentX = copyOf(extentX, capacity);
+        extentY = copyOf(extentY, capacity);
+        extentZ = copyOf(extentZ, capacity);
+        radius = copyOf(radius, capacity);
+
+        boolean[] newDirty = new boolean[capacity];
+        System.arraycopy(dirty, 0, newDirty, 0, size);
+        dirty = newDirty;
+
+        int[] newVisiblePasses = new int[capacity];
+        System.arraycopy(visiblePasses, 0, newVisiblePasses, 0, size);
+        visiblePasses = newVisiblePasses;
+
+        CullableComponent[] newComponents = new CullableComponent[capacity];
+        System.arraycopy(components, 0, newComponents, 0, size);
+        components = newComponents;
+    }
+
+    private float[] copyOf(float[] array, int capacity) {
+        float[] copy = new float[capacity];
+        System.arraycopy(array, 0, copy, 0, size);
+        return copy;
+    }
+}
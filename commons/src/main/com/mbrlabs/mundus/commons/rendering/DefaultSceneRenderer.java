@@ -1,13 +1,18 @@
 package com.mbrlabs.mundus.commons.rendering;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.g3d.ModelBatch;
 import com.badlogic.gdx.graphics.g3d.Shader;
 import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
 import com.mbrlabs.mundus.commons.Scene;
+import com.mbrlabs.mundus.commons.scene3d.ComponentRegistry;
 import com.mbrlabs.mundus.commons.scene3d.GameObject;
 import com.mbrlabs.mundus.commons.scene3d.ModelCacheable;
 import com.mbrlabs.mundus.commons.scene3d.components.Component;
 import com.mbrlabs.mundus.commons.scene3d.components.CullableComponent;
+import com.mbrlabs.mundus.commons.scene3d.components.ModelComponent;
 import com.mbrlabs.mundus.commons.scene3d.components.RenderableComponent;
 import com.mbrlabs.mundus.commons.shadows.ShadowResolution;
 import com.mbrlabs.mundus.commons.water.WaterResolution;
@@ -16,17 +21,22 @@ import com.mbrlabs.mundus.commons.water.WaterResolution;
  * @author JamesTKhan
  * @version October 03, 2023
  */
-public class DefaultSceneRenderer implements SceneRenderer {
+public class DefaultSceneRenderer implements SceneRenderer, Disposable {
     public static final Vector3 clippingPlaneDisable = new Vector3(0.0f, 0f, 0.0f);
+    private final FrustumCuller frustumCuller;
+    private final InstancedRenderer instancedRenderer;
     private WaterRenderer waterRenderer;
     private Shader depthShader;
 
     public DefaultSceneRenderer() {
-        waterRenderer = new WaterRenderer();
+        frustumCuller = new FrustumCuller();
+        waterRenderer = new WaterRenderer(frustumCuller);
+        instancedRenderer = new InstancedRenderer();
     }
 
     @Override
     public void render(Scene scene, float delta) {
+        frustumCuller.beginFrame(scene);
         waterRenderer.renderWaterFBOs(scene);
         renderShadowMap(scene);
         renderScene(scene, delta);
@@ -39,6 +49,8 @@ public class DefaultSceneRenderer implements SceneRenderer {
      * @param delta time since last frame
      */
     public void renderScene(Scene scene, float delta) {
+        frustumCuller.beginFrame(scene);
+        frustumCuller.setActivePass(RenderPass.MAIN);
         scene.modelCacheManager.update(delta);
         scene.batch.begin(scene.cam);
         renderObjects(scene);
@@ -51,7 +63,7 @@ public class DefaultSceneRenderer implements SceneRenderer {
         waterRenderer.renderWater(scene, scene.sceneGraph.getRoot());
         renderComponents(scene, scene.batch, scene.sceneGraph.getRoot());
         scene.modelCacheManager.triggerBeforeRenderEvent();
-        scene.batch.render(scene.modelCacheManager.modelCache, scene.environment);
+        scene.modelCacheManager.render(scene.batch, scene.environment);
     }
 
     /**
@@ -67,7 +79,7 @@ public class DefaultSceneRenderer implements SceneRenderer {
 
     /**
      * Renders all renderable components (except Water) of the given parent game objects children
-     * recursively.
+     * recursively. For the root, the registered renderables of the scene graph are rendered without walking it.
      *
      * @param batch       the model batch to use
      * @param parent      the parent game object
@@ -75,6 +87,11 @@ public class DefaultSceneRenderer implements SceneRenderer {
      * @param isDepthPass whether this is a depth render pass
      */
     public void renderComponents(Scene scene, ModelBatch batch, GameObject parent, Shader shader, boolean isDepthPass) {
+        if (parent == scene.sceneGraph.getRoot()) {
+            renderRegisteredComponents(scene, batch, shader, isDepthPass);
+            return;
+        }
+
         for (GameObject go : parent.getChildren()) {
             renderComponent(scene, batch, go, shader, isDepthPass);
         }
@@ -98,11 +115,14 @@ public class DefaultSceneRenderer implements SceneRenderer {
 
         scene.dirLight.setCenter(scene.cam.position);
         scene.dirLight.begin();
+        frustumCuller.beginFrame(scene);
+        frustumCuller.cull(RenderPass.SHADOW, scene.dirLight.getCamera());
+        frustumCuller.setActivePass(RenderPass.SHADOW);
         scene.depthBatch.begin(scene.dirLight.getCamera());
         scene.setClippingPlane(clippingPlaneDisable, 0);
         renderComponents(scene, scene.depthBatch, scene.sceneGraph.getRoot(), null, true);
         scene.modelCacheManager.triggerBeforeDepthRenderEvent();
-        scene.depthBatch.render(scene.modelCacheManager.modelCache, scene.environment);
+        scene.modelCacheManager.render(scene.depthBatch, scene.environment);
         scene.depthBatch.end();
         scene.dirLight.end();
     }
@@ -118,6 +138,54 @@ public class DefaultSceneRenderer implements SceneRenderer {
         waterRenderer.updateWaterResolution(waterResolution);
     }
 
+    /**
+     * Renders all registered renderable components (except Water) of the scene graph, using the type checks done
+     * on registration. With instancing enabled in the scene settings, model components sharing a model and materials
+     * are rendered instanced, except in depth passes and with a custom shader.
+     */
+    protected void renderRegisteredComponents(Scene scene, ModelBatch batch, Shader shader, boolean isDepthPass) {
+        final Array<ComponentRegistry.RenderableEntry> renderables = scene.sceneGraph.getComponentRegistry().getRenderables();
+        final RenderPass pass = frustumCuller.getActivePass();
+        final boolean instancing = shader == null && !isDepthPass && scene.settings.useInstancing
+                && instancedRenderer.isSupported();
+        if (instancing) {
+            instancedRenderer.begin();
+        }
+
+        for (int i = 0; i < renderables.size; i++) {
+            final ComponentRegistry.RenderableEntry entry = renderables.get(i);
+            final GameObject go = entry.gameObject;
+            if (!go.active || !go.isActiveInHierarchy() || go.hasWaterComponent) continue;
+
+            final CullableComponent cullableComponent = entry.cullable;
+            if (cullableComponent != null) {
+                if (!cullableComponent.isVisible(pass)) continue;
+
+                if (isDepthPass) {
+                    cullableComponent.triggerBeforeDepthRenderEvent();
+                } else {
+                    cullableComponent.triggerBeforeRenderEvent();
+                }
+            }
+
+            // Don't render the component here if it's a model cacheable
+            if (entry.cacheable != null && entry.cacheable.shouldCache()) continue;
+
+            if (instancing && entry.renderable instanceof ModelComponent
+                    && instancedRenderer.add((ModelComponent) entry.renderable)) continue;
+
+            if (shader != null) {
+                batch.render(entry.renderable.getRenderableProvider(), scene.environment, shader);
+            } else {
+                batch.render(entry.renderable.getRenderableProvider(), scene.environment);
+            }
+        }
+
+        if (instancing) {
+            instancedRenderer.render(batch, scene.environment);
+        }
+    }
+
     protected void renderComponent(Scene scene, ModelBatch batch, GameObject go, Shader shader, boolean isDepthPass) {
         if (!go.active) return;
         if (go.hasWaterComponent) return;
@@ -128,7 +196,7 @@ public class DefaultSceneRenderer implements SceneRenderer {
 
             if (component instanceof CullableComponent) {
                 CullableComponent cullableComponent = (CullableComponent) component;
-                if (cullableComponent.isCulled()) continue;
+                if (!cullableComponent.isVisible(frustumCuller.getActivePass())) continue;
 
                 if (isDepthPass) {
                     cullableComponent.triggerBeforeDepthRenderEvent();
@@ -167,4 +235,23 @@ public class DefaultSceneRenderer implements SceneRenderer {
     public Shader getDepthShader() {
         return depthShader;
     }
+
+    /**
+     * @return the culler computing the visibility sets of the render passes
+     */
+    public FrustumCuller getFrustumCuller() {
+        return frustumCuller;
+    }
+
+    /**
+     * @return the renderer of instanced model components, used if enabled in the scene settings
+     */
+    public InstancedRenderer getInstancedRenderer() {
+        return instancedRenderer;
+    }
+
+    @Override
+    public void dispose() {
+        instancedRenderer.dispose();
+    }
 }
@@ -0,0 +1,182 @@
+package com.mbrlabs.mundus.commons.rendering;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.math.Plane;
+import com.badlogic.gdx.utils.Array;
+import com.mbrlabs.mundus.commons.Scene;
+import com.mbrlabs.mundus.commons.scene3d.components.CullableComponent;
+
+/**
+ * Computes a visibility set per {@link RenderPass}, once per frame per camera.
+ * <p>
+ * Each pass tests the world bounds of the scene graphs {@link BoundsRegistry} against its camera frustum and stores
+ * the result as a bit in the registry, see {@link CullableComponent#isVisible(RenderPass)}. Passes using the same
+ * camera as another pass can share its result with {@link #copy(RenderPass, RenderPass)}. If the scene settings
+ * enable the spatial index of the scene graph, it is used instead of testing every entry.
+ *
+ * @version October 18, 2026
+ */
+public class FrustumCuller {
+
+    private final float[] planes = new float[24];
+    private float[] minDistances = new float[0];
+
+    private final Array<CullableComponent> visible = new Array<>(false, 64);
+    private final Camera[] passCameras = new Camera[RenderPass.values().length];
+
+    private BoundsRegistry registry;
+    private LooseOctree spatialIndex;
+    private long frameId = -1;
+    private boolean cullingEnabled = true;
+    private RenderPass activePass = RenderPass.MAIN;
+
+    /**
+     * Starts a new frame if not done yet for the current frame: clears the visibility sets and culls the
+     * {@link RenderPass#MAIN} pass with the scene camera. Calling it again within the same frame does nothing.
+     *
+     * @param scene the scene to cull
+     */
+    public void beginFrame(Scene scene) {
+        final long frame = Gdx.graphics.getFrameId();
+        final BoundsRegistry sceneRegistry = scene.sceneGraph.getBoundsRegistry();
+        if (frame == frameId && registry == sceneRegistry) return;
+        frameId = frame;
+        registry = sceneRegistry;
+        scene.sceneGraph.setSpatialIndexEnabled(scene.settings.useSpatialIndex);
+        spatialIndex = scene.sceneGraph.getSpatialIndex();
+        cullingEnabled = scene.settings.useFrustumCulling;
+        registry.update();
+
+        final int[] visiblePasses = registry.visiblePasses;
+        for (int i = 0; i < registry.size; i++) {
+            visiblePasses[i] = 0;
+        }
+        for (int i = 0; i < passCameras.length; i++) {
+            passCameras[i] = null;
+        }
+
+        cull(RenderPass.MAIN, scene.cam);
+    }
+
+    /**
+     * Computes the visibility set of the pass for the given camera. The camera must be updated.
+     */
+    public void cull(RenderPass pass, Camera camera) {
+        if (registry == null) return;
+        passCameras[pass.ordinal()] = camera;
+        final int count = registry.size;
+        final int bit = pass.mask;
+        final int[] visiblePasses = registry.visiblePasses;
+
+        if (!cullingEnabled) {
+            for (int i = 0; i < count; i++) {
+                visiblePasses[i] |= bit;
+            }
+            return;
+        }
+
+        if (spatialIndex != null) {
+            cullHierarchical(bit, camera);
+            return;
+        }
+
+        final Plane[] frustumPlanes = camera.frustum.planes;
+        for (int p = 0; p < 6; p++) {
+            planes[p * 4] = frustumPlanes[p].normal.x;
+            planes[p * 4 + 1] = frustumPlanes[p].normal.y;
+            planes[p * 4 + 2] = frustumPlanes[p].normal.z;
+            planes[p * 4 + 3] = frustumPlanes[p].d;
+        }
+
+        if (minDistances.length < count) {
+            minDistances = new float[registry.centerX.length];
+        }
+        computeMinDistances(registry, planes, minDistances, count);
+
+        final float[] minDistances = this.minDistances;
+        for (int i = 0; i < count; i++) {
+            visiblePasses[i] = minDistances[i] < 0f ? visiblePasses[i] & ~bit : visiblePasses[i] | bit;
+        }
+    }
+
+    /**
+     * Uses the spatial index to skip whole regions outside of the frustum, for large scenes.
+     */
+    private void cullHierarchical(int bit, Camera camera) {
+        final int[] visiblePasses = registry.visiblePasses;
+        for (int i = 0; i < registry.size; i++) {
+            visiblePasses[i] &= ~bit;
+        }
+
+        visible.clear();
+        spatialIndex.query(camera.frustum, visible);
+        for (int i = 0; i < visible.size; i++) {
+            visiblePasses[visible.get(i).getBoundsIndex()] |= bit;
+        }
+    }
+
+    /**
+     * Computes, per entry, the smallest signed distance of its bounds to the planes. Entries with a negative
+     * distance are completely outside of a plane, entries without bounds get NaN.
+     * <p>
+     * Loops over planes, then entries, with straight float math over the arrays and no early out, so the JIT
+     * can vectorize the inner loop. The extent of the bounds towards a plane is the smaller one of the box and
+     * the sphere, both are conservative.
+     *
+     * @param planes 4 floats per plane: normal x, y, z and distance
+     */
+    static void computeMinDistances(BoundsRegistry registry, float[] planes, float[] minDistances, int count) {
+        final float[] centerX = registry.centerX, centerY = registry.centerY, centerZ = registry.centerZ;
+        final float[] extentX = registry.extentX, extentY = registry.extentY, extentZ = registry.extentZ;
+        final float[] radius = registry.radius;
+
+        for (int i = 0; i < count; i++) {
+            minDistances[i] = Float.POSITIVE_INFINITY;
+        }
+
+        for (int p = 0; p + 3 < planes.length; p += 4) {
+            final float nx = planes[p], ny = planes[p + 1], nz = planes[p + 2], d = planes[p + 3];
+            final float absX = Math.abs(nx), absY = Math.abs(ny), absZ = Math.abs(nz);
+
+            for (int i = 0; i < count; i++) {
+                final float distance = nx * centerX[i] + ny * centerY[i] + nz * centerZ[i] + d;
+                final float extent = Math.min(absX * extentX[i] + absY * extentY[i] + absZ * extentZ[i], radius[i]);
+                minDistances[i] = Math.min(minDistances[i], distance + extent);
+            }
+        }
+    }
+
+    /**
+     * Uses the visibility set of one pass for another pass rendering with the same camera.
+     */
+    public void copy(RenderPass from, RenderPass to) {
+        if (registry == null) return;
+        passCameras[to.ordinal()] = passCameras[from.ordinal()];
+        final int[] visiblePasses = registry.visiblePasses;
+        for (int i = 0; i < registry.size; i++) {
+            visiblePasses[i] = (visiblePasses[i] & from.mask) != 0 ? visiblePasses[i] | to.mask : visiblePasses[i] & ~to.mask;
+        }
+    }
+
+    /**
+     * @return the camera the pass was culled with in the current frame, or null if it was not culled yet
+     */
+    public Camera getCamera(RenderPass pass) {
+        return passCameras[pass.ordinal()];
+    }
+
+    /**
+     * @return the pass currently being rendered
+     */
+    public RenderPass getActivePass() {
+        return activePass;
+    }
+
+    /**
+     * Sets the pass currently being rendered, which the renderer checks visibility against.
+     */
+    public void setActivePass(RenderPass activePass) {
+        this.activePass = activePass;
+    }
+}
@@ -0,0 +1,89 @@
+package com.mbrlabs.mundus.commons.rendering;
+
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.math.Matrix3;
+import com.badlogic.gdx.math.Matrix4;
+
+/**
+ * Packs the per instance data of instanced rendering: the world transform and the normal matrix of each instance,
+ * as columns. Matches the instance attributes of the PBR vertex shader with instancedFlag defined.
+ *
+ * @version October 18, 2026
+ */
+public class InstanceData {
+
+    /** 4 columns of the world transform, 3 columns of the normal matrix */
+    public static final int FLOATS_PER_INSTANCE = 16 + 9;
+
+    private float[] data;
+    private int count;
+
+    private final Matrix3 normalMatrix = new Matrix3();
+
+    public InstanceData(int initialCapacity) {
+        data = new float[Math.max(1, initialCapacity) * FLOATS_PER_INSTANCE];
+    }
+
+    /**
+     * @return new vertex attributes of the per instance data, for {@link com.badlogic.gdx.graphics.Mesh#enableInstancedRendering}
+     */
+    public static VertexAttribute[] createAttributes() {
+        return new VertexAttribute[] {
+                new VertexAttribute(VertexAttributes.Usage.Generic, 4, "i_worldTrans0"),
+                new VertexAttribute(VertexAttributes.Usage.Generic, 4, "i_worldTrans1"),
+                new VertexAttribute(VertexAttributes.Usage.Generic, 4, "i_worldTrans2"),
+                new VertexAttribute(VertexAttributes.Usage.Generic, 4, "i_worldTrans3"),
+                new VertexAttribute(VertexAttributes.Usage.Generic, 3, "i_normalMatrix0"),
+                new VertexAttribute(VertexAttributes.Usage.Generic, 3, "i_normalMatrix1"),
+                new VertexAttribute(VertexAttributes.Usage.Generic, 3, "i_normalMatrix2")
+        };
+    }
+
+    /**
+     * Adds an instance with the given world transform.
+     */
+    public void add(Matrix4 worldTransform) {
+        if ((count + 1) * FLOATS_PER_INSTANCE > data.length) {
+            float[] newData = new float[data.length * 2];
+            System.arraycopy(data, 0, newData, 0, count * FLOATS_PER_INSTANCE);
+            data = newData;
+        }
+
+        final int offset = count * FLOATS_PER_INSTANCE;
+        System.arraycopy(worldTransform.val, 0, data, offset, 16);
+
+        // Same as the normal matrix uniform of the shader, inverse transpose of the upper 3x3
+        normalMatrix.set(worldTransform);
+        if (normalMatrix.det() != 0f) {
+            normalMatrix.inv().transpose();
+        }
+        System.arraycopy(normalMatrix.val, 0, data, offset + 16, 9);
+        count++;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * @return the packed data, {@link #FLOATS_PER_INSTANCE} floats per instance
+     */
+    public float[] getData() {
+        return data;
+    }
+
+    /**
+     * @return the number of instances
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return the number of floats used by all instances
+     */
+    public int getFloatCount() {
+        return count * FLOATS_PER_INSTANCE;
+    }
+}
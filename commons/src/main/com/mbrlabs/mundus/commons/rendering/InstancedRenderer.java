@@ -0,0 +1,314 @@
+package com.mbrlabs.mundus.commons.rendering;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.g3d.Environment;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.ModelBatch;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.FlushablePool;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.mbrlabs.mundus.commons.assets.MaterialAsset;
+import com.mbrlabs.mundus.commons.scene3d.components.ModelComponent;
+
+/**
+ * Renders model components sharing a model and material assets with one instanced draw call per mesh part. The
+ * world transforms of the instances are packed into a per instance vertex buffer, see {@link InstanceData}, which
+ * the PBR shader reads with instancedFlag defined.
+ * <p>
+ * Components of the same model at different levels of detail are grouped separately.
+ * Components are collected with {@link #add(ModelComponent)} and drawn with {@link #render(ModelBatch, Environment)}.
+ * Groups with less than {@link #getMinInstances()} components, skinned models and GL 2.0 devices fall back to
+ * regular rendering. Each group keeps a copy of the model meshes with the instance buffer attached, so the shared
+ * model can still be rendered without instancing.
+ *
+ * @version October 18, 2026
+ */
+public class InstancedRenderer implements Disposable {
+    public static final int DEFAULT_MIN_INSTANCES = 4;
+
+    /** Groups are disposed after not being rendered for this many frames */
+    private static final int EVICT_FRAMES = 300;
+
+    /** The model, its level of detail and the material asset of each material of the model instance */
+    private static final class GroupKey {
+        Model model;
+        int lodLevel;
+        final Array<MaterialAsset> materials = new Array<>();
+        int hash;
+
+        GroupKey set(ModelComponent component) {
+            final ModelInstance modelInstance = component.getModelInstance();
+            model = modelInstance.model;
+            lodLevel = component.getLodManager().getCurrentLevel();
+            materials.clear();
+            hash = 31 * System.identityHashCode(model) + lodLevel;
+            for (int i = 0; i < modelInstance.materials.size; i++) {
+                final Material material = modelInstance.materials.get(i);
+                final MaterialAsset materialAsset = component.getMaterials().get(material.id);
+                materials.add(materialAsset);
+                hash = 31 * hash + System.identityHashCode(materialAsset);
+            }
+            return this;
+        }
+
+        GroupKey copy() {
+            GroupKey copy = new GroupKey();
+            copy.model = model;
+            copy.lodLevel = lodLevel;
+            copy.materials.addAll(materials);
+            copy.hash = hash;
+            return copy;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof GroupKey)) return false;
+            final GroupKey other = (GroupKey) o;
+            if (model != other.model || lodLevel != other.lodLevel || materials.size != other.materials.size) return false;
+            for (int i = 0; i < materials.size; i++) {
+                if (materials.get(i) != other.materials.get(i)) return false;
+            }
+            return true;
+        }
+    }
+
+    private static final class Group implements Disposable {
+        final Array<ModelComponent> members = new Array<>(false, 16);
+        // Per mesh part
+        final Array<InstanceData> instanceData = new Array<>();
+        final Array<Mesh> sourceMeshes = new Array<>();
+        final Array<Mesh> meshes = new Array<>();
+        final IntArray capacities = new IntArray();
+        int unusedFrames;
+
+        @Override
+        public void dispose() {
+            for (Mesh mesh : meshes) {
+                mesh.dispose();
+            }
+            sourceMeshes.clear();
+            meshes.clear();
+            capacities.clear();
+        }
+    }
+
+    private final ObjectMap<GroupKey, Group> groups = new ObjectMap<>();
+    private final Array<Group> activeGroups = new Array<>(false, 16);
+    private final GroupKey lookupKey = new GroupKey();
+
+    private final Array<Renderable> renderables = new Array<>();
+    private final Array<Renderable> memberRenderables = new Array<>();
+    private final FlushablePool<Renderable> renderablePool = new FlushablePool<Renderable>() {
+        @Override
+        protected Renderable newObject() {
+            return new Renderable();
+        }
+    };
+
+    private int minInstances = DEFAULT_MIN_INSTANCES;
+    private long frameId = -1;
+    private int drawCalls;
+    private int instanceCount;
+
+    /**
+     * @return true if instanced rendering is supported, requires GL 3.0
+     */
+    public boolean isSupported() {
+        return Gdx.gl30 != null;
+    }
+
+    /**
+     * Starts collecting components for a batch. The renderables of the previous call are reused, so the batch they
+     * were rendered with must have been ended.
+     */
+    public void begin() {
+        renderablePool.flush();
+        activeGroups.clear();
+
+        final long frame = Gdx.graphics.getFrameId();
+        if (frame != frameId) {
+            frameId = frame;
+            drawCalls = 0;
+            instanceCount = 0;
+            evictUnusedGroups();
+        }
+    }
+
+    /**
+     * Adds a component to its group, to be rendered by {@link #render(ModelBatch, Environment)}.
+     *
+     * @return false if the component cannot be instanced and must be rendered regularly
+     */
+    public boolean add(ModelComponent component) {
+        final ModelInstance modelInstance = component.getModelInstance();
+        if (modelInstance == null || modelInstance.animations.size > 0) return false;
+
+        // Materials without asset may have been changed per instance
+        lookupKey.set(component);
+        if (lookupKey.materials.contains(null, true)) return false;
+
+        Group group = groups.get(lookupKey);
+        if (group == null) {
+            group = new Group();
+            groups.put(lookupKey.copy(), group);
+        }
+        if (group.members.isEmpty()) {
+            activeGroups.add(group);
+        }
+        group.members.add(component);
+        return true;
+    }
+
+    /**
+     * Renders the collected components, instanced where the group is large enough.
+     */
+    public void render(ModelBatch batch, Environment environment) {
+        for (int i = 0; i < activeGroups.size; i++) {
+            final Group group = activeGroups.get(i);
+            group.unusedFrames = 0;
+
+            if (group.members.size < minInstances || !renderInstanced(batch, environment, group)) {
+                for (ModelComponent member : group.members) {
+                    batch.render(member.getModelInstance(), environment);
+                }
+            }
+            group.members.clear();
+        }
+        activeGroups.clear();
+    }
+
+    /**
+     * @return false if the group cannot be instanced and nothing was rendered
+     */
+    private boolean renderInstanced(ModelBatch batch, Environment environment, Group group) {
+        renderables.clear();
+        group.members.first().getModelInstance().getRenderables(renderables, renderablePool);
+        final int parts = renderables.size;
+
+        for (int p = 0; p < parts; p++) {
+            if (renderables.get(p).bones != null) return false;
+            if (p == group.instanceData.size) {
+                group.instanceData.add(new InstanceData(group.members.size));
+            }
+            group.instanceData.get(p).clear();
+            group.instanceData.get(p).add(renderables.get(p).worldTransform);
+        }
+
+        for (int i = 1; i < group.members.size; i++) {
+            final ModelInstance modelInstance = group.members.get(i).getModelInstance();
+            memberRenderables.clear();
+            modelInstance.getRenderables(memberRenderables, renderablePool);
+
+            // Nodes can differ if the instance was changed after creation
+            if (memberRenderables.size != parts) {
+                batch.render(modelInstance, environment);
+                continue;
+            }
+            for (int p = 0; p < parts; p++) {
+                group.instanceData.get(p).add(memberRenderables.get(p).worldTransform);
+            }
+        }
+
+        for (int p = 0; p < parts; p++) {
+            final Renderable renderable = renderables.get(p);
+            final InstanceData data = group.instanceData.get(p);
+            final Mesh mesh = getInstancedMesh(group, p, renderable.meshPart.mesh, data.size());
+            mesh.setInstanceData(data.getData(), 0, data.getFloatCount());
+
+            renderable.meshPart.mesh = mesh;
+            renderable.worldTransform.idt();
+            renderable.environment = environment;
+            batch.render(renderable);
+
+            drawCalls++;
+            instanceCount += data.size();
+        }
+        return true;
+    }
+
+    /**
+     * @return the copy of the source mesh of the part with an instance buffer for at least the given instances
+     */
+    private Mesh getInstancedMesh(Group group, int part, Mesh source, int instances) {
+        while (group.meshes.size <= part) {
+            group.sourceMeshes.add(null);
+            group.meshes.add(null);
+            group.capacities.add(0);
+        }
+
+        Mesh mesh = group.meshes.get(part);
+        if (mesh == null || group.sourceMeshes.get(part) != source) {
+            if (mesh != null) mesh.dispose();
+            mesh = source.copy(true);
+            group.sourceMeshes.set(part, source);
+            group.meshes.set(part, mesh);
+            group.capacities.set(part, 0);
+        }
+
+        if (group.capacities.get(part) < instances) {
+            final int capacity = MathUtils.nextPowerOfTwo(instances);
+            if (mesh.isInstanced()) mesh.disableInstancedRendering();
+            mesh.enableInstancedRendering(false, capacity, InstanceData.createAttributes());
+            group.capacities.set(part, capacity);
+        }
+        return mesh;
+    }
+
+    private void evictUnusedGroups() {
+        final ObjectMap.Entries<GroupKey, Group> entries = new ObjectMap.Entries<>(groups);
+        while (entries.hasNext()) {
+            final Group group = entries.next().value;
+            if (++group.unusedFrames > EVICT_FRAMES) {
+                group.dispose();
+                entries.remove();
+            }
+        }
+    }
+
+    /**
+     * @return the number of components a group needs to be rendered instanced
+     */
+    public int getMinInstances() {
+        return minInstances;
+    }
+
+    public void setMinInstances(int minInstances) {
+        this.minInstances = Math.max(2, minInstances);
+    }
+
+    /**
+     * @return the number of instanced draw calls of the current frame
+     */
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+
+    /**
+     * @return the number of instances rendered with instanced draw calls in the current frame
+     */
+    public int getInstanceCount() {
+        return instanceCount;
+    }
+
+    @Override
+    public void dispose() {
+        for (Group group : groups.values()) {
+            group.dispose();
+        }
+        groups.clear();
+        activeGroups.clear();
+    }
+}
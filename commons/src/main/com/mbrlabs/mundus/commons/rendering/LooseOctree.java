@@ -0,0 +1,420 @@
+package com.mbrlabs.mundus.commons.rendering;
+
+import com.badlogic.gdx.math.Frustum;
+import com.badlogic.gdx.math.Plane;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.math.collision.Ray;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.mbrlabs.mundus.commons.scene3d.components.CullableComponent;
+
+/**
+ * Loose octree over the entries of a {@link BoundsRegistry}, for frustum, sphere, box and ray queries.
+ * <p>
+ * Each node covers a cube, but its items may reach out up to its half size beyond it, so an item is stored in
+ * the smallest node that contains its center and whose half size is at least the items largest extent. Items
+ * never span several nodes and moving an item only needs one removal and one insertion.
+ * <p>
+ * The octree listens to the registry, which is updated whenever a game object transform gets dirty. Changed items
+ * are only collected there and reinserted lazily before the next query. Entries without bounds are returned by
+ * frustum queries only, since they are never culled.
+ *
+ * @version October 18, 2026
+ */
+public class LooseOctree implements BoundsRegistry.Listener {
+    private static final int MAX_DEPTH = 10;
+    private static final int ALL_PLANES = (1 << 6) - 1;
+
+    private static final class Node {
+        final Node parent;
+        final float centerX, centerY, centerZ, halfSize;
+        final int depth;
+        final Array<CullableComponent> items = new Array<>(false, 4);
+        Node[] children;
+        // Items in this node and all its children
+        int count;
+
+        Node(Node parent, float centerX, float centerY, float centerZ, float halfSize, int depth) {
+            this.parent = parent;
+            this.centerX = centerX;
+            this.centerY = centerY;
+            this.centerZ = centerZ;
+            this.halfSize = halfSize;
+            this.depth = depth;
+        }
+    }
+
+    private static final class Entry {
+        Node node;
+        boolean dirty;
+        boolean unbounded;
+    }
+
+    private final BoundsRegistry registry;
+    private final ObjectMap<CullableComponent, Entry> entries = new ObjectMap<>();
+    private final Array<CullableComponent> dirty = new Array<>(false, 64);
+    private final Array<CullableComponent> unbounded = new Array<>(false, 16);
+    private Node root;
+
+    private final float[] planes = new float[24];
+
+    /**
+     * Creates the octree and starts listening to the registry. Call {@link #dispose()} to stop listening.
+     */
+    public LooseOctree(BoundsRegistry registry) {
+        this.registry = registry;
+        for (int i = 0; i < registry.size(); i++) {
+            boundsChanged(registry.getComponent(i));
+        }
+        registry.setListener(this);
+    }
+
+    @Override
+    public void boundsChanged(CullableComponent component) {
+        Entry entry = entries.get(component);
+        if (entry == null) {
+            entry = new Entry();
+            entries.put(component, entry);
+        }
+        if (!entry.dirty) {
+            entry.dirty = true;
+            dirty.add(component);
+        }
+    }
+
+    @Override
+    public void removed(CullableComponent component) {
+        Entry entry = entries.remove(component);
+        if (entry == null) return;
+        detach(component, entry);
+        if (entry.dirty) {
+            dirty.removeValue(component, true);
+        }
+    }
+
+    /**
+     * Updates the dirty entries of the registry, then reinserts all items whose bounds changed since the last
+     * update. Called by all queries.
+     */
+    public void update() {
+        registry.update();
+        if (dirty.size == 0) return;
+
+        for (int i = 0; i < dirty.size; i++) {
+            final CullableComponent component = dirty.get(i);
+            final Entry entry = entries.get(component);
+            entry.dirty = false;
+            detach(component, entry);
+
+            final int index = component.getBoundsIndex();
+            if (!registry.isBounded(index)) {
+                entry.unbounded = true;
+                unbounded.add(component);
+                continue;
+            }
+
+            if (root == null || !contains(root, index)) {
+                rebuild(index);
+            }
+            insert(component, entry, index);
+        }
+        dirty.clear();
+    }
+
+    /**
+     * Adds all items whose bounds intersect the frustum, and all items without bounds, to out.
+     */
+    public void query(Frustum frustum, Array<CullableComponent> out) {
+        update();
+        out.addAll(unbounded);
+        if (root == null) return;
+
+        final Plane[] frustumPlanes = frustum.planes;
+        for (int p = 0; p < 6; p++) {
+            planes[p * 4] = frustumPlanes[p].normal.x;
+            planes[p * 4 + 1] = frustumPlanes[p].normal.y;
+            planes[p * 4 + 2] = frustumPlanes[p].normal.z;
+            planes[p * 4 + 3] = frustumPlanes[p].d;
+        }
+        queryFrustum(root, ALL_PLANES, out);
+    }
+
+    /**
+     * Adds all items whose bounding box intersects the sphere to out.
+     */
+    public void query(Vector3 center, float radius, Array<CullableComponent> out) {
+        update();
+        if (root == null) return;
+        querySphere(root, center.x, center.y, center.z, radius, out);
+    }
+
+    /**
+     * Adds all items whose bounding box intersects the box to out.
+     */
+    public void query(BoundingBox box, Array<CullableComponent> out) {
+        update();
+        if (root == null) return;
+        queryBox(root, box.min.x, box.min.y, box.min.z, box.max.x, box.max.y, box.max.z, out);
+    }
+
+    /**
+     * Adds all items whose bounding box is hit by the ray within maxDistance to out, in no particular order.
+     */
+    public void query(Ray ray, float maxDistance, Array<CullableComponent> out) {
+        update();
+        if (root == null) return;
+        final float ix = 1f / ray.direction.x, iy = 1f / ray.direction.y, iz = 1f / ray.direction.z;
+        queryRay(root, ray.origin.x, ray.origin.y, ray.origin.z, ix, iy, iz, maxDistance, out);
+    }
+
+    /**
+     * @return the number of indexed items, including items without bounds
+     */
+    public int size() {
+        return entries.size;
+    }
+
+    /**
+     * Stops listening to the registry.
+     */
+    public void dispose() {
+        registry.setListener(null);
+    }
+
+    private void queryFrustum(Node node, int planeMask, Array<CullableComponent> out) {
+        if (node.count == 0) return;
+
+        // Only test planes the parent is not completely inside of
+        final float loose = node.halfSize * 2f;
+        boolean outside = false;
+        for (int p = 0; p < 6 && !outside; p++) {
+            if ((planeMask & (1 << p)) == 0) continue;
+            final float nx = planes[p * 4], ny = planes[p * 4 + 1], nz = planes[p * 4 + 2];
+            final float distance = nx * node.centerX + ny * node.centerY + nz * node.centerZ + planes[p * 4 + 3];
+            final float extent = loose * (Math.abs(nx) + Math.abs(ny) + Math.abs(nz));
+            if (distance + extent < 0f) {
+                outside = true;
+            } else if (distance - extent >= 0f) {
+                planeMask &= ~(1 << p);
+            }
+        }
+
+        if (outside) {
+            // Items of the root may be larger than its loose bounds
+            if (node == root) testItems(node.items, ALL_PLANES, out);
+            return;
+        }
+
+        if (planeMask == 0) {
+            addAll(node, out);
+            return;
+        }
+
+        testItems(node.items, planeMask, out);
+        if (node.children == null) return;
+        for (Node child : node.children) {
+            if (child != null) queryFrustum(child, planeMask, out);
+        }
+    }
+
+    private void testItems(Array<CullableComponent> items, int planeMask, Array<CullableComponent> out) {
+        final float[] centerX = registry.centerX, centerY = registry.centerY, centerZ = registry.centerZ;
+        final float[] extentX = registry.extentX, extentY = registry.extentY, extentZ = registry.extentZ;
+        final float[] radius = registry.radius;
+
+        for (int i = 0; i < items.size; i++) {
+            final int index = items.get(i).getBoundsIndex();
+            boolean visible = true;
+            for (int p = 0; p < 6 && visible; p++) {
+                if ((planeMask & (1 << p)) == 0) continue;
+                final float nx = planes[p * 4], ny = planes[p * 4 + 1], nz = planes[p * 4 + 2];
+                final float distance = nx * centerX[index] + ny * centerY[index] + nz * centerZ[index] + planes[p * 4 + 3];
+                final float extent = Math.min(Math.abs(nx) * extentX[index] + Math.abs(ny) * extentY[index] + Math.abs(nz) * extentZ[index], radius[index]);
+                visible = distance + extent >= 0f;
+            }
+            if (visible) out.add(items.get(i));
+        }
+    }
+
+    private void addAll(Node node, Array<CullableComponent> out) {
+        out.addAll(node.items);
+        if (node.children == null) return;
+        for (Node child : node.children) {
+            if (child != null && child.count > 0) addAll(child, out);
+        }
+    }
+
+    private void querySphere(Node node, float x, float y, float z, float radius, Array<CullableComponent> out) {
+        if (node.count == 0) return;
+        final float loose = node.halfSize * 2f;
+        final boolean intersects = boxSphereDistance2(node.centerX, node.centerY, node.centerZ, loose, loose, loose, x, y, z) <= radius * radius;
+        if (!intersects && node != root) return;
+
+        for (int i = 0; i < node.items.size; i++) {
+            final int index = node.items.get(i).getBoundsIndex();
+            final float distance2 = boxSphereDistance2(registry.centerX[index], registry.centerY[index], registry.centerZ[index],
+                    registry.extentX[index], registry.extentY[index], registry.extentZ[index], x, y, z);
+            if (distance2 <= radius * radius) out.add(node.items.get(i));
+        }
+
+        if (!intersects || node.children == null) return;
+        for (Node child : node.children) {
+            if (child != null) querySphere(child, x, y, z, radius, out);
+        }
+    }
+
+    private void queryBox(Node node, float minX, float minY, float minZ, float maxX, float maxY, float maxZ, Array<CullableComponent> out) {
+        if (node.count == 0) return;
+        final float loose = node.halfSize * 2f;
+        final boolean intersects = overlaps(node.centerX, node.centerY, node.centerZ, loose, loose, loose, minX, minY, minZ, maxX, maxY, maxZ);
+        if (!intersects && node != root) return;
+
+        for (int i = 0; i < node.items.size; i++) {
+            final int index = node.items.get(i).getBoundsIndex();
+            if (overlaps(registry.centerX[index], registry.centerY[index], registry.centerZ[index],
+                    registry.extentX[index], registry.extentY[index], registry.extentZ[index], minX, minY, minZ, maxX, maxY, maxZ)) {
+                out.add(node.items.get(i));
+            }
+        }
+
+        if (!intersects || node.children == null) return;
+        for (Node child : node.children) {
+            if (child != null) queryBox(child, minX, minY, minZ, maxX, maxY, maxZ, out);
+        }
+    }
+
+    private void queryRay(Node node, float ox, float oy, float oz, float ix, float iy, float iz, float maxDistance, Array<CullableComponent> out) {
+        if (node.count == 0) return;
+        final float loose = node.halfSize * 2f;
+        final boolean intersects = rayHits(node.centerX, node.centerY, node.centerZ, loose, loose, loose, ox, oy, oz, ix, iy, iz, maxDistance);
+        if (!intersects && node != root) return;
+
+        for (int i = 0; i < node.items.size; i++) {
+            final int index = node.items.get(i).getBoundsIndex();
+            if (rayHits(registry.centerX[index], registry.centerY[index], registry.centerZ[index],
+                    registry.extentX[index], registry.extentY[index], registry.extentZ[index], ox, oy, oz, ix, iy, iz, maxDistance)) {
+                out.add(node.items.get(i));
+            }
+        }
+
+        if (!intersects || node.children == null) return;
+        for (Node child : node.children) {
+            if (child != null) queryRay(child, ox, oy, oz, ix, iy, iz, maxDistance, out);
+        }
+    }
+
+    private void insert(CullableComponent component, Entry entry, int index) {
+        final float x = registry.centerX[index], y = registry.centerY[index], z = registry.centerZ[index];
+        final float extent = Math.max(registry.extentX[index], Math.max(registry.extentY[index], registry.extentZ[index]));
+
+        Node node = root;
+        while (node.depth < MAX_DEPTH && extent <= node.halfSize * 0.5f) {
+            final int octant = (x >= node.centerX ? 1 : 0) | (y >= node.centerY ? 2 : 0) | (z >= node.centerZ ? 4 : 0);
+            if (node.children == null) {
+                node.children = new Node[8];
+            }
+            if (node.children[octant] == null) {
+                final float half = node.halfSize * 0.5f;
+                node.children[octant] = new Node(node,
+                        node.centerX + ((octant & 1) != 0 ? half : -half),
+                        node.centerY + ((octant & 2) != 0 ? half : -half),
+                        node.centerZ + ((octant & 4) != 0 ? half : -half),
+                        half, node.depth + 1);
+            }
+            node = node.children[octant];
+        }
+
+        node.items.add(component);
+        entry.node = node;
+        for (Node n = node; n != null; n = n.parent) {
+            n.count++;
+        }
+    }
+
+    private void detach(CullableComponent component, Entry entry) {
+        if (entry.unbounded) {
+            unbounded.removeValue(component, true);
+            entry.unbounded = false;
+        }
+        if (entry.node == null) return;
+
+        entry.node.items.removeValue(component, true);
+        for (Node n = entry.node; n != null; n = n.parent) {
+            n.count--;
+        }
+        entry.node = null;
+    }
+
+    private boolean contains(Node node, int index) {
+        return Math.abs(registry.centerX[index] - node.centerX) <= node.halfSize
+                && Math.abs(registry.centerY[index] - node.centerY) <= node.halfSize
+                && Math.abs(registry.centerZ[index] - node.centerZ) <= node.halfSize;
+    }
+
+    /**
+     * Creates a new root around all inserted items and the given entry, then reinserts the items.
+     */
+    private void rebuild(int index) {
+        float minX = registry.centerX[index], minY = registry.centerY[index], minZ = registry.centerZ[index];
+        float maxX = minX, maxY = minY, maxZ = minZ;
+
+        final Array<CullableComponent> items = new Array<>(false, Math.max(16, entries.size));
+        if (root != null) {
+            addAll(root, items);
+        }
+        for (CullableComponent item : items) {
+            final int i = item.getBoundsIndex();
+            minX = Math.min(minX, registry.centerX[i]);
+            minY = Math.min(minY, registry.centerY[i]);
+            minZ = Math.min(minZ, registry.centerZ[i]);
+            maxX = Math.max(maxX, registry.centerX[i]);
+            maxY = Math.max(maxY, registry.centerY[i]);
+            maxZ = Math.max(maxZ, registry.centerZ[i]);
+        }
+
+        // Leave room to grow, so moving items do not cause a rebuild every time
+        final float halfSize = Math.max(16f, Math.max(maxX - minX, Math.max(maxY - minY, maxZ - minZ)));
+        root = new Node(null, (minX + maxX) * 0.5f, (minY + maxY) * 0.5f, (minZ + maxZ) * 0.5f, halfSize, 0);
+
+        for (CullableComponent item : items) {
+            final Entry entry = entries.get(item);
+            entry.node = null;
+            insert(item, entry, item.getBoundsIndex());
+        }
+    }
+
+    private static float boxSphereDistance2(float cx, float cy, float cz, float ex, float ey, float ez, float x, float y, float z) {
+        final float dx = Math.max(0f, Math.abs(x - cx) - ex);
+        final float dy = Math.max(0f, Math.abs(y - cy) - ey);
+        final float dz = Math.max(0f, Math.abs(z - cz) - ez);
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static boolean overlaps(float cx, float cy, float cz, float ex, float ey, float ez,
+                                    float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        return cx - ex <= maxX && cx + ex >= minX
+                && cy - ey <= maxY && cy + ey >= minY
+                && cz - ez <= maxZ && cz + ez >= minZ;
+    }
+
+    private static boolean rayHits(float cx, float cy, float cz, float ex, float ey, float ez,
+                                   float ox, float oy, float oz, float ix, float iy, float iz, float maxDistance) {
+        float t1 = (cx - ex - ox) * ix;
+        float t2 = (cx + ex - ox) * ix;
+        float tMin = Math.min(t1, t2);
+        float tMax = Math.max(t1, t2);
+
+        t1 = (cy - ey - oy) * iy;
+        t2 = (cy + ey - oy) * iy;
+        tMin = Math.max(tMin, Math.min(t1, t2));
+        tMax = Math.min(tMax, Math.max(t1, t2));
+
+        t1 = (cz - ez - oz) * iz;
+        t2 = (cz + ez - oz) * iz;
+        tMin = Math.max(tMin, Math.min(t1, t2));
+        tMax = Math.min(tMax, Math.max(t1, t2));
+
+        return tMax >= Math.max(tMin, 0f) && tMin <= maxDistance;
+    }
+}
@@ -0,0 +1,25 @@
+package com.mbrlabs.mundus.commons.rendering;
+
+/**
+ * The render passes of a frame. Each pass renders with its own camera and gets its own visibility set,
+ * see {@link FrustumCuller}.
+ *
+ * @version October 18, 2026
+ */
+public enum RenderPass {
+    /** The scene camera */
+    MAIN,
+    /** The directional shadow light camera */
+    SHADOW,
+    /** The scene camera mirrored below the water plane */
+    WATER_REFLECTION,
+    /** The scene camera, clipped at the water plane */
+    WATER_REFRACTION,
+    /** The scene camera, depth only for water refraction */
+    DEPTH;
+
+    /** Bit mask with all passes set */
+    public static final int ALL = (1 << values().length) - 1;
+
+    public final int mask = 1 << ordinal();
+}
@@ -9,6 +9,7 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.glutils.FrameBuffer;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
 import com.mbrlabs.mundus.commons.Scene;
 import com.mbrlabs.mundus.commons.scene3d.GameObject;
 import com.mbrlabs.mundus.commons.scene3d.components.Component;
@@ -38,6 +39,19 @@ public class WaterRenderer {
     private final Vector3 tmpCamDir = new Vector3();
     private final Vector3 tmpCamPos = new Vector3();
 
+    private final FrustumCuller frustumCuller;
+
+    public WaterRenderer() {
+        this(new FrustumCuller());
+    }
+
+    /**
+     * @param frustumCuller the culler shared with the scene renderer, so the scene camera is culled once per frame
+     */
+    public WaterRenderer(FrustumCuller frustumCuller) {
+        this.frustumCuller = frustumCuller;
+    }
+
     /**
      * Gets updated Reflection and Refraction textures for water, and captures depth for refraction if needed.
      */
@@ -48,6 +62,7 @@ public class WaterRenderer {
         }
 
         if (scene.sceneGraph.isContainsWater()) {
+            frustumCuller.beginFrame(scene);
             if (!isMRTRefraction) {
                 captureDepth(scene);
             }
@@ -57,26 +72,30 @@ public class WaterRenderer {
     }
 
     /**
-     * Renders all water components of the given parent game objects children recursively.
+     * Renders all water components of the given parent game objects children recursively. For the root, the
+     * registered water components of the scene graph are rendered without walking it.
      *
      * @param parent the parent game object
      */
     public void renderWater(Scene scene, GameObject parent) {
         if (!scene.sceneGraph.isContainsWater()) return;
+        if (parent == scene.sceneGraph.getRoot()) {
+            final Array<WaterComponent> waters = scene.sceneGraph.getComponentRegistry().getWaters();
+            for (int i = 0; i < waters.size; i++) {
+                final WaterComponent waterComponent = waters.get(i);
+                final GameObject go = waterComponent.gameObject;
+                if (!go.active || !go.isActiveInHierarchy()) continue;
+                renderWater(scene, waterComponent);
+            }
+            return;
+        }
+
         for (GameObject go : parent.getChildren()) {
             if (!go.active) continue;
 
             for (Component component : go.getComponents()) {
                 if (go.hasWaterComponent && component instanceof WaterComponent) {
-                    WaterComponent waterComponent = (WaterComponent) component;
-
-                    if (waterComponent.isCulled()) continue;
-                    waterComponent.triggerBeforeRenderEvent();
-
-                    waterComponent.getWaterAsset().setWaterReflectionTexture(getReflectionTexture(scene));
-                    waterComponent.getWaterAsset().setWaterRefractionTexture(getRefractionTexture(scene));
-                    waterComponent.getWaterAsset().setWaterRefractionDepthTexture(getRefractionDepthTexture());
-                    scene.batch.render(waterComponent.getRenderableProvider(), scene.environment);
+                    renderWater(scene, (WaterComponent) component);
                 }
             }
 
@@ -86,27 +105,44 @@ public class WaterRenderer {
         }
     }
 
+    private void renderWater(Scene scene, WaterComponent waterComponent) {
+        if (!waterComponent.isVisible(RenderPass.MAIN)) return;
+        waterComponent.triggerBeforeRenderEvent();
+
+        waterComponent.getWaterAsset().setWaterReflectionTexture(getReflectionTexture(scene));
+        waterComponent.getWaterAsset().setWaterRefractionTexture(getRefractionTexture(scene));
+        waterComponent.getWaterAsset().setWaterRefractionDepthTexture(getRefractionDepthTexture());
+        scene.batch.render(waterComponent.getRenderableProvider(), scene.environment);
+    }
+
     protected void captureDepth(Scene scene) {
+        // Same camera as the main pass
+        frustumCuller.copy(RenderPass.MAIN, RenderPass.DEPTH);
+        frustumCuller.setActivePass(RenderPass.DEPTH);
+
         // Render depth refractions to FBO
         fboDepthRefraction.begin();
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT);
         scene.depthBatch.begin(scene.cam);
         scene.setClippingPlane(clippingPlaneRefraction, scene.settings.waterHeight + scene.settings.distortionEdgeCorrection);
         scene.getSceneRenderer().renderComponents(scene, scene.depthBatch, scene.sceneGraph.getRoot(), scene.getSceneRenderer().getDepthShader(), true);
-        scene.depthBatch.render(scene.modelCacheManager.modelCache, scene.environment, scene.getSceneRenderer().getDepthShader());
+        scene.modelCacheManager.render(scene.depthBatch, scene.environment, scene.getSceneRenderer().getDepthShader());
         scene.depthBatch.end();
         fboDepthRefraction.end();
     }
 
     protected void captureRefractionFBO(Scene scene) {
         if (!scene.settings.enableWaterRefractions) return;
+        frustumCuller.copy(RenderPass.MAIN, RenderPass.WATER_REFRACTION);
+        frustumCuller.setActivePass(RenderPass.WATER_REFRACTION);
+
         // Render refractions to FBO
         fboWaterRefraction.begin();
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT);
         scene.batch.begin(scene.cam);
         scene.setClippingPlane(clippingPlaneRefraction, scene.settings.waterHeight + scene.settings.distortionEdgeCorrection);
         scene.getSceneRenderer().renderComponents(scene, scene.batch, scene.sceneGraph.getRoot());
-        scene.batch.render(scene.modelCacheManager.modelCache, scene.environment);
+        scene.modelCacheManager.render(scene.batch, scene.environment);
         scene.batch.end();
         fboWaterRefraction.end();
     }
@@ -129,6 +165,8 @@ public class WaterRenderer {
         // Position the scene.camera below the water plane, looking "up"
         scene.cam.position.sub(0, camReflectionDistance, 0);
         scene.cam.update();
+        frustumCuller.cull(RenderPass.WATER_REFLECTION, scene.cam);
+        frustumCuller.setActivePass(RenderPass.WATER_REFLECTION);
 
         // Render reflections to FBO
         fboWaterReflection.begin();
@@ -136,7 +174,7 @@ public class WaterRenderer {
         scene.batch.begin(scene.cam);
         scene.setClippingPlane(clippingPlaneReflection, -scene.settings.waterHeight + scene.settings.distortionEdgeCorrection);
         scene.getSceneRenderer().renderComponents(scene, scene.batch, scene.sceneGraph.getRoot());
-        scene.batch.render(scene.modelCacheManager.modelCache, scene.environment);
+        scene.modelCacheManager.render(scene.batch, scene.environment);
         scene.getSceneRenderer().renderSkybox(scene);
         scene.batch.end();
         fboWaterReflection.end();
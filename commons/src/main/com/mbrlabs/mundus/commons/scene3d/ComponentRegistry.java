@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2026. See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mbrlabs.mundus.commons.scene3d;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.mbrlabs.mundus.commons.scene3d.components.Component;
+import com.mbrlabs.mundus.commons.scene3d.components.CullableComponent;
+import com.mbrlabs.mundus.commons.scene3d.components.LightComponent;
+import com.mbrlabs.mundus.commons.scene3d.components.RenderableComponent;
+import com.mbrlabs.mundus.commons.scene3d.components.TerrainComponent;
+import com.mbrlabs.mundus.commons.scene3d.components.WaterComponent;
+
+/**
+ * Dense lists of the components of a scene graph per type, so updating and rendering can iterate them directly
+ * instead of walking the game object tree and checking the type of every component.
+ * <p>
+ * Components are registered while their game object is part of the scene graph, the game objects keep the lists
+ * in sync when components or children are added and removed. Removing moves the last component of a list to the
+ * free slot, so the lists are not in scene graph order. The returned arrays must not be modified.
+ *
+ * @version October 18, 2026
+ */
+public class ComponentRegistry {
+
+    /**
+     * A renderable component with its type checks done once on registration.
+     */
+    public static final class RenderableEntry {
+        public final GameObject gameObject;
+        public final RenderableComponent renderable;
+        /** The renderable as cullable component or null if it cannot be culled */
+        public final CullableComponent cullable;
+        /** The renderable as model cacheable or null if it cannot be cached */
+        public final ModelCacheable cacheable;
+
+        RenderableEntry(Component component) {
+            this.gameObject = component.getGameObject();
+            this.renderable = (RenderableComponent) component;
+            this.cullable = component instanceof CullableComponent ? (CullableComponent) component : null;
+            this.cacheable = component instanceof ModelCacheable ? (ModelCacheable) component : null;
+        }
+    }
+
+    /** Unordered array with constant time add, remove and contains by key */
+    private static final class DenseList<T> {
+        final Array<T> items = new Array<>(false, 16);
+        private final Array<Object> keys = new Array<>(false, 16);
+        private final ObjectIntMap<Object> indices = new ObjectIntMap<>();
+
+        boolean contains(Object key) {
+            return indices.containsKey(key);
+        }
+
+        void add(Object key, T item) {
+            if (indices.containsKey(key)) return;
+            indices.put(key, items.size);
+            keys.add(key);
+            items.add(item);
+        }
+
+        void remove(Object key) {
+            final int index = indices.remove(key, -1);
+            if (index < 0) return;
+
+            // Removing from an unordered array moves the last item to the index
+            items.removeIndex(index);
+            keys.removeIndex(index);
+            if (index < keys.size) {
+                indices.put(keys.get(index), index);
+            }
+        }
+
+        void clear() {
+            items.clear();
+            keys.clear();
+            indices.clear();
+        }
+    }
+
+    private final DenseList<Component> updatables = new DenseList<>();
+    private final DenseList<CullableComponent> cullables = new DenseList<>();
+    private final DenseList<RenderableEntry> renderables = new DenseList<>();
+    private final DenseList<TerrainComponent> terrains = new DenseList<>();
+    private final DenseList<WaterComponent> waters = new DenseList<>();
+    private final DenseList<LightComponent> lights = new DenseList<>();
+    private int version = 0;
+
+    /**
+     * Adds the component to the lists of its types, if not registered yet.
+     */
+    public void register(Component component) {
+        if (component == null) return;
+        if (!isRegistered(component)) version++;
+
+        // Lights are only changed when their game object gets dirty, nothing to do per frame
+        if (component instanceof LightComponent) {
+            lights.add(component, (LightComponent) component);
+        } else {
+            updatables.add(component, component);
+        }
+
+        if (component instanceof CullableComponent) {
+            cullables.add(component, (CullableComponent) component);
+        }
+        if (component instanceof RenderableComponent && !renderables.contains(component)) {
+            renderables.add(component, new RenderableEntry(component));
+        }
+        if (component instanceof TerrainComponent) {
+            terrains.add(component, (TerrainComponent) component);
+        }
+        if (component instanceof WaterComponent) {
+            waters.add(component, (WaterComponent) component);
+        }
+    }
+
+    /**
+     * Removes the component from all lists.
+     */
+    public void unregister(Component component) {
+        if (component == null) return;
+        if (isRegistered(component)) version++;
+        updatables.remove(component);
+        cullables.remove(component);
+        renderables.remove(component);
+        terrains.remove(component);
+        waters.remove(component);
+        lights.remove(component);
+    }
+
+    /**
+     * @return true if the component is registered
+     */
+    public boolean isRegistered(Component component) {
+        return updatables.contains(component) || lights.contains(component);
+    }
+
+    /**
+     * @return a number that changes whenever a component is registered or unregistered
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * @return all components updated per frame, which are all components except lights
+     */
+    public Array<Component> getUpdatables() {
+        return updatables.items;
+    }
+
+    public Array<CullableComponent> getCullables() {
+        return cullables.items;
+    }
+
+    public Array<RenderableEntry> getRenderables() {
+        return renderables.items;
+    }
+
+    /**
+     * @return all terrains, each managing its own level of detail
+     */
+    public Array<TerrainComponent> getTerrains() {
+        return terrains.items;
+    }
+
+    public Array<WaterComponent> getWaters() {
+        return waters.items;
+    }
+
+    public Array<LightComponent> getLights() {
+        return lights.items;
+    }
+
+    /**
+     * Removes all components.
+     */
+    public void clear() {
+        version++;
+        updatables.clear();
+        cullables.clear();
+        renderables.clear();
+        terrains.clear();
+        waters.clear();
+        lights.clear();
+    }
+}
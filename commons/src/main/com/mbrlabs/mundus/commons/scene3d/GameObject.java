@@ -39,6 +39,8 @@ public class GameObject extends SimpleNode<GameObject> implements Iterable<GameO
     public boolean active;
     public boolean scaleChanged = true; // true by default to force initial calculations
     public boolean hasWaterComponent = false;
+    // Updated by the scene graph before components are updated
+    boolean activeInHierarchy = true;
     private Array<String> tags;
     private Array<Component> components;
 
@@ -194,6 +196,10 @@ public class GameObject extends SimpleNode<GameObject> implements Iterable<GameO
         if (component instanceof WaterComponent) {
             hasWaterComponent = false;
         }
+
+        if (sceneGraph != null) {
+            sceneGraph.unregisterComponent(component);
+        }
     }
 
     /**
@@ -210,6 +216,10 @@ public class GameObject extends SimpleNode<GameObject> implements Iterable<GameO
         if (component instanceof WaterComponent) {
             hasWaterComponent = true;
         }
+
+        if (isInSceneGraph()) {
+            sceneGraph.registerComponent(component);
+        }
     }
 
     /**
@@ -338,6 +348,8 @@ public class GameObject extends SimpleNode<GameObject> implements Iterable<GameO
     @Override
     public void addChild(GameObject child) {
         super.addChild(child);
+        if (isInSceneGraph()) child.registerComponents(true);
+        if (sceneGraph != null) sceneGraph.markHierarchyChanged();
 
         LightComponent component = child.findComponentByType(Component.Type.LIGHT);
 
@@ -350,6 +362,8 @@ public class GameObject extends SimpleNode<GameObject> implements Iterable<GameO
     @Override
     public void remove() {
         super.remove();
+        registerComponents(false);
+        if (sceneGraph != null) sceneGraph.markHierarchyChanged();
 
         LightComponent component = findComponentByType(Component.Type.LIGHT);
 
@@ -431,10 +445,53 @@ public class GameObject extends SimpleNode<GameObject> implements Iterable<GameO
         }
     }
 
+    /**
+     * Returns if this game object and all of its parents are active, as of the last {@link SceneGraph#update(float)}.
+     *
+     * @return true if active in the scene graph
+     */
+    public boolean isActiveInHierarchy() {
+        return activeInHierarchy;
+    }
+
+    /**
+     * @return true if this game object is the root of its scene graph or one of its descendants
+     */
+    private boolean isInSceneGraph() {
+        if (sceneGraph == null) return false;
+        for (GameObject go = this; go != null; go = go.getParent()) {
+            if (go == sceneGraph.getRoot()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adds or removes the components of this and all child game objects to the registries of the scene graph.
+     */
+    private void registerComponents(boolean register) {
+        if (sceneGraph == null) return;
+
+        // Use regular loops, to not conflict with nested iterators
+        for (int i = 0; i < components.size; i++) {
+            if (register) {
+                sceneGraph.registerComponent(components.get(i));
+            } else {
+                sceneGraph.unregisterComponent(components.get(i));
+            }
+        }
+
+        if (children == null) return;
+        for (int i = 0; i < children.size; i++) {
+            children.get(i).registerComponents(register);
+        }
+    }
+
     private void updateChildrenScaleChanged(GameObject go) {
         if (go.getChildren() == null) return;
-        // Update all children recursively
+        // Update all children recursively. A child already flagged has its whole subtree flagged, as the flags
+        // are only reset by update(), children before their parent.
         for (GameObject child : go.getChildren()) {
+            if (child.scaleChanged) continue;
             child.scaleChanged = true;
             updateChildrenScaleChanged(child);
         }
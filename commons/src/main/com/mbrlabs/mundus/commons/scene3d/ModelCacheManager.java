@@ -1,100 +1,332 @@
 package com.mbrlabs.mundus.commons.scene3d;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.g3d.Environment;
+import com.badlogic.gdx.graphics.g3d.ModelBatch;
 import com.badlogic.gdx.graphics.g3d.ModelCache;
 import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.Shader;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.math.collision.OrientedBoundingBox;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.ObjectMap;
 import com.mbrlabs.mundus.commons.Scene;
 import com.mbrlabs.mundus.commons.scene3d.components.Component;
+import com.mbrlabs.mundus.commons.scene3d.components.CullableComponent;
 
 /**
- * Manages a ModelCache and keeps it up to date based on requests for rebuilds and set intervals
+ * Manages the model caches of a scene and keeps them up to date based on requests for rebuilds and set intervals.
+ * <p>
+ * Cached models are split into chunks of a grid on the XZ plane, by the position of their game object. Each chunk
+ * has its own ModelCache and world bounds, which are frustum culled against the camera of the batch rendering it.
+ * Updates only rebuild the chunks whose models were added, removed, moved or requested to be rebuilt.
  *
  * @author JamesTKhan
  * @version August 02, 2022
  */
 public class ModelCacheManager implements Disposable {
+    public static final float DEFAULT_CHUNK_SIZE = 100f;
+
+    /** A cached model and the state it was cached with */
+    private static final class Member {
+        final ModelCacheable cacheable;
+        final GameObject gameObject;
+        ModelInstance modelInstance;
+        final float[] transform = new float[16];
+        long chunkKey;
+        int syncId;
+
+        Member(ModelCacheable cacheable, GameObject gameObject) {
+            this.cacheable = cacheable;
+            this.gameObject = gameObject;
+        }
+    }
+
+    private static final class Chunk implements Disposable {
+        final Array<Member> members = new Array<>(false, 16);
+        final Array<ModelEventable> modelEventables = new Array<>(false, 16);
+        final BoundingBox bounds = new BoundingBox();
+        ModelCache modelCache;
+        boolean dirty;
+
+        @Override
+        public void dispose() {
+            if (modelCache != null) {
+                modelCache.dispose();
+                modelCache = null;
+            }
+        }
+    }
+
     private final Scene scene;
 
-    public ModelCache modelCache;
     protected float modelCacheUpdateInterval = 0.5f;
     protected float lastModelCacheRebuild = modelCacheUpdateInterval;
     protected boolean modelCacheRebuildRequested = true;
-    private final Array<ModelEventable> modelEventables;
+    protected boolean modelCacheUpdateRequested = false;
+
+    private float chunkSize = DEFAULT_CHUNK_SIZE;
+    private final LongMap<Chunk> chunks = new LongMap<>();
+    private final ObjectMap<ModelCacheable, Member> members = new ObjectMap<>();
+    private final Array<Member> staleMembers = new Array<>(false, 16);
+    private int syncId = 0;
+
+    private final BoundingBox tmpBounds = new BoundingBox();
 
     public ModelCacheManager(Scene scene) {
-        modelCache = new ModelCache();
         this.scene = scene;
-        this.modelEventables = new Array<>();
     }
 
     public void update(float delta) {
-        if (modelCacheRebuildRequested) {
+        if (modelCacheRebuildRequested || modelCacheUpdateRequested) {
             lastModelCacheRebuild += delta;
 
             if (lastModelCacheRebuild > modelCacheUpdateInterval) {
-                modelCacheRebuildRequested = false;
                 lastModelCacheRebuild = 0f;
-                rebuildModelCache();
+                if (modelCacheRebuildRequested) {
+                    rebuildModelCache();
+                } else {
+                    updateModelCache();
+                }
             }
         }
     }
 
     /**
-     * Rebuilds model cache for the current scene. Potentially expensive
+     * Rebuilds all chunks of the model cache for the current scene. Potentially expensive
      * depending on the size of the scene and should only be rebuilt when needed.
      */
     public void rebuildModelCache() {
-        modelEventables.clear();
-        modelCache.begin(scene.cam);
-        addModelsToCache(scene.sceneGraph.getGameObjects());
-        modelCache.end();
-    }
-
-    protected void addModelsToCache(Array<GameObject> gameObjects) {
-        for (GameObject go : gameObjects) {
-
-            if (!go.active) continue;
-
-            for (Component comp : go.getComponents()) {
-                if (comp instanceof ModelCacheable && ((ModelCacheable) comp).shouldCache()) {
-                    ModelInstance modelInstance = ((ModelCacheable) comp).getModelInstance();
-
-                    boolean skip = false;
-                    for (Mesh mesh : modelInstance.model.meshes) {
-                        if (mesh.getNumIndices() <= 0) {
-                            Gdx.app.error(this.getClass().getSimpleName(), "Issues in mesh for " + go.name + " prevent it from being cacheable. Try cleaning mesh up in 3D modeling software.");
-                            skip = true;
-                            break;
-                        }
-                    }
-                    if (skip) {
-                        continue;
-                    }
-
-                    modelCache.add(((ModelCacheable) comp).getModelInstance());
-
-                    if (comp instanceof ModelEventable) {
-                        modelEventables.add((ModelEventable) comp);
-                    }
+        syncMembers();
+        for (Chunk chunk : chunks.values()) {
+            chunk.dirty = true;
+        }
+        rebuildDirtyChunks();
+        modelCacheRebuildRequested = false;
+        modelCacheUpdateRequested = false;
+    }
+
+    /**
+     * Rebuilds the chunks whose cached models were added, removed or moved since the last update, or were
+     * requested to be rebuilt.
+     */
+    public void updateModelCache() {
+        syncMembers();
+        rebuildDirtyChunks();
+        modelCacheUpdateRequested = false;
+    }
+
+    /**
+     * Compares the cacheable components of the scene graph with the cached members and marks the chunks of changed
+     * members dirty.
+     */
+    private void syncMembers() {
+        syncId++;
+
+        final Array<ComponentRegistry.RenderableEntry> renderables = scene.sceneGraph.getComponentRegistry().getRenderables();
+        for (int i = 0; i < renderables.size; i++) {
+            final ComponentRegistry.RenderableEntry entry = renderables.get(i);
+            final ModelCacheable cacheable = entry.cacheable;
+            if (cacheable == null) continue;
+
+            Member member = members.get(cacheable);
+            if (!shouldCache(entry.gameObject, cacheable)) {
+                if (member != null) {
+                    removeMember(member);
                 }
+                continue;
+            }
+
+            final Matrix4 transform = entry.gameObject.getTransform();
+            final long chunkKey = getChunkKey(transform.val[Matrix4.M03], transform.val[Matrix4.M23]);
+
+            if (member == null) {
+                member = new Member(cacheable, entry.gameObject);
+                members.put(cacheable, member);
+                addToChunk(member, chunkKey);
+            } else if (member.chunkKey != chunkKey) {
+                removeFromChunk(member);
+                addToChunk(member, chunkKey);
+            } else if (member.modelInstance != cacheable.getModelInstance() || !sameTransform(member.transform, transform.val)) {
+                chunks.get(chunkKey).dirty = true;
+            }
+
+            member.modelInstance = cacheable.getModelInstance();
+            System.arraycopy(transform.val, 0, member.transform, 0, 16);
+            member.syncId = syncId;
+        }
+
+        // Members whose game object left the scene graph
+        staleMembers.clear();
+        for (Member member : new ObjectMap.Values<>(members)) {
+            if (member.syncId != syncId) {
+                staleMembers.add(member);
+            }
+        }
+        for (int i = 0; i < staleMembers.size; i++) {
+            removeMember(staleMembers.get(i));
+        }
+        staleMembers.clear();
+    }
+
+    private boolean shouldCache(GameObject go, ModelCacheable cacheable) {
+        if (!go.active || !go.isActiveInHierarchy() || !cacheable.shouldCache()) return false;
+
+        ModelInstance modelInstance = cacheable.getModelInstance();
+        if (modelInstance == null) return false;
+
+        for (Mesh mesh : modelInstance.model.meshes) {
+            if (mesh.getNumIndices() <= 0) {
+                Gdx.app.error(this.getClass().getSimpleName(), "Issues in mesh for " + go.name + " prevent it from being cacheable. Try cleaning mesh up in 3D modeling software.");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addToChunk(Member member, long chunkKey) {
+        Chunk chunk = chunks.get(chunkKey);
+        if (chunk == null) {
+            chunk = new Chunk();
+            chunks.put(chunkKey, chunk);
+        }
+        chunk.members.add(member);
+        chunk.dirty = true;
+        member.chunkKey = chunkKey;
+    }
+
+    private void removeFromChunk(Member member) {
+        Chunk chunk = chunks.get(member.chunkKey);
+        if (chunk == null) return;
+        chunk.members.removeValue(member, true);
+        chunk.dirty = true;
+    }
+
+    private void removeMember(Member member) {
+        removeFromChunk(member);
+        members.remove(member.cacheable);
+    }
+
+    private void rebuildDirtyChunks() {
+        final LongMap.Entries<Chunk> entries = new LongMap.Entries<>(chunks);
+        while (entries.hasNext()) {
+            final Chunk chunk = entries.next().value;
+            if (!chunk.dirty) continue;
+            chunk.dirty = false;
+
+            if (chunk.members.isEmpty()) {
+                chunk.dispose();
+                entries.remove();
+                continue;
+            }
+            rebuildChunk(chunk);
+        }
+    }
+
+    private void rebuildChunk(Chunk chunk) {
+        if (chunk.modelCache == null) {
+            chunk.modelCache = new ModelCache();
+        }
+
+        chunk.modelEventables.clear();
+        chunk.bounds.inf();
+        chunk.modelCache.begin(scene.cam);
+        for (Member member : chunk.members) {
+            chunk.modelCache.add(member.modelInstance);
+            chunk.bounds.ext(getWorldBounds(member, tmpBounds));
+
+            if (member.cacheable instanceof ModelEventable) {
+                chunk.modelEventables.add((ModelEventable) member.cacheable);
             }
+        }
+        chunk.modelCache.end();
+    }
+
+    private BoundingBox getWorldBounds(Member member, BoundingBox out) {
+        if (member.cacheable instanceof CullableComponent) {
+            OrientedBoundingBox obb = ((CullableComponent) member.cacheable).getOrientedBoundingBox();
+            if (obb.getBounds().isValid()) {
+                return out.set(obb.getBounds()).mul(obb.getTransform());
+            }
+        }
+        return member.modelInstance.calculateBoundingBox(out).mul(member.modelInstance.transform);
+    }
+
+    private long getChunkKey(float x, float z) {
+        final long cellX = (long) Math.floor(x / chunkSize);
+        final long cellZ = (long) Math.floor(z / chunkSize);
+        return (cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
 
-            if (go.getChildren() != null) {
-                addModelsToCache(go.getChildren());
+    private static boolean sameTransform(float[] a, float[] b) {
+        for (int i = 0; i < 16; i++) {
+            if (a[i] != b[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Renders the chunks of the model cache inside the frustum of the batch camera.
+     */
+    public void render(ModelBatch batch, Environment environment) {
+        render(batch, environment, null);
+    }
+
+    /**
+     * Renders the chunks of the model cache inside the frustum of the batch camera with the given shader.
+     *
+     * @param shader the shader to use or null for the default shaders
+     */
+    public void render(ModelBatch batch, Environment environment, Shader shader) {
+        final Camera camera = batch.getCamera();
+        final boolean cull = camera != null && scene.settings.useFrustumCulling;
+
+        for (Chunk chunk : chunks.values()) {
+            if (chunk.modelCache == null) continue;
+            if (cull && !camera.frustum.boundsInFrustum(chunk.bounds)) continue;
+
+            if (shader != null) {
+                batch.render(chunk.modelCache, environment, shader);
+            } else {
+                batch.render(chunk.modelCache, environment);
             }
         }
     }
 
     /**
-     * Request for the model cache to be rebuilt on the next interval
+     * Request for the model cache to be rebuilt completely on the next interval
      */
     public void requestModelCacheRebuild() {
         modelCacheRebuildRequested = true;
     }
 
+    /**
+     * Request for the chunks of the given game object to be rebuilt on the next interval, for example after its
+     * materials changed. Moved, added and removed models are detected without a request for their game object.
+     */
+    public void requestModelCacheRebuild(GameObject go) {
+        final Array<Component> components = go.getComponents();
+        for (int i = 0; i < components.size; i++) {
+            final Member member = components.get(i) instanceof ModelCacheable ? members.get((ModelCacheable) components.get(i)) : null;
+            if (member != null) {
+                chunks.get(member.chunkKey).dirty = true;
+            }
+        }
+        modelCacheUpdateRequested = true;
+    }
+
+    /**
+     * Request for the chunks with added, removed or moved models to be rebuilt on the next interval
+     */
+    public void requestModelCacheUpdate() {
+        modelCacheUpdateRequested = true;
+    }
+
     /**
      * Change how often the model cache should be updated, in seconds.
      *
@@ -104,35 +336,73 @@ public class ModelCacheManager implements Disposable {
         modelCacheUpdateInterval = interval;
     }
 
+    /**
+     * Changes the size of the chunks on the XZ plane, in world units. Rebuilds the model cache on the next interval.
+     *
+     * @param chunkSize the chunk size, must be positive
+     */
+    public void setChunkSize(float chunkSize) {
+        if (chunkSize <= 0f) throw new IllegalArgumentException("Chunk size must be positive.");
+        if (this.chunkSize == chunkSize) return;
+        this.chunkSize = chunkSize;
+
+        // Members are assigned to the new chunks on the next rebuild
+        clearChunks();
+        requestModelCacheRebuild();
+    }
+
+    public float getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @return the number of chunks with cached models
+     */
+    public int getChunkCount() {
+        return chunks.size;
+    }
+
     public void triggerBeforeDepthRenderEvent() {
-        for (final ModelEventable me : modelEventables) {
-            me.triggerBeforeDepthRenderEvent();
+        for (Chunk chunk : chunks.values()) {
+            for (final ModelEventable me : chunk.modelEventables) {
+                me.triggerBeforeDepthRenderEvent();
+            }
         }
     }
 
     public void triggerBeforeRenderEvent() {
-        for (final ModelEventable me : modelEventables) {
-            me.triggerBeforeRenderEvent();
+        for (Chunk chunk : chunks.values()) {
+            for (final ModelEventable me : chunk.modelEventables) {
+                me.triggerBeforeRenderEvent();
+            }
         }
     }
 
     /**
-     * Rebuild model cache if given GameObject has a cacheable component.
+     * Update the model cache if given GameObject has a cacheable component.
      */
     public static void rebuildIfCached(GameObject go, boolean immediately) {
         for (int i = 0; i < go.getComponents().size; i++) {
             if (go.getComponents().get(i) instanceof ModelCacheable) {
                 if (immediately)
-                    go.sceneGraph.scene.modelCacheManager.rebuildModelCache();
+                    go.sceneGraph.scene.modelCacheManager.updateModelCache();
                 else
-                    go.sceneGraph.scene.modelCacheManager.requestModelCacheRebuild();
+                    go.sceneGraph.scene.modelCacheManager.requestModelCacheUpdate();
                 break;
             }
         }
     }
 
+    private void clearChunks() {
+        for (Chunk chunk : chunks.values()) {
+            chunk.dispose();
+        }
+        chunks.clear();
+        members.clear();
+    }
+
     @Override
     public void dispose() {
-        modelCache.dispose();
+        clearChunks();
     }
 }
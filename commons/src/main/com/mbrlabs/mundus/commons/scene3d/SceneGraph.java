@@ -23,7 +23,10 @@ import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
 import com.mbrlabs.mundus.commons.Scene;
+import com.mbrlabs.mundus.commons.rendering.BoundsRegistry;
+import com.mbrlabs.mundus.commons.rendering.LooseOctree;
 import com.mbrlabs.mundus.commons.scene3d.components.Component;
+import com.mbrlabs.mundus.commons.scene3d.components.CullableComponent;
 import com.mbrlabs.mundus.commons.scene3d.components.ModelComponent;
 import com.mbrlabs.mundus.commons.scene3d.components.WaterComponent;
 
@@ -39,6 +42,15 @@ public class SceneGraph implements Disposable {
 
     private boolean containsWater = false;
 
+    private final ComponentRegistry componentRegistry = new ComponentRegistry();
+    private final BoundsRegistry boundsRegistry = new BoundsRegistry();
+    private LooseOctree spatialIndex;
+
+    // All game objects in breadth first order, parents always before their children
+    private GameObject[] transformOrder = new GameObject[0];
+    private int transformOrderSize = 0;
+    private boolean hierarchyChanged = true;
+
     public SceneGraph(Scene scene) {
         root = new GameObject(this, null, -1);
         root.initChildrenArray();
@@ -50,12 +62,117 @@ public class SceneGraph implements Disposable {
         update(Gdx.graphics.getDeltaTime());
     }
 
+    /**
+     * Updates all components of active game objects, then recalculates changed world transforms. Components are
+     * updated from the dense list of the {@link ComponentRegistry} instead of walking the game objects.
+     *
+     * @param delta time since last update
+     */
     public void update(float delta) {
+        if (hierarchyChanged) {
+            rebuildTransformOrder();
+        }
+        updateActiveStates();
+
+        final Array<Component> updatables = componentRegistry.getUpdatables();
+        for (int i = 0; i < updatables.size; i++) {
+            final Component component = updatables.get(i);
+            if (component.getGameObject().isActiveInHierarchy()) {
+                component.update(delta);
+            }
+        }
+
+        resetScaleChanged();
+        updateTransforms();
+    }
+
+    /**
+     * Updates {@link GameObject#isActiveInHierarchy()} of all game objects. Parents come before their children in
+     * the transform order, so their state is already known.
+     */
+    private void updateActiveStates() {
+        final GameObject[] order = transformOrder;
+        for (int i = 0; i < transformOrderSize; i++) {
+            final GameObject go = order[i];
+            final GameObject parent = go.getParent();
+            go.activeInHierarchy = go.active && (parent == root || parent.activeInHierarchy);
+        }
+    }
+
+    /**
+     * Resets the scale changed flags after the components used them. Game objects below an inactive parent keep
+     * their flag, as their components were not updated, same as in {@link GameObject#update(float)}.
+     */
+    private void resetScaleChanged() {
+        final GameObject[] order = transformOrder;
+        for (int i = 0; i < transformOrderSize; i++) {
+            final GameObject go = order[i];
+            final GameObject parent = go.getParent();
+            if (parent == root || parent.activeInHierarchy) {
+                go.scaleChanged = false;
+            }
+        }
+    }
+
+    /**
+     * Recalculates the world transforms of all game objects whose transform changed. Game objects are visited in
+     * breadth first order, so each parent is up to date before its children and every changed transform is
+     * calculated exactly once. Called by {@link #update(float)}, call it again if transforms are changed after
+     * the update and their model instances are rendered without going through {@link GameObject#getTransform()}.
+     */
+    public void updateTransforms() {
+        if (hierarchyChanged) {
+            rebuildTransformOrder();
+        }
+
+        final GameObject[] order = transformOrder;
+        for (int i = 0; i < transformOrderSize; i++) {
+            final GameObject go = order[i];
+            if (go.isTransformOutdated()) {
+                go.getTransform();
+            }
+        }
+    }
+
+    /**
+     * Called when game objects were added or removed, so the order of {@link #updateTransforms()} is rebuilt.
+     */
+    public void markHierarchyChanged() {
+        hierarchyChanged = true;
+    }
+
+    private void rebuildTransformOrder() {
+        hierarchyChanged = false;
+        transformOrderSize = 0;
+        if (root.getChildren() == null) return;
+
         for (GameObject go : root.getChildren()) {
-            go.update(delta);
+            addToTransformOrder(go);
+        }
+        // The array doubles as the queue, children are appended behind their parent
+        for (int i = 0; i < transformOrderSize; i++) {
+            final Array<GameObject> children = transformOrder[i].getChildren();
+            if (children == null) continue;
+            for (GameObject child : children) {
+                addToTransformOrder(child);
+            }
+        }
+
+        // Release references to removed game objects
+        for (int i = transformOrderSize; i < transformOrder.length && transformOrder[i] != null; i++) {
+            transformOrder[i] = null;
         }
     }
 
+    private void addToTransformOrder(GameObject go) {
+        if (transformOrderSize == transformOrder.length) {
+            GameObject[] newOrder = new GameObject[Math.max(64, transformOrderSize * 2)];
+            System.arraycopy(transformOrder, 0, newOrder, 0, transformOrderSize);
+            transformOrder = newOrder;
+        }
+        transformOrder[transformOrderSize++] = go;
+    }
+
     public Array<GameObject> getGameObjects() {
         return root.getChildren();
     }
@@ -209,6 +326,62 @@ public class SceneGraph implements Disposable {
         return root;
     }
 
+    /**
+     * @return the components of all game objects in the scene graph, by type
+     */
+    public ComponentRegistry getComponentRegistry() {
+        return componentRegistry;
+    }
+
+    /**
+     * Adds the component to the component and bounds registries. Called by the game objects while they are part
+     * of the scene graph.
+     */
+    void registerComponent(Component component) {
+        componentRegistry.register(component);
+        if (component instanceof CullableComponent) {
+            boundsRegistry.add((CullableComponent) component);
+        }
+    }
+
+    /**
+     * Removes the component from the component and bounds registries.
+     */
+    void unregisterComponent(Component component) {
+        componentRegistry.unregister(component);
+        if (component instanceof CullableComponent) {
+            boundsRegistry.remove((CullableComponent) component);
+        }
+    }
+
+    /**
+     * @return the world bounds of all cullable components, used for frustum culling
+     */
+    public BoundsRegistry getBoundsRegistry() {
+        return boundsRegistry;
+    }
+
+    /**
+     * Enables or disables the spatial index. While enabled, it is kept in sync with the bounds registry and used
+     * for frustum culling.
+     */
+    public void setSpatialIndexEnabled(boolean enabled) {
+        if (enabled && spatialIndex == null) {
+            spatialIndex = new LooseOctree(boundsRegistry);
+        } else if (!enabled && spatialIndex != null) {
+            spatialIndex.dispose();
+            spatialIndex = null;
+        }
+    }
+
+    /**
+     * @return the spatial index for frustum, sphere, box and ray queries or null if not enabled,
+     * see {@link #setSpatialIndexEnabled(boolean)}
+     */
+    public LooseOctree getSpatialIndex() {
+        return spatialIndex;
+    }
+
     public boolean isContainsWater() {
         return containsWater;
     }
@@ -219,7 +392,9 @@ public class SceneGraph implements Disposable {
 
     @Override
     public void dispose() {
+        setSpatialIndexEnabled(false);
         root.dispose();
+        componentRegistry.clear();
     }
 
 }
@@ -40,9 +40,21 @@ public class SimpleNode<T extends SimpleNode> extends BaseNode<T> {
     // root * p0 * p1 * localMat = combined (absolute transfrom)
     private final Matrix4 combined;
 
-    /** Flag to indicate that the transform is dirty and needs to be recalculated */
+    /** Source of unique world transform versions, so a changed parent can never match a stale version */
+    private static int versionCounter = 0;
+
+    /** Flag to indicate that the local transform is dirty and needs to be recalculated */
     protected boolean isTransformDirty;
 
+    /** Version of the combined transform, changes on every recalculation */
+    protected int worldVersion;
+
+    /** Version of the parents combined transform the combined transform was calculated with */
+    private int parentWorldVersion = -1;
+
+    /** Listeners of this node and its children were notified and the transform was not recalculated since */
+    protected boolean dirtyNotified;
+
     /** Observable that notifies listeners when the transform is marked dirty */
     protected DirtyObservable dirtyObservable;
 
@@ -104,16 +116,41 @@ public class SimpleNode<T extends SimpleNode> extends BaseNode<T> {
 
     @Override
     public Matrix4 getTransform() {
-        if (isTransformDirty || parent != null && parent.isTransformDirty) {
+        // Changes notify all children, so if this node was not notified no ancestor changed since the calculation
+        if (!dirtyNotified && !isTransformDirty) return combined;
+
+        // Brings all ancestors up to date first, a change anywhere above gives the parent a new version
+        Matrix4 parentTransform = null;
+        if (parent != null) {
+            parentTransform = parent.getTransform();
+            if (parent.worldVersion != parentWorldVersion) {
+                isTransformDirty = true;
+            }
+        }
+
+        if (isTransformDirty) {
             combined.set(localPosition, localRotation, localScale);
-            if (parent != null) {
-                combined.mulLeft(parent.getTransform());
+            if (parentTransform != null) {
+                combined.mulLeft(parentTransform);
+                parentWorldVersion = parent.worldVersion;
+            } else {
+                parentWorldVersion = -1;
             }
+            worldVersion = ++versionCounter;
             isTransformDirty = false;
         }
+        dirtyNotified = false;
         return combined;
     }
 
+    /**
+     * @return true if the transform changed and was not recalculated since, so calling {@link #getTransform()}
+     * will recalculate it
+     */
+    public boolean isTransformOutdated() {
+        return isTransformDirty || dirtyNotified;
+    }
+
     @Override
     public Vector3 getForwardDirection(Vector3 out) {
         return out.set(LOCAL_FORWARD).rot(getTransform()).nor();
@@ -203,13 +240,32 @@ public class SimpleNode<T extends SimpleNode> extends BaseNode<T> {
         child.markDirty();
     }
 
+    @Override
+    public void remove() {
+        super.remove();
+        // No longer combined with the transform of the parent
+        markDirty();
+    }
+
+    /**
+     * Marks the local transform as changed. The combined transforms of this node and its children are recalculated
+     * lazily on the next {@link #getTransform()}. Dirty listeners of this node and its children are notified, but
+     * only once until the transform was recalculated, so changing a node many times a frame does not walk its
+     * subtree every time.
+     */
     public void markDirty() {
         isTransformDirty = true;
+        notifyDirty();
+    }
+
+    protected void notifyDirty() {
+        if (dirtyNotified) return;
+        dirtyNotified = true;
         dirtyObservable.notifyListeners();
 
         if (children == null) return;
         for (T child : children) {
-            child.markDirty();
+            child.notifyDirty();
         }
     }
 
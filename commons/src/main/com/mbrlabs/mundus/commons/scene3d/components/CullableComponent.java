@@ -17,7 +17,6 @@
 package com.mbrlabs.mundus.commons.scene3d.components;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.g3d.ModelInstance;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.math.collision.BoundingBox;
@@ -25,19 +24,19 @@ import com.badlogic.gdx.math.collision.OrientedBoundingBox;
 import com.badlogic.gdx.utils.Array;
 import com.mbrlabs.mundus.commons.event.Event;
 import com.mbrlabs.mundus.commons.event.EventType;
+import com.mbrlabs.mundus.commons.rendering.BoundsRegistry;
+import com.mbrlabs.mundus.commons.rendering.RenderPass;
 import com.mbrlabs.mundus.commons.scene3d.DirtyListener;
 import com.mbrlabs.mundus.commons.scene3d.GameObject;
 import com.mbrlabs.mundus.commons.scene3d.ModelCacheable;
 import com.mbrlabs.mundus.commons.scene3d.ModelEventable;
-import com.mbrlabs.mundus.commons.shadows.MundusDirectionalShadowLight;
-import com.mbrlabs.mundus.commons.utils.ModelUtils;
 
 /**
  * Components that can be Culled via Frustum Culling should extend
  * this class and call setDimensions once they have access to a modelInstance as well as super
  * for render() and update()
- * The isCulled value will be set accordingly and components can check if is isCulled == true
- * before rendering.
+ * The world bounds are kept in the BoundsRegistry of the scene graph, the visible render passes are set
+ * by the FrustumCuller each frame and components can check isVisible(pass) or isCulled() before rendering.
  *
  * @author JamesTKhan
  * @version July 18, 2022
@@ -45,18 +44,17 @@ import com.mbrlabs.mundus.commons.utils.ModelUtils;
 public abstract class CullableComponent extends AbstractComponent implements ModelEventable, DirtyListener {
     private final static BoundingBox tmpBounds = new BoundingBox();
     private final static Vector3 tmpScale = new Vector3();
-    private final static short frameCullCheckInterval = 15;
 
     protected final Vector3 center = new Vector3();
     protected final Vector3 dimensions = new Vector3();
     private final OrientedBoundingBox orientedBoundingBox = new OrientedBoundingBox();
     protected float radius;
 
-    // Render calls since last cull check
-    protected short framesSinceLastCullCheck = 0;
-
-    // Is it offscreen?
-    protected boolean isCulled = false;
+    // Index into the BoundsRegistry of the scene graph, -1 if not registered
+    private int boundsIndex = -1;
+    private boolean cached = false;
+    // The game object transform changed since the oriented bounding box was updated
+    private boolean transformChanged = false;
     private boolean checkShadowDuringFrustumCulling = true;
     private Array<Event> events;
     private ModelInstance modelInstance = null;
@@ -74,40 +72,12 @@ public abstract class CullableComponent extends AbstractComponent implements Mod
             setDimensions(modelInstance);
         }
 
-        if (!gameObject.sceneGraph.scene.settings.useFrustumCulling) {
-            isCulled = false;
-            return;
-        }
-
-        // Cannot frustum cull model cache objects, no reason for perform calculations
-        if (this instanceof ModelCacheable) {
-            if (((ModelCacheable) this).shouldCache()) {
-                isCulled = false;
-                return;
-            }
+        // Cannot frustum cull model cache objects
+        boolean shouldCache = this instanceof ModelCacheable && ((ModelCacheable) this).shouldCache();
+        if (shouldCache != cached) {
+            cached = shouldCache;
+            updateRegisteredBounds();
         }
-
-        // If object is not culled, don't perform a cull check every frame, just in intervals
-        // to reduce matrix calculations
-        if (!isCulled && framesSinceLastCullCheck++ < frameCullCheckInterval) return;
-        framesSinceLastCullCheck = 0;
-
-        boolean visibleToPerspective;
-        boolean visibleToShadowMap = false;
-
-        Camera sceneCam = gameObject.sceneGraph.scene.cam;
-
-        visibleToPerspective = ModelUtils.isVisible(sceneCam, orientedBoundingBox);
-
-        // If not visible to main cam, check if it's visible to shadow map (to prevent shadows popping out)
-        if (checkShadowDuringFrustumCulling && !visibleToPerspective) {
-            if (gameObject.sceneGraph.scene.environment.shadowMap instanceof MundusDirectionalShadowLight) {
-                MundusDirectionalShadowLight shadowLight = (MundusDirectionalShadowLight) gameObject.sceneGraph.scene.environment.shadowMap;
-                visibleToShadowMap = ModelUtils.isVisible(shadowLight.getCamera(), orientedBoundingBox);
-            }
-        }
-
-        isCulled = !visibleToPerspective && !visibleToShadowMap;
     }
 
     @Override
@@ -141,14 +111,25 @@ public abstract class CullableComponent extends AbstractComponent implements Mod
             Gdx.app.error("CullableComponent", "setDimensions called with null modelInstance");
             return;
         }
+        setDimensions(modelInstance, modelInstance.calculateBoundingBox(tmpBounds));
+    }
+
+    /**
+     * Sets the dimensions from bounds known in advance, for components not rendering the meshes of their model
+     * instance.
+     *
+     * @param modelInstance the model instance providing the transform
+     * @param bounds the local bounds
+     */
+    protected void setDimensions(ModelInstance modelInstance, BoundingBox bounds) {
         this.modelInstance = modelInstance;
-        modelInstance.calculateBoundingBox(tmpBounds);
-        tmpBounds.getCenter(center);
-        tmpBounds.getDimensions(dimensions);
+        bounds.getCenter(center);
+        bounds.getDimensions(dimensions);
         gameObject.getScale(tmpScale);
         dimensions.scl(tmpScale);
         radius = dimensions.len() / 2f;
-        orientedBoundingBox.set(tmpBounds, modelInstance.transform);
+        orientedBoundingBox.set(bounds, modelInstance.transform);
+        updateRegisteredBounds();
     }
 
     /**
@@ -161,6 +142,7 @@ public abstract class CullableComponent extends AbstractComponent implements Mod
     }
 
     public OrientedBoundingBox getOrientedBoundingBox() {
+        updateTransform();
         return orientedBoundingBox;
     }
 
@@ -188,8 +170,52 @@ public abstract class CullableComponent extends AbstractComponent implements Mod
         return radius;
     }
 
+    /**
+     * @return true if it is neither visible to the scene camera nor, if checked, to the shadow camera
+     */
     public boolean isCulled() {
-        return isCulled;
+        return !isVisible(RenderPass.MAIN) && !(checkShadowDuringFrustumCulling && isVisible(RenderPass.SHADOW));
+    }
+
+    /**
+     * @return true if it is within the camera frustum of the given render pass during the current frame
+     */
+    public boolean isVisible(RenderPass pass) {
+        if (boundsIndex < 0) return true;
+        return (gameObject.sceneGraph.getBoundsRegistry().getVisiblePasses(boundsIndex) & pass.mask) != 0;
+    }
+
+    /**
+     * @return the index into the {@link BoundsRegistry} of the scene graph or -1 if not registered
+     */
+    public int getBoundsIndex() {
+        return boundsIndex;
+    }
+
+    /**
+     * Only to be called by the {@link BoundsRegistry}.
+     */
+    public void setBoundsIndex(int boundsIndex) {
+        final boolean added = this.boundsIndex < 0 && boundsIndex >= 0;
+        this.boundsIndex = boundsIndex;
+        if (added) {
+            updateRegisteredBounds();
+        }
+    }
+
+    /**
+     * Writes the current bounds to the {@link BoundsRegistry} of the scene graph, if registered. Called by the
+     * registry for entries marked dirty.
+     */
+    public void updateRegisteredBounds() {
+        if (boundsIndex < 0) return;
+        updateTransform();
+        BoundsRegistry registry = gameObject.sceneGraph.getBoundsRegistry();
+        if (modelInstance == null || cached) {
+            registry.setUnbounded(boundsIndex);
+        } else {
+            registry.setBounds(boundsIndex, orientedBoundingBox);
+        }
     }
 
     public boolean isCheckShadowDuringFrustumCulling() {
@@ -202,7 +228,18 @@ public abstract class CullableComponent extends AbstractComponent implements Mod
 
     @Override
     public void onDirty() {
-        // Force update of transform so that model instance transform is also updated
+        // The transform is recalculated lazily, once the bounds are needed
+        transformChanged = true;
+        if (boundsIndex >= 0) {
+            gameObject.sceneGraph.getBoundsRegistry().markDirty(boundsIndex);
+        }
+    }
+
+    private void updateTransform() {
+        if (!transformChanged) return;
+        transformChanged = false;
+
+        // Update of transform, so that model instance transform is also updated
         gameObject.getTransform();
 
         if (modelInstance == null) return;
@@ -24,6 +24,7 @@ import com.mbrlabs.mundus.commons.assets.Asset;
 import com.mbrlabs.mundus.commons.assets.MaterialAsset;
 import com.mbrlabs.mundus.commons.assets.ModelAsset;
 import com.mbrlabs.mundus.commons.assets.TextureAsset;
+import com.mbrlabs.mundus.commons.lod.ModelLevelOfDetailManager;
 import com.mbrlabs.mundus.commons.scene3d.GameObject;
 import com.mbrlabs.mundus.commons.scene3d.ModelCacheable;
 
@@ -41,10 +42,19 @@ public class ModelComponent extends CullableComponent implements AssetUsage, Mod
 
     protected ObjectMap<String, MaterialAsset> materials;  // g3db material id to material asset uuid
 
+    private final ModelLevelOfDetailManager lodManager;
+
     public ModelComponent(GameObject go) {
         super(go);
         type = Type.MODEL;
         materials = new ObjectMap<>();
+        lodManager = new ModelLevelOfDetailManager(this);
+    }
+
+    @Override
+    public void update(float delta) {
+        super.update(delta);
+        lodManager.update(delta);
     }
 
     @Override
@@ -79,6 +89,10 @@ public class ModelComponent extends CullableComponent implements AssetUsage, Mod
         return materials;
     }
 
+    public ModelLevelOfDetailManager getLodManager() {
+        return lodManager;
+    }
+
     public ModelAsset getModelAsset() {
         return modelAsset;
     }
@@ -114,7 +128,7 @@ public class ModelComponent extends CullableComponent implements AssetUsage, Mod
         mc.setModel(new ModelInstance(modelAsset.getModel()));
         mc.materials.putAll(this.materials);
         mc.setUseModelCache(useModelCache);
-        gameObject.sceneGraph.scene.modelCacheManager.requestModelCacheRebuild();
+        gameObject.sceneGraph.scene.modelCacheManager.requestModelCacheUpdate();
         return mc;
     }
 
@@ -16,19 +16,26 @@
 
 package com.mbrlabs.mundus.commons.scene3d.components;
 
+import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.g3d.Material;
 import com.badlogic.gdx.graphics.g3d.ModelInstance;
 import com.badlogic.gdx.graphics.g3d.RenderableProvider;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
 import com.badlogic.gdx.math.collision.Ray;
 import com.badlogic.gdx.utils.Array;
+import com.mbrlabs.mundus.commons.Scene;
 import com.mbrlabs.mundus.commons.assets.Asset;
 import com.mbrlabs.mundus.commons.assets.TerrainAsset;
 import com.mbrlabs.mundus.commons.assets.TerrainLayerAsset;
 import com.mbrlabs.mundus.commons.scene3d.GameObject;
 import com.mbrlabs.mundus.commons.lod.LevelOfDetailManager;
 import com.mbrlabs.mundus.commons.lod.TerrainLevelOfDetailManager;
+import com.mbrlabs.mundus.commons.rendering.DefaultSceneRenderer;
+import com.mbrlabs.mundus.commons.rendering.FrustumCuller;
+import com.mbrlabs.mundus.commons.terrain.Terrain;
+import com.mbrlabs.mundus.commons.terrain.TerrainQuadTreeRenderer;
 import net.mgsx.gltf.scene3d.attributes.PBRTextureAttribute;
 
 import java.util.Objects;
@@ -40,9 +47,12 @@ import java.util.Objects;
 public class TerrainComponent extends CullableComponent implements AssetUsage, RenderableComponent {
 
     private static final String TAG = TerrainComponent.class.getSimpleName();
+    private static final BoundingBox tmpBounds = new BoundingBox();
 
     protected ModelInstance modelInstance;
     protected TerrainAsset terrainAsset;
+    // Renders terrains too large for a single mesh, null otherwise
+    private TerrainQuadTreeRenderer quadTreeRenderer;
 
     // Neighbor terrain components
     private TerrainComponent topNeighbor;
@@ -61,12 +71,43 @@ public class TerrainComponent extends CullableComponent implements AssetUsage, R
     @Override
     public void update(float delta) {
         super.update(delta);
-        lodManager.update(delta);
+        // The quadtree selects its detail per node and render pass, the LoD levels of the asset are not used
+        if (quadTreeRenderer == null) {
+            lodManager.update(delta);
+        }
     }
 
     @Override
     public RenderableProvider getRenderableProvider() {
-        return modelInstance;
+        if (quadTreeRenderer == null) return modelInstance;
+        selectQuadTreeNodes();
+        return quadTreeRenderer;
+    }
+
+    /**
+     * Selects the quadtree nodes within the frustum of the pass being rendered, so shadow and reflection passes
+     * get the nodes their cameras see. Detail is always selected for the scene camera position.
+     */
+    private void selectQuadTreeNodes() {
+        final Scene scene = gameObject.sceneGraph.scene;
+        Camera camera = scene.cam;
+        if (scene.getSceneRenderer() instanceof DefaultSceneRenderer) {
+            final FrustumCuller culler = ((DefaultSceneRenderer) scene.getSceneRenderer()).getFrustumCuller();
+            final Camera passCamera = culler.getCamera(culler.getActivePass());
+            if (passCamera != null) camera = passCamera;
+        }
+        quadTreeRenderer.update(scene.cam.position, scene.settings.useFrustumCulling ? camera.frustum : null);
+    }
+
+    @Override
+    protected void setDimensions(ModelInstance modelInstance) {
+        final Terrain terrain = terrainAsset != null ? terrainAsset.getTerrain() : null;
+        if (terrain != null && terrain.usesQuadTree()) {
+            // The model only holds the coarsest patch, which may miss the highest points
+            setDimensions(modelInstance, terrain.getQuadTree().getBounds(tmpBounds));
+        } else {
+            super.setDimensions(modelInstance);
+        }
     }
 
     public void updateUVs(Vector2 uvScale) {
@@ -77,6 +118,8 @@ public class TerrainComponent extends CullableComponent implements AssetUsage, R
         this.terrainAsset = terrainAsset;
         modelInstance = new ModelInstance(terrainAsset.getTerrain().getModel());
         modelInstance.transform = gameObject.getTransform();
+        final Terrain terrain = terrainAsset.getTerrain();
+        quadTreeRenderer = terrain.usesQuadTree() ? new TerrainQuadTreeRenderer(terrain, modelInstance) : null;
         applyMaterial();
         setDimensions(modelInstance);
     }
@@ -152,6 +195,13 @@ public class TerrainComponent extends CullableComponent implements AssetUsage, R
         return lodManager;
     }
 
+    /**
+     * @return the renderer of a terrain too large for a single mesh, null if the terrain uses a plane mesh
+     */
+    public TerrainQuadTreeRenderer getQuadTreeRenderer() {
+        return quadTreeRenderer;
+    }
+
     @Override
     public Component clone(GameObject go) {
         TerrainComponent terrainComponent = new TerrainComponent(go);
@@ -98,6 +98,11 @@ public class TerrainManagerComponent extends AbstractComponent {
             public float fractalLacunarity;
             public float fractalGain;
             public boolean additive;
+
+            /** The height map filter applied at this point of the modifier chain, null for noise modifiers */
+            public String filterType;
+            public String filterName;
+            public float[] filterParameters;
         }
 
         public float minHeight;
@@ -24,8 +24,18 @@ public class MundusPBRShader extends PBRShader {
 
     protected final int UNIFORM_SPOT_LIGHT_NUM_ACTIVE = register(new Uniform("u_activeNumSpotLights"));
 
+    /** Reads the world transforms from the per instance attributes of the mesh */
+    protected final boolean instanced;
+
     public MundusPBRShader(Renderable renderable, Config config, String prefix) {
         super(renderable, config, prefix);
+        instanced = renderable.meshPart.mesh.isInstanced();
+    }
+
+    @Override
+    public boolean canRender(Renderable renderable) {
+        if (renderable.meshPart.mesh.isInstanced() != instanced) return false;
+        return super.canRender(renderable);
     }
 
     @Override
@@ -1,9 +1,11 @@
 package com.mbrlabs.mundus.commons.shaders;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.VertexAttributes;
 import com.badlogic.gdx.graphics.g3d.Renderable;
 import com.badlogic.gdx.graphics.g3d.Shader;
 import com.mbrlabs.mundus.commons.terrain.SplatTexture;
+import com.mbrlabs.mundus.commons.terrain.Terrain;
 import com.mbrlabs.mundus.commons.terrain.TerrainMaterial;
 import com.mbrlabs.mundus.commons.terrain.attributes.TerrainMaterialAttribute;
 import com.mbrlabs.mundus.commons.water.attributes.WaterMaterialAttribute;
@@ -35,6 +37,10 @@ public class MundusPBRShaderProvider extends PBRShaderProvider {
             return createPBRTerrainShader(renderable, config, prefix);
         }
 
+        if (renderable.meshPart.mesh.isInstanced()) {
+            prefix += "#define instancedFlag\n";
+        }
+
         return new MundusPBRShader(renderable, config, prefix);
     }
 
@@ -44,9 +50,21 @@ public class MundusPBRShaderProvider extends PBRShaderProvider {
 
          prefix += getTerrainPrefix(terrainMaterial);
 
+        if (hasAttribute(renderable, Terrain.LOD_MORPH_ATTRIBUTE)) {
+            prefix += "#define lodMorphFlag\n";
+        }
+
         return new PBRTerrainShader(renderable, config, prefix);
     }
 
+    private static boolean hasAttribute(Renderable renderable, String alias) {
+        VertexAttributes attributes = renderable.meshPart.mesh.getVertexAttributes();
+        for (int i = 0; i < attributes.size(); i++) {
+            if (attributes.get(i).alias.equals(alias)) return true;
+        }
+        return false;
+    }
+
     private Shader createWaterShader(Renderable renderable) {
         Shader shader = new WaterUberShader(renderable, config);
         shaders.add(shader);
@@ -3,11 +3,13 @@ package com.mbrlabs.mundus.commons.shaders;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g3d.Attributes;
 import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.attributes.FloatAttribute;
 import com.badlogic.gdx.graphics.g3d.shaders.BaseShader;
 import com.badlogic.gdx.graphics.g3d.utils.TextureDescriptor;
 import com.badlogic.gdx.math.Vector2;
 import com.mbrlabs.mundus.commons.terrain.SplatTexture;
 import com.mbrlabs.mundus.commons.terrain.TerrainMaterial;
+import com.mbrlabs.mundus.commons.terrain.attributes.TerrainLodMorphAttribute;
 import com.mbrlabs.mundus.commons.terrain.attributes.TerrainMaterialAttribute;
 
 /**
@@ -19,6 +21,7 @@ public class PBRTerrainShader extends MundusPBRShader {
     private final static Vector2 v2 = new Vector2();
     public static class TerrainInputs {
         public final static Uniform terrainSize = new Uniform("u_terrainSize");
+        public final static Uniform lodMorph = new Uniform("u_lodMorph");
 
         public final static Uniform splatTexture = new Uniform("u_texture_splat");
         public final static Uniform splatRTexture = new Uniform("u_texture_r");
@@ -41,6 +44,14 @@ public class PBRTerrainShader extends MundusPBRShader {
             }
         };
 
+        public final static Setter lodMorph = new LocalSetter() {
+            @Override
+            public void set(BaseShader shader, int inputID, Renderable renderable, Attributes combinedAttributes) {
+                FloatAttribute attribute = (FloatAttribute) combinedAttributes.get(TerrainLodMorphAttribute.LodMorph);
+                shader.set(inputID, attribute != null ? attribute.value : 0f);
+            }
+        };
+
         public final static Setter splatRTexture = getTerrainTextureSetter(SplatTexture.Channel.R);
         public final static Setter splatGTexture = getTerrainTextureSetter(SplatTexture.Channel.G);
         public final static Setter splatBTexture = getTerrainTextureSetter(SplatTexture.Channel.B);
@@ -105,6 +116,7 @@ public class PBRTerrainShader extends MundusPBRShader {
     public final int u_splatBNormal;
     public final int u_splatANormal;
     public final int u_terrainSize;
+    public final int u_lodMorph;
 
     protected final long terrainMaterialMask;
 
@@ -116,6 +128,7 @@ public class PBRTerrainShader extends MundusPBRShader {
         terrainMaterialMask = terrainMaterial.getMask();
 
         u_terrainSize = register(TerrainInputs.terrainSize, TerrainSetters.terrainSize);
+        u_lodMorph = register(TerrainInputs.lodMorph, TerrainSetters.lodMorph);
 
         u_splatTexture = register(TerrainInputs.splatTexture, TerrainSetters.splatTexture);
 
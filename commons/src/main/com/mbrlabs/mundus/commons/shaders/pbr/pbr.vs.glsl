@@ -193,6 +193,17 @@ attribute vec2 a_boneWeight7;
 
 uniform mat4 u_worldTrans;
 
+#ifdef instancedFlag
+// World and normal matrix per instance, as columns
+attribute vec4 i_worldTrans0;
+attribute vec4 i_worldTrans1;
+attribute vec4 i_worldTrans2;
+attribute vec4 i_worldTrans3;
+attribute vec3 i_normalMatrix0;
+attribute vec3 i_normalMatrix1;
+attribute vec3 i_normalMatrix2;
+#endif
+
 #if defined(numBones)
 #if numBones > 0
 uniform mat4 u_bones[numBones];
@@ -217,8 +228,20 @@ varying vec2 v_splatPosition;
 uniform vec2 u_terrainSize;
 #endif
 
+#ifdef lodMorphFlag
+// Height of the next coarser terrain LoD level and how far to blend towards it
+attribute float a_lodMorph;
+uniform float u_lodMorph;
+#endif
+
 void main() {
 
+	#ifdef instancedFlag
+		mat4 worldTrans = mat4(i_worldTrans0, i_worldTrans1, i_worldTrans2, i_worldTrans3);
+	#else
+		mat4 worldTrans = u_worldTrans;
+	#endif
+
 	#ifdef splatFlag
 		v_splatPosition = vec2(a_position.x / u_terrainSize.x, a_position.z / u_terrainSize.y);
 	#endif
@@ -292,11 +315,15 @@ void main() {
 	#else
 		vec3 morph_pos = a_position;
 	#endif		
+
+	#ifdef lodMorphFlag
+		morph_pos.y = mix(morph_pos.y, a_lodMorph, u_lodMorph);
+	#endif
 	
 	#ifdef skinningFlag
-		vec4 pos = u_worldTrans * skinning * vec4(morph_pos, 1.0);
+		vec4 pos = worldTrans * skinning * vec4(morph_pos, 1.0);
 	#else
-		vec4 pos = u_worldTrans * vec4(morph_pos, 1.0);
+		vec4 pos = worldTrans * vec4(morph_pos, 1.0);
 	#endif
 
 	v_clipDistance = dot(pos, u_clipPlane);
@@ -316,7 +343,13 @@ void main() {
 	#endif //shadowMapFlag
 	
 	#if defined(normalFlag)
-		
+
+		#ifdef instancedFlag
+			mat3 normalMatrix = mat3(i_normalMatrix0, i_normalMatrix1, i_normalMatrix2);
+		#else
+			mat3 normalMatrix = u_normalMatrix;
+		#endif
+
 		vec3 morph_nor = a_normal;
 		#ifdef morphTargetsFlag
 			#ifdef normal0Flag
@@ -389,12 +422,12 @@ void main() {
 			#endif
 			
 			
-			vec3 normalW = normalize(vec3(u_normalMatrix * normal.xyz));
-			vec3 tangentW = normalize(vec3(u_worldTrans * vec4(tangent, 0.0)));
+			vec3 normalW = normalize(vec3(normalMatrix * normal.xyz));
+			vec3 tangentW = normalize(vec3(worldTrans * vec4(tangent, 0.0)));
 			vec3 bitangentW = cross(normalW, tangentW) * a_tangent.w;
 			v_TBN = mat3(tangentW, bitangentW, normalW);
 		#else // tangentFlag != 1
-			v_normal = normalize(vec3(u_normalMatrix * normal.xyz));
+			v_normal = normalize(vec3(normalMatrix * normal.xyz));
 		#endif
 	#endif // normalFlag
 	
@@ -0,0 +1,86 @@
+package com.mbrlabs.mundus.commons.terrain;
+
+/**
+ * Computes tangents for regular grid meshes like {@link PlaneMesh}. As the texture coordinates of a terrain grow
+ * along +X (u) and +Z (v), the tangent is the surface direction along X and the bitangent the surface direction
+ * along Z. Both are taken from central differences of the neighboring vertex positions, so any rectangular
+ * region of the grid can be updated on its own.
+ * <p>
+ * The tangent is orthogonalized against the vertex normal, so normals must be calculated first. The fourth
+ * tangent component holds the handedness of the bitangent.
+ *
+ * @version October 18, 2026
+ */
+public final class GridTangentGenerator {
+
+    private GridTangentGenerator() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Computes the tangents of the vertices within the given grid region (inclusive).
+     *
+     * @param vertices the interleaved vertex data, vertex index is z * resolution + x
+     * @param resolution the number of vertices per grid row and column
+     * @param stride the vertex size in floats
+     * @param posPos the offset of the position attribute in floats
+     * @param norPos the offset of the normal attribute in floats
+     * @param tanPos the offset of the 4 component tangent attribute in floats
+     */
+    public static void computeTangents(float[] vertices, int resolution, int stride, int posPos, int norPos, int tanPos,
+                                       int minX, int maxX, int minZ, int maxZ) {
+        final int last = resolution - 1;
+        for (int z = minZ; z <= maxZ; z++) {
+            final int z0 = Math.max(0, z - 1);
+            final int z1 = Math.min(last, z + 1);
+
+            for (int x = minX; x <= maxX; x++) {
+                final int x0 = Math.max(0, x - 1);
+                final int x1 = Math.min(last, x + 1);
+
+                // Surface direction along X
+                final int left = (z * resolution + x0) * stride + posPos;
+                final int right = (z * resolution + x1) * stride + posPos;
+                float tx = vertices[right] - vertices[left];
+                float ty = vertices[right + 1] - vertices[left + 1];
+                float tz = vertices[right + 2] - vertices[left + 2];
+
+                // Surface direction along Z
+                final int back = (z0 * resolution + x) * stride + posPos;
+                final int front = (z1 * resolution + x) * stride + posPos;
+                final float bx = vertices[front] - vertices[back];
+                final float by = vertices[front + 1] - vertices[back + 1];
+                final float bz = vertices[front + 2] - vertices[back + 2];
+
+                final int vertex = (z * resolution + x) * stride;
+                final float nx = vertices[vertex + norPos];
+                final float ny = vertices[vertex + norPos + 1];
+                final float nz = vertices[vertex + norPos + 2];
+
+                // Gram-Schmidt orthogonalize
+                final float dot = nx * tx + ny * ty + nz * tz;
+                tx -= nx * dot;
+                ty -= ny * dot;
+                tz -= nz * dot;
+                final float len2 = tx * tx + ty * ty + tz * tz;
+                if (len2 != 0f) {
+                    final float invLen = 1f / (float) Math.sqrt(len2);
+                    tx *= invLen;
+                    ty *= invLen;
+                    tz *= invLen;
+                }
+
+                // Handedness, sign of cross(normal, tangent) . bitangent
+                final float cx = ny * tz - nz * ty;
+                final float cy = nz * tx - nx * tz;
+                final float cz = nx * ty - ny * tx;
+                final float w = (cx * bx + cy * by + cz * bz) < 0f ? -1f : 1f;
+
+                vertices[vertex + tanPos] = tx;
+                vertices[vertex + tanPos + 1] = ty;
+                vertices[vertex + tanPos + 2] = tz;
+                vertices[vertex + tanPos + 3] = w;
+            }
+        }
+    }
+}
@@ -12,6 +12,7 @@ import com.badlogic.gdx.utils.Disposable;
  */
 public class LodLevel implements Disposable {
     private final Mesh[] lodMeshes;
+    private float geometricError = -1f;
 
     public LodLevel(Mesh[] meshes) {
         lodMeshes = meshes;
@@ -21,6 +22,18 @@ public class LodLevel implements Disposable {
         return lodMeshes;
     }
 
+    /**
+     * @return the maximum deviation of the meshes from the base level in local units, 0 for the base level and
+     * negative if unknown
+     */
+    public float getGeometricError() {
+        return geometricError;
+    }
+
+    public void setGeometricError(float geometricError) {
+        this.geometricError = geometricError;
+    }
+
     @Override
     public void dispose() {
         // Dispose all but the base mesh lod0, that is managed by the model
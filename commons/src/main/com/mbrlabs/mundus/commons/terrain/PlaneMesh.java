@@ -3,16 +3,13 @@ package com.mbrlabs.mundus.commons.terrain;
 import com.badlogic.gdx.graphics.Mesh;
 import com.badlogic.gdx.graphics.VertexAttribute;
 import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.glutils.IndexBufferObject;
 import com.badlogic.gdx.graphics.g3d.utils.MeshPartBuilder;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
-import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.Pool;
-import net.mgsx.gltf.loaders.shared.geometry.MeshTangentSpaceGenerator;
-
-import java.util.HashMap;
-import java.util.Map;
+import com.mbrlabs.mundus.commons.g3d.PartialVertexBufferObject;
 
 /**
  * Used for building a subdivideable plane mesh for things like terrain.
@@ -29,7 +26,8 @@ public class PlaneMesh implements Disposable {
         public VertexAttributes attribs;
     }
 
-    private static final MeshPartBuilder.VertexInfo tempVertexInfo = new MeshPartBuilder.VertexInfo();
+    // Per instance, so the vertices of different terrains can be rebuilt concurrently
+    private final MeshPartBuilder.VertexInfo tempVertexInfo = new MeshPartBuilder.VertexInfo();
 
     private final int vertexResolution;
 
@@ -43,6 +41,11 @@ public class PlaneMesh implements Disposable {
     private final int posPos;
     private final int norPos;
     private final int uvPos;
+    private final int tanPos;
+    private final int morphPos;
+
+    // Heights of the first LoD level per vertex, NaN where unknown, null without LoD
+    private float[] morphTargets;
 
     // Tracks the modified vertices bounds
     private int minX = Integer.MAX_VALUE;
@@ -50,7 +53,22 @@ public class PlaneMesh implements Disposable {
     private int minZ = Integer.MAX_VALUE;
     private int maxZ = Integer.MIN_VALUE;
 
-    private Map<Integer, Array<Integer>> vertexToTriangleMap;
+    // Tracks the vertices whose normals are outdated, kept separately as the vertex bounds
+    // are reset on upload while normals may be calculated later (e.g. on brush touchUp)
+    private int normalMinX = Integer.MAX_VALUE;
+    private int normalMaxX = Integer.MIN_VALUE;
+    private int normalMinZ = Integer.MAX_VALUE;
+    private int normalMaxZ = Integer.MIN_VALUE;
+    private boolean allNormalsDirty = true;
+
+    // Tracks the vertices that changed since the last upload (positions, normals or tangents)
+    private int uploadMinX = Integer.MAX_VALUE;
+    private int uploadMaxX = Integer.MIN_VALUE;
+    private int uploadMinZ = Integer.MAX_VALUE;
+    private int uploadMaxZ = Integer.MIN_VALUE;
+
+    // Face normals (x,y,z) of every triangle, two triangles per grid cell, see buildIndices
+    private float[] faceNormals;
 
     private Mesh mesh;
 
@@ -63,6 +81,8 @@ public class PlaneMesh implements Disposable {
         this.posPos = attribs.getOffset(VertexAttributes.Usage.Position, -1);
         this.norPos = attribs.getOffset(VertexAttributes.Usage.Normal, -1);
         this.uvPos = attribs.getOffset(VertexAttributes.Usage.TextureCoordinates, -1);
+        this.tanPos = attribs.getOffset(VertexAttributes.Usage.Tangent, -1);
+        this.morphPos = getOffset(attribs, Terrain.LOD_MORPH_ATTRIBUTE);
         this.stride = attribs.vertexSize / 4;
     }
 
@@ -71,7 +91,7 @@ public class PlaneMesh implements Disposable {
         final int numIndices = (terrainMeshInfo.vertexResolution - 1) * (terrainMeshInfo.vertexResolution - 1) * 6;
 
         indices = buildIndices();
-        buildVertexToTriangleMap();
+        faceNormals = new float[(numIndices / 3) * 3];
 
         if (vertices == null) {
             vertices = new float[numVertices * stride];
@@ -79,7 +99,9 @@ public class PlaneMesh implements Disposable {
 
         buildVertices();
 
-        Mesh mesh = new Mesh(true, numVertices, numIndices, attribs);
+        // Vertex buffer supporting partial uploads, see updateMeshVertices
+        Mesh mesh = new Mesh(new PartialVertexBufferObject(true, numVertices, attribs),
+                new IndexBufferObject(true, numIndices), false) {};
         mesh.setIndices(indices);
         mesh.setVertices(vertices);
 
@@ -110,33 +132,6 @@ public class PlaneMesh implements Disposable {
         return indices;
     }
 
-    /**
-     * This method builds a map that associates each vertex index with a list of indices
-     * of triangles that the vertex is part of. This map is used for efficient lookup
-     * of adjacent triangles when calculating vertex normals.
-     *
-     * The map is stored in the instance variable vertexToTriangleMap, where the key is
-     * the vertex index and the value is a list of triangle indices.
-     *
-     * Note: This method is to be called during the mesh building process, after the
-     * indices array has been populated.
-     */
-    private void buildVertexToTriangleMap() {
-        vertexToTriangleMap = new HashMap<>();
-        for (int i = 0; i < indices.length; i += 3) {
-            int triangleIndex = i / 3;
-            for (int j = 0; j < 3; j++) {
-                int vertexIndex = (indices[i + j] & 0xFFFF);
-                Array<Integer> triangleIndices = vertexToTriangleMap.get(vertexIndex);
-                if (triangleIndices == null) {
-                    triangleIndices = new Array<>();
-                    vertexToTriangleMap.put(vertexIndex, triangleIndices);
-                }
-                triangleIndices.add(triangleIndex);
-            }
-        }
-    }
-
     public void buildVertices() {
         int vertexResolution = terrainMeshInfo.vertexResolution;
         if (minX <= maxX && minZ <= maxZ) {
@@ -149,6 +144,9 @@ public class PlaneMesh implements Disposable {
             }
         } else {
             // If the bounding box is empty, then we need to update all vertices.
+            allNormalsDirty = true;
+            expandUploadBounds(0, 0);
+            expandUploadBounds(vertexResolution - 1, vertexResolution - 1);
             for (int x = 0; x < vertexResolution; x++) {
                 for (int z = 0; z < vertexResolution; z++) {
                     calculateVertexAt(tempVertexInfo, x, z);
@@ -175,6 +173,11 @@ public class PlaneMesh implements Disposable {
             vertices[index + norPos + 1] = 1f;
             vertices[index + norPos + 2] = 0f;
         }
+        if (morphPos >= 0) {
+            // A modified vertex no longer matches the LoD levels, it does not morph until they are rebuilt
+            if (morphTargets != null) morphTargets[index / stride] = Float.NaN;
+            vertices[index + morphPos] = info.position.y;
+        }
     }
 
     private MeshPartBuilder.VertexInfo calculateVertexAt(MeshPartBuilder.VertexInfo out, int x, int z) {
@@ -194,6 +197,9 @@ public class PlaneMesh implements Disposable {
      * This method calculates and sets the average normal for each vertex in the terrain mesh.
      * It first calculates the normal of each face (triangle) in the mesh, then for each vertex,
      * it calculates the average normal from the normals of all faces that include this vertex.
+     * <p>
+     * Face normals are cached, so when only a region of the terrain was modified only the faces
+     * touching that region and the vertices around it are recalculated.
      *
      * Note: This method should be called after the vertices and indices of the mesh have been defined and set.
      * It directly modifies the vertices array to set the normal for each vertex.
@@ -201,29 +207,15 @@ public class PlaneMesh implements Disposable {
      *             a background thread, this pool should be thread-safe.
      */
     public void calculateAverageNormals(Pool<Vector3> pool) {
-        final int numIndices = (this.vertexResolution - 1) * (vertexResolution - 1) * 6;
-
-        Vector3 v1 = pool.obtain();
-        Vector3 v2 = pool.obtain();
-        Vector3 v3 = pool.obtain();
-
-        // Calculate face normals for each triangle and store them in an array
-        Vector3[] faceNormals = new Vector3[numIndices / 3];
-        for (int i = 0; i < numIndices; i += 3) {
-            getVertexPos(v1, indices[i] & 0xFFFF);
-            getVertexPos(v2, indices[i + 1] & 0xFFFF);
-            getVertexPos(v3, indices[i + 2] & 0xFFFF);
-            Vector3 normal = calculateFaceNormal(pool.obtain(), v1, v2, v3);
-            faceNormals[i / 3] = normal;
-        }
+        final int cells = vertexResolution - 1;
 
         int minXIndex, maxXIndex, minZIndex, maxZIndex;
-        if (minX <= maxX && minZ <= maxZ) {
+        if (!allNormalsDirty && normalMinX <= normalMaxX && normalMinZ <= normalMaxZ) {
             // Only calculate normals for vertices within the modified region
-            minXIndex = Math.max(0, minX - 1);
-            maxXIndex = Math.min(vertexResolution - 1, maxX + 1);
-            minZIndex = Math.max(0, minZ - 1);
-            maxZIndex = Math.min(vertexResolution - 1, maxZ + 1);
+            minXIndex = Math.max(0, normalMinX - 1);
+            maxXIndex = Math.min(vertexResolution - 1, normalMaxX + 1);
+            minZIndex = Math.max(0, normalMinZ - 1);
+            maxZIndex = Math.min(vertexResolution - 1, normalMaxZ + 1);
         } else {
             // Calculate normals for all vertices
             minXIndex = 0;
@@ -232,21 +224,33 @@ public class PlaneMesh implements Disposable {
             maxZIndex = vertexResolution - 1;
         }
 
+        // Faces touching a modified vertex, the cells from (min - 1) to max
+        for (int z = minZIndex; z <= Math.min(cells - 1, maxZIndex - 1); z++) {
+            for (int x = minXIndex; x <= Math.min(cells - 1, maxXIndex - 1); x++) {
+                final int c00 = z * vertexResolution + x;
+                final int c10 = c00 + 1;
+                final int c01 = c00 + vertexResolution;
+                final int c11 = c10 + vertexResolution;
+                final int triangle = (z * cells + x) * 2;
+                calculateFaceNormal(triangle, c11, c10, c00);
+                calculateFaceNormal(triangle + 1, c00, c01, c11);
+            }
+        }
+
+        Vector3 normal = pool.obtain();
+
         // Calculate and set vertex normals
         for (int z = minZIndex; z <= maxZIndex; z++) {
             for (int x = minXIndex; x <= maxXIndex; x++) {
-                int i = z * vertexResolution + x;
-                calculateVertexNormal(v1, i, faceNormals);
-                setVertexNormal(i, v1);
+                calculateVertexNormal(normal, x, z);
+                setVertexNormal(z * vertexResolution + x, normal);
             }
         }
 
-        pool.free(v1);
-        pool.free(v2);
-        pool.free(v3);
-        for (Vector3 normal : faceNormals) {
-            pool.free(normal);
-        }
+        pool.free(normal);
+        expandUploadBounds(minXIndex, minZIndex);
+        expandUploadBounds(maxXIndex, maxZIndex);
+        resetNormalBoundingBox();
     }
 
     public boolean stitchEdgeNormalsFromNeighbors(PlaneMesh north, PlaneMesh east, PlaneMesh south, PlaneMesh west, Pool<Vector3> pool) {
@@ -318,17 +322,10 @@ public class PlaneMesh implements Disposable {
         return changed;
     }
 
-    /**
-     * Retrieve the vertex x,y,z position from the vertices array for the given vertex index.
-     */
-    private void getVertexPos(Vector3 out, int index) {
-        int start = index * stride;
-        out.set(vertices[start + posPos], vertices[start + posPos + 1], vertices[start + posPos + 2]);
-    }
-
     public void setNormalAt(int x, int z, Vector3 normal) {
         int vertexIndex = z * vertexResolution + x;
         setVertexNormal(vertexIndex, normal);
+        expandUploadBounds(x, z);
     }
 
     /**
@@ -342,44 +339,96 @@ public class PlaneMesh implements Disposable {
     }
 
     /**
-     * This method calculates the normal of a face in 3D space given its three vertices.
-     * The face is assumed to be a triangle.
-     *
-     * @param out The Vector3 to store the result in.
-     * @param vertex1 The first vertex of the triangle.
-     * @param vertex2 The second vertex of the triangle.
-     * @param vertex3 The third vertex of the triangle.
+     * This method calculates the normal of a face (triangle) given its three vertex indices
+     * and stores the normalized result in the face normal buffer.
      *
-     * @return A normalized Vector3 representing the normal of the face.
+     * @param triangle The index of the triangle in the face normal buffer.
+     * @param index1 The first vertex index of the triangle.
+     * @param index2 The second vertex index of the triangle.
+     * @param index3 The third vertex index of the triangle.
      */
-    private Vector3 calculateFaceNormal(Vector3 out, Vector3 vertex1, Vector3 vertex2, Vector3 vertex3) {
-        Vector3 edge1 = vertex2.sub(vertex1); // Vector from vertex1 to vertex2
-        Vector3 edge2 = vertex3.sub(vertex1); // Vector from vertex1 to vertex3
-        out.set(edge1).crs(edge2); // Cross product of edge1 and edge2
-        return out.nor(); // Return the normalized normal vector
+    private void calculateFaceNormal(int triangle, int index1, int index2, int index3) {
+        final int p1 = index1 * stride + posPos;
+        final int p2 = index2 * stride + posPos;
+        final int p3 = index3 * stride + posPos;
+
+        // Vectors from vertex1 to vertex2 and vertex1 to vertex3
+        final float e1x = vertices[p2] - vertices[p1];
+        final float e1y = vertices[p2 + 1] - vertices[p1 + 1];
+        final float e1z = vertices[p2 + 2] - vertices[p1 + 2];
+        final float e2x = vertices[p3] - vertices[p1];
+        final float e2y = vertices[p3 + 1] - vertices[p1 + 1];
+        final float e2z = vertices[p3 + 2] - vertices[p1 + 2];
+
+        // Cross product of edge1 and edge2
+        float nx = e1y * e2z - e1z * e2y;
+        float ny = e1z * e2x - e1x * e2z;
+        float nz = e1x * e2y - e1y * e2x;
+
+        final float len2 = nx * nx + ny * ny + nz * nz;
+        if (len2 != 0f && len2 != 1f) {
+            final float invLen = 1f / (float) Math.sqrt(len2);
+            nx *= invLen;
+            ny *= invLen;
+            nz *= invLen;
+        }
+
+        final int n = triangle * 3;
+        faceNormals[n] = nx;
+        faceNormals[n + 1] = ny;
+        faceNormals[n + 2] = nz;
     }
 
     /**
      * This method calculates the average normal of a vertex by averaging the normals
-     * of all the faces that the vertex is part of.
+     * of all the faces that the vertex is part of. As the mesh is a regular grid (see buildIndices)
+     * the adjacent faces are derived from the grid position instead of a lookup table:
+     * <ul>
+     *     <li>cell (x, z): the vertex is c00 of both triangles</li>
+     *     <li>cell (x - 1, z): the vertex is c10 of the first triangle</li>
+     *     <li>cell (x, z - 1): the vertex is c01 of the second triangle</li>
+     *     <li>cell (x - 1, z - 1): the vertex is c11 of both triangles</li>
+     * </ul>
      *
-     * @param vertexIndex The index of the vertex for which the normal is to be calculated.
-     * @param faceNormals An array containing the normals of all faces in the mesh.
+     * @param out The Vector3 to store the result in.
+     * @param x The x grid coordinate of the vertex.
+     * @param z The z grid coordinate of the vertex.
      *
      * @return A normalized Vector3 representing the average normal of the vertex.
      */
-    private Vector3 calculateVertexNormal(Vector3 out, int vertexIndex, Vector3[] faceNormals) {
-        Vector3 vertexNormal = out.set(0,0,0);
-        Array<Integer> triangleIndices = vertexToTriangleMap.get(vertexIndex);
-        if (triangleIndices != null) {
-            for (int triangleIndex : triangleIndices) {
-                Vector3 faceNormal = faceNormals[triangleIndex];
-                if (faceNormal != null) {
-                    vertexNormal.add(faceNormal);
-                }
+    private Vector3 calculateVertexNormal(Vector3 out, int x, int z) {
+        final int cells = vertexResolution - 1;
+        out.set(0, 0, 0);
+
+        final boolean hasLeft = x > 0;
+        final boolean hasRight = x < cells;
+        if (z < cells) {
+            final int row = z * cells;
+            if (hasRight) {
+                addFaceNormal(out, (row + x) * 2);
+                addFaceNormal(out, (row + x) * 2 + 1);
+            }
+            if (hasLeft) {
+                addFaceNormal(out, (row + x - 1) * 2);
+            }
+        }
+        if (z > 0) {
+            final int row = (z - 1) * cells;
+            if (hasRight) {
+                addFaceNormal(out, (row + x) * 2 + 1);
+            }
+            if (hasLeft) {
+                addFaceNormal(out, (row + x - 1) * 2);
+                addFaceNormal(out, (row + x - 1) * 2 + 1);
             }
         }
-        return vertexNormal.nor();
+
+        return out.nor();
+    }
+
+    private void addFaceNormal(Vector3 out, int triangle) {
+        final int n = triangle * 3;
+        out.add(faceNormals[n], faceNormals[n + 1], faceNormals[n + 2]);
     }
 
     @Override
@@ -408,18 +457,92 @@ public class PlaneMesh implements Disposable {
         return vertices;
     }
 
+    /**
+     * Sets the height each vertex morphs to before the terrain switches to its first LoD level, see
+     * {@link com.mbrlabs.mundus.commons.lod.TerrainLodMorph}. The vertices still need to be uploaded with
+     * {@link #updateMeshVertices()}.
+     *
+     * @param targets the heights per vertex, NaN to keep the height of a vertex, or null to disable morphing
+     */
+    public void setLodMorphTargets(float[] targets) {
+        if (morphPos < 0) return;
+        morphTargets = targets;
+
+        for (int i = 0; i < vertexResolution * vertexResolution; i++) {
+            final int start = i * stride;
+            final float target = targets != null ? targets[i] : Float.NaN;
+            vertices[start + morphPos] = Float.isNaN(target) ? vertices[start + posPos + 1] : target;
+        }
+        expandUploadBounds(0, 0);
+        expandUploadBounds(vertexResolution - 1, vertexResolution - 1);
+    }
+
+    /**
+     * @return the offset of the morph target within a vertex in floats, -1 if there is none
+     */
+    public int getLodMorphOffset() {
+        return morphPos;
+    }
+
+    /**
+     * @return the offset of the position within a vertex in floats
+     */
+    public int getPositionOffset() {
+        return posPos;
+    }
+
+    static int getOffset(VertexAttributes attributes, String alias) {
+        for (int i = 0; i < attributes.size(); i++) {
+            final VertexAttribute attribute = attributes.get(i);
+            if (attribute.alias.equals(alias)) return attribute.offset / 4;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the size of a vertex in floats
+     */
+    public int getStride() {
+        return stride;
+    }
+
+    /**
+     * @return the offset of the normal within a vertex in floats, -1 if there are no normals
+     */
+    public int getNormalOffset() {
+        return norPos;
+    }
+
+    /**
+     * Computes the tangents of all vertices changed since the last upload (heights or normals),
+     * or of the whole mesh if nothing was tracked. Normals must be calculated first.
+     */
     public void computeTangents() {
-        VertexAttribute normalMapUVs = null;
-        for(VertexAttribute a : attribs){
-            if(a.usage == VertexAttributes.Usage.TextureCoordinates){
-                normalMapUVs = a;
-            }
+        if (tanPos < 0) return;
+
+        if (uploadMinX <= uploadMaxX && uploadMinZ <= uploadMaxZ) {
+            // Tangents depend on the neighboring positions and the normal, the tracked region already
+            // includes the vertices around modified heights as their normals were recalculated
+            GridTangentGenerator.computeTangents(vertices, vertexResolution, stride, posPos, norPos, tanPos,
+                    uploadMinX, uploadMaxX, uploadMinZ, uploadMaxZ);
+        } else {
+            GridTangentGenerator.computeTangents(vertices, vertexResolution, stride, posPos, norPos, tanPos,
+                    0, vertexResolution - 1, 0, vertexResolution - 1);
         }
-        MeshTangentSpaceGenerator.computeTangentSpace(vertices, indices, attribs, false, true, normalMapUVs);
     }
 
+    /**
+     * Uploads the vertices to the GPU. If only a region of the terrain was modified, only the vertex range
+     * from the first to the last modified row is uploaded, otherwise the whole vertex array.
+     */
     public void updateMeshVertices() {
-        mesh.setVertices(vertices);
+        if (uploadMinX <= uploadMaxX && uploadMinZ <= uploadMaxZ) {
+            final int start = (uploadMinZ * vertexResolution + uploadMinX) * stride;
+            final int end = (uploadMaxZ * vertexResolution + uploadMaxX + 1) * stride;
+            mesh.updateVertices(start, vertices, start, end - start);
+        } else {
+            mesh.setVertices(vertices);
+        }
         resetBoundingBox();
     }
 
@@ -429,6 +552,26 @@ public class PlaneMesh implements Disposable {
         maxX = Integer.MIN_VALUE;
         minZ = Integer.MAX_VALUE;
         maxZ = Integer.MIN_VALUE;
+
+        uploadMinX = Integer.MAX_VALUE;
+        uploadMaxX = Integer.MIN_VALUE;
+        uploadMinZ = Integer.MAX_VALUE;
+        uploadMaxZ = Integer.MIN_VALUE;
+    }
+
+    private void expandUploadBounds(int x, int z) {
+        uploadMinX = Math.min(uploadMinX, x);
+        uploadMaxX = Math.max(uploadMaxX, x);
+        uploadMinZ = Math.min(uploadMinZ, z);
+        uploadMaxZ = Math.max(uploadMaxZ, z);
+    }
+
+    private void resetNormalBoundingBox() {
+        normalMinX = Integer.MAX_VALUE;
+        normalMaxX = Integer.MIN_VALUE;
+        normalMinZ = Integer.MAX_VALUE;
+        normalMaxZ = Integer.MIN_VALUE;
+        allNormalsDirty = false;
     }
 
     /**
@@ -445,5 +588,12 @@ public class PlaneMesh implements Disposable {
         maxX = Math.max(maxX, x);
         minZ = Math.min(minZ, z);
         maxZ = Math.max(maxZ, z);
+
+        expandUploadBounds(x, z);
+
+        normalMinX = Math.min(normalMinX, x);
+        normalMaxX = Math.max(normalMaxX, x);
+        normalMinZ = Math.min(normalMinZ, z);
+        normalMaxZ = Math.max(normalMaxZ, z);
     }
 }
@@ -19,10 +19,14 @@ package com.mbrlabs.mundus.commons.terrain;
 import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GL30;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.mbrlabs.mundus.commons.assets.PixmapTextureAsset;
 
+import java.nio.ByteBuffer;
+
 /**
  * @author Marcus Brummer
  * @version 31-01-2016
@@ -88,6 +92,87 @@ public class SplatMap {
         getTexture().draw(getPixmap(), 0, 0);
     }
 
+    /**
+     * Uploads only the given rectangle of the pixmap to the texture. On GL20 the full rows
+     * of the rectangle are uploaded, as sub rows require GL_UNPACK_ROW_LENGTH.
+     *
+     * @param x the x pixel coordinate of the rectangle
+     * @param y the y pixel coordinate of the rectangle
+     * @param width the width of the rectangle
+     * @param height the height of the rectangle
+     */
+    public void updateTexture(int x, int y, int width, int height) {
+        Pixmap pixmap = getPixmap();
+        if (width <= 0 || height <= 0) return;
+        if (x == 0 && y == 0 && width == pixmap.getWidth() && height == pixmap.getHeight()) {
+            updateTexture();
+            return;
+        }
+
+        final int bytesPerPixel = getBytesPerPixel(pixmap.getFormat());
+        if (bytesPerPixel == 0) {
+            updateTexture();
+            return;
+        }
+
+        if (Gdx.gl30 == null) {
+            // Upload the complete rows instead
+            x = 0;
+            width = pixmap.getWidth();
+        }
+
+        ByteBuffer pixels = pixmap.getPixels();
+        getTexture().bind();
+        Gdx.gl.glPixelStorei(GL20.GL_UNPACK_ALIGNMENT, 1);
+        if (Gdx.gl30 != null) {
+            Gdx.gl.glPixelStorei(GL30.GL_UNPACK_ROW_LENGTH, pixmap.getWidth());
+        }
+
+        pixels.position((y * pixmap.getWidth() + x) * bytesPerPixel);
+        Gdx.gl.glTexSubImage2D(GL20.GL_TEXTURE_2D, 0, x, y, width, height, pixmap.getGLFormat(), pixmap.getGLType(), pixels);
+        pixels.position(0);
+
+        if (Gdx.gl30 != null) {
+            Gdx.gl.glPixelStorei(GL30.GL_UNPACK_ROW_LENGTH, 0);
+        }
+    }
+
+    /**
+     * Blends the given channel into the pixel at x,y, see {@link #additiveBlend(int, SplatTexture.Channel, float)}.
+     * RGBA8888 pixmaps are modified directly in their pixel buffer.
+     */
+    public void blendPixel(int x, int y, SplatTexture.Channel channel, float strength) {
+        Pixmap pixmap = getPixmap();
+        if (pixmap.getFormat() != Pixmap.Format.RGBA8888) {
+            pixmap.drawPixel(x, y, additiveBlend(pixmap.getPixel(x, y), channel, strength));
+            return;
+        }
+
+        final ByteBuffer pixels = pixmap.getPixels();
+        final int index = (y * pixmap.getWidth() + x) * 4;
+        final int pixel = ((pixels.get(index) & 0xff) << 24)
+                | ((pixels.get(index + 1) & 0xff) << 16)
+                | ((pixels.get(index + 2) & 0xff) << 8)
+                | (pixels.get(index + 3) & 0xff);
+
+        final int result = additiveBlend(pixel, channel, strength);
+        pixels.put(index, (byte) (result >>> 24));
+        pixels.put(index + 1, (byte) (result >>> 16));
+        pixels.put(index + 2, (byte) (result >>> 8));
+        pixels.put(index + 3, (byte) result);
+    }
+
+    private static int getBytesPerPixel(Pixmap.Format format) {
+        switch (format) {
+            case RGBA8888:
+                return 4;
+            case RGB888:
+                return 3;
+            default:
+                return 0;
+        }
+    }
+
     public int getHeight() {
         return height;
     }
@@ -96,31 +181,51 @@ public class SplatMap {
         return width;
     }
 
+    /**
+     * Adds the strength to the given channel of a RGBA8888 pixel, or subtracts it from all channels for
+     * the base channel. Channels are clamped to [0, 1] and scaled down if their sum is greater than 1.
+     *
+     * @param pixelColor the RGBA8888 pixel
+     * @param channel the channel to blend
+     * @param strength the amount to add, in [0, 1]
+     * @return the blended RGBA8888 pixel
+     */
     public int additiveBlend(int pixelColor, SplatTexture.Channel channel, float strength) {
-        c0.set(pixelColor);
+        float r = ((pixelColor >>> 24) & 0xff) / 255f;
+        float g = ((pixelColor >>> 16) & 0xff) / 255f;
+        float b = ((pixelColor >>> 8) & 0xff) / 255f;
+        float a = (pixelColor & 0xff) / 255f;
+
         if (channel == SplatTexture.Channel.BASE) {
-            c0.sub(strength, strength, strength, strength);
+            r = clamp(r - strength);
+            g = clamp(g - strength);
+            b = clamp(b - strength);
+            a = clamp(a - strength);
         } else if (channel == SplatTexture.Channel.R) {
-            c0.add(strength, 0, 0, 0);
+            r = clamp(r + strength);
         } else if (channel == SplatTexture.Channel.G) {
-            c0.add(0, strength, 0, 0);
+            g = clamp(g + strength);
         } else if (channel == SplatTexture.Channel.B) {
-            c0.add(0, 0, strength, 0);
+            b = clamp(b + strength);
         } else if (channel == SplatTexture.Channel.A) {
-            c0.add(0, 0, 0, strength);
+            a = clamp(a + strength);
         }
 
         // prevent the sum to be greater than 1
-        final float sum = c0.r + c0.g + c0.b + c0.a;
+        final float sum = r + g + b + a;
         if (sum > 1f) {
             final float correction = 1f / sum;
-            c0.r *= correction;
-            c0.g *= correction;
-            c0.b *= correction;
-            c0.a *= correction;
+            r *= correction;
+            g *= correction;
+            b *= correction;
+            a *= correction;
         }
 
-        return Color.rgba8888(c0);
+        return ((int) (r * 255) << 24) | ((int) (g * 255) << 16) | ((int) (b * 255) << 8) | (int) (a * 255);
+    }
+
+    private static float clamp(float value) {
+        return value < 0f ? 0f : (value > 1f ? 1f : value);
     }
 
 }
@@ -0,0 +1,256 @@
+package com.mbrlabs.mundus.commons.terrain;
+
+import com.mbrlabs.mundus.commons.dto.LevelOfDetailDTO;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Binary layout of version 2 .terra files.
+ * <p>
+ * The file starts with the version string written the same way as {@link java.io.DataOutputStream#writeUTF(String)}
+ * (so older readers still find a version tag) padded to 8 bytes. After that everything is little-endian and made of
+ * sections: an int section id, an int payload length in bytes and the payload itself. Payloads are padded to 4 bytes
+ * so every float array starts aligned and can be bulk copied out of a mapped buffer. Unknown sections are skipped
+ * using their length.
+ * <pre>
+ * HEIGHTMAP: int count, float[count]
+ * LOD:       int lodCount, per lod: int meshCount, per mesh: int vertexCount, float[vertexCount],
+ *            int indexCount, short[indexCount], padding to 4 bytes
+ * LOD_INFO:  int vertexSize (floats per vertex), int lodCount, float[lodCount] geometric errors
+ * </pre>
+ * LOD_INFO was added after LOD, files without it hold LoD vertices of unknown layout and unknown errors.
+ *
+ * @version October 18, 2026
+ */
+public final class TerraFormat {
+    public static final String VERSION = "2.0";
+
+    public static final int SECTION_HEIGHTMAP = 1;
+    public static final int SECTION_LOD = 2;
+    public static final int SECTION_LOD_INFO = 3;
+
+    /** Size of the version header, writeUTF string padded to 8 bytes */
+    static final int HEADER_SIZE = 8;
+    private static final int SECTION_HEADER_SIZE = 8;
+
+    private TerraFormat() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Checks if the buffer starts with the version 2 header. Does not modify the buffer position.
+     *
+     * @param buffer the file contents
+     * @return true if the buffer holds a version 2 .terra file
+     */
+    public static boolean isVersion2(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_SIZE) return false;
+
+        int start = buffer.position();
+        // writeUTF length prefix is a big-endian unsigned short
+        int length = ((buffer.get(start) & 0xFF) << 8) | (buffer.get(start + 1) & 0xFF);
+        if (length != VERSION.length()) return false;
+
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(start + 2 + i) != VERSION.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the exact number of bytes {@link #write(ByteBuffer, float[], LevelOfDetailDTO[])} will write
+     */
+    public static int computeSize(float[] heightData, LevelOfDetailDTO[] lods) {
+        int size = HEADER_SIZE;
+        size += SECTION_HEADER_SIZE + heightmapPayloadSize(heightData);
+        if (lods != null && lods.length > 0) {
+            size += SECTION_HEADER_SIZE + lodPayloadSize(lods);
+            size += SECTION_HEADER_SIZE + lodInfoPayloadSize(lods);
+        }
+        return size;
+    }
+
+    /**
+     * Writes the terrain data to the buffer. The buffer must have at least {@link #computeSize} bytes remaining.
+     * The byte order of the buffer is changed to little-endian.
+     *
+     * @param buffer the buffer to write to
+     * @param heightData the terrain height data
+     * @param lods the LoD levels, excluding the base level. May be null.
+     */
+    public static void write(ByteBuffer buffer, float[] heightData, LevelOfDetailDTO[] lods) {
+        // Version header, same bytes as DataOutputStream.writeUTF
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        buffer.putShort((short) VERSION.length());
+        for (int i = 0; i < VERSION.length(); i++) {
+            buffer.put((byte) VERSION.charAt(i));
+        }
+        pad(buffer, HEADER_SIZE - 2 - VERSION.length());
+
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.putInt(SECTION_HEIGHTMAP);
+        buffer.putInt(heightmapPayloadSize(heightData));
+        buffer.putInt(heightData.length);
+        putFloats(buffer, heightData);
+
+        if (lods == null || lods.length == 0) return;
+
+        buffer.putInt(SECTION_LOD);
+        buffer.putInt(lodPayloadSize(lods));
+        writeLods(buffer, lods);
+
+        buffer.putInt(SECTION_LOD_INFO);
+        buffer.putInt(lodInfoPayloadSize(lods));
+        buffer.putInt(lods[0].getVertexSize());
+        buffer.putInt(lods.length);
+        for (LevelOfDetailDTO lod : lods) {
+            buffer.putFloat(lod.getGeometricError());
+        }
+    }
+
+    /**
+     * Reads a version 2 .terra file. The buffer is expected to start at the version header, its byte order is
+     * changed to little-endian.
+     *
+     * @param buffer the file contents, for example a memory mapped file
+     * @return the read data
+     */
+    public static Result read(ByteBuffer buffer) {
+        Result result = new Result();
+        int lodVertexSize = 0;
+        float[] lodErrors = null;
+        buffer.position(buffer.position() + HEADER_SIZE);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        while (buffer.remaining() >= SECTION_HEADER_SIZE) {
+            int section = buffer.getInt();
+            int length = buffer.getInt();
+            int end = buffer.position() + length;
+
+            switch (section) {
+                case SECTION_HEIGHTMAP:
+                    result.heightData = getFloats(buffer, buffer.getInt());
+                    break;
+                case SECTION_LOD:
+                    result.loDDTOS = readLods(buffer);
+                    break;
+                case SECTION_LOD_INFO:
+                    lodVertexSize = buffer.getInt();
+                    lodErrors = getFloats(buffer, buffer.getInt());
+                    break;
+            }
+
+            // Unknown sections are skipped, known sections end exactly here
+            buffer.position(end);
+        }
+
+        if (result.loDDTOS != null && lodErrors != null) {
+            for (int i = 0; i < result.loDDTOS.length && i < lodErrors.length; i++) {
+                result.loDDTOS[i].setVertexSize(lodVertexSize);
+                result.loDDTOS[i].setGeometricError(lodErrors[i]);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Writes LoD levels in the layout of the LOD section payload, also used by other files holding LoD meshes.
+     * The buffer must be little-endian and have at least {@link #lodPayloadSize} bytes remaining.
+     */
+    public static void writeLods(ByteBuffer buffer, LevelOfDetailDTO[] lods) {
+        buffer.putInt(lods.length);
+        for (LevelOfDetailDTO lod : lods) {
+            float[][] vertices = lod.getVertices();
+            short[][] indices = lod.getIndices();
+            buffer.putInt(vertices.length);
+            for (int m = 0; m < vertices.length; m++) {
+                buffer.putInt(vertices[m].length);
+                putFloats(buffer, vertices[m]);
+
+                buffer.putInt(indices[m].length);
+                buffer.asShortBuffer().put(indices[m]);
+                buffer.position(buffer.position() + indices[m].length * 2);
+                pad(buffer, shortPadding(indices[m].length));
+            }
+        }
+    }
+
+    /**
+     * Reads LoD levels written by {@link #writeLods(ByteBuffer, LevelOfDetailDTO[])}. The buffer must be little-endian.
+     */
+    public static LevelOfDetailDTO[] readLods(ByteBuffer buffer) {
+        int lodCount = buffer.getInt();
+        LevelOfDetailDTO[] lods = new LevelOfDetailDTO[lodCount];
+        for (int i = 0; i < lodCount; i++) {
+            int meshCount = buffer.getInt();
+            float[][] lodVertices = new float[meshCount][];
+            short[][] lodIndices = new short[meshCount][];
+
+            for (int m = 0; m < meshCount; m++) {
+                lodVertices[m] = getFloats(buffer, buffer.getInt());
+
+                int indexCount = buffer.getInt();
+                lodIndices[m] = new short[indexCount];
+                buffer.asShortBuffer().get(lodIndices[m]);
+                buffer.position(buffer.position() + indexCount * 2 + shortPadding(indexCount));
+            }
+
+            lods[i] = new LevelOfDetailDTO(lodVertices, lodIndices);
+        }
+        return lods;
+    }
+
+    private static int heightmapPayloadSize(float[] heightData) {
+        return 4 + heightData.length * 4;
+    }
+
+    /**
+     * @return the number of bytes {@link #writeLods(ByteBuffer, LevelOfDetailDTO[])} will write
+     */
+    public static int lodPayloadSize(LevelOfDetailDTO[] lods) {
+        int size = 4;
+        for (LevelOfDetailDTO lod : lods) {
+            size += 4;
+            for (int m = 0; m < lod.getVertices().length; m++) {
+                size += 4 + lod.getVertices()[m].length * 4;
+                int indexCount = lod.getIndices()[m].length;
+                size += 4 + indexCount * 2 + shortPadding(indexCount);
+            }
+        }
+        return size;
+    }
+
+    private static int lodInfoPayloadSize(LevelOfDetailDTO[] lods) {
+        return 8 + lods.length * 4;
+    }
+
+    private static int shortPadding(int shortCount) {
+        return (shortCount & 1) * 2;
+    }
+
+    private static void putFloats(ByteBuffer buffer, float[] data) {
+        buffer.asFloatBuffer().put(data);
+        buffer.position(buffer.position() + data.length * 4);
+    }
+
+    private static float[] getFloats(ByteBuffer buffer, int count) {
+        float[] data = new float[count];
+        buffer.asFloatBuffer().get(data);
+        buffer.position(buffer.position() + count * 4);
+        return data;
+    }
+
+    private static void pad(ByteBuffer buffer, int count) {
+        for (int i = 0; i < count; i++) {
+            buffer.put((byte) 0);
+        }
+    }
+
+    public static class Result {
+        public float[] heightData;
+        public LevelOfDetailDTO[] loDDTOS;
+    }
+}
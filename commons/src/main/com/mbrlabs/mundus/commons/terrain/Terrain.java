@@ -32,8 +32,8 @@ import com.badlogic.gdx.math.collision.Ray;
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.Pool;
 import com.mbrlabs.mundus.commons.dto.LevelOfDetailDTO;
+import com.mbrlabs.mundus.commons.terrain.attributes.TerrainLodMorphAttribute;
 import com.mbrlabs.mundus.commons.terrain.attributes.TerrainMaterialAttribute;
-import com.mbrlabs.mundus.commons.utils.MathUtils;
 import com.mbrlabs.mundus.commons.utils.Pools;
 
 /**
@@ -52,13 +52,12 @@ public class Terrain implements Disposable {
     /** The number of LoD levels. +1 for base mesh */
     public static final int DEFAULT_LODS = LOD_SIMPLIFICATION_FACTORS.length + 1;
 
-    private static final Vector3 c00 = new Vector3();
-    private static final Vector3 c01 = new Vector3();
-    private static final Vector3 c10 = new Vector3();
-    private static final Vector3 c11 = new Vector3();
-    private static final Vector3 tmp = new Vector3();
-    private static final Vector2 tmpV2 = new Vector2();
-    private static final Matrix4 tmpMatrix = new Matrix4();
+    /** Vertex attribute holding the height of the next coarser LoD level, for geomorphing between levels */
+    public static final String LOD_MORPH_ATTRIBUTE = "a_lodMorph";
+
+    /** Largest vertex resolution rendered as a single mesh, limited by 16 bit indices. Larger terrains use a quadtree */
+    public static final int MAX_MESH_VERTEX_RESOLUTION = 256;
+
 
     public float[] heightData;
     public int terrainWidth = 1200;
@@ -76,15 +75,25 @@ public class Terrain implements Disposable {
     // Mesh
     private Model model;
     private PlaneMesh planeMesh;
+    // Used instead of the plane mesh above the max mesh vertex resolution
+    private TerrainQuadTree quadTree;
+    private TerrainPatchCache patchCache;
 
     private LevelOfDetailDTO[] loDDTOS;
 
+    private final TerrainRaycaster raycaster = new TerrainRaycaster(this);
+
+    // Scratch of this terrain only, so queries on different terrains can run on different threads
+    private final Vector3 tmp = new Vector3();
+    private final Matrix4 tmpMatrix = new Matrix4();
+
     private Terrain(int vertexResolution) {
         this.attribs = new VertexAttributes(
                 VertexAttribute.Position(),
                 VertexAttribute.Normal(),
                 new VertexAttribute(VertexAttributes.Usage.Tangent, 4, ShaderProgram.TANGENT_ATTRIBUTE),
-                VertexAttribute.TexCoords(0)
+                VertexAttribute.TexCoords(0),
+                new VertexAttribute(VertexAttributes.Usage.Generic, 1, LOD_MORPH_ATTRIBUTE)
         );
 
         this.vertexResolution = vertexResolution;
@@ -96,6 +105,8 @@ public class Terrain implements Disposable {
         // Attach our custom terrain material to the main material
         material = new Material();
         material.set(TerrainMaterialAttribute.createTerrainMaterialAttribute(terrainMaterial));
+        // Always present so morphing does not change the shader, instances get their own copy
+        material.set(new TerrainLodMorphAttribute(0f));
     }
 
     public Terrain(int size, float[] heightData) {
@@ -106,6 +117,11 @@ public class Terrain implements Disposable {
     }
 
     public void init() {
+        if (vertexResolution > MAX_MESH_VERTEX_RESOLUTION) {
+            initQuadTree();
+            return;
+        }
+
         final int numIndices = (this.vertexResolution - 1) * (vertexResolution - 1) * 6;
 
         PlaneMesh.MeshInfo info = new PlaneMesh.MeshInfo();
@@ -127,6 +143,24 @@ public class Terrain implements Disposable {
         model = mb.end();
     }
 
+    /**
+     * Builds the quadtree of a terrain too large for a single mesh. The model only holds the coarsest patch, terrain
+     * components render the quadtree instead, see {@link TerrainQuadTreeRenderer}.
+     */
+    private void initQuadTree() {
+        quadTree = new TerrainQuadTree(heightData, vertexResolution, terrainWidth, terrainDepth,
+                TerrainQuadTree.DEFAULT_PATCH_SIZE);
+        patchCache = new TerrainPatchCache(quadTree, attribs, uvScale);
+
+        Mesh mesh = patchCache.buildMesh(0);
+        MeshPart meshPart = new MeshPart(null, mesh, 0, mesh.getNumIndices(), GL20.GL_TRIANGLES);
+        meshPart.update();
+        ModelBuilder mb = new ModelBuilder();
+        mb.begin();
+        mb.part(meshPart, material);
+        model = mb.end();
+    }
+
 
     public Vector3 getVertexPosition(Vector3 out, int x, int z) {
         final float dx = (float) x / (float) (vertexResolution - 1);
@@ -155,6 +189,14 @@ public class Terrain implements Disposable {
         return height;
     }
 
+    /**
+     * Returns the terrain height at the given local coordinates. Coordinates outside the terrain use the nearest
+     * grid cell. Only reads the height data, so it is safe to call from multiple threads.
+     *
+     * @param terrainX X local position to get height
+     * @param terrainZ Z local position to get height
+     * @return the height in local coordinates
+     */
     public float getHeightAtLocalCoord(float terrainX, float terrainZ) {
         float gridSquareSize = terrainWidth / ((float) vertexResolution - 1);
         int gridX = (int) Math.floor(terrainX / gridSquareSize);
@@ -167,52 +209,66 @@ public class Terrain implements Disposable {
         float xCoord = getCoordPercent(terrainX, gridSquareSize);
         float zCoord = getCoordPercent(terrainZ, gridSquareSize);
 
-        c00.set(0, heightData[gridZ * vertexResolution + gridX], 0);
-        c11.set(1, heightData[(gridZ + 1) * vertexResolution + gridX + 1], 1);
-        c10.set(1, heightData[gridZ * vertexResolution + gridX + 1], 0);
+        final int index = gridZ * vertexResolution + gridX;
+        final float h00 = heightData[index];
+        final float h11 = heightData[index + vertexResolution + 1];
 
-        float height;
-        if (MathUtils.isPointOnOrInTriangle(xCoord, zCoord, c00.x, c00.z, c11.x, c11.z, c10.x, c10.z)) { // We are in c00-c11-c10 triangle of square
-            height = MathUtils.barryCentric(c00, c10, c11, tmpV2.set(xCoord, zCoord));
+        if (xCoord >= zCoord) { // We are in c00-c11-c10 triangle of square
+            final float h10 = heightData[index + 1];
+            return h00 + (h10 - h00) * xCoord + (h11 - h10) * zCoord;
         } else { // We are in c00-c11-c01 triangle of square
-            c01.set(0, heightData[(gridZ + 1) * vertexResolution + gridX], 1);
-            height = MathUtils.barryCentric(c00, c11, c01, tmpV2.set(xCoord, zCoord));
+            final float h01 = heightData[index + vertexResolution];
+            return h00 + (h01 - h00) * zCoord + (h11 - h01) * xCoord;
         }
-
-        return height;
     }
 
     /**
      * Casts the given ray to determine where it intersects on the terrain.
      *
-     * @param out Vector3 to populate with intersect point with
+     * @param out Vector3 to populate with intersect point with, unchanged if the terrain is not hit
      * @param ray the ray to cast
      * @param terrainTransform The world transform (modelInstance transform) of the terrain
      * @return true if the ray intersects the terrain, false otherwise
      */
     public boolean getRayIntersection(Vector3 out, Ray ray, Matrix4 terrainTransform) {
-        // Performs a binary search to find the intersection point
-        float minDistance = 2;
-        float maxDistance = 80000;
-
-        // Interval halving
-        for(int i = 0; i < 500; i++) {
-            float middleDistance = (minDistance + maxDistance) / 2;
-            ray.getEndPoint(out, middleDistance);
-
-            if(isUnderTerrain(out, terrainTransform)) {
-                maxDistance = middleDistance;
-            } else {
-                minDistance = middleDistance;
-            }
-
-            // If min and max are very close, we found the intersection
-            if(Math.abs(minDistance - maxDistance) < 0.1f) {
-                return true;
-            }
+        tmpMatrix.set(terrainTransform).inv();
+        return getRayIntersectionLocal(out, ray, tmpMatrix, terrainTransform);
+    }
+
+    /**
+     * Casts multiple rays against the terrain, the terrain transform is only inverted once for all of them.
+     *
+     * @param out Vector3s to populate with the intersect points, unchanged for rays not hitting the terrain
+     * @param hits set to whether each ray intersects the terrain, may be null
+     * @param rays the rays to cast
+     * @param count the number of rays to cast
+     * @param terrainTransform The world transform (modelInstance transform) of the terrain
+     * @return the number of rays intersecting the terrain
+     */
+    public int getRayIntersections(Vector3[] out, boolean[] hits, Ray[] rays, int count, Matrix4 terrainTransform) {
+        tmpMatrix.set(terrainTransform).inv();
+
+        int hitCount = 0;
+        for (int i = 0; i < count; i++) {
+            boolean hit = getRayIntersectionLocal(out[i], rays[i], tmpMatrix, terrainTransform);
+            if (hits != null) hits[i] = hit;
+            if (hit) hitCount++;
         }
+        return hitCount;
+    }
+
+    private boolean getRayIntersectionLocal(Vector3 out, Ray ray, Matrix4 inverseTransform, Matrix4 terrainTransform) {
+        // Local direction is not normalized, so the distance along it is the same as along the world ray
+        float ox = ray.origin.x, oy = ray.origin.y, oz = ray.origin.z;
+        tmp.set(ox, oy, oz).mul(inverseTransform);
+        float localX = tmp.x, localY = tmp.y, localZ = tmp.z;
+        tmp.set(ox + ray.direction.x, oy + ray.direction.y, oz + ray.direction.z).mul(inverseTransform);
+
+        float distance = raycaster.intersect(localX, localY, localZ, tmp.x - localX, tmp.y - localY, tmp.z - localZ);
+        if (distance == Float.POSITIVE_INFINITY) return false;
 
-        return false;
+        ray.getEndPoint(out, distance);
+        return true;
     }
 
     public Material getMaterial() {
@@ -220,7 +276,12 @@ public class Terrain implements Disposable {
     }
 
     public void modifyVertex(int x, int z) {
-        planeMesh.modifyVertex(x, z);
+        if (quadTree != null) {
+            quadTree.modifyVertex(x, z);
+        } else {
+            planeMesh.modifyVertex(x, z);
+        }
+        raycaster.modifyVertex(x, z);
     }
 
     /**
@@ -274,9 +335,12 @@ public class Terrain implements Disposable {
         int gridZ = (int) Math.floor(terrainZ / gridSquareSize);
 
         if (gridX >= vertexResolution - 1 || gridZ >= vertexResolution - 1 || gridX < 0 || gridZ < 0) {
-            return Vector3.Y.cpy();
+            return out.set(Vector3.Y);
         }
 
+        if (quadTree != null) {
+            return quadTree.computeNormal(gridX, gridZ, out);
+        }
         return planeMesh.getNormalAt(out, gridX, gridZ);
     }
 
@@ -316,10 +380,15 @@ public class Terrain implements Disposable {
         this.terrainMaterial = terrainMaterial;
 
         material.set(TerrainMaterialAttribute.createTerrainMaterialAttribute(terrainMaterial));
+        // Always present so morphing does not change the shader, instances get their own copy
+        material.set(new TerrainLodMorphAttribute(0f));
     }
 
+    /**
+     * @return the vertices of the plane mesh, null if the terrain uses a quadtree
+     */
     public float[] getVertices() {
-        return planeMesh.getVertices();
+        return planeMesh != null ? planeMesh.getVertices() : null;
     }
 
     public void update() {
@@ -327,11 +396,20 @@ public class Terrain implements Disposable {
     }
 
     public void update(Pool<Vector3> pool) {
+        if (quadTree != null) {
+            // Only the nodes around vertices given to modifyVertex are updated, all nodes if there are none
+            quadTree.heightsChanged();
+            patchCache.updateMesh(0, model.meshes.first());
+            raycaster.heightsChanged();
+            return;
+        }
+
         planeMesh.buildVertices();
         planeMesh.calculateAverageNormals(pool);
         planeMesh.computeTangents();
         planeMesh.updateMeshVertices();
         planeMesh.resetBoundingBox();
+        raycaster.heightsChanged();
     }
 
     public Model getModel() {
@@ -341,17 +419,39 @@ public class Terrain implements Disposable {
     @Override
     public void dispose() {
         model.dispose();
-        planeMesh.dispose();
+        if (planeMesh != null) planeMesh.dispose();
+        if (patchCache != null) patchCache.dispose();
     }
 
     /**
      * Returns the plane mesh used by the terrain
-     * @return the plane mesh
+     * @return the plane mesh, null if the terrain uses a quadtree
      */
     public PlaneMesh getPlaneMesh() {
         return planeMesh;
     }
 
+    /**
+     * @return true if the terrain is too large for a single mesh and is rendered using a quadtree
+     */
+    public boolean usesQuadTree() {
+        return quadTree != null;
+    }
+
+    /**
+     * @return the quadtree of the terrain, null if it uses a plane mesh
+     */
+    public TerrainQuadTree getQuadTree() {
+        return quadTree;
+    }
+
+    /**
+     * @return the patch meshes of the quadtree, null if the terrain uses a plane mesh
+     */
+    public TerrainPatchCache getPatchCache() {
+        return patchCache;
+    }
+
     /**
      * @param terrainPos The x or z terrain position
      * @param gridSquareSize The grid square size
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2026. See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mbrlabs.mundus.commons.terrain;
+
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import com.mbrlabs.mundus.commons.scene3d.GameObject;
+import com.mbrlabs.mundus.commons.scene3d.components.Component;
+import com.mbrlabs.mundus.commons.scene3d.components.TerrainComponent;
+import com.mbrlabs.mundus.commons.scene3d.components.TerrainManagerComponent;
+
+/**
+ * Samples heights and normals of a set of terrain chunks in world coordinates, for example all terrains of a
+ * {@link TerrainManagerComponent}.
+ * <p>
+ * The terrain transforms and their inverses are cached by {@link #update()}, which must be called from the thread
+ * owning the scene whenever terrains are moved, added or removed. All sampling methods only use local state and
+ * read the terrain data, so they can be called from any number of threads at the same time, as long as the
+ * terrains are not modified meanwhile. The batch methods take an offset and count, so a batch can be split across
+ * a parallel stream or fork-join tasks.
+ *
+ * @version October 18, 2026
+ */
+public class TerrainHeightQuery {
+
+    /** Local distance outside a chunk still sampled from it, so rounding does not drop positions on shared edges */
+    private static final float EDGE_TOLERANCE = 1e-3f;
+
+    /** Immutable snapshot of one terrain chunk */
+    private static final class Chunk {
+        final Terrain terrain;
+        final float[] transform = new float[16];
+        final float[] inverse = new float[16];
+        float minX, minZ, maxX, maxZ;
+
+        Chunk(Terrain terrain, Matrix4 transform) {
+            this.terrain = terrain;
+            System.arraycopy(transform.val, 0, this.transform, 0, 16);
+            System.arraycopy(new Matrix4(transform).inv().val, 0, inverse, 0, 16);
+
+            // World bounds of the local corners
+            minX = minZ = Float.POSITIVE_INFINITY;
+            maxX = maxZ = Float.NEGATIVE_INFINITY;
+            for (int i = 0; i < 4; i++) {
+                final float x = (i & 1) * terrain.terrainWidth;
+                final float z = (i >> 1) * terrain.terrainDepth;
+                final float worldX = this.transform[Matrix4.M00] * x + this.transform[Matrix4.M02] * z + this.transform[Matrix4.M03];
+                final float worldZ = this.transform[Matrix4.M20] * x + this.transform[Matrix4.M22] * z + this.transform[Matrix4.M23];
+                minX = Math.min(minX, worldX);
+                minZ = Math.min(minZ, worldZ);
+                maxX = Math.max(maxX, worldX);
+                maxZ = Math.max(maxZ, worldZ);
+            }
+        }
+
+        boolean contains(float worldX, float worldZ) {
+            if (worldX < minX || worldX > maxX || worldZ < minZ || worldZ > maxZ) return false;
+
+            // The world bounds of a rotated chunk also cover positions beside it
+            final float localX = localX(worldX, worldZ);
+            final float localZ = localZ(worldX, worldZ);
+            return localX >= -EDGE_TOLERANCE && localX <= terrain.terrainWidth + EDGE_TOLERANCE
+                    && localZ >= -EDGE_TOLERANCE && localZ <= terrain.terrainDepth + EDGE_TOLERANCE;
+        }
+
+        float localX(float worldX, float worldZ) {
+            return inverse[Matrix4.M00] * worldX + inverse[Matrix4.M02] * worldZ + inverse[Matrix4.M03];
+        }
+
+        float localZ(float worldX, float worldZ) {
+            return inverse[Matrix4.M20] * worldX + inverse[Matrix4.M22] * worldZ + inverse[Matrix4.M23];
+        }
+    }
+
+    private final TerrainManagerComponent terrainManager;
+    private final Array<TerrainComponent> terrains;
+    private volatile Chunk[] chunks = new Chunk[0];
+
+    /**
+     * Queries the child terrains of the terrain manager.
+     */
+    public TerrainHeightQuery(TerrainManagerComponent terrainManager) {
+        this.terrainManager = terrainManager;
+        this.terrains = null;
+        update();
+    }
+
+    /**
+     * Queries the given terrains. The array is read again on {@link #update()}.
+     */
+    public TerrainHeightQuery(Array<TerrainComponent> terrains) {
+        this.terrainManager = null;
+        this.terrains = terrains;
+        update();
+    }
+
+    /**
+     * Caches the terrain chunks and their transforms. Not thread safe, call it from the thread owning the scene.
+     */
+    public void update() {
+        Array<Chunk> newChunks = new Array<>(Chunk.class);
+        if (terrainManager != null) {
+            Array<GameObject> children = terrainManager.getGameObject().findChildrenByComponent(Component.Type.TERRAIN);
+            for (GameObject child : children) {
+                addChunk(newChunks, (TerrainComponent) child.findComponentByType(Component.Type.TERRAIN));
+            }
+        } else {
+            for (TerrainComponent terrainComponent : terrains) {
+                addChunk(newChunks, terrainComponent);
+            }
+        }
+        chunks = newChunks.toArray();
+    }
+
+    private void addChunk(Array<Chunk> out, TerrainComponent terrainComponent) {
+        if (terrainComponent == null || terrainComponent.getTerrainAsset() == null) return;
+        out.add(new Chunk(terrainComponent.getTerrainAsset().getTerrain(), terrainComponent.getModelInstance().transform));
+    }
+
+    /**
+     * @return the world height at the given world coordinates or {@link Float#NaN} if no terrain is there
+     */
+    public float getHeight(float worldX, float worldZ) {
+        final Chunk[] chunks = this.chunks;
+        final int chunk = findChunk(chunks, worldX, worldZ, 0);
+        if (chunk < 0) return Float.NaN;
+        return sampleHeight(chunks[chunk], worldX, worldZ);
+    }
+
+    /**
+     * Samples the world heights of many positions.
+     *
+     * @param positions world x and z per position
+     * @param heightsOut the world height per position, {@link Float#NaN} where no terrain is
+     * @param offset the first position to sample
+     * @param count the number of positions to sample
+     * @return the number of positions on a terrain
+     */
+    public int getHeights(float[] positions, float[] heightsOut, int offset, int count) {
+        final Chunk[] chunks = this.chunks;
+        int found = 0;
+        int chunk = 0;
+        for (int i = offset; i < offset + count; i++) {
+            final float worldX = positions[i * 2];
+            final float worldZ = positions[i * 2 + 1];
+
+            // Nearby positions are most likely on the same chunk as the previous one
+            chunk = findChunk(chunks, worldX, worldZ, Math.max(chunk, 0));
+            if (chunk < 0) {
+                heightsOut[i] = Float.NaN;
+                continue;
+            }
+            heightsOut[i] = sampleHeight(chunks[chunk], worldX, worldZ);
+            found++;
+        }
+        return found;
+    }
+
+    /**
+     * Samples the world normals of many positions, interpolated from the terrain vertex normals.
+     *
+     * @param positions world x and z per position
+     * @param normalsOut the normalized world normal (x, y, z) per position, up where no terrain is
+     * @param offset the first position to sample
+     * @param count the number of positions to sample
+     * @return the number of positions on a terrain
+     */
+    public int getNormals(float[] positions, float[] normalsOut, int offset, int count) {
+        final Chunk[] chunks = this.chunks;
+        final float[] corners = new float[9];
+        int found = 0;
+        int chunk = 0;
+        for (int i = offset; i < offset + count; i++) {
+            final float worldX = positions[i * 2];
+            final float worldZ = positions[i * 2 + 1];
+
+            chunk = findChunk(chunks, worldX, worldZ, Math.max(chunk, 0));
+            if (chunk < 0) {
+                normalsOut[i * 3] = 0f;
+                normalsOut[i * 3 + 1] = 1f;
+                normalsOut[i * 3 + 2] = 0f;
+                continue;
+            }
+            sampleNormal(chunks[chunk], worldX, worldZ, normalsOut, i * 3, corners);
+            found++;
+        }
+        return found;
+    }
+
+    /**
+     * @return index of the chunk containing the position, starting the search at the given chunk, or -1
+     */
+    private static int findChunk(Chunk[] chunks, float worldX, float worldZ, int start) {
+        for (int i = 0; i < chunks.length; i++) {
+            final int index = (start + i) % chunks.length;
+            if (chunks[index].contains(worldX, worldZ)) return index;
+        }
+        return -1;
+    }
+
+    private static float sampleHeight(Chunk chunk, float worldX, float worldZ) {
+        final float localX = chunk.localX(worldX, worldZ);
+        final float localZ = chunk.localZ(worldX, worldZ);
+        final float height = chunk.terrain.getHeightAtLocalCoord(localX, localZ);
+
+        // World y of the local point
+        final float[] m = chunk.transform;
+        return m[Matrix4.M10] * localX + m[Matrix4.M11] * height + m[Matrix4.M12] * localZ + m[Matrix4.M13];
+    }
+
+    /**
+     * @param corners scratch space for the corner normals of quadtree terrains, 9 floats
+     */
+    private static void sampleNormal(Chunk chunk, float worldX, float worldZ, float[] out, int outOffset,
+                                     float[] corners) {
+        final Terrain terrain = chunk.terrain;
+        final PlaneMesh planeMesh = terrain.getPlaneMesh();
+        final int resolution = terrain.vertexResolution;
+
+        final float cellWidth = terrain.terrainWidth / (float) (resolution - 1);
+        final float cellDepth = terrain.terrainDepth / (float) (resolution - 1);
+        final float gridX = chunk.localX(worldX, worldZ) / cellWidth;
+        final float gridZ = chunk.localZ(worldX, worldZ) / cellDepth;
+        final int x = Math.max(0, Math.min(resolution - 2, (int) Math.floor(gridX)));
+        final int z = Math.max(0, Math.min(resolution - 2, (int) Math.floor(gridZ)));
+        final float fx = Math.max(0f, Math.min(1f, gridX - x));
+        final float fz = Math.max(0f, Math.min(1f, gridZ - z));
+
+        // Barycentric weights within the cell triangle, same split as the mesh
+        final boolean upper = fx >= fz;
+        final int otherX = upper ? x + 1 : x;
+        final int otherZ = upper ? z : z + 1;
+        final float w00, w11, wOther;
+        if (upper) {
+            w00 = 1f - fx;
+            wOther = fx - fz;
+            w11 = fz;
+        } else {
+            w00 = 1f - fz;
+            wOther = fz - fx;
+            w11 = fx;
+        }
+
+        final float[] vertices;
+        final int v00, v11, vOther;
+        if (planeMesh != null) {
+            vertices = planeMesh.getVertices();
+            final int stride = planeMesh.getStride();
+            final int norPos = planeMesh.getNormalOffset();
+            v00 = (z * resolution + x) * stride + norPos;
+            v11 = ((z + 1) * resolution + x + 1) * stride + norPos;
+            vOther = (otherZ * resolution + otherX) * stride + norPos;
+        } else {
+            // Quadtree terrains have no mesh of the full resolution, the normals come from the heights
+            final TerrainQuadTree quadTree = terrain.getQuadTree();
+            vertices = corners;
+            v00 = 0;
+            vOther = 3;
+            v11 = 6;
+            quadTree.computeNormal(x, z, corners, v00);
+            quadTree.computeNormal(otherX, otherZ, corners, vOther);
+            quadTree.computeNormal(x + 1, z + 1, corners, v11);
+        }
+
+        final float nx = vertices[v00] * w00 + vertices[vOther] * wOther + vertices[v11] * w11;
+        final float ny = vertices[v00 + 1] * w00 + vertices[vOther + 1] * wOther + vertices[v11 + 1] * w11;
+        final float nz = vertices[v00 + 2] * w00 + vertices[vOther + 2] * wOther + vertices[v11 + 2] * w11;
+
+        // Normals transform with the inverse transpose
+        final float[] inv = chunk.inverse;
+        final float wx = inv[Matrix4.M00] * nx + inv[Matrix4.M10] * ny + inv[Matrix4.M20] * nz;
+        final float wy = inv[Matrix4.M01] * nx + inv[Matrix4.M11] * ny + inv[Matrix4.M21] * nz;
+        final float wz = inv[Matrix4.M02] * nx + inv[Matrix4.M12] * ny + inv[Matrix4.M22] * nz;
+        final float len = (float) Math.sqrt(wx * wx + wy * wy + wz * wz);
+        final float invLen = len == 0f ? 0f : 1f / len;
+
+        out[outOffset] = wx * invLen;
+        out[outOffset + 1] = len == 0f ? 1f : wy * invLen;
+        out[outOffset + 2] = wz * invLen;
+    }
+}
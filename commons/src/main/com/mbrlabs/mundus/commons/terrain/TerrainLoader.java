@@ -1,5 +1,6 @@
 package com.mbrlabs.mundus.commons.terrain;
 
+import com.badlogic.gdx.Files;
 import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.assets.AssetLoaderParameters;
 import com.badlogic.gdx.assets.AssetManager;
@@ -17,7 +18,10 @@ import com.mbrlabs.mundus.commons.dto.LevelOfDetailDTO;
 import java.io.BufferedInputStream;
 import java.io.DataInputStream;
 import java.io.EOFException;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 /**
  * Loads Mundus Terrain objects via meta and .terra file data.
@@ -52,6 +56,50 @@ public class TerrainLoader extends AsynchronousAssetLoader<Terrain, TerrainLoade
     public void loadAsync(AssetManager manager, String fileName, FileHandle file, TerrainParameter parameter) {
         terrain = null;
 
+        TerrainLoadResult result;
+
+        // Version 2 files are read in bulk from a single buffer
+        ByteBuffer buffer = readFile(file);
+        if (TerraFormat.isVersion2(buffer)) {
+            TerraFormat.Result formatResult = TerraFormat.read(buffer);
+            result = new TerrainLoadResult();
+            result.heightData = formatResult.heightData;
+            result.loDDTOS = formatResult.loDDTOS;
+        } else {
+            result = readStreamTerrainData(file);
+        }
+
+        terrain = new Terrain(parameter.metaTerrain.getSize(), result.heightData);
+        terrain.updateUvScale(new Vector2(parameter.metaTerrain.getUv(), parameter.metaTerrain.getUv()));
+        terrain.setLoDDTOs(result.loDDTOS);
+    }
+
+    /**
+     * Reads the whole file into a buffer through a file channel if it is on disk, otherwise reads all bytes. The file
+     * is not memory mapped, a mapping would keep it locked on Windows until collected, so it could not be saved.
+     */
+    ByteBuffer readFile(FileHandle file) {
+        // Classpath and packaged internal files are not on disk
+        if (file.type() == Files.FileType.Classpath || !file.file().isFile()) {
+            return ByteBuffer.wrap(file.readBytes());
+        }
+
+        try (FileChannel channel = new FileInputStream(file.file()).getChannel()) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) throw new EOFException();
+            }
+            buffer.flip();
+            return buffer;
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Error reading terra file: " + file.name(), e);
+        }
+    }
+
+    /**
+     * Reads version 1.1 and legacy terra files that were written one value at a time with a DataOutputStream.
+     */
+    TerrainLoadResult readStreamTerrainData(FileHandle file) {
         // load height data from terra file
         DataInputStream is;
         TerrainLoadResult result = null;
@@ -75,9 +123,7 @@ public class TerrainLoader extends AsynchronousAssetLoader<Terrain, TerrainLoade
             e.printStackTrace();
             throw new GdxRuntimeException("Error reading terra file: " + file.name());
         }
-        terrain = new Terrain(parameter.metaTerrain.getSize(), result.heightData);
-        terrain.updateUvScale(new Vector2(parameter.metaTerrain.getUv(), parameter.metaTerrain.getUv()));
-        terrain.setLoDDTOs(result.loDDTOS);
+        return result;
     }
 
     private TerrainLoadResult readTerrainData(DataInputStream is, String startTag) throws IOException {
@@ -160,7 +206,7 @@ public class TerrainLoader extends AsynchronousAssetLoader<Terrain, TerrainLoade
         public MetaTerrain metaTerrain = null;
     }
 
-    static private class TerrainLoadResult {
+    static class TerrainLoadResult {
         public float[] heightData;
         public LevelOfDetailDTO[] loDDTOS;
     }
@@ -169,7 +215,7 @@ public class TerrainLoader extends AsynchronousAssetLoader<Terrain, TerrainLoade
         String header = "";
         try {
             header = is.readUTF();  // try to read the first bytes as a UTF string
-        } catch (Exception e) {
+        } catch (IOException e) {
             // If the file doesn't start with a string, it's an old format file.
         }
         return header;
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2026. See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mbrlabs.mundus.commons.terrain;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g3d.model.MeshPart;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntMap;
+
+/**
+ * Builds and caches the patch meshes of the nodes of a {@link TerrainQuadTree}. Patches are built when first
+ * requested, rebuilt when the heights of their node changed and disposed after not being requested for a while.
+ * All patches of a terrain are shared by the terrain components using it.
+ *
+ * @version October 18, 2026
+ */
+public class TerrainPatchCache implements Disposable {
+    /** Patches are disposed after not being requested for this many frames */
+    private static final int EVICT_FRAMES = 300;
+
+    private static final class Patch implements Disposable {
+        final Mesh mesh;
+        final MeshPart meshPart = new MeshPart();
+        int version;
+        long lastFrame;
+
+        Patch(Mesh mesh) {
+            this.mesh = mesh;
+        }
+
+        @Override
+        public void dispose() {
+            mesh.dispose();
+        }
+    }
+
+    private final TerrainQuadTree quadTree;
+    private final VertexAttributes attribs;
+    private final Vector2 uvScale;
+    private final short[] indices;
+    private final float[] vertices;
+    private final int stride;
+    private final int posOffset;
+    private final int norOffset;
+    private final int tanOffset;
+    private final int uvOffset;
+    private final int morphOffset;
+
+    private final IntMap<Patch> patches = new IntMap<>();
+    private final BoundingBox tmpBounds = new BoundingBox();
+    private long frameId = -1;
+
+    /**
+     * @param quadTree the quadtree of the terrain
+     * @param attribs the vertex attributes of the terrain
+     * @param uvScale the texture coordinate scale of the terrain, read whenever a patch is built
+     */
+    public TerrainPatchCache(TerrainQuadTree quadTree, VertexAttributes attribs, Vector2 uvScale) {
+        this.quadTree = quadTree;
+        this.attribs = attribs;
+        this.uvScale = uvScale;
+        this.indices = TerrainQuadTree.buildPatchIndices(quadTree.getPatchSize());
+
+        stride = attribs.vertexSize / 4;
+        posOffset = attribs.getOffset(VertexAttributes.Usage.Position, -1);
+        norOffset = attribs.getOffset(VertexAttributes.Usage.Normal, -1);
+        tanOffset = attribs.getOffset(VertexAttributes.Usage.Tangent, -1);
+        uvOffset = attribs.getOffset(VertexAttributes.Usage.TextureCoordinates, -1);
+        morphOffset = PlaneMesh.getOffset(attribs, Terrain.LOD_MORPH_ATTRIBUTE);
+        vertices = new float[quadTree.getPatchVertexCount() * stride];
+    }
+
+    /**
+     * Returns the mesh part of the patch of a node, building it if needed. The mesh part must not be modified.
+     */
+    public MeshPart obtain(int node) {
+        final long frame = Gdx.graphics.getFrameId();
+        if (frame != frameId) {
+            frameId = frame;
+            evictUnusedPatches(frame);
+        }
+
+        Patch patch = patches.get(node);
+        if (patch == null) {
+            patch = new Patch(buildMesh(node));
+            patch.version = quadTree.getVersion(node);
+            patch.meshPart.set(null, patch.mesh, 0, indices.length, GL20.GL_TRIANGLES);
+            setBounds(node, patch.meshPart);
+            patches.put(node, patch);
+        } else if (patch.version != quadTree.getVersion(node)) {
+            patch.version = quadTree.getVersion(node);
+            updateMesh(node, patch.mesh);
+            setBounds(node, patch.meshPart);
+        }
+        patch.lastFrame = frame;
+        return patch.meshPart;
+    }
+
+    /**
+     * Builds a new mesh for the patch of a node, which is not cached.
+     */
+    public Mesh buildMesh(int node) {
+        final Mesh mesh = new Mesh(true, quadTree.getPatchVertexCount(), indices.length, attribs);
+        mesh.setIndices(indices);
+        updateMesh(node, mesh);
+        return mesh;
+    }
+
+    /**
+     * Rebuilds the vertices of a mesh created by {@link #buildMesh(int)}.
+     */
+    public void updateMesh(int node, Mesh mesh) {
+        quadTree.buildPatch(node, vertices, stride, posOffset, norOffset, tanOffset, uvOffset, morphOffset,
+                uvScale.x, uvScale.y);
+        mesh.setVertices(vertices);
+    }
+
+    private void setBounds(int node, MeshPart meshPart) {
+        // Skirts hang below the node bounds but are not worth sorting by
+        quadTree.getNodeBounds(node, tmpBounds);
+        tmpBounds.getCenter(meshPart.center);
+        tmpBounds.getDimensions(meshPart.halfExtents).scl(0.5f);
+        meshPart.radius = meshPart.halfExtents.len();
+    }
+
+    private void evictUnusedPatches(long frame) {
+        final IntMap.Entries<Patch> entries = patches.entries();
+        while (entries.hasNext()) {
+            final Patch patch = entries.next().value;
+            if (frame - patch.lastFrame > EVICT_FRAMES) {
+                patch.dispose();
+                entries.remove();
+            }
+        }
+    }
+
+    /**
+     * @return the number of cached patches
+     */
+    public int size() {
+        return patches.size;
+    }
+
+    @Override
+    public void dispose() {
+        for (Patch patch : patches.values()) {
+            patch.dispose();
+        }
+        patches.clear();
+    }
+}
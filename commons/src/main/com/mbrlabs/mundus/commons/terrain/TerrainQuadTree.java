@@ -0,0 +1,597 @@
+/*
+ * Copyright (c) 2026. See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mbrlabs.mundus.commons.terrain;
+
+import com.badlogic.gdx.math.Frustum;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Quadtree over the height data of a terrain too large for a single mesh, rendered CDLOD style. Every node is drawn
+ * as a patch of the same grid size, so a node covers twice the area of its children at half the detail. Each frame
+ * the nodes are selected by the distance of the camera to their bounds, see
+ * {@link #select(Vector3, Frustum, Matrix4, float, float, IntArray, FloatArray)}, which keeps the vertex count
+ * bounded regardless of the terrain resolution.
+ * <p>
+ * The vertices of a patch store the height of the parent patch at their position, see
+ * {@link Terrain#LOD_MORPH_ATTRIBUTE}, so a node morphs into its parent before the parent takes over. Cracks between
+ * neighboring patches of different detail are covered by skirts hanging down from the patch edges.
+ * <p>
+ * Nodes are numbered level by level from the root, row by row along the z axis within a level.
+ *
+ * @version October 18, 2026
+ */
+public class TerrainQuadTree {
+    /** Number of grid cells per side of a patch */
+    public static final int DEFAULT_PATCH_SIZE = 32;
+
+    private final float[] heightData;
+    private final int vertexResolution;
+    private final int cells;
+    private final float cellWidth;
+    private final float cellDepth;
+    private final int patchSize;
+    private final int leafLevel;
+    private final int[] levelOffsets;
+
+    private final float[] minHeights;
+    private final float[] maxHeights;
+    // Incremented when the heights of a node or around it changed, its patch must be rebuilt
+    private final int[] versions;
+
+    // Vertices modified since the last heightsChanged
+    private int modMinX = Integer.MAX_VALUE;
+    private int modMaxX = Integer.MIN_VALUE;
+    private int modMinZ = Integer.MAX_VALUE;
+    private int modMaxZ = Integer.MIN_VALUE;
+
+    private final BoundingBox tmpBounds = new BoundingBox();
+
+    /**
+     * @param heightData the heights, row by row along the z axis. Not copied.
+     * @param vertexResolution the number of vertices per side
+     * @param width the terrain width in local units
+     * @param depth the terrain depth in local units
+     * @param patchSize the number of grid cells per side of a patch, a power of two
+     */
+    public TerrainQuadTree(float[] heightData, int vertexResolution, float width, float depth, int patchSize) {
+        if (patchSize < 2 || (patchSize & (patchSize - 1)) != 0) {
+            throw new IllegalArgumentException("Patch size must be a power of two, was " + patchSize);
+        }
+        this.heightData = heightData;
+        this.vertexResolution = vertexResolution;
+        this.cells = vertexResolution - 1;
+        this.cellWidth = width / cells;
+        this.cellDepth = depth / cells;
+        this.patchSize = patchSize;
+
+        int level = 0;
+        while ((long) patchSize << level < cells) level++;
+        this.leafLevel = level;
+
+        levelOffsets = new int[leafLevel + 2];
+        for (int i = 1; i < levelOffsets.length; i++) {
+            levelOffsets[i] = levelOffsets[i - 1] + (1 << (2 * (i - 1)));
+        }
+
+        final int nodeCount = levelOffsets[leafLevel + 1];
+        minHeights = new float[nodeCount];
+        maxHeights = new float[nodeCount];
+        versions = new int[nodeCount];
+        // Nodes outside of the terrain keep empty bounds
+        Arrays.fill(minHeights, Float.POSITIVE_INFINITY);
+        Arrays.fill(maxHeights, Float.NEGATIVE_INFINITY);
+        heightsChanged();
+    }
+
+    /**
+     * Recomputes the height bounds of the nodes around the vertices given to {@link #modifyVertex(int, int)} since
+     * the last call and marks their patches for rebuilding, or of all nodes if there are none.
+     */
+    public void heightsChanged() {
+        if (modMinX > modMaxX || modMinZ > modMaxZ) {
+            updateRegion(0, 0, cells, cells);
+        } else {
+            updateRegion(modMinX, modMinZ, modMaxX, modMaxZ);
+        }
+
+        modMinX = Integer.MAX_VALUE;
+        modMaxX = Integer.MIN_VALUE;
+        modMinZ = Integer.MAX_VALUE;
+        modMaxZ = Integer.MIN_VALUE;
+    }
+
+    private void updateRegion(int minX, int minZ, int maxX, int maxZ) {
+        // Leaves share their edge vertices with the next leaf
+        final int lastLeaf = (1 << leafLevel) - 1;
+        int leafMinX = Math.max(0, minX - 1) / patchSize;
+        int leafMaxX = Math.min(lastLeaf, maxX / patchSize);
+        int leafMinZ = Math.max(0, minZ - 1) / patchSize;
+        int leafMaxZ = Math.min(lastLeaf, maxZ / patchSize);
+        for (int z = leafMinZ; z <= leafMaxZ; z++) {
+            for (int x = leafMinX; x <= leafMaxX; x++) {
+                computeLeafHeights(x, z);
+            }
+        }
+
+        for (int level = leafLevel - 1; level >= 0; level--) {
+            leafMinX >>= 1;
+            leafMaxX >>= 1;
+            leafMinZ >>= 1;
+            leafMaxZ >>= 1;
+            for (int z = leafMinZ; z <= leafMaxZ; z++) {
+                for (int x = leafMinX; x <= leafMaxX; x++) {
+                    computeParentHeights(level, x, z);
+                }
+            }
+        }
+
+        for (int level = 0; level <= leafLevel; level++) {
+            final int nodeCells = getNodeCells(level);
+            final int last = (1 << level) - 1;
+            // Normals of the neighboring vertices change as well, they may be in the next node
+            final int nodeMinX = Math.max(0, minX - 2) / nodeCells;
+            final int nodeMaxX = Math.min(last, (maxX + 1) / nodeCells);
+            final int nodeMinZ = Math.max(0, minZ - 2) / nodeCells;
+            final int nodeMaxZ = Math.min(last, (maxZ + 1) / nodeCells);
+            for (int z = nodeMinZ; z <= nodeMaxZ; z++) {
+                for (int x = nodeMinX; x <= nodeMaxX; x++) {
+                    versions[nodeIndex(level, x, z)]++;
+                }
+            }
+        }
+    }
+
+    private void computeParentHeights(int level, int x, int z) {
+        float min = Float.POSITIVE_INFINITY;
+        float max = Float.NEGATIVE_INFINITY;
+        for (int child = 0; child < 4; child++) {
+            final int childNode = nodeIndex(level + 1, 2 * x + (child & 1), 2 * z + (child >> 1));
+            min = Math.min(min, minHeights[childNode]);
+            max = Math.max(max, maxHeights[childNode]);
+        }
+        final int node = nodeIndex(level, x, z);
+        minHeights[node] = min;
+        maxHeights[node] = max;
+    }
+
+    private void computeLeafHeights(int x, int z) {
+        final int node = nodeIndex(leafLevel, x, z);
+        float min = Float.POSITIVE_INFINITY;
+        float max = Float.NEGATIVE_INFINITY;
+
+        final int x0 = x * patchSize;
+        final int z0 = z * patchSize;
+        // Nodes outside of the terrain keep empty bounds
+        if (x0 < cells && z0 < cells) {
+            final int x1 = Math.min(cells, x0 + patchSize);
+            final int z1 = Math.min(cells, z0 + patchSize);
+            for (int gz = z0; gz <= z1; gz++) {
+                final int row = gz * vertexResolution;
+                for (int gx = x0; gx <= x1; gx++) {
+                    final float height = heightData[row + gx];
+                    if (height < min) min = height;
+                    if (height > max) max = height;
+                }
+            }
+        }
+        minHeights[node] = min;
+        maxHeights[node] = max;
+    }
+
+    /**
+     * Updates the nodes after the height of a vertex changed. The height bounds only grow, call
+     * {@link #heightsChanged()} to tighten them around the modified vertices.
+     *
+     * @param x the vertex x grid coordinate
+     * @param z the vertex z grid coordinate
+     */
+    public void modifyVertex(int x, int z) {
+        final float height = heightData[z * vertexResolution + x];
+        modMinX = Math.min(modMinX, x);
+        modMaxX = Math.max(modMaxX, x);
+        modMinZ = Math.min(modMinZ, z);
+        modMaxZ = Math.max(modMaxZ, z);
+
+        for (int level = 0; level <= leafLevel; level++) {
+            final int nodeCells = getNodeCells(level);
+            final int last = (1 << level) - 1;
+            // Normals of the neighboring vertices change as well, they may be in the next node
+            final int minX = Math.max(0, x - 2) / nodeCells;
+            final int maxX = Math.min(last, (x + 1) / nodeCells);
+            final int minZ = Math.max(0, z - 2) / nodeCells;
+            final int maxZ = Math.min(last, (z + 1) / nodeCells);
+
+            for (int nz = minZ; nz <= maxZ; nz++) {
+                for (int nx = minX; nx <= maxX; nx++) {
+                    final int node = nodeIndex(level, nx, nz);
+                    versions[node]++;
+                    if (!exists(level, nx, nz)) continue;
+                    minHeights[node] = Math.min(minHeights[node], height);
+                    maxHeights[node] = Math.max(maxHeights[node], height);
+                }
+            }
+        }
+    }
+
+    /**
+     * Selects the nodes to render. A node is split into its children while the camera is closer to its bounds than
+     * the distance factor times its size. Nodes outside the frustum are skipped.
+     *
+     * @param cameraPosition the camera position in world space
+     * @param frustum the camera frustum in world space, or null to select all nodes
+     * @param transform the world transform of the terrain
+     * @param distanceFactor the distance to a node at which it is split, relative to its size
+     * @param morphRegion the fraction of the range of a node in which it morphs into its parent
+     * @param outNodes receives the selected nodes
+     * @param outMorphs receives how far each selected node is morphed into its parent, 0 to 1
+     */
+    public void select(Vector3 cameraPosition, Frustum frustum, Matrix4 transform, float distanceFactor,
+                       float morphRegion, IntArray outNodes, FloatArray outMorphs) {
+        outNodes.clear();
+        outMorphs.clear();
+
+        final float scale = Math.max(transform.getScaleX(), transform.getScaleZ());
+        final float cellSize = Math.max(cellWidth, cellDepth) * scale;
+        select(0, 0, 0, cameraPosition, frustum, transform, distanceFactor * cellSize, morphRegion, outNodes, outMorphs);
+    }
+
+    private void select(int level, int x, int z, Vector3 cameraPosition, Frustum frustum, Matrix4 transform,
+                        float cellDistance, float morphRegion, IntArray outNodes, FloatArray outMorphs) {
+        final int node = nodeIndex(level, x, z);
+        getNodeBounds(node, tmpBounds).mul(transform);
+        if (frustum != null && !frustum.boundsInFrustum(tmpBounds)) return;
+
+        final float distance = distance(cameraPosition, tmpBounds);
+        final float range = cellDistance * getNodeCells(level);
+
+        if (level < leafLevel && distance < range) {
+            for (int child = 0; child < 4; child++) {
+                final int childX = 2 * x + (child & 1);
+                final int childZ = 2 * z + (child >> 1);
+                if (!exists(level + 1, childX, childZ)) continue;
+                select(level + 1, childX, childZ, cameraPosition, frustum, transform, cellDistance, morphRegion,
+                        outNodes, outMorphs);
+            }
+            return;
+        }
+
+        outNodes.add(node);
+        // The parent is used from twice the range of this node on
+        outMorphs.add(level == 0 ? 0f : computeMorph(distance, range * 2f, morphRegion));
+    }
+
+    /**
+     * Computes how far a node is morphed into its parent.
+     *
+     * @param distance the distance of the camera to the node
+     * @param parentRange the distance from which the parent is selected
+     * @param morphRegion the fraction of the range before the parent range in which the node morphs
+     * @return 0 for the heights of the node up to 1 for the heights of the parent
+     */
+    public static float computeMorph(float distance, float parentRange, float morphRegion) {
+        if (morphRegion <= 0f) return distance >= parentRange ? 1f : 0f;
+        final float start = parentRange * (1f - morphRegion);
+        final float morph = (distance - start) / (parentRange - start);
+        return Math.max(0f, Math.min(1f, morph));
+    }
+
+    private static float distance(Vector3 point, BoundingBox bounds) {
+        final float dx = Math.max(0f, Math.max(bounds.min.x - point.x, point.x - bounds.max.x));
+        final float dy = Math.max(0f, Math.max(bounds.min.y - point.y, point.y - bounds.max.y));
+        final float dz = Math.max(0f, Math.max(bounds.min.z - point.z, point.z - bounds.max.z));
+        return (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    /**
+     * Builds the vertices of the patch of a node. The grid vertices come first, row by row along the z axis, then
+     * the skirt vertices of the north, east, south and west edges, see {@link #buildPatchIndices(int)}.
+     *
+     * @param node the node
+     * @param vertices receives the vertices, at least {@link #getPatchVertexCount()} times the stride
+     * @param stride the size of a vertex in floats
+     * @param posOffset the offset of the position in floats
+     * @param norOffset the offset of the normal in floats, negative if not present
+     * @param tanOffset the offset of the 4 component tangent in floats, negative if not present
+     * @param uvOffset the offset of the texture coordinates in floats, negative if not present
+     * @param morphOffset the offset of the morph target in floats, negative if not present
+     * @param uvScaleX the texture coordinate scale along the x axis
+     * @param uvScaleY the texture coordinate scale along the z axis
+     */
+    public void buildPatch(int node, float[] vertices, int stride, int posOffset, int norOffset, int tanOffset,
+                           int uvOffset, int morphOffset, float uvScaleX, float uvScaleY) {
+        final int level = getNodeLevel(node);
+        final int levelNodes = 1 << level;
+        final int local = node - levelOffsets[level];
+        final int step = 1 << (leafLevel - level);
+        final int x0 = (local % levelNodes) * patchSize * step;
+        final int z0 = (local / levelNodes) * patchSize * step;
+        final int side = patchSize + 1;
+
+        for (int j = 0; j <= patchSize; j++) {
+            final int gz = Math.min(cells, z0 + j * step);
+            for (int i = 0; i <= patchSize; i++) {
+                final int gx = Math.min(cells, x0 + i * step);
+                final int v = (j * side + i) * stride;
+
+                vertices[v + posOffset] = gx * cellWidth;
+                vertices[v + posOffset + 1] = heightAt(gx, gz);
+                vertices[v + posOffset + 2] = gz * cellDepth;
+
+                if (uvOffset >= 0) {
+                    vertices[v + uvOffset] = (float) gx / cells * uvScaleX;
+                    vertices[v + uvOffset + 1] = (float) gz / cells * uvScaleY;
+                }
+                if (norOffset >= 0) {
+                    computeNormal(gx, gz, vertices, v + norOffset);
+                }
+            }
+        }
+
+        if (morphOffset >= 0) {
+            setMorphTargets(vertices, stride, posOffset, morphOffset, level == 0);
+        }
+        if (tanOffset >= 0 && norOffset >= 0) {
+            GridTangentGenerator.computeTangents(vertices, side, stride, posOffset, norOffset, tanOffset,
+                    0, patchSize, 0, patchSize);
+        }
+
+        // Skirts are only needed towards other nodes, at the terrain border they would be visible
+        final float skirtDepth = Math.max(maxHeights[node] - minHeights[node], step * Math.max(cellWidth, cellDepth));
+        final int nodeCells = patchSize * step;
+        final boolean[] border = {z0 == 0, x0 + nodeCells >= cells, z0 + nodeCells >= cells, x0 == 0};
+
+        for (int edge = 0; edge < 4; edge++) {
+            final float drop = border[edge] ? 0f : skirtDepth;
+            for (int k = 0; k <= patchSize; k++) {
+                final int src = edgeVertex(patchSize, edge, k) * stride;
+                final int dst = (side * side + edge * side + k) * stride;
+                System.arraycopy(vertices, src, vertices, dst, stride);
+                vertices[dst + posOffset + 1] -= drop;
+                if (morphOffset >= 0) vertices[dst + morphOffset] -= drop;
+            }
+        }
+    }
+
+    /**
+     * Sets the morph target of every grid vertex of a patch to the surface of the parent patch, whose vertices are
+     * every other vertex of the patch. Uses the same triangle split as {@link #buildPatchIndices(int)}.
+     */
+    private void setMorphTargets(float[] vertices, int stride, int posOffset, int morphOffset, boolean root) {
+        final int side = patchSize + 1;
+        final int y = posOffset + 1;
+
+        for (int j = 0; j <= patchSize; j++) {
+            for (int i = 0; i <= patchSize; i++) {
+                final int v = (j * side + i) * stride;
+                final boolean oddX = (i & 1) == 1;
+                final boolean oddZ = (j & 1) == 1;
+
+                float target = vertices[v + y];
+                if (!root) {
+                    if (oddX && oddZ) {
+                        // Center of a parent cell, on the diagonal from its 00 to its 11 corner
+                        target = 0.5f * (vertices[v - (side + 1) * stride + y] + vertices[v + (side + 1) * stride + y]);
+                    } else if (oddX) {
+                        target = 0.5f * (vertices[v - stride + y] + vertices[v + stride + y]);
+                    } else if (oddZ) {
+                        target = 0.5f * (vertices[v - side * stride + y] + vertices[v + side * stride + y]);
+                    }
+                }
+                vertices[v + morphOffset] = target;
+            }
+        }
+    }
+
+    /**
+     * @return the grid vertex index of the k-th vertex along an edge, edges are walked so that their outside is on
+     * the left when seen from above
+     */
+    private static int edgeVertex(int patchSize, int edge, int k) {
+        final int side = patchSize + 1;
+        switch (edge) {
+            case 0: return k; // north, along +x
+            case 1: return k * side + patchSize; // east, along +z
+            case 2: return patchSize * side + patchSize - k; // south, along -x
+            default: return (patchSize - k) * side; // west, along -z
+        }
+    }
+
+    /**
+     * Builds the indices shared by all patches, the grid triangles followed by the skirt triangles.
+     *
+     * @param patchSize the number of grid cells per side of a patch
+     */
+    public static short[] buildPatchIndices(int patchSize) {
+        final int side = patchSize + 1;
+        final short[] indices = new short[getPatchIndexCount(patchSize)];
+        int i = 0;
+
+        // Same split as the terrain plane mesh
+        for (int z = 0; z < patchSize; z++) {
+            for (int x = 0; x < patchSize; x++) {
+                final int c00 = z * side + x;
+                final int c10 = c00 + 1;
+                final int c01 = c00 + side;
+                final int c11 = c10 + side;
+                indices[i++] = (short) c11;
+                indices[i++] = (short) c10;
+                indices[i++] = (short) c00;
+                indices[i++] = (short) c00;
+                indices[i++] = (short) c01;
+                indices[i++] = (short) c11;
+            }
+        }
+
+        // Skirts facing outwards
+        for (int edge = 0; edge < 4; edge++) {
+            final int skirt = side * side + edge * side;
+            for (int k = 0; k < patchSize; k++) {
+                final int e0 = edgeVertex(patchSize, edge, k);
+                final int e1 = edgeVertex(patchSize, edge, k + 1);
+                indices[i++] = (short) e0;
+                indices[i++] = (short) e1;
+                indices[i++] = (short) (skirt + k);
+                indices[i++] = (short) (skirt + k);
+                indices[i++] = (short) e1;
+                indices[i++] = (short) (skirt + k + 1);
+            }
+        }
+        return indices;
+    }
+
+    public static int getPatchIndexCount(int patchSize) {
+        return patchSize * patchSize * 6 + 4 * patchSize * 6;
+    }
+
+    /**
+     * @return the number of vertices of a patch including its skirts
+     */
+    public int getPatchVertexCount() {
+        final int side = patchSize + 1;
+        return side * side + 4 * side;
+    }
+
+    /**
+     * Computes the local normal of a grid vertex from the neighboring heights.
+     *
+     * @param out receives the normalized x, y and z components
+     */
+    public void computeNormal(int x, int z, float[] out, int offset) {
+        final float dx = slopeX(x, z);
+        final float dz = slopeZ(x, z);
+        final float invLength = 1f / (float) Math.sqrt(dx * dx + 1f + dz * dz);
+
+        out[offset] = -dx * invLength;
+        out[offset + 1] = invLength;
+        out[offset + 2] = -dz * invLength;
+    }
+
+    /**
+     * Computes the local normal of a grid vertex from the neighboring heights.
+     *
+     * @param out receives the normal
+     * @return out
+     */
+    public Vector3 computeNormal(int x, int z, Vector3 out) {
+        final float dx = slopeX(x, z);
+        final float dz = slopeZ(x, z);
+        final float invLength = 1f / (float) Math.sqrt(dx * dx + 1f + dz * dz);
+        return out.set(-dx * invLength, invLength, -dz * invLength);
+    }
+
+    private float slopeX(int x, int z) {
+        final int left = Math.max(0, x - 1);
+        final int right = Math.min(cells, x + 1);
+        return (heightAt(right, z) - heightAt(left, z)) / ((right - left) * cellWidth);
+    }
+
+    private float slopeZ(int x, int z) {
+        final int back = Math.max(0, z - 1);
+        final int front = Math.min(cells, z + 1);
+        return (heightAt(x, front) - heightAt(x, back)) / ((front - back) * cellDepth);
+    }
+
+    private float heightAt(int x, int z) {
+        return heightData[z * vertexResolution + x];
+    }
+
+    /**
+     * @return the local bounds of a node, empty bounds for nodes outside of the terrain
+     */
+    public BoundingBox getNodeBounds(int node, BoundingBox out) {
+        final int level = getNodeLevel(node);
+        final int levelNodes = 1 << level;
+        final int local = node - levelOffsets[level];
+        final int nodeCells = getNodeCells(level);
+        final int x0 = Math.min(cells, (local % levelNodes) * nodeCells);
+        final int z0 = Math.min(cells, (local / levelNodes) * nodeCells);
+        final int x1 = Math.min(cells, x0 + nodeCells);
+        final int z1 = Math.min(cells, z0 + nodeCells);
+
+        if (minHeights[node] > maxHeights[node]) return out.inf();
+        return out.set(out.min.set(x0 * cellWidth, minHeights[node], z0 * cellDepth),
+                out.max.set(x1 * cellWidth, maxHeights[node], z1 * cellDepth));
+    }
+
+    /**
+     * @return the local bounds of the whole terrain
+     */
+    public BoundingBox getBounds(BoundingBox out) {
+        return getNodeBounds(0, out);
+    }
+
+    /**
+     * @return true if the node covers part of the terrain
+     */
+    public boolean exists(int level, int x, int z) {
+        final int nodeCells = getNodeCells(level);
+        return x * nodeCells < cells && z * nodeCells < cells;
+    }
+
+    public int nodeIndex(int level, int x, int z) {
+        return levelOffsets[level] + z * (1 << level) + x;
+    }
+
+    public int getNodeLevel(int node) {
+        int level = 0;
+        while (node >= levelOffsets[level + 1]) level++;
+        return level;
+    }
+
+    /**
+     * @return the number of grid cells per side of the nodes of a level
+     */
+    public int getNodeCells(int level) {
+        return patchSize << (leafLevel - level);
+    }
+
+    /**
+     * @return the version of the node, changes whenever its patch must be rebuilt
+     */
+    public int getVersion(int node) {
+        return versions[node];
+    }
+
+    public int getNodeCount() {
+        return versions.length;
+    }
+
+    /**
+     * @return the level of the finest nodes, 0 is the root
+     */
+    public int getLeafLevel() {
+        return leafLevel;
+    }
+
+    public int getPatchSize() {
+        return patchSize;
+    }
+
+    public float getMinHeight(int node) {
+        return minHeights[node];
+    }
+
+    public float getMaxHeight(int node) {
+        return maxHeights[node];
+    }
+}
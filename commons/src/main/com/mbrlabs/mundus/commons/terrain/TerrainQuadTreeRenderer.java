@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026. See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mbrlabs.mundus.commons.terrain;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.RenderableProvider;
+import com.badlogic.gdx.math.Frustum;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.Pool;
+import com.mbrlabs.mundus.commons.terrain.attributes.TerrainLodMorphAttribute;
+
+/**
+ * Renders a terrain instance using the quadtree of its terrain, see {@link Terrain#usesQuadTree()}. The nodes are
+ * selected with {@link #update(Vector3, Frustum)} before each render pass, so every pass gets the nodes within its
+ * own camera frustum.
+ * <p>
+ * Each selected node gets a copy of the instance material with its own morph factor, so changes to the instance
+ * material are picked up on the next render.
+ *
+ * @version October 18, 2026
+ */
+public class TerrainQuadTreeRenderer implements RenderableProvider {
+    /** Distance to a node at which it is split into its children, relative to the node size */
+    public static final float DEFAULT_DISTANCE_FACTOR = 2f;
+    /** Fraction of the range of a node in which it morphs into its parent */
+    public static final float DEFAULT_MORPH_REGION = 0.3f;
+
+    private final Terrain terrain;
+    private final ModelInstance modelInstance;
+
+    private final IntArray selectedNodes = new IntArray();
+    private final FloatArray selectedMorphs = new FloatArray();
+    private final Array<Material> materials = new Array<>();
+    private final Array<TerrainLodMorphAttribute> morphAttributes = new Array<>();
+
+    private float distanceFactor = DEFAULT_DISTANCE_FACTOR;
+    private float morphRegion = DEFAULT_MORPH_REGION;
+
+    /**
+     * @param terrain the terrain, must use a quadtree
+     * @param modelInstance the instance providing the transform and material
+     */
+    public TerrainQuadTreeRenderer(Terrain terrain, ModelInstance modelInstance) {
+        if (!terrain.usesQuadTree()) throw new IllegalArgumentException("Terrain does not use a quadtree");
+        this.terrain = terrain;
+        this.modelInstance = modelInstance;
+    }
+
+    /**
+     * Selects the nodes to render for the camera.
+     */
+    public void update(Camera camera) {
+        update(camera.position, camera.frustum);
+    }
+
+    /**
+     * Selects the nodes to render, with the detail based on the distance to the view position.
+     *
+     * @param viewPosition the position detail is selected for, usually the scene camera position
+     * @param frustum the frustum of the camera rendering the pass, or null to select nodes outside of it too
+     */
+    public void update(Vector3 viewPosition, Frustum frustum) {
+        terrain.getQuadTree().select(viewPosition, frustum, modelInstance.transform, distanceFactor,
+                morphRegion, selectedNodes, selectedMorphs);
+    }
+
+    @Override
+    public void getRenderables(Array<Renderable> renderables, Pool<Renderable> pool) {
+        final Material instanceMaterial = modelInstance.materials.first();
+        final TerrainPatchCache patchCache = terrain.getPatchCache();
+
+        for (int i = 0; i < selectedNodes.size; i++) {
+            final Renderable renderable = pool.obtain();
+            renderable.meshPart.set(patchCache.obtain(selectedNodes.get(i)));
+            renderable.material = getMaterial(i, instanceMaterial, selectedMorphs.get(i));
+            renderable.worldTransform.set(modelInstance.transform);
+            renderable.environment = null;
+            renderable.bones = null;
+            renderable.userData = modelInstance.userData;
+            renderables.add(renderable);
+        }
+    }
+
+    private Material getMaterial(int index, Material instanceMaterial, float morph) {
+        if (index == materials.size) {
+            materials.add(new Material());
+            morphAttributes.add(new TerrainLodMorphAttribute(0f));
+        }
+
+        final Material material = materials.get(index);
+        final TerrainLodMorphAttribute morphAttribute = morphAttributes.get(index);
+        morphAttribute.value = morph;
+
+        material.clear();
+        material.id = instanceMaterial.id;
+        material.set(instanceMaterial);
+        material.set(morphAttribute);
+        return material;
+    }
+
+    /**
+     * @return the number of nodes selected by the last update
+     */
+    public int getSelectedNodeCount() {
+        return selectedNodes.size;
+    }
+
+    public float getDistanceFactor() {
+        return distanceFactor;
+    }
+
+    /**
+     * @param distanceFactor the distance to a node at which it is split, relative to its size. Larger values render
+     *                       more detail.
+     */
+    public void setDistanceFactor(float distanceFactor) {
+        this.distanceFactor = Math.max(1f, distanceFactor);
+    }
+
+    public float getMorphRegion() {
+        return morphRegion;
+    }
+
+    /**
+     * @param morphRegion the fraction of the range of a node in which it morphs into its parent, 0 to 1
+     */
+    public void setMorphRegion(float morphRegion) {
+        this.morphRegion = Math.max(0f, Math.min(1f, morphRegion));
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2026. See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mbrlabs.mundus.commons.terrain;
+
+/**
+ * Ray intersection against the terrain heightfield in terrain local space.
+ * <p>
+ * Keeps a min/max height quadtree over the grid cells. A ray walks the quadtree front to back and only descends
+ * into nodes whose height range it passes through, then tests the two triangles of each reached cell exactly as
+ * {@link PlaneMesh} builds them. Because the cells are reached in the order the ray crosses them, the first
+ * triangle hit is the closest one, and thin ridges are not skipped.
+ * <p>
+ * Heights are read from the terrain's height data. Call {@link #modifyVertex(int, int)} for changed vertices and
+ * {@link #heightsChanged()} once the changes are done, without modified vertices the whole quadtree is rebuilt.
+ *
+ * @version October 18, 2026
+ */
+public class TerrainRaycaster {
+
+    private final Terrain terrain;
+
+    /** Per level min and max heights of the quadtree nodes, level 0 is one node per cell */
+    private float[][] minHeights;
+    private float[][] maxHeights;
+    private int[] levelSize;
+    private int cells;
+
+    private int[] stack = new int[64];
+
+    // Vertices modified since the last heightsChanged
+    private int modMinX = Integer.MAX_VALUE;
+    private int modMaxX = Integer.MIN_VALUE;
+    private int modMinZ = Integer.MAX_VALUE;
+    private int modMaxZ = Integer.MIN_VALUE;
+
+    // Vertices changed since the last quadtree update
+    private boolean rebuild = true;
+    private int dirtyMinX = Integer.MAX_VALUE;
+    private int dirtyMaxX = Integer.MIN_VALUE;
+    private int dirtyMinZ = Integer.MAX_VALUE;
+    private int dirtyMaxZ = Integer.MIN_VALUE;
+
+    public TerrainRaycaster(Terrain terrain) {
+        this.terrain = terrain;
+    }
+
+    public void modifyVertex(int x, int z) {
+        modMinX = Math.min(modMinX, x);
+        modMaxX = Math.max(modMaxX, x);
+        modMinZ = Math.min(modMinZ, z);
+        modMaxZ = Math.max(modMaxZ, z);
+    }
+
+    /**
+     * Marks the vertices given to {@link #modifyVertex(int, int)} as changed, or all vertices if there are none.
+     * The quadtree is updated lazily on the next intersection.
+     */
+    public void heightsChanged() {
+        if (modMinX > modMaxX || modMinZ > modMaxZ) {
+            rebuild = true;
+        } else {
+            dirtyMinX = Math.min(dirtyMinX, modMinX);
+            dirtyMaxX = Math.max(dirtyMaxX, modMaxX);
+            dirtyMinZ = Math.min(dirtyMinZ, modMinZ);
+            dirtyMaxZ = Math.max(dirtyMaxZ, modMaxZ);
+        }
+
+        modMinX = Integer.MAX_VALUE;
+        modMaxX = Integer.MIN_VALUE;
+        modMinZ = Integer.MAX_VALUE;
+        modMaxZ = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Intersects a ray given in terrain local space. The direction does not need to be normalized, the returned
+     * distance is in units of the direction length.
+     *
+     * @return the distance along the ray to the closest hit or {@link Float#POSITIVE_INFINITY} if the terrain is
+     * not hit
+     */
+    public float intersect(float ox, float oy, float oz, float dx, float dy, float dz) {
+        updateQuadtree();
+        if (cells <= 0) return Float.POSITIVE_INFINITY;
+
+        final float cellWidth = terrain.terrainWidth / (float) cells;
+        final float cellDepth = terrain.terrainDepth / (float) cells;
+        final float ix = 1f / dx, iy = 1f / dy, iz = 1f / dz;
+
+        // Children are pushed far to near, so the child the ray enters first is popped first
+        final int farX = dx < 0 ? 0 : 1;
+        final int farZ = dz < 0 ? 0 : 1;
+
+        final int top = levelSize.length - 1;
+        int sp = 0;
+        stack[sp++] = top;
+        stack[sp++] = 0;
+        stack[sp++] = 0;
+
+        while (sp > 0) {
+            final int nz = stack[--sp];
+            final int nx = stack[--sp];
+            final int level = stack[--sp];
+
+            final int size = levelSize[level];
+            final int index = nz * size + nx;
+            final int span = 1 << level;
+            final float minX = nx * span * cellWidth;
+            final float minZ = nz * span * cellDepth;
+            final float maxX = Math.min((nx + 1) * span, cells) * cellWidth;
+            final float maxZ = Math.min((nz + 1) * span, cells) * cellDepth;
+
+            if (!intersectsBox(ox, oy, oz, ix, iy, iz, minX, minHeights[level][index], minZ,
+                    maxX, maxHeights[level][index], maxZ)) {
+                continue;
+            }
+
+            if (level == 0) {
+                final float t = intersectCell(nx, nz, cellWidth, cellDepth, ox, oy, oz, dx, dy, dz);
+                if (t != Float.POSITIVE_INFINITY) return t;
+                continue;
+            }
+
+            if (sp + 12 > stack.length) {
+                int[] newStack = new int[stack.length * 2];
+                System.arraycopy(stack, 0, newStack, 0, sp);
+                stack = newStack;
+            }
+
+            final int childSize = levelSize[level - 1];
+            for (int i = 0; i < 4; i++) {
+                // i = 0 is the far child, i = 3 the near child
+                final int cx = nx * 2 + ((i & 1) == 0 ? farX : 1 - farX);
+                final int cz = nz * 2 + (i < 2 ? farZ : 1 - farZ);
+                if (cx >= childSize || cz >= childSize) continue;
+                stack[sp++] = level - 1;
+                stack[sp++] = cx;
+                stack[sp++] = cz;
+            }
+        }
+
+        return Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Tests the two triangles of a cell, (c11, c10, c00) and (c00, c01, c11) like in {@link PlaneMesh}.
+     */
+    private float intersectCell(int x, int z, float cellWidth, float cellDepth,
+                                float ox, float oy, float oz, float dx, float dy, float dz) {
+        final float[] heights = terrain.heightData;
+        final int resolution = terrain.vertexResolution;
+        final float x0 = x * cellWidth, x1 = (x + 1) * cellWidth;
+        final float z0 = z * cellDepth, z1 = (z + 1) * cellDepth;
+        final float h00 = heights[z * resolution + x];
+        final float h10 = heights[z * resolution + x + 1];
+        final float h01 = heights[(z + 1) * resolution + x];
+        final float h11 = heights[(z + 1) * resolution + x + 1];
+
+        final float t0 = intersectTriangle(ox, oy, oz, dx, dy, dz, x1, h11, z1, x1, h10, z0, x0, h00, z0);
+        final float t1 = intersectTriangle(ox, oy, oz, dx, dy, dz, x0, h00, z0, x0, h01, z1, x1, h11, z1);
+        return Math.min(t0, t1);
+    }
+
+    /**
+     * Möller–Trumbore ray triangle intersection, without back face culling.
+     */
+    private static float intersectTriangle(float ox, float oy, float oz, float dx, float dy, float dz,
+                                           float ax, float ay, float az, float bx, float by, float bz,
+                                           float cx, float cy, float cz) {
+        final float e1x = bx - ax, e1y = by - ay, e1z = bz - az;
+        final float e2x = cx - ax, e2y = cy - ay, e2z = cz - az;
+
+        final float px = dy * e2z - dz * e2y;
+        final float py = dz * e2x - dx * e2z;
+        final float pz = dx * e2y - dy * e2x;
+        final float det = e1x * px + e1y * py + e1z * pz;
+        if (det == 0f) return Float.POSITIVE_INFINITY;
+        final float invDet = 1f / det;
+
+        final float sx = ox - ax, sy = oy - ay, sz = oz - az;
+        final float u = (sx * px + sy * py + sz * pz) * invDet;
+        if (u < 0f || u > 1f) return Float.POSITIVE_INFINITY;
+
+        final float qx = sy * e1z - sz * e1y;
+        final float qy = sz * e1x - sx * e1z;
+        final float qz = sx * e1y - sy * e1x;
+        final float v = (dx * qx + dy * qy + dz * qz) * invDet;
+        if (v < 0f || u + v > 1f) return Float.POSITIVE_INFINITY;
+
+        final float t = (e2x * qx + e2y * qy + e2z * qz) * invDet;
+        return t >= 0f ? t : Float.POSITIVE_INFINITY;
+    }
+
+    private static boolean intersectsBox(float ox, float oy, float oz, float ix, float iy, float iz,
+                                         float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        float t1 = (minX - ox) * ix, t2 = (maxX - ox) * ix;
+        float tMin = Math.min(t1, t2), tMax = Math.max(t1, t2);
+
+        t1 = (minY - oy) * iy;
+        t2 = (maxY - oy) * iy;
+        tMin = Math.max(tMin, Math.min(t1, t2));
+        tMax = Math.min(tMax, Math.max(t1, t2));
+
+        t1 = (minZ - oz) * iz;
+        t2 = (maxZ - oz) * iz;
+        tMin = Math.max(tMin, Math.min(t1, t2));
+        tMax = Math.min(tMax, Math.max(t1, t2));
+
+        // NaN from axis parallel rays on a box face is treated as a hit, the triangle test decides
+        return !(tMax < tMin) && !(tMax < 0f);
+    }
+
+    private void updateQuadtree() {
+        final int resolution = terrain.vertexResolution;
+        if (rebuild || cells != resolution - 1) {
+            allocate(resolution - 1);
+            updateRegion(0, cells - 1, 0, cells - 1);
+        } else if (dirtyMinX <= dirtyMaxX && dirtyMinZ <= dirtyMaxZ) {
+            // Cells touching a changed vertex
+            updateRegion(Math.max(0, dirtyMinX - 1), Math.min(cells - 1, dirtyMaxX),
+                    Math.max(0, dirtyMinZ - 1), Math.min(cells - 1, dirtyMaxZ));
+        }
+
+        rebuild = false;
+        dirtyMinX = Integer.MAX_VALUE;
+        dirtyMaxX = Integer.MIN_VALUE;
+        dirtyMinZ = Integer.MAX_VALUE;
+        dirtyMaxZ = Integer.MIN_VALUE;
+    }
+
+    private void allocate(int cells) {
+        this.cells = cells;
+        if (cells <= 0) return;
+
+        int levels = 1;
+        while ((1 << (levels - 1)) < cells) levels++;
+
+        levelSize = new int[levels];
+        minHeights = new float[levels][];
+        maxHeights = new float[levels][];
+        for (int level = 0; level < levels; level++) {
+            final int size = (cells + (1 << level) - 1) >> level;
+            levelSize[level] = size;
+            minHeights[level] = new float[size * size];
+            maxHeights[level] = new float[size * size];
+        }
+    }
+
+    /**
+     * Recomputes the height ranges of the given cells (inclusive) and of their parents.
+     */
+    private void updateRegion(int minX, int maxX, int minZ, int maxZ) {
+        if (cells <= 0) return;
+
+        final float[] heights = terrain.heightData;
+        final int resolution = terrain.vertexResolution;
+        final float[] min0 = minHeights[0];
+        final float[] max0 = maxHeights[0];
+        for (int z = minZ; z <= maxZ; z++) {
+            for (int x = minX; x <= maxX; x++) {
+                final int v = z * resolution + x;
+                final float h00 = heights[v];
+                final float h10 = heights[v + 1];
+                final float h01 = heights[v + resolution];
+                final float h11 = heights[v + resolution + 1];
+                min0[z * cells + x] = Math.min(Math.min(h00, h10), Math.min(h01, h11));
+                max0[z * cells + x] = Math.max(Math.max(h00, h10), Math.max(h01, h11));
+            }
+        }
+
+        for (int level = 1; level < levelSize.length; level++) {
+            minX >>= 1;
+            maxX >>= 1;
+            minZ >>= 1;
+            maxZ >>= 1;
+
+            final int size = levelSize[level];
+            final int childSize = levelSize[level - 1];
+            final float[] childMin = minHeights[level - 1];
+            final float[] childMax = maxHeights[level - 1];
+            for (int z = minZ; z <= maxZ; z++) {
+                for (int x = minX; x <= maxX; x++) {
+                    float min = Float.POSITIVE_INFINITY;
+                    float max = Float.NEGATIVE_INFINITY;
+                    for (int cz = z * 2; cz <= Math.min(z * 2 + 1, childSize - 1); cz++) {
+                        for (int cx = x * 2; cx <= Math.min(x * 2 + 1, childSize - 1); cx++) {
+                            min = Math.min(min, childMin[cz * childSize + cx]);
+                            max = Math.max(max, childMax[cz * childSize + cx]);
+                        }
+                    }
+                    minHeights[level][z * size + x] = min;
+                    maxHeights[level][z * size + x] = max;
+                }
+            }
+        }
+    }
+}
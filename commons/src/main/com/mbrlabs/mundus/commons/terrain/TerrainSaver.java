@@ -2,12 +2,12 @@ package com.mbrlabs.mundus.commons.terrain;
 
 import com.badlogic.gdx.graphics.Mesh;
 import com.mbrlabs.mundus.commons.assets.TerrainAsset;
+import com.mbrlabs.mundus.commons.dto.LevelOfDetailDTO;
 
-import java.io.BufferedOutputStream;
-import java.io.DataOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 /**
  * Saves a terrain to a .terra file.
@@ -16,66 +16,64 @@ import java.io.OutputStream;
  * @version September 29, 2023
  */
 public class TerrainSaver {
-    public static final String HEADER_VERSION = "1.1";
+    /** Version of the stream based format, still readable by {@link TerrainLoader} */
+    public static final String HEADER_VERSION_1_1 = "1.1";
+    public static final String HEADER_VERSION = TerraFormat.VERSION;
     public static final String HEADER_HEIGHTMAP = "HEIGHTMAP";
     public static final String HEADER_LOD = "LOD";
 
     public static void save(TerrainAsset terrain) throws IOException {
-        OutputStream fileOutputStream = terrain.getFile().write(false, 8192);
-        DataOutputStream outputStream = new DataOutputStream(fileOutputStream);
-
-        outputStream.writeUTF(HEADER_VERSION);
-
-        writeHeightmapData(terrain, outputStream);
-        writeLoDData(terrain, outputStream);
-
-        outputStream.flush();
-        outputStream.close();
-    }
-
-    private static void writeHeightmapData(TerrainAsset terrain, DataOutputStream outputStream) throws IOException {
-        // Write height data
-        outputStream.writeUTF(HEADER_HEIGHTMAP);
-        outputStream.writeInt(terrain.getTerrain().heightData.length);
-        for (float f : terrain.getTerrain().heightData) {
-            outputStream.writeFloat(f);
+        float[] heightData = terrain.getTerrain().heightData;
+        LevelOfDetailDTO[] lods = getLoDData(terrain);
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(TerraFormat.computeSize(heightData, lods));
+        TerraFormat.write(buffer, heightData, lods);
+        buffer.flip();
+
+        terrain.getFile().parent().mkdirs();
+        FileOutputStream outputStream = new FileOutputStream(terrain.getFile().file(), false);
+        try {
+            FileChannel channel = outputStream.getChannel();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } finally {
+            outputStream.close();
         }
     }
 
-    private static void writeLoDData(TerrainAsset terrain, DataOutputStream outputStream) throws IOException {
+    /**
+     * Copies the LoD meshes, excluding the base level, into DTOs for writing.
+     *
+     * @return the LoD data or null if the terrain has no LoD levels
+     */
+    private static LevelOfDetailDTO[] getLoDData(TerrainAsset terrain) {
         LodLevel[] levels = terrain.getLodLevels();
-        if (levels == null || levels.length == 0) return;
+        if (levels == null || levels.length <= 1) return null;
 
-        outputStream.writeUTF(HEADER_LOD);
-        outputStream.writeInt(levels.length - 1);
-
-        for (int i = 0; i < levels.length; i++) {
-            if (i == 0) continue; // lod0 is base level, aka heightmap
+        LevelOfDetailDTO[] lods = new LevelOfDetailDTO[levels.length - 1];
+        for (int i = 1; i < levels.length; i++) {
+            // lod0 is base level, aka heightmap
             LodLevel level = levels[i];
 
             // At time of writing this, terrains only have 1 mesh per LoD but want to keep it flexible
             int meshCount = level.getLodMesh().length;
-            outputStream.writeInt(meshCount); // Number of meshes in this LOD
+            float[][] lodVertices = new float[meshCount][];
+            short[][] lodIndices = new short[meshCount][];
 
             for (int m = 0; m < meshCount; m++) {
                 Mesh mesh = level.getLodMesh()[m];
 
-                float[] vertices = new float[mesh.getNumVertices() * mesh.getVertexSize() / 4];
-                short[] indices = new short[mesh.getNumIndices()];
-                mesh.getVertices(vertices);
-                mesh.getIndices(indices);
-
-                outputStream.writeInt(vertices.length);
-                for (float v : vertices) {
-                    outputStream.writeFloat(v);
-                }
-
-                outputStream.writeInt(indices.length);
-                for (short index : indices) {
-                    outputStream.writeShort(index);
-                }
-
+                lodVertices[m] = new float[mesh.getNumVertices() * mesh.getVertexSize() / 4];
+                lodIndices[m] = new short[mesh.getNumIndices()];
+                mesh.getVertices(lodVertices[m]);
+                mesh.getIndices(lodIndices[m]);
             }
+
+            lods[i - 1] = new LevelOfDetailDTO(lodVertices, lodIndices);
+            lods[i - 1].setVertexSize(level.getLodMesh()[0].getVertexSize() / 4);
+            lods[i - 1].setGeometricError(level.getGeometricError());
         }
+        return lods;
     }
 }
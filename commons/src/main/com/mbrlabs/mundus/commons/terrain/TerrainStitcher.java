@@ -52,6 +52,8 @@ public class TerrainStitcher {
         PlaneMesh right = tc.getRightNeighbor() != null ? tc.getRightNeighbor().getTerrainAsset().getTerrain().getPlaneMesh() : null;
 
         PlaneMesh mesh = tc.getTerrainAsset().getTerrain().getPlaneMesh();
+        // Quadtree terrains compute their normals from the heights when building patches
+        if (mesh == null) return false;
 
         return mesh.stitchEdgeNormalsFromNeighbors(top, left, bottom, right, pool);
     }
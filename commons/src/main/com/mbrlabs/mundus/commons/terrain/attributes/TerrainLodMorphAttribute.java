@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2026. See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mbrlabs.mundus.commons.terrain.attributes;
+
+import com.badlogic.gdx.graphics.g3d.Attribute;
+import com.badlogic.gdx.graphics.g3d.attributes.FloatAttribute;
+
+/**
+ * How far the vertices of a terrain instance are morphed towards the next coarser LoD level, from 0 (own height) to
+ * 1 (height of the coarser level). Set per model instance by the terrain LoD manager.
+ *
+ * @version October 18, 2026
+ */
+public class TerrainLodMorphAttribute extends FloatAttribute {
+    public final static String LodMorphAlias = "terrainLodMorph";
+    public final static long LodMorph = register(LodMorphAlias);
+
+    public TerrainLodMorphAttribute(float value) {
+        super(LodMorph, value);
+    }
+
+    @Override
+    public Attribute copy() {
+        return new TerrainLodMorphAttribute(value);
+    }
+}
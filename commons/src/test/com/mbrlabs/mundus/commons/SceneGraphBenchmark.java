@@ -0,0 +1,90 @@
+package com.mbrlabs.mundus.commons;
+
+import com.badlogic.gdx.utils.Array;
+import com.mbrlabs.mundus.commons.scene3d.GameObject;
+import com.mbrlabs.mundus.commons.scene3d.SceneGraph;
+
+import java.util.Random;
+
+/**
+ * Times {@link SceneGraph#updateTransforms()} followed by reading the transform of every game object, as rendering
+ * does, for deep hierarchies with a part of the game objects animated each frame. Not run with the tests, start it
+ * with the main method.
+ *
+ * @version October 18, 2026
+ */
+public class SceneGraphBenchmark {
+
+    /** Number of chains below the root and game objects per chain */
+    private static final int[][] HIERARCHIES = {{50, 20}, {100, 50}, {20, 250}};
+    /** Fraction of game objects moved each frame */
+    private static final float[] ANIMATED = {0f, 0.01f, 0.1f, 1f};
+    private static final int WARMUP_RUNS = 200;
+    private static final int RUNS = 200;
+
+    public static void main(String[] args) {
+        System.out.printf("%10s %8s %10s %12s %12s %12s%n",
+                "objects", "depth", "animated", "update us", "read us", "total us");
+        for (int[] hierarchy : HIERARCHIES) {
+            final int chains = hierarchy[0];
+            final int depth = hierarchy[1];
+            final SceneGraph sceneGraph = new SceneGraph(null);
+            final Array<GameObject> gameObjects = createChains(sceneGraph, chains, depth);
+
+            for (float animated : ANIMATED) {
+                final Random random = new Random(chains * depth);
+                final int animatedCount = Math.round(gameObjects.size * animated);
+
+                long updateNanos = Long.MAX_VALUE;
+                long readNanos = Long.MAX_VALUE;
+                for (int run = 0; run < WARMUP_RUNS + RUNS; run++) {
+                    for (int i = 0; i < animatedCount; i++) {
+                        gameObjects.get(random.nextInt(gameObjects.size)).translate(0.01f, 0f, 0f);
+                    }
+
+                    long start = System.nanoTime();
+                    sceneGraph.updateTransforms();
+                    final long updateTime = System.nanoTime() - start;
+
+                    start = System.nanoTime();
+                    for (int i = 0; i < gameObjects.size; i++) {
+                        gameObjects.get(i).getTransform();
+                    }
+                    final long readTime = System.nanoTime() - start;
+
+                    if (run >= WARMUP_RUNS) {
+                        updateNanos = Math.min(updateNanos, updateTime);
+                        readNanos = Math.min(readNanos, readTime);
+                    }
+                }
+
+                System.out.printf("%10d %8d %9.0f%% %12.1f %12.1f %12.1f%n", gameObjects.size, depth,
+                        animated * 100f, updateNanos / 1e3, readNanos / 1e3, (updateNanos + readNanos) / 1e3);
+            }
+        }
+    }
+
+    /**
+     * Adds chains of nested game objects below the root, each offset from its parent.
+     */
+    private static Array<GameObject> createChains(SceneGraph sceneGraph, int chains, int depth) {
+        final Array<GameObject> gameObjects = new Array<>(chains * depth);
+        int id = 0;
+        for (int c = 0; c < chains; c++) {
+            GameObject parent = null;
+            for (int d = 0; d < depth; d++) {
+                final GameObject go = new GameObject(sceneGraph, null, id++);
+                go.setLocalPosition(0f, 1f, 0f);
+                go.setLocalRotation(0f, 0f, 5f);
+                if (parent == null) {
+                    sceneGraph.addGameObject(go);
+                } else {
+                    parent.addChild(go);
+                }
+                gameObjects.add(go);
+                parent = go;
+            }
+        }
+        return gameObjects;
+    }
+}
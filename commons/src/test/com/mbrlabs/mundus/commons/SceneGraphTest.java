@@ -16,6 +16,8 @@
 
 package com.mbrlabs.mundus.commons;
 
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Array;
 import com.mbrlabs.mundus.commons.env.MundusEnvironment;
 import com.mbrlabs.mundus.commons.scene3d.GameObject;
@@ -25,6 +27,7 @@ import com.mbrlabs.mundus.commons.scene3d.SceneGraph;
 import com.mbrlabs.mundus.commons.scene3d.SimpleNode;
 
 import com.mbrlabs.mundus.commons.scene3d.components.Component;
+import com.mbrlabs.mundus.commons.scene3d.components.CustomPropertiesComponent;
 import com.mbrlabs.mundus.commons.scene3d.components.ModelComponent;
 import org.junit.Assert;
 import org.junit.Test;
@@ -184,4 +187,145 @@ public class SceneGraphTest {
         Assert.assertEquals(searchTag, result.first().getTags().first());
     }
 
+    @Test
+    public void grandparentChangeUpdatesWorldTransform() {
+        SimpleNode<SimpleNode> root = new SimpleNode<>(0);
+        SimpleNode<SimpleNode> child = new SimpleNode<>(1);
+        SimpleNode<SimpleNode> grandchild = new SimpleNode<>(2);
+        root.addChild(child);
+        child.addChild(grandchild);
+        grandchild.translate(0, 0, 1);
+        Assert.assertEquals(1f, grandchild.getTransform().getTranslation(new Vector3()).z, 0.0001f);
+
+        // Only the root changes, the child is not read before the grandchild
+        root.translate(5, 0, 0);
+        Assert.assertTrue(grandchild.isTransformOutdated());
+
+        Vector3 position = grandchild.getTransform().getTranslation(new Vector3());
+        Assert.assertEquals(5f, position.x, 0.0001f);
+        Assert.assertEquals(1f, position.z, 0.0001f);
+        Assert.assertFalse(grandchild.isTransformOutdated());
+        Assert.assertFalse(child.isTransformOutdated());
+    }
+
+    @Test
+    public void reparentingUpdatesWorldTransform() {
+        SimpleNode<SimpleNode> first = new SimpleNode<>(0);
+        SimpleNode<SimpleNode> second = new SimpleNode<>(1);
+        SimpleNode<SimpleNode> child = new SimpleNode<>(2);
+        second.translate(0, 3, 0);
+        first.addChild(child);
+        first.getTransform();
+        second.getTransform();
+        Assert.assertEquals(0f, child.getTransform().getTranslation(new Vector3()).y, 0.0001f);
+
+        child.remove();
+        second.addChild(child);
+
+        Assert.assertEquals(3f, child.getTransform().getTranslation(new Vector3()).y, 0.0001f);
+    }
+
+    @Test
+    public void removedChildDropsParentTransform() {
+        SimpleNode<SimpleNode> parent = new SimpleNode<>(0);
+        SimpleNode<SimpleNode> child = new SimpleNode<>(1);
+        parent.translate(4, 0, 0);
+        parent.addChild(child);
+        Assert.assertEquals(4f, child.getTransform().getTranslation(new Vector3()).x, 0.0001f);
+        Assert.assertFalse(child.isTransformOutdated());
+
+        child.remove();
+
+        Assert.assertTrue(child.isTransformOutdated());
+        Assert.assertEquals(0f, child.getTransform().getTranslation(new Vector3()).x, 0.0001f);
+    }
+
+    @Test
+    public void unchangedTransformIsReturnedUntilAncestorChanges() {
+        SimpleNode<SimpleNode> root = new SimpleNode<>(0);
+        SimpleNode<SimpleNode> child = new SimpleNode<>(1);
+        SimpleNode<SimpleNode> grandchild = new SimpleNode<>(2);
+        root.addChild(child);
+        child.addChild(grandchild);
+        Matrix4 transform = grandchild.getTransform();
+        Assert.assertEquals(0f, transform.getTranslation(new Vector3()).y, 0.0001f);
+
+        // Reading again without changes keeps the transform
+        Assert.assertSame(transform, grandchild.getTransform());
+        Assert.assertFalse(root.isTransformOutdated());
+
+        root.translate(0, 2, 0);
+
+        Assert.assertEquals(2f, grandchild.getTransform().getTranslation(new Vector3()).y, 0.0001f);
+    }
+
+    @Test
+    public void updateTransformsRecalculatesChangedGameObjects() {
+        SceneGraph sceneGraph = new SceneGraph(null);
+        GameObject parent = new GameObject(sceneGraph, "Parent", 1);
+        GameObject child = new GameObject(sceneGraph, "Child", 2);
+        parent.addChild(child);
+        sceneGraph.addGameObject(parent);
+        sceneGraph.updateTransforms();
+        Matrix4 childTransform = child.getTransform();
+
+        parent.translate(0, 2, 0);
+        Assert.assertTrue(child.isTransformOutdated());
+
+        sceneGraph.updateTransforms();
+
+        Assert.assertFalse(parent.isTransformOutdated());
+        Assert.assertFalse(child.isTransformOutdated());
+        // Read the matrix directly, as model instances do
+        Assert.assertEquals(2f, childTransform.val[Matrix4.M13], 0.0001f);
+    }
+
+    @Test
+    public void componentsAreRegisteredWhileInSceneGraph() throws InvalidComponentException {
+        SceneGraph sceneGraph = new SceneGraph(null);
+        GameObject parent = new GameObject(sceneGraph, "Parent", 1);
+        GameObject child = new GameObject(sceneGraph, "Child", 2);
+        CustomPropertiesComponent component = new CustomPropertiesComponent(child);
+        child.addComponent(component);
+        parent.addChild(child);
+
+        // Not part of the scene graph yet
+        Assert.assertFalse(sceneGraph.getComponentRegistry().isRegistered(component));
+
+        sceneGraph.addGameObject(parent);
+        Assert.assertTrue(sceneGraph.getComponentRegistry().isRegistered(component));
+        Assert.assertEquals(1, sceneGraph.getComponentRegistry().getUpdatables().size);
+
+        child.remove();
+        Assert.assertFalse(sceneGraph.getComponentRegistry().isRegistered(component));
+        Assert.assertEquals(0, sceneGraph.getComponentRegistry().getUpdatables().size);
+    }
+
+    @Test
+    public void updateSkipsComponentsOfInactiveParents() throws InvalidComponentException {
+        SceneGraph sceneGraph = new SceneGraph(null);
+        GameObject parent = new GameObject(sceneGraph, "Parent", 1);
+        GameObject child = new GameObject(sceneGraph, "Child", 2);
+        final int[] updates = new int[1];
+        child.addComponent(new CustomPropertiesComponent(child) {
+            @Override
+            public void update(float delta) {
+                updates[0]++;
+            }
+        });
+        parent.addChild(child);
+        sceneGraph.addGameObject(parent);
+
+        sceneGraph.update(0.1f);
+        Assert.assertEquals(1, updates[0]);
+
+        parent.active = false;
+        sceneGraph.update(0.1f);
+        Assert.assertEquals(1, updates[0]);
+        Assert.assertFalse(child.isActiveInHierarchy());
+
+        parent.active = true;
+        sceneGraph.update(0.1f);
+        Assert.assertEquals(2, updates[0]);
+    }
 }
@@ -0,0 +1,41 @@
+package com.mbrlabs.mundus.commons.lod;
+
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ModelLevelOfDetailManagerTest {
+
+    private static final float[] SCREEN_SIZES = {0.3f, 0.1f};
+
+    @Test
+    public void testLevelIsSelectedByScreenSize() {
+        Assert.assertEquals(0, ModelLevelOfDetailManager.selectLevel(0.5f, SCREEN_SIZES, 0, 0f));
+        Assert.assertEquals(1, ModelLevelOfDetailManager.selectLevel(0.2f, SCREEN_SIZES, 0, 0f));
+        Assert.assertEquals(2, ModelLevelOfDetailManager.selectLevel(0.05f, SCREEN_SIZES, 0, 0f));
+    }
+
+    @Test
+    public void testHysteresisKeepsCurrentLevelNearThreshold() {
+        // Slightly below the threshold of level 1, the base level is kept
+        Assert.assertEquals(0, ModelLevelOfDetailManager.selectLevel(0.28f, SCREEN_SIZES, 0, 0.1f));
+        Assert.assertEquals(1, ModelLevelOfDetailManager.selectLevel(0.26f, SCREEN_SIZES, 0, 0.1f));
+
+        // Slightly above the threshold of level 1, level 1 is kept
+        Assert.assertEquals(1, ModelLevelOfDetailManager.selectLevel(0.32f, SCREEN_SIZES, 1, 0.1f));
+        Assert.assertEquals(0, ModelLevelOfDetailManager.selectLevel(0.34f, SCREEN_SIZES, 1, 0.1f));
+
+        // Between the thresholds of level 2, level 2 is kept
+        Assert.assertEquals(2, ModelLevelOfDetailManager.selectLevel(0.105f, SCREEN_SIZES, 2, 0.1f));
+    }
+
+    @Test
+    public void testProjectedSizeShrinksWithDistance() {
+        PerspectiveCamera cam = new PerspectiveCamera(90f, 100f, 100f);
+
+        // With a 90 degree field of view, half the screen height equals the distance
+        Assert.assertEquals(0.1f, ModelLevelOfDetailManager.projectedSize(1f, 10f, cam), 1e-5f);
+        Assert.assertEquals(0.01f, ModelLevelOfDetailManager.projectedSize(1f, 100f, cam), 1e-5f);
+        Assert.assertEquals(Float.MAX_VALUE, ModelLevelOfDetailManager.projectedSize(1f, 0.5f, cam), 0f);
+    }
+}
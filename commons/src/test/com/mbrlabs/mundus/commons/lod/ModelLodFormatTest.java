@@ -0,0 +1,44 @@
+package com.mbrlabs.mundus.commons.lod;
+
+import com.mbrlabs.mundus.commons.dto.LevelOfDetailDTO;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+public class ModelLodFormatTest {
+
+    @Test
+    public void testWriteAndReadRoundTrip() {
+        // given two levels of a model with two meshes
+        final float[] screenSizes = new float[] {0.3f, 0.1f};
+        final LevelOfDetailDTO[] lods = new LevelOfDetailDTO[] {
+                new LevelOfDetailDTO(new float[][] {{1f, 2f, 3f}, {6f}}, new short[][] {{0, 1, 2}, {}}),
+                new LevelOfDetailDTO(new float[][] {{4f, 5f}, {7f, 8f}}, new short[][] {{2, 1, 0, 3}, {0}})
+        };
+
+        // when
+        final ByteBuffer buffer = ByteBuffer.allocate(ModelLodFormat.computeSize(screenSizes, lods));
+        ModelLodFormat.write(buffer, screenSizes, lods);
+        buffer.flip();
+
+        // then
+        final ModelLodFormat.Result result = ModelLodFormat.read(buffer);
+        Assert.assertNotNull(result);
+        Assert.assertArrayEquals(screenSizes, result.screenSizes, 0f);
+        Assert.assertEquals(2, result.lods.length);
+        Assert.assertArrayEquals(new float[] {6f}, result.lods[0].getVertices()[1], 0f);
+        Assert.assertEquals(0, result.lods[0].getIndices()[1].length);
+        Assert.assertArrayEquals(new short[] {2, 1, 0, 3}, result.lods[1].getIndices()[0]);
+        Assert.assertArrayEquals(new short[] {0}, result.lods[1].getIndices()[1]);
+        Assert.assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testUnknownFileIsNotRead() {
+        final ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putInt(42);
+
+        Assert.assertNull(ModelLodFormat.read(buffer));
+    }
+}
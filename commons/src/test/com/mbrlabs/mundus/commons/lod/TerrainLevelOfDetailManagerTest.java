@@ -0,0 +1,66 @@
+package com.mbrlabs.mundus.commons.lod;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TerrainLevelOfDetailManagerTest {
+
+    private static final float[] ERRORS = {1f, 4f, 10f};
+
+    @Test
+    public void testCoarsestLevelWithinBudgetIsSelected() {
+        // 1 pixel per unit with a budget of 4 pixels
+        Assert.assertEquals(2, TerrainLevelOfDetailManager.selectLevel(ERRORS, 1f, 4f, 0, 0f));
+        Assert.assertEquals(0, TerrainLevelOfDetailManager.selectLevel(ERRORS, 10f, 4f, 0, 0f));
+        Assert.assertEquals(3, TerrainLevelOfDetailManager.selectLevel(ERRORS, 0.1f, 4f, 0, 0f));
+    }
+
+    @Test
+    public void testHysteresisKeepsCurrentLevelNearBudget() {
+        // Level 2 is just within the budget, but not by the hysteresis
+        Assert.assertEquals(1, TerrainLevelOfDetailManager.selectLevel(ERRORS, 0.95f, 4f, 1, 0.1f));
+        Assert.assertEquals(2, TerrainLevelOfDetailManager.selectLevel(ERRORS, 0.85f, 4f, 1, 0.1f));
+
+        // Level 2 is just above the budget, but not by the hysteresis
+        Assert.assertEquals(2, TerrainLevelOfDetailManager.selectLevel(ERRORS, 1.05f, 4f, 2, 0.1f));
+        Assert.assertEquals(1, TerrainLevelOfDetailManager.selectLevel(ERRORS, 1.15f, 4f, 2, 0.1f));
+    }
+
+    @Test
+    public void testMorphIsCompleteBeforeSwitching() {
+        final float budget = 4f;
+        final float hysteresis = 0.1f;
+
+        // Far above the switch threshold the own heights are used
+        Assert.assertEquals(0f, TerrainLevelOfDetailManager.computeMorph(20f, budget, hysteresis, 1f), 0f);
+        // Fully morphed where the coarser level would be left again and where it is entered
+        Assert.assertEquals(1f, TerrainLevelOfDetailManager.computeMorph(budget * (1f + hysteresis), budget, hysteresis, 1f), 1e-5f);
+        Assert.assertEquals(1f, TerrainLevelOfDetailManager.computeMorph(budget * (1f - hysteresis), budget, hysteresis, 1f), 0f);
+        // Linear in between
+        Assert.assertEquals(0.5f, TerrainLevelOfDetailManager.computeMorph(budget * (1f + hysteresis) * 1.5f, budget, hysteresis, 1f), 1e-5f);
+        // Disabled
+        Assert.assertEquals(0f, TerrainLevelOfDetailManager.computeMorph(budget, budget, hysteresis, 0f), 0f);
+    }
+
+    @Test
+    public void testPixelsPerUnitShrinkWithDistance() {
+        PerspectiveCamera cam = new PerspectiveCamera(90f, 100f, 100f);
+
+        // With a 90 degree field of view, the screen height covers twice the distance
+        Assert.assertEquals(5f, TerrainLevelOfDetailManager.pixelsPerUnit(10f, cam, 100f), 1e-4f);
+        Assert.assertEquals(0.5f, TerrainLevelOfDetailManager.pixelsPerUnit(100f, cam, 100f), 1e-5f);
+        Assert.assertEquals(Float.POSITIVE_INFINITY, TerrainLevelOfDetailManager.pixelsPerUnit(0f, cam, 100f), 0f);
+    }
+
+    @Test
+    public void testPixelsPerUnitOfOrthographicViewport() {
+        OrthographicCamera cam = new OrthographicCamera(300f, 200f);
+        cam.zoom = 2f;
+
+        // A viewport sized in pixels, zoomed out twice, is independent of the distance
+        Assert.assertEquals(0.5f, TerrainLevelOfDetailManager.pixelsPerUnit(10f, cam, cam.viewportHeight), 1e-6f);
+        Assert.assertEquals(0.5f, TerrainLevelOfDetailManager.pixelsPerUnit(1000f, cam, cam.viewportHeight), 1e-6f);
+    }
+}
@@ -0,0 +1,80 @@
+package com.mbrlabs.mundus.commons.lod;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TerrainLodMorphTest {
+
+    // Position and morph target
+    private static final int STRIDE = 4;
+    private static final int MORPH = 3;
+
+    /**
+     * 3x3 grid of 2x2 units, heights increasing along x, the center raised.
+     */
+    private static float[] gridVertices() {
+        float[] vertices = new float[9 * STRIDE];
+        for (int z = 0; z < 3; z++) {
+            for (int x = 0; x < 3; x++) {
+                int v = (z * 3 + x) * STRIDE;
+                vertices[v] = x;
+                vertices[v + 1] = x + (x == 1 && z == 1 ? 5f : 0f);
+                vertices[v + 2] = z;
+            }
+        }
+        return vertices;
+    }
+
+    /**
+     * Two triangles spanning the grid corners, without the center vertex.
+     */
+    private static float[] coarseVertices() {
+        return new float[] {
+                0, 0, 0, 0,
+                2, 2, 0, 0,
+                0, 0, 2, 0,
+                2, 2, 2, 0
+        };
+    }
+
+    private static final short[] COARSE_INDICES = {3, 1, 0, 0, 2, 3};
+
+    @Test
+    public void testSampledHeightsInterpolateTriangles() {
+        float[] heights = TerrainLodMorph.sampleHeights(3, 2f, 2f, STRIDE, 0, coarseVertices(), COARSE_INDICES);
+
+        for (int z = 0; z < 3; z++) {
+            for (int x = 0; x < 3; x++) {
+                Assert.assertEquals(x, heights[z * 3 + x], 1e-5f);
+            }
+        }
+    }
+
+    @Test
+    public void testLevelsMorphToNextCoarserLevel() {
+        float[] fine = gridVertices();
+        float[] coarse = coarseVertices();
+        short[] fineIndices = {4, 1, 0, 0, 3, 4, 5, 2, 1, 1, 4, 5, 7, 4, 3, 3, 6, 7, 8, 5, 4, 4, 7, 8};
+
+        float[] baseTargets = TerrainLodMorph.apply(3, 2f, 2f, STRIDE, 0, MORPH,
+                new float[][] {fine, coarse}, new short[][] {fineIndices, COARSE_INDICES});
+
+        // The base grid morphs to the first level, which matches the grid here
+        Assert.assertEquals(6f, baseTargets[4], 1e-5f);
+        // The raised center of the first level morphs down onto the coarse plane
+        Assert.assertEquals(1f, fine[4 * STRIDE + MORPH], 1e-5f);
+        Assert.assertEquals(2f, fine[5 * STRIDE + MORPH], 1e-5f);
+        // The coarsest level morphs to itself
+        Assert.assertEquals(2f, coarse[STRIDE + MORPH], 0f);
+    }
+
+    @Test
+    public void testLegacyVerticesAreExpandedWithTheirHeight() {
+        float[] legacy = {1f, 2f, 3f, 4f, 5f, 6f};
+
+        float[] expanded = TerrainLodMorph.expandVertices(legacy, 3, 4, 0);
+
+        Assert.assertArrayEquals(new float[] {1f, 2f, 3f, 2f, 4f, 5f, 6f, 5f}, expanded, 0f);
+        Assert.assertSame(legacy, TerrainLodMorph.expandVertices(legacy, 3, 3, 0));
+    }
+}
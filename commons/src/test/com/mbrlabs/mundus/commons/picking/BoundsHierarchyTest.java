@@ -0,0 +1,128 @@
+package com.mbrlabs.mundus.commons.picking;
+
+import com.badlogic.gdx.math.collision.Ray;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class BoundsHierarchyTest {
+
+    @Test
+    public void raycastMatchesBruteForce() {
+        // given
+        Random random = new Random(42);
+        int count = 500;
+        float[] bounds = randomBounds(random, count);
+        BoundsHierarchy hierarchy = new BoundsHierarchy();
+        hierarchy.build(bounds, count);
+
+        for (int i = 0; i < 200; i++) {
+            Ray ray = randomRay(random);
+
+            // when
+            int hit = hierarchy.raycast(ray, Float.POSITIVE_INFINITY, new BoxTest(bounds, ray));
+
+            // then
+            assertEquals(bruteForce(bounds, count, ray), hit);
+        }
+    }
+
+    @Test
+    public void refitFollowsMovedItems() {
+        // given
+        Random random = new Random(7);
+        int count = 100;
+        float[] bounds = randomBounds(random, count);
+        BoundsHierarchy hierarchy = new BoundsHierarchy();
+        hierarchy.build(bounds, count);
+
+        // when
+        for (int i = 0; i < count * 6; i += 6) {
+            for (int a = 0; a < 3; a++) {
+                bounds[i + a] += 500f;
+                bounds[i + 3 + a] += 500f;
+            }
+        }
+        hierarchy.refit(bounds);
+
+        // then
+        for (int i = 0; i < 100; i++) {
+            Ray ray = randomRay(random);
+            ray.origin.add(500f, 500f, 500f);
+            assertEquals(bruteForce(bounds, count, ray), hierarchy.raycast(ray, Float.POSITIVE_INFINITY, new BoxTest(bounds, ray)));
+        }
+    }
+
+    @Test
+    public void emptyHierarchy() {
+        BoundsHierarchy hierarchy = new BoundsHierarchy();
+        hierarchy.build(new float[0], 0);
+
+        Ray ray = new Ray();
+        ray.direction.set(0, 0, 1);
+        assertEquals(-1, hierarchy.raycast(ray, Float.POSITIVE_INFINITY, new BoxTest(new float[0], ray)));
+    }
+
+    private static float[] randomBounds(Random random, int count) {
+        float[] bounds = new float[count * 6];
+        for (int i = 0; i < count; i++) {
+            for (int a = 0; a < 3; a++) {
+                float min = random.nextFloat() * 200f - 100f;
+                bounds[i * 6 + a] = min;
+                bounds[i * 6 + 3 + a] = min + 1f + random.nextFloat() * 5f;
+            }
+        }
+        return bounds;
+    }
+
+    private static Ray randomRay(Random random) {
+        Ray ray = new Ray();
+        ray.origin.set(random.nextFloat() * 300f - 150f, random.nextFloat() * 300f - 150f, random.nextFloat() * 300f - 150f);
+        ray.direction.set(random.nextFloat() - 0.5f, random.nextFloat() - 0.5f, random.nextFloat() - 0.5f).nor();
+        return ray;
+    }
+
+    private static int bruteForce(float[] bounds, int count, Ray ray) {
+        int closest = -1;
+        float closestDistance = Float.POSITIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            float distance = intersectBox(bounds, i, ray);
+            if (distance < closestDistance) {
+                closestDistance = distance;
+                closest = i;
+            }
+        }
+        return closest;
+    }
+
+    private static float intersectBox(float[] bounds, int item, Ray ray) {
+        float tMin = 0f;
+        float tMax = Float.POSITIVE_INFINITY;
+        float[] origin = {ray.origin.x, ray.origin.y, ray.origin.z};
+        float[] direction = {ray.direction.x, ray.direction.y, ray.direction.z};
+        for (int a = 0; a < 3; a++) {
+            float t1 = (bounds[item * 6 + a] - origin[a]) / direction[a];
+            float t2 = (bounds[item * 6 + 3 + a] - origin[a]) / direction[a];
+            tMin = Math.max(tMin, Math.min(t1, t2));
+            tMax = Math.min(tMax, Math.max(t1, t2));
+        }
+        return tMax >= tMin ? tMin : Float.POSITIVE_INFINITY;
+    }
+
+    private static class BoxTest implements BoundsHierarchy.RayTest {
+        private final float[] bounds;
+        private final Ray ray;
+
+        BoxTest(float[] bounds, Ray ray) {
+            this.bounds = bounds;
+            this.ray = ray;
+        }
+
+        @Override
+        public float intersect(int item, float maxDistance) {
+            return intersectBox(bounds, item, ray);
+        }
+    }
+}
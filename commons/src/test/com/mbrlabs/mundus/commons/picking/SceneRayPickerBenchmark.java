@@ -0,0 +1,149 @@
+package com.mbrlabs.mundus.commons.picking;
+
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.math.collision.Ray;
+import com.badlogic.gdx.utils.Array;
+import com.mbrlabs.mundus.commons.scene3d.GameObject;
+import com.mbrlabs.mundus.commons.scene3d.InvalidComponentException;
+import com.mbrlabs.mundus.commons.scene3d.SceneGraph;
+import com.mbrlabs.mundus.commons.scene3d.components.Component;
+import com.mbrlabs.mundus.commons.scene3d.components.CullableComponent;
+
+import java.util.Random;
+
+/**
+ * Times picking with the {@link SceneRayPicker} against a linear scan of the oriented bounding boxes of all
+ * cullable components, for 1k and 10k game objects. The components have no meshes, so both pick the closest box.
+ * Not run with the tests, start it with the main method.
+ *
+ * @version October 18, 2026
+ */
+public class SceneRayPickerBenchmark {
+
+    private static final int[] COUNTS = {1_000, 10_000};
+    private static final int RAYS = 256;
+    private static final int WARMUP_RUNS = 20;
+    private static final int RUNS = 20;
+    private static final float RANGE = 1000f;
+
+    public static void main(String[] args) throws InvalidComponentException {
+        System.out.printf("%10s %12s %12s %12s %8s %10s%n",
+                "objects", "build ms", "picker us", "linear us", "speedup", "hits");
+        for (int count : COUNTS) {
+            final Random random = new Random(count);
+            final SceneGraph sceneGraph = new SceneGraph(null);
+            final Array<CullableComponent> components = addRandomBoxes(sceneGraph, random, count);
+            final Ray[] rays = createRays(random);
+            final SceneRayPicker picker = new SceneRayPicker(sceneGraph);
+            final PickResult result = new PickResult();
+            final Vector3 hit = new Vector3();
+
+            long buildNanos = Long.MAX_VALUE;
+            long pickerNanos = Long.MAX_VALUE;
+            long linearNanos = Long.MAX_VALUE;
+            int hits = 0;
+            int mismatches = 0;
+            for (int run = 0; run < WARMUP_RUNS + RUNS; run++) {
+                long start = System.nanoTime();
+                picker.rebuild();
+                picker.pick(rays[0], result);
+                final long buildTime = System.nanoTime() - start;
+
+                final CullableComponent[] picked = new CullableComponent[RAYS];
+                start = System.nanoTime();
+                for (int r = 0; r < RAYS; r++) {
+                    picker.pick(rays[r], result);
+                    picked[r] = result.component;
+                }
+                final long pickerTime = System.nanoTime() - start;
+
+                hits = 0;
+                mismatches = 0;
+                start = System.nanoTime();
+                for (int r = 0; r < RAYS; r++) {
+                    CullableComponent closest = null;
+                    float closestDistance = Float.POSITIVE_INFINITY;
+                    for (int i = 0; i < components.size; i++) {
+                        final CullableComponent component = components.get(i);
+                        if (!Intersector.intersectRayOrientedBounds(rays[r], component.getOrientedBoundingBox(), hit)) {
+                            continue;
+                        }
+                        final float distance = hit.dst(rays[r].origin);
+                        if (distance < closestDistance) {
+                            closestDistance = distance;
+                            closest = component;
+                        }
+                    }
+                    if (closest != null) hits++;
+                    if (closest != picked[r]) mismatches++;
+                }
+                final long linearTime = System.nanoTime() - start;
+
+                if (run >= WARMUP_RUNS) {
+                    buildNanos = Math.min(buildNanos, buildTime);
+                    pickerNanos = Math.min(pickerNanos, pickerTime);
+                    linearNanos = Math.min(linearNanos, linearTime);
+                }
+            }
+            picker.dispose();
+
+            if (mismatches > 0) {
+                System.out.printf("%d of %d rays picked a different object than the linear scan%n", mismatches, RAYS);
+            }
+            System.out.printf("%10d %12.2f %12.1f %12.1f %7.2fx %10d%n", count, buildNanos / 1e6,
+                    pickerNanos / 1e3 / RAYS, linearNanos / 1e3 / RAYS, (double) linearNanos / pickerNanos, hits);
+        }
+    }
+
+    /**
+     * Rays from the origin towards random points, as picking from a camera in the middle of the scene.
+     */
+    private static Ray[] createRays(Random random) {
+        final Ray[] rays = new Ray[RAYS];
+        for (int r = 0; r < RAYS; r++) {
+            final Vector3 direction = new Vector3(random.nextFloat() * 2f - 1f, random.nextFloat() * 2f - 1f,
+                    random.nextFloat() * 2f - 1f);
+            if (direction.isZero()) direction.set(Vector3.Z);
+            rays[r] = new Ray(Vector3.Zero, direction.nor());
+        }
+        return rays;
+    }
+
+    /**
+     * Adds count game objects with a cullable component each, sized by random bounds known in advance.
+     */
+    private static Array<CullableComponent> addRandomBoxes(SceneGraph sceneGraph, Random random, int count)
+            throws InvalidComponentException {
+        final Model model = new Model();
+        final Array<CullableComponent> components = new Array<>(count);
+        for (int i = 0; i < count; i++) {
+            final GameObject go = new GameObject(sceneGraph, null, i);
+            go.setLocalPosition(random.nextFloat() * RANGE * 2f - RANGE, random.nextFloat() * RANGE * 2f - RANGE,
+                    random.nextFloat() * RANGE * 2f - RANGE);
+            go.setLocalRotation(random.nextFloat() * 360f, random.nextFloat() * 360f, random.nextFloat() * 360f);
+            sceneGraph.addGameObject(go);
+
+            final float size = 0.5f + random.nextFloat() * 5f;
+            final CullableComponent component = new CullableComponent(go) {
+                {
+                    final ModelInstance modelInstance = new ModelInstance(model);
+                    modelInstance.transform = go.getTransform();
+                    setDimensions(modelInstance,
+                            new BoundingBox(new Vector3(-size, -size, -size), new Vector3(size, size, size)));
+                }
+
+                @Override
+                public Component clone(GameObject go) {
+                    return null;
+                }
+            };
+            go.addComponent(component);
+            components.add(component);
+        }
+        return components;
+    }
+}
@@ -0,0 +1,133 @@
+package com.mbrlabs.mundus.commons.rendering;
+
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.math.Frustum;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Plane;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.math.collision.OrientedBoundingBox;
+import com.badlogic.gdx.utils.Array;
+import com.mbrlabs.mundus.commons.scene3d.GameObject;
+import com.mbrlabs.mundus.commons.scene3d.SceneGraph;
+import com.mbrlabs.mundus.commons.scene3d.components.Component;
+import com.mbrlabs.mundus.commons.scene3d.components.CullableComponent;
+
+import java.util.Random;
+
+/**
+ * Times frustum culling of 1k, 10k and 100k boxes over the arrays of the {@link BoundsRegistry} against testing
+ * each oriented bounding box with {@link Frustum#boundsInFrustum(OrientedBoundingBox)}. Not run with the tests,
+ * start it with the main method.
+ *
+ * @version October 18, 2026
+ */
+public class FrustumCullerBenchmark {
+
+    private static final int[] COUNTS = {1_000, 10_000, 100_000};
+    private static final int WARMUP_RUNS = 200;
+    private static final int RUNS = 200;
+
+    public static void main(String[] args) {
+        final Frustum frustum = createFrustum();
+        final float[] planes = toPlanes(frustum);
+
+        System.out.printf("%10s %14s %14s %8s %10s %10s%n",
+                "objects", "registry us", "per box us", "speedup", "visible", "box visible");
+        for (int count : COUNTS) {
+            final Random random = new Random(count);
+            final SceneGraph sceneGraph = new SceneGraph(null);
+            final BoundsRegistry registry = sceneGraph.getBoundsRegistry();
+            final Array<OrientedBoundingBox> boxes = new Array<>(count);
+            addRandomBoxes(sceneGraph, random, count, 1000f, boxes);
+            final float[] minDistances = new float[count];
+
+            int visible = 0;
+            int boxVisible = 0;
+            long registryNanos = Long.MAX_VALUE;
+            long boxNanos = Long.MAX_VALUE;
+            for (int run = 0; run < WARMUP_RUNS + RUNS; run++) {
+                long start = System.nanoTime();
+                FrustumCuller.computeMinDistances(registry, planes, minDistances, count);
+                visible = 0;
+                for (int i = 0; i < count; i++) {
+                    if (!(minDistances[i] < 0f)) visible++;
+                }
+                final long registryTime = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                boxVisible = 0;
+                for (int i = 0; i < count; i++) {
+                    if (frustum.boundsInFrustum(boxes.get(i))) boxVisible++;
+                }
+                final long boxTime = System.nanoTime() - start;
+
+                if (run >= WARMUP_RUNS) {
+                    registryNanos = Math.min(registryNanos, registryTime);
+                    boxNanos = Math.min(boxNanos, boxTime);
+                }
+            }
+
+            // The registry test is conservative, so it may keep a few boxes the exact test rejects
+            System.out.printf("%10d %14.1f %14.1f %7.2fx %10d %10d%n", count, registryNanos / 1e3, boxNanos / 1e3,
+                    (double) boxNanos / registryNanos, visible, boxVisible);
+        }
+    }
+
+    /**
+     * A camera at the origin looking along z, seeing a part of the boxes.
+     */
+    static Frustum createFrustum() {
+        final PerspectiveCamera camera = new PerspectiveCamera(67f, 1280f, 720f);
+        camera.position.set(0f, 0f, 0f);
+        camera.direction.set(0f, 0f, 1f);
+        camera.near = 1f;
+        camera.far = 800f;
+        camera.update();
+        return camera.frustum;
+    }
+
+    static float[] toPlanes(Frustum frustum) {
+        final float[] planes = new float[24];
+        for (int p = 0; p < 6; p++) {
+            final Plane plane = frustum.planes[p];
+            planes[p * 4] = plane.normal.x;
+            planes[p * 4 + 1] = plane.normal.y;
+            planes[p * 4 + 2] = plane.normal.z;
+            planes[p * 4 + 3] = plane.d;
+        }
+        return planes;
+    }
+
+    /**
+     * Registers count components with random boxes within range of the origin.
+     *
+     * @param boxes receives the box of each component, may be null
+     */
+    static Array<CullableComponent> addRandomBoxes(SceneGraph sceneGraph, Random random, int count, float range,
+                                                   Array<OrientedBoundingBox> boxes) {
+        final BoundsRegistry registry = sceneGraph.getBoundsRegistry();
+        final Array<CullableComponent> components = new Array<>(count);
+        for (int i = 0; i < count; i++) {
+            final CullableComponent component = new CullableComponent(new GameObject(sceneGraph, null, i)) {
+                @Override
+                public Component clone(GameObject go) {
+                    return null;
+                }
+            };
+            final float size = 0.5f + random.nextFloat() * 5f;
+            final OrientedBoundingBox box = new OrientedBoundingBox(
+                    new BoundingBox(new Vector3(-size, -size, -size), new Vector3(size, size, size)),
+                    new Matrix4().setToTranslation(
+                            random.nextFloat() * range * 2f - range,
+                            random.nextFloat() * range * 2f - range,
+                            random.nextFloat() * range * 2f - range).rotate(Vector3.Y, random.nextFloat() * 360f));
+
+            registry.add(component);
+            registry.setBounds(component.getBoundsIndex(), box);
+            components.add(component);
+            if (boxes != null) boxes.add(box);
+        }
+        return components;
+    }
+}
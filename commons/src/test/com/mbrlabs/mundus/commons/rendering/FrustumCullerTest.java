@@ -0,0 +1,102 @@
+package com.mbrlabs.mundus.commons.rendering;
+
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.math.collision.OrientedBoundingBox;
+import com.mbrlabs.mundus.commons.scene3d.GameObject;
+import com.mbrlabs.mundus.commons.scene3d.SceneGraph;
+import com.mbrlabs.mundus.commons.scene3d.components.Component;
+import com.mbrlabs.mundus.commons.scene3d.components.CullableComponent;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FrustumCullerTest {
+
+    // Inward facing planes of the box from -10 to 10 on all axes
+    private static final float[] PLANES = {
+            1, 0, 0, 10,
+            -1, 0, 0, 10,
+            0, 1, 0, 10,
+            0, -1, 0, 10,
+            0, 0, 1, 10,
+            0, 0, -1, 10
+    };
+
+    @Test
+    public void boxesOutsideOfAPlaneAreCulled() {
+        // given
+        SceneGraph sceneGraph = new SceneGraph(null);
+        BoundsRegistry registry = sceneGraph.getBoundsRegistry();
+        addBox(sceneGraph, unitBox(new Matrix4()));
+        addBox(sceneGraph, unitBox(new Matrix4().setToTranslation(20f, 0f, 0f)));
+        addBox(sceneGraph, unitBox(new Matrix4().setToTranslation(10.5f, 0f, 0f)));
+        addBox(sceneGraph, unitBox(new Matrix4().setToTranslation(0f, -11.5f, 0f)));
+
+        // when
+        float[] minDistances = new float[4];
+        FrustumCuller.computeMinDistances(registry, PLANES, minDistances, 4);
+
+        // then
+        assertFalse(minDistances[0] < 0f);
+        assertTrue(minDistances[1] < 0f);
+        assertFalse(minDistances[2] < 0f);
+        assertTrue(minDistances[3] < 0f);
+    }
+
+    @Test
+    public void rotatedBoxUsesWorldExtents() {
+        // given a unit box rotated by 45 degrees, reaching sqrt(2) along x
+        SceneGraph sceneGraph = new SceneGraph(null);
+        BoundsRegistry registry = sceneGraph.getBoundsRegistry();
+        addBox(sceneGraph, unitBox(new Matrix4().setToTranslation(-11.3f, 0f, 0f).rotate(Vector3.Y, 45f)));
+        addBox(sceneGraph, unitBox(new Matrix4().setToTranslation(-11.5f, 0f, 0f).rotate(Vector3.Y, 45f)));
+
+        // when
+        float[] minDistances = new float[2];
+        FrustumCuller.computeMinDistances(registry, PLANES, minDistances, 2);
+
+        // then
+        assertEquals((float) Math.sqrt(2), registry.extentX[0], 0.0001f);
+        assertEquals((float) Math.sqrt(3), registry.radius[0], 0.0001f);
+        assertFalse(minDistances[0] < 0f);
+        assertTrue(minDistances[1] < 0f);
+    }
+
+    @Test
+    public void unboundedEntriesAreNeverCulled() {
+        // given
+        SceneGraph sceneGraph = new SceneGraph(null);
+        BoundsRegistry registry = sceneGraph.getBoundsRegistry();
+        addBox(sceneGraph, new OrientedBoundingBox(new BoundingBox(), new Matrix4()));
+
+        // when
+        float[] minDistances = new float[1];
+        FrustumCuller.computeMinDistances(registry, PLANES, minDistances, 1);
+
+        // then
+        assertFalse(minDistances[0] < 0f);
+    }
+
+    /**
+     * Adds a component to the bounds registry of the scene graph, in the order of the calls.
+     */
+    private static void addBox(SceneGraph sceneGraph, OrientedBoundingBox obb) {
+        BoundsRegistry registry = sceneGraph.getBoundsRegistry();
+        CullableComponent component = new CullableComponent(new GameObject(sceneGraph, null, registry.size())) {
+            @Override
+            public Component clone(GameObject go) {
+                return null;
+            }
+        };
+        registry.add(component);
+        registry.setBounds(component.getBoundsIndex(), obb);
+    }
+
+    private static OrientedBoundingBox unitBox(Matrix4 transform) {
+        return new OrientedBoundingBox(new BoundingBox(new Vector3(-1f, -1f, -1f), new Vector3(1f, 1f, 1f)), transform);
+    }
+}
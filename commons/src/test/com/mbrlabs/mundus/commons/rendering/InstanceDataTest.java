@@ -0,0 +1,89 @@
+package com.mbrlabs.mundus.commons.rendering;
+
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Quaternion;
+import com.badlogic.gdx.math.Vector3;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class InstanceDataTest {
+
+    private static final float EPSILON = 1e-5f;
+
+    @Test
+    public void worldTransformIsPackedAsColumns() {
+        // given
+        Matrix4 transform = new Matrix4().set(new Vector3(1f, 2f, 3f), new Quaternion(Vector3.Y, 30f));
+        InstanceData data = new InstanceData(1);
+
+        // when
+        data.add(new Matrix4());
+        data.add(transform);
+
+        // then
+        assertEquals(2, data.size());
+        assertEquals(2 * InstanceData.FLOATS_PER_INSTANCE, data.getFloatCount());
+        int offset = InstanceData.FLOATS_PER_INSTANCE;
+        for (int i = 0; i < 16; i++) {
+            assertEquals(transform.val[i], data.getData()[offset + i], 0f);
+        }
+        assertEquals(1f, data.getData()[offset + Matrix4.M03], 0f);
+        assertEquals(2f, data.getData()[offset + Matrix4.M13], 0f);
+        assertEquals(3f, data.getData()[offset + Matrix4.M23], 0f);
+    }
+
+    @Test
+    public void normalMatrixIsInverseTranspose() {
+        // given
+        InstanceData data = new InstanceData(1);
+
+        // when
+        data.add(new Matrix4().setToScaling(2f, 4f, 8f));
+
+        // then the inverse scale, a rotation would stay unchanged
+        float[] packed = data.getData();
+        float[] expected = {0.5f, 0f, 0f, 0f, 0.25f, 0f, 0f, 0f, 0.125f};
+        for (int i = 0; i < 9; i++) {
+            assertEquals(expected[i], packed[16 + i], EPSILON);
+        }
+    }
+
+    @Test
+    public void normalMatrixOfRotationIsTheRotation() {
+        // given
+        Matrix4 rotation = new Matrix4().setToRotation(Vector3.X, 45f);
+        InstanceData data = new InstanceData(1);
+
+        // when
+        data.add(rotation);
+
+        // then
+        float[] packed = data.getData();
+        for (int column = 0; column < 3; column++) {
+            for (int row = 0; row < 3; row++) {
+                assertEquals(rotation.val[column * 4 + row], packed[16 + column * 3 + row], EPSILON);
+            }
+        }
+    }
+
+    @Test
+    public void dataGrowsAndClears() {
+        // given
+        InstanceData data = new InstanceData(1);
+        Matrix4 transform = new Matrix4().setToTranslation(5f, 0f, 0f);
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            data.add(transform);
+        }
+
+        // then
+        assertEquals(10, data.size());
+        assertEquals(5f, data.getData()[9 * InstanceData.FLOATS_PER_INSTANCE + Matrix4.M03], 0f);
+
+        data.clear();
+        assertEquals(0, data.size());
+        assertEquals(0, data.getFloatCount());
+    }
+}
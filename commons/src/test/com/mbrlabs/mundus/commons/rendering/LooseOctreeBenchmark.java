@@ -0,0 +1,76 @@
+package com.mbrlabs.mundus.commons.rendering;
+
+import com.badlogic.gdx.math.Frustum;
+import com.badlogic.gdx.utils.Array;
+import com.mbrlabs.mundus.commons.scene3d.SceneGraph;
+import com.mbrlabs.mundus.commons.scene3d.components.CullableComponent;
+
+import java.util.Random;
+
+/**
+ * Compares frustum queries of the {@link LooseOctree} with a linear scan over the {@link BoundsRegistry} at increasing
+ * object counts, in a world much larger than the camera can see. Not run with the tests, start it with the main
+ * method.
+ *
+ * @version October 18, 2026
+ */
+public class LooseOctreeBenchmark {
+
+    private static final int[] COUNTS = {1_000, 10_000, 50_000, 100_000, 200_000};
+    private static final float WORLD_RANGE = 5000f;
+    private static final int WARMUP_RUNS = 200;
+    private static final int RUNS = 200;
+
+    public static void main(String[] args) {
+        final Frustum frustum = FrustumCullerBenchmark.createFrustum();
+        final float[] planes = FrustumCullerBenchmark.toPlanes(frustum);
+        final Array<CullableComponent> out = new Array<>(false, 1024);
+
+        System.out.printf("%10s %12s %12s %12s %8s %8s%n",
+                "objects", "build us", "octree us", "linear us", "speedup", "visible");
+        for (int count : COUNTS) {
+            final Random random = new Random(count);
+            final SceneGraph sceneGraph = new SceneGraph(null);
+            final BoundsRegistry registry = sceneGraph.getBoundsRegistry();
+            FrustumCullerBenchmark.addRandomBoxes(sceneGraph, random, count, WORLD_RANGE, null);
+            final float[] minDistances = new float[count];
+
+            long start = System.nanoTime();
+            final LooseOctree octree = new LooseOctree(registry);
+            octree.update();
+            final long buildNanos = System.nanoTime() - start;
+
+            int octreeVisible = 0;
+            int linearVisible = 0;
+            long octreeNanos = Long.MAX_VALUE;
+            long linearNanos = Long.MAX_VALUE;
+            for (int run = 0; run < WARMUP_RUNS + RUNS; run++) {
+                start = System.nanoTime();
+                out.clear();
+                octree.query(frustum, out);
+                octreeVisible = out.size;
+                final long octreeTime = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                out.clear();
+                FrustumCuller.computeMinDistances(registry, planes, minDistances, count);
+                for (int i = 0; i < count; i++) {
+                    if (!(minDistances[i] < 0f)) out.add(registry.getComponent(i));
+                }
+                linearVisible = out.size;
+                final long linearTime = System.nanoTime() - start;
+
+                if (run >= WARMUP_RUNS) {
+                    octreeNanos = Math.min(octreeNanos, octreeTime);
+                    linearNanos = Math.min(linearNanos, linearTime);
+                }
+            }
+
+            if (octreeVisible != linearVisible) {
+                System.out.printf("octree found %d visible objects, the linear scan %d%n", octreeVisible, linearVisible);
+            }
+            System.out.printf("%10d %12.1f %12.1f %12.1f %7.2fx %8d%n", count, buildNanos / 1e3, octreeNanos / 1e3,
+                    linearNanos / 1e3, (double) linearNanos / octreeNanos, linearVisible);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.mbrlabs.mundus.commons.rendering;
+
+import com.badlogic.gdx.math.Frustum;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.math.collision.OrientedBoundingBox;
+import com.badlogic.gdx.math.collision.Ray;
+import com.badlogic.gdx.utils.Array;
+import com.mbrlabs.mundus.commons.scene3d.GameObject;
+import com.mbrlabs.mundus.commons.scene3d.SceneGraph;
+import com.mbrlabs.mundus.commons.scene3d.components.Component;
+import com.mbrlabs.mundus.commons.scene3d.components.CullableComponent;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class LooseOctreeTest {
+
+    @Test
+    public void queriesMatchBruteForce() {
+        // given
+        Random random = new Random(3);
+        SceneGraph sceneGraph = new SceneGraph(null);
+        BoundsRegistry registry = sceneGraph.getBoundsRegistry();
+        Array<CullableComponent> components = addRandomBoxes(sceneGraph, random, 300);
+        LooseOctree octree = new LooseOctree(registry);
+
+        // when, then
+        assertQueriesMatch(registry, octree, components, random);
+    }
+
+    @Test
+    public void movedAndRemovedItemsAreUpdated() {
+        // given
+        Random random = new Random(5);
+        SceneGraph sceneGraph = new SceneGraph(null);
+        BoundsRegistry registry = sceneGraph.getBoundsRegistry();
+        Array<CullableComponent> components = addRandomBoxes(sceneGraph, random, 200);
+        LooseOctree octree = new LooseOctree(registry);
+        octree.update();
+
+        // when
+        for (int i = 0; i < 50; i++) {
+            CullableComponent component = components.get(i);
+            registry.setBounds(component.getBoundsIndex(), randomBox(random, 500f));
+        }
+        for (int i = 0; i < 20; i++) {
+            registry.remove(components.pop());
+        }
+
+        // then
+        assertEquals(180, octree.size());
+        assertQueriesMatch(registry, octree, components, random);
+    }
+
+    private static void assertQueriesMatch(BoundsRegistry registry, LooseOctree octree, Array<CullableComponent> components, Random random) {
+        Array<CullableComponent> out = new Array<>();
+        for (int q = 0; q < 50; q++) {
+            Vector3 center = new Vector3(random.nextFloat() * 400f - 200f, random.nextFloat() * 400f - 200f, random.nextFloat() * 400f - 200f);
+            float size = 5f + random.nextFloat() * 60f;
+
+            // Sphere
+            out.clear();
+            octree.query(center, size, out);
+            int expected = 0;
+            for (CullableComponent c : components) {
+                int i = c.getBoundsIndex();
+                float dx = Math.max(0f, Math.abs(center.x - registry.centerX[i]) - registry.extentX[i]);
+                float dy = Math.max(0f, Math.abs(center.y - registry.centerY[i]) - registry.extentY[i]);
+                float dz = Math.max(0f, Math.abs(center.z - registry.centerZ[i]) - registry.extentZ[i]);
+                if (dx * dx + dy * dy + dz * dz <= size * size) expected++;
+            }
+            assertEquals(expected, out.size);
+
+            // Box
+            BoundingBox box = new BoundingBox(new Vector3(center).sub(size), new Vector3(center).add(size));
+            out.clear();
+            octree.query(box, out);
+            expected = 0;
+            for (CullableComponent c : components) {
+                int i = c.getBoundsIndex();
+                if (Math.abs(center.x - registry.centerX[i]) <= size + registry.extentX[i]
+                        && Math.abs(center.y - registry.centerY[i]) <= size + registry.extentY[i]
+                        && Math.abs(center.z - registry.centerZ[i]) <= size + registry.extentZ[i]) expected++;
+            }
+            assertEquals(expected, out.size);
+
+            // Frustum, a box shaped one
+            Frustum frustum = new Frustum();
+            frustum.planes[0].set(new Vector3(1, 0, 0), size - center.x);
+            frustum.planes[1].set(new Vector3(-1, 0, 0), size + center.x);
+            frustum.planes[2].set(new Vector3(0, 1, 0), size - center.y);
+            frustum.planes[3].set(new Vector3(0, -1, 0), size + center.y);
+            frustum.planes[4].set(new Vector3(0, 0, 1), size - center.z);
+            frustum.planes[5].set(new Vector3(0, 0, -1), size + center.z);
+            out.clear();
+            octree.query(frustum, out);
+            float[] planes = {
+                    1, 0, 0, size - center.x, -1, 0, 0, size + center.x,
+                    0, 1, 0, size - center.y, 0, -1, 0, size + center.y,
+                    0, 0, 1, size - center.z, 0, 0, -1, size + center.z};
+            float[] minDistances = new float[registry.size()];
+            FrustumCuller.computeMinDistances(registry, planes, minDistances, registry.size());
+            expected = 0;
+            for (int i = 0; i < registry.size(); i++) {
+                if (!(minDistances[i] < 0f)) expected++;
+            }
+            assertEquals(expected, out.size);
+
+            // Ray
+            Ray ray = new Ray(center, new Vector3(random.nextFloat() - 0.5f, random.nextFloat() - 0.5f, random.nextFloat() - 0.5f).nor());
+            out.clear();
+            octree.query(ray, 300f, out);
+            expected = 0;
+            for (CullableComponent c : components) {
+                if (rayHitsBox(registry, c.getBoundsIndex(), ray, 300f)) expected++;
+            }
+            assertEquals(expected, out.size);
+        }
+    }
+
+    private static boolean rayHitsBox(BoundsRegistry registry, int i, Ray ray, float maxDistance) {
+        float tMin = 0f, tMax = maxDistance;
+        float[] origin = {ray.origin.x, ray.origin.y, ray.origin.z};
+        float[] direction = {ray.direction.x, ray.direction.y, ray.direction.z};
+        float[] center = {registry.centerX[i], registry.centerY[i], registry.centerZ[i]};
+        float[] extent = {registry.extentX[i], registry.extentY[i], registry.extentZ[i]};
+        for (int a = 0; a < 3; a++) {
+            float t1 = (center[a] - extent[a] - origin[a]) / direction[a];
+            float t2 = (center[a] + extent[a] - origin[a]) / direction[a];
+            tMin = Math.max(tMin, Math.min(t1, t2));
+            tMax = Math.min(tMax, Math.max(t1, t2));
+        }
+        return tMax >= tMin;
+    }
+
+    private static Array<CullableComponent> addRandomBoxes(SceneGraph sceneGraph, Random random, int count) {
+        BoundsRegistry registry = sceneGraph.getBoundsRegistry();
+        Array<CullableComponent> components = new Array<>();
+        for (int i = 0; i < count; i++) {
+            CullableComponent component = new CullableComponent(new GameObject(sceneGraph, null, i)) {
+                @Override
+                public Component clone(GameObject go) {
+                    return null;
+                }
+            };
+            registry.add(component);
+            registry.setBounds(component.getBoundsIndex(), randomBox(random, 200f));
+            components.add(component);
+        }
+        return components;
+    }
+
+    private static OrientedBoundingBox randomBox(Random random, float range) {
+        float size = random.nextFloat() < 0.1f ? 40f : 0.5f + random.nextFloat() * 5f;
+        BoundingBox bounds = new BoundingBox(new Vector3(-size, -size, -size), new Vector3(size, size, size));
+        Matrix4 transform = new Matrix4().setToTranslation(
+                random.nextFloat() * range * 2f - range,
+                random.nextFloat() * range * 2f - range,
+                random.nextFloat() * range * 2f - range);
+        return new OrientedBoundingBox(bounds, transform);
+    }
+}
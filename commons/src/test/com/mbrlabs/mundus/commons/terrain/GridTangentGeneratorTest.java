@@ -0,0 +1,77 @@
+package com.mbrlabs.mundus.commons.terrain;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GridTangentGeneratorTest {
+
+    private static final int STRIDE = 10;
+    private static final int POS = 0;
+    private static final int NOR = 3;
+    private static final int TAN = 6;
+
+    @Test
+    public void testFlatGridTangentPointsAlongX() {
+        // given a flat 3x3 grid with up normals
+        final float[] vertices = buildGrid(3, 0f);
+
+        // when
+        GridTangentGenerator.computeTangents(vertices, 3, STRIDE, POS, NOR, TAN, 0, 2, 0, 2);
+
+        // then
+        final int center = 4 * STRIDE;
+        Assert.assertEquals(1f, vertices[center + TAN], 0.0001f);
+        Assert.assertEquals(0f, vertices[center + TAN + 1], 0.0001f);
+        Assert.assertEquals(0f, vertices[center + TAN + 2], 0.0001f);
+        Assert.assertEquals(-1f, vertices[center + TAN + 3], 0f);
+    }
+
+    @Test
+    public void testOnlyRegionIsComputed() {
+        // given
+        final float[] vertices = buildGrid(3, 0f);
+
+        // when computing only the first row
+        GridTangentGenerator.computeTangents(vertices, 3, STRIDE, POS, NOR, TAN, 0, 2, 0, 0);
+
+        // then the last row is untouched
+        final int lastRow = 6 * STRIDE;
+        Assert.assertEquals(0f, vertices[lastRow + TAN], 0f);
+        Assert.assertEquals(1f, vertices[TAN], 0.0001f);
+    }
+
+    @Test
+    public void testSlopeAlongXTiltsTangent() {
+        // given heights rising along x, with the matching slope normal
+        final float[] vertices = buildGrid(3, 1f);
+        final float inv = 1f / (float) Math.sqrt(2);
+        for (int i = 0; i < 9; i++) {
+            vertices[i * STRIDE + NOR] = -inv;
+            vertices[i * STRIDE + NOR + 1] = inv;
+            vertices[i * STRIDE + NOR + 2] = 0f;
+        }
+
+        // when
+        GridTangentGenerator.computeTangents(vertices, 3, STRIDE, POS, NOR, TAN, 0, 2, 0, 2);
+
+        // then the tangent follows the slope
+        final int center = 4 * STRIDE;
+        Assert.assertEquals(inv, vertices[center + TAN], 0.0001f);
+        Assert.assertEquals(inv, vertices[center + TAN + 1], 0.0001f);
+        Assert.assertEquals(0f, vertices[center + TAN + 2], 0.0001f);
+    }
+
+    private float[] buildGrid(int resolution, float slopeX) {
+        final float[] vertices = new float[resolution * resolution * STRIDE];
+        for (int z = 0; z < resolution; z++) {
+            for (int x = 0; x < resolution; x++) {
+                final int i = (z * resolution + x) * STRIDE;
+                vertices[i + POS] = x;
+                vertices[i + POS + 1] = x * slopeX;
+                vertices[i + POS + 2] = z;
+                vertices[i + NOR + 1] = 1f;
+            }
+        }
+        return vertices;
+    }
+}
@@ -0,0 +1,152 @@
+package com.mbrlabs.mundus.commons.terrain;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.mbrlabs.mundus.commons.dto.LevelOfDetailDTO;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Random;
+
+/**
+ * Times loading a terra file of a 512 vertex resolution terrain with its LoD levels through the version 1.1
+ * stream reader against the version 2 channel read and bulk decoding. The LoD levels are sized by
+ * {@link Terrain#LOD_SIMPLIFICATION_FACTORS} and split into meshes addressable with 16 bit indices. Not run with
+ * the tests, start it with the main method.
+ *
+ * @version October 18, 2026
+ */
+public class TerraFormatBenchmark {
+
+    private static final int VERTEX_RESOLUTION = 512;
+    /** Position, normal, tangent, uv and LoD morph height */
+    private static final int VERTEX_SIZE = 13;
+    private static final int MAX_MESH_VERTICES = 65536;
+    private static final int WARMUP_RUNS = 5;
+    private static final int RUNS = 10;
+
+    public static void main(String[] args) throws IOException {
+        final Random random = new Random(VERTEX_RESOLUTION);
+        final float[] heightData = new float[VERTEX_RESOLUTION * VERTEX_RESOLUTION];
+        for (int i = 0; i < heightData.length; i++) {
+            heightData[i] = random.nextFloat() * 100f;
+        }
+        final LevelOfDetailDTO[] lods = createLods(random, heightData.length);
+
+        final File streamFile = File.createTempFile("benchmark-1.1", ".terra");
+        final File channelFile = File.createTempFile("benchmark-2", ".terra");
+        streamFile.deleteOnExit();
+        channelFile.deleteOnExit();
+        writeStreamFile(streamFile, heightData, lods);
+        writeChannelFile(channelFile, heightData, lods);
+
+        final TerrainLoader loader = new TerrainLoader();
+        final FileHandle streamHandle = new FileHandle(streamFile);
+        final FileHandle channelHandle = new FileHandle(channelFile);
+
+        long streamNanos = Long.MAX_VALUE;
+        long channelNanos = Long.MAX_VALUE;
+        for (int run = 0; run < WARMUP_RUNS + RUNS; run++) {
+            long start = System.nanoTime();
+            final TerrainLoader.TerrainLoadResult streamResult = loader.readStreamTerrainData(streamHandle);
+            final long streamTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            final TerraFormat.Result channelResult = TerraFormat.read(loader.readFile(channelHandle));
+            final long channelTime = System.nanoTime() - start;
+
+            if (streamResult.heightData.length != heightData.length
+                    || channelResult.heightData.length != heightData.length
+                    || streamResult.loDDTOS.length != lods.length || channelResult.loDDTOS.length != lods.length) {
+                throw new IllegalStateException("Terra files were not read back completely");
+            }
+
+            if (run >= WARMUP_RUNS) {
+                streamNanos = Math.min(streamNanos, streamTime);
+                channelNanos = Math.min(channelNanos, channelTime);
+            }
+        }
+
+        System.out.printf("%12s %12s %12s %12s %8s%n", "1.1 MB", "2 MB", "stream ms", "channel ms", "speedup");
+        System.out.printf("%12.1f %12.1f %12.2f %12.2f %7.2fx%n", streamFile.length() / 1e6,
+                channelFile.length() / 1e6, streamNanos / 1e6, channelNanos / 1e6, (double) streamNanos / channelNanos);
+
+        streamFile.delete();
+        channelFile.delete();
+    }
+
+    /**
+     * LoD levels with random vertices and indices, excluding the base level.
+     */
+    private static LevelOfDetailDTO[] createLods(Random random, int baseVertices) {
+        final float[] factors = Terrain.LOD_SIMPLIFICATION_FACTORS;
+        final LevelOfDetailDTO[] lods = new LevelOfDetailDTO[factors.length];
+        for (int level = 0; level < factors.length; level++) {
+            final int vertices = (int) (baseVertices * factors[level]);
+            final int meshCount = (vertices + MAX_MESH_VERTICES - 1) / MAX_MESH_VERTICES;
+            final float[][] lodVertices = new float[meshCount][];
+            final short[][] lodIndices = new short[meshCount][];
+            for (int m = 0; m < meshCount; m++) {
+                final int meshVertices = Math.min(MAX_MESH_VERTICES, vertices - m * MAX_MESH_VERTICES);
+                lodVertices[m] = new float[meshVertices * VERTEX_SIZE];
+                for (int i = 0; i < lodVertices[m].length; i++) {
+                    lodVertices[m][i] = random.nextFloat();
+                }
+                // About two triangles per vertex, as in a grid
+                lodIndices[m] = new short[meshVertices * 6];
+                for (int i = 0; i < lodIndices[m].length; i++) {
+                    lodIndices[m][i] = (short) random.nextInt(meshVertices);
+                }
+            }
+            lods[level] = new LevelOfDetailDTO(lodVertices, lodIndices);
+            lods[level].setVertexSize(VERTEX_SIZE);
+            lods[level].setGeometricError(level + 1f);
+        }
+        return lods;
+    }
+
+    /**
+     * Writes the file one value at a time, as the saver did before version 2.
+     */
+    private static void writeStreamFile(File file, float[] heightData, LevelOfDetailDTO[] lods) throws IOException {
+        try (DataOutputStream os = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            os.writeUTF(TerrainSaver.HEADER_VERSION_1_1);
+            os.writeUTF(TerrainSaver.HEADER_HEIGHTMAP);
+            os.writeInt(heightData.length);
+            for (float height : heightData) {
+                os.writeFloat(height);
+            }
+
+            os.writeUTF(TerrainSaver.HEADER_LOD);
+            os.writeInt(lods.length);
+            for (LevelOfDetailDTO lod : lods) {
+                os.writeInt(lod.getVertices().length);
+                for (int m = 0; m < lod.getVertices().length; m++) {
+                    os.writeInt(lod.getVertices()[m].length);
+                    for (float value : lod.getVertices()[m]) {
+                        os.writeFloat(value);
+                    }
+                    os.writeInt(lod.getIndices()[m].length);
+                    for (short index : lod.getIndices()[m]) {
+                        os.writeShort(index);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void writeChannelFile(File file, float[] heightData, LevelOfDetailDTO[] lods) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(TerraFormat.computeSize(heightData, lods));
+        TerraFormat.write(buffer, heightData, lods);
+        buffer.flip();
+        try (FileChannel channel = new FileOutputStream(file).getChannel()) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.mbrlabs.mundus.commons.terrain;
+
+import com.mbrlabs.mundus.commons.dto.LevelOfDetailDTO;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public class TerraFormatTest {
+
+    @Test
+    public void testWriteAndReadRoundTrip() {
+        // given
+        final float[] heightData = new float[] {0f, 1.5f, -2.25f, 100f};
+        final LevelOfDetailDTO[] lods = new LevelOfDetailDTO[] {
+                new LevelOfDetailDTO(new float[][] {{1f, 2f, 3f}}, new short[][] {{0, 1, 2}}),
+                new LevelOfDetailDTO(new float[][] {{4f, 5f}}, new short[][] {{2, 1, 0, 3}})
+        };
+
+        // when
+        final ByteBuffer buffer = ByteBuffer.allocate(TerraFormat.computeSize(heightData, lods));
+        TerraFormat.write(buffer, heightData, lods);
+        buffer.flip();
+
+        // then
+        Assert.assertTrue(TerraFormat.isVersion2(buffer));
+        final TerraFormat.Result result = TerraFormat.read(buffer);
+        Assert.assertArrayEquals(heightData, result.heightData, 0f);
+        Assert.assertEquals(2, result.loDDTOS.length);
+        Assert.assertArrayEquals(new float[] {1f, 2f, 3f}, result.loDDTOS[0].getVertices()[0], 0f);
+        Assert.assertArrayEquals(new short[] {0, 1, 2}, result.loDDTOS[0].getIndices()[0]);
+        Assert.assertArrayEquals(new float[] {4f, 5f}, result.loDDTOS[1].getVertices()[0], 0f);
+        Assert.assertArrayEquals(new short[] {2, 1, 0, 3}, result.loDDTOS[1].getIndices()[0]);
+        Assert.assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testLodInfoRoundTrip() {
+        // given
+        final float[] heightData = new float[] {0f};
+        final LevelOfDetailDTO[] lods = new LevelOfDetailDTO[] {
+                new LevelOfDetailDTO(new float[][] {{1f, 2f}}, new short[][] {{0}}),
+                new LevelOfDetailDTO(new float[][] {{3f, 4f}}, new short[][] {{0}})
+        };
+        lods[0].setVertexSize(2);
+        lods[0].setGeometricError(0.5f);
+        lods[1].setVertexSize(2);
+        lods[1].setGeometricError(1.5f);
+
+        // when
+        final ByteBuffer buffer = ByteBuffer.allocate(TerraFormat.computeSize(heightData, lods));
+        TerraFormat.write(buffer, heightData, lods);
+        buffer.flip();
+        final TerraFormat.Result result = TerraFormat.read(buffer);
+
+        // then
+        Assert.assertEquals(2, result.loDDTOS[0].getVertexSize());
+        Assert.assertEquals(0.5f, result.loDDTOS[0].getGeometricError(), 0f);
+        Assert.assertEquals(1.5f, result.loDDTOS[1].getGeometricError(), 0f);
+    }
+
+    @Test
+    public void testLodWithoutInfoIsUnknown() {
+        // given a file written before the LOD_INFO section existed
+        final float[] heightData = new float[] {0f};
+        final LevelOfDetailDTO[] lods = new LevelOfDetailDTO[] {
+                new LevelOfDetailDTO(new float[][] {{1f}}, new short[][] {{0}})
+        };
+        final ByteBuffer buffer = ByteBuffer.allocate(TerraFormat.computeSize(heightData, lods));
+        TerraFormat.write(buffer, heightData, lods);
+        buffer.flip();
+        buffer.limit(buffer.limit() - 20); // LOD_INFO header and payload
+
+        // when
+        final TerraFormat.Result result = TerraFormat.read(buffer);
+
+        // then
+        Assert.assertEquals(0, result.loDDTOS[0].getVertexSize());
+        Assert.assertTrue(result.loDDTOS[0].getGeometricError() < 0);
+    }
+
+    @Test
+    public void testVersion11FileIsNotVersion2() throws IOException {
+        // given a file written by the stream based saver
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream os = new DataOutputStream(bytes);
+        os.writeUTF(TerrainSaver.HEADER_VERSION_1_1);
+        os.writeUTF(TerrainSaver.HEADER_HEIGHTMAP);
+        os.writeInt(1);
+        os.writeFloat(1f);
+        os.close();
+
+        // then
+        Assert.assertFalse(TerraFormat.isVersion2(ByteBuffer.wrap(bytes.toByteArray())));
+    }
+
+}
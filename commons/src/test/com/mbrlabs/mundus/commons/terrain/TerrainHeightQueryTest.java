@@ -0,0 +1,207 @@
+package com.mbrlabs.mundus.commons.terrain;
+
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.mbrlabs.mundus.commons.assets.TerrainAsset;
+import com.mbrlabs.mundus.commons.scene3d.components.TerrainComponent;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+
+public class TerrainHeightQueryTest {
+
+    private static final int SIZE = 64;
+    private static final int VERTEX_RESOLUTION = 33;
+
+    @Test
+    public void testHeightsMatchTerrainOnTranslatedChunk() throws Exception {
+        // given
+        final Terrain terrain = createTerrain(false);
+        final Matrix4 transform = new Matrix4().setToTranslation(100f, 0f, -50f);
+        final TerrainHeightQuery query = new TerrainHeightQuery(components(terrain, transform));
+
+        // then
+        for (float x = 100.3f; x < 100f + SIZE; x += 4.7f) {
+            for (float z = -49.6f; z < -50f + SIZE; z += 3.9f) {
+                Assert.assertEquals(terrain.getHeightAtWorldCoord(x, z, transform), query.getHeight(x, z), 0.0001f);
+            }
+        }
+    }
+
+    @Test
+    public void testHeightsMatchTerrainOnRotatedChunk() throws Exception {
+        // given
+        final Terrain terrain = createTerrain(false);
+        final Matrix4 transform = new Matrix4().setToTranslation(40f, 0f, 0f).rotate(Vector3.Y, 45f);
+        final TerrainHeightQuery query = new TerrainHeightQuery(components(terrain, transform));
+
+        // then
+        for (float x = 40f; x < 40f + SIZE * 1.5f; x += 3.1f) {
+            for (float z = -SIZE * 0.75f; z < SIZE * 0.75f; z += 2.9f) {
+                final float height = query.getHeight(x, z);
+                if (terrain.isOnTerrain(x, z, transform)) {
+                    Assert.assertEquals(terrain.getHeightAtWorldCoord(x, z, transform), height, 0.001f);
+                } else {
+                    Assert.assertTrue(Float.isNaN(height));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRotatedChunkDoesNotCoverNeighbor() throws Exception {
+        // given a rotated chunk whose world bounds overlap an unrotated chunk, the rotated one searched first
+        final Terrain rotated = createTerrain(false);
+        final Matrix4 rotatedTransform = new Matrix4().setToTranslation(40f, 0f, 0f).rotate(Vector3.Y, 45f);
+        final Terrain plain = createTerrain(true);
+        final Matrix4 plainTransform = new Matrix4();
+        final Array<TerrainComponent> terrains = components(rotated, rotatedTransform);
+        terrains.addAll(components(plain, plainTransform));
+        final TerrainHeightQuery query = new TerrainHeightQuery(terrains);
+
+        // and a position within the world bounds of both, but only on the plain chunk
+        Assert.assertFalse(rotated.isOnTerrain(50f, 30f, rotatedTransform));
+        Assert.assertTrue(plain.isOnTerrain(50f, 30f, plainTransform));
+
+        // and a position within the world bounds of the rotated chunk only, on no chunk
+        Assert.assertFalse(rotated.isOnTerrain(45f, -40f, rotatedTransform));
+
+        // then
+        Assert.assertEquals(plain.getHeightAtWorldCoord(50f, 30f, plainTransform), query.getHeight(50f, 30f), 0.0001f);
+        Assert.assertTrue(Float.isNaN(query.getHeight(45f, -40f)));
+        Assert.assertEquals(rotated.getHeightAtWorldCoord(85f, 0f, rotatedTransform), query.getHeight(85f, 0f),
+                0.001f);
+    }
+
+    @Test
+    public void testNormalsMatchTerrain() throws Exception {
+        // given a planar terrain, so the interpolated normals equal the vertex normals
+        final Terrain translated = createTerrain(true);
+        final Matrix4 translatedTransform = new Matrix4().setToTranslation(-200f, 0f, 0f);
+        final Terrain rotated = createTerrain(true);
+        final Matrix4 rotatedTransform = new Matrix4().setToTranslation(200f, 0f, 0f).rotate(Vector3.Y, 30f);
+        final Array<TerrainComponent> terrains = components(translated, translatedTransform);
+        terrains.addAll(components(rotated, rotatedTransform));
+        final TerrainHeightQuery query = new TerrainHeightQuery(terrains);
+
+        final float[] positions = new float[] {-190.5f, 10.2f, -150f, 40.7f, 220.3f, 15.1f, 230f, 30f};
+        final float[] normals = new float[12];
+
+        // when
+        final int found = query.getNormals(positions, normals, 0, 4);
+
+        // then
+        Assert.assertEquals(4, found);
+        for (int i = 0; i < 4; i++) {
+            final Terrain terrain = i < 2 ? translated : rotated;
+            final Matrix4 transform = i < 2 ? translatedTransform : rotatedTransform;
+            final Vector3 expected = terrain.getNormalAtWordCoordinate(new Vector3(), positions[i * 2],
+                    positions[i * 2 + 1], transform).rot(transform).nor();
+            Assert.assertEquals(expected.x, normals[i * 3], 0.0001f);
+            Assert.assertEquals(expected.y, normals[i * 3 + 1], 0.0001f);
+            Assert.assertEquals(expected.z, normals[i * 3 + 2], 0.0001f);
+        }
+    }
+
+    @Test
+    public void testOffTerrainPositions() throws Exception {
+        // given
+        final Terrain terrain = createTerrain(false);
+        final TerrainHeightQuery query = new TerrainHeightQuery(components(terrain, new Matrix4()));
+        final float[] positions = new float[] {-10f, 10f, 10f, 10f, 10f, SIZE + 5f};
+        final float[] heights = new float[3];
+        final float[] normals = new float[9];
+
+        // when
+        final int heightsFound = query.getHeights(positions, heights, 0, 3);
+        final int normalsFound = query.getNormals(positions, normals, 0, 3);
+
+        // then
+        Assert.assertEquals(1, heightsFound);
+        Assert.assertEquals(1, normalsFound);
+        Assert.assertTrue(Float.isNaN(heights[0]));
+        Assert.assertEquals(terrain.getHeightAtWorldCoord(10f, 10f, new Matrix4()), heights[1], 0.0001f);
+        Assert.assertTrue(Float.isNaN(heights[2]));
+        Assert.assertArrayEquals(new float[] {0f, 1f, 0f}, new float[] {normals[0], normals[1], normals[2]}, 0f);
+        Assert.assertArrayEquals(new float[] {0f, 1f, 0f}, new float[] {normals[6], normals[7], normals[8]}, 0f);
+        Assert.assertTrue(Float.isNaN(query.getHeight(1000f, 1000f)));
+    }
+
+    @Test
+    public void testOffsetAndCountOnlyWriteTheirSlice() throws Exception {
+        // given
+        final Terrain terrain = createTerrain(false);
+        final TerrainHeightQuery query = new TerrainHeightQuery(components(terrain, new Matrix4()));
+        final float[] positions = new float[] {1f, 1f, 5f, 6f, 12.5f, 30f, 40f, 2f, -5f, 3f, 20f, 20f};
+        final float[] heights = new float[6];
+        final float[] normals = new float[18];
+        Arrays.fill(heights, -1f);
+        Arrays.fill(normals, -1f);
+
+        // when
+        final int heightsFound = query.getHeights(positions, heights, 2, 3);
+        final int normalsFound = query.getNormals(positions, normals, 2, 3);
+
+        // then positions 2 and 3 are on the terrain, 4 is not
+        Assert.assertEquals(2, heightsFound);
+        Assert.assertEquals(2, normalsFound);
+        Assert.assertEquals(-1f, heights[0], 0f);
+        Assert.assertEquals(-1f, heights[1], 0f);
+        Assert.assertEquals(terrain.getHeightAtWorldCoord(12.5f, 30f, new Matrix4()), heights[2], 0.0001f);
+        Assert.assertEquals(terrain.getHeightAtWorldCoord(40f, 2f, new Matrix4()), heights[3], 0.0001f);
+        Assert.assertTrue(Float.isNaN(heights[4]));
+        Assert.assertEquals(-1f, heights[5], 0f);
+        for (int i = 0; i < 6; i++) {
+            Assert.assertEquals(-1f, normals[i], 0f);
+        }
+        Assert.assertEquals(1f, normals[13], 0f);
+        for (int i = 15; i < 18; i++) {
+            Assert.assertEquals(-1f, normals[i], 0f);
+        }
+    }
+
+    /**
+     * Creates a terrain with a quadtree but without meshes, which need a GL context.
+     *
+     * @param planar a tilted plane if true, otherwise uneven heights
+     */
+    private static Terrain createTerrain(boolean planar) throws Exception {
+        final float cell = SIZE / (float) (VERTEX_RESOLUTION - 1);
+        final float[] heightData = new float[VERTEX_RESOLUTION * VERTEX_RESOLUTION];
+        for (int z = 0; z < VERTEX_RESOLUTION; z++) {
+            for (int x = 0; x < VERTEX_RESOLUTION; x++) {
+                heightData[z * VERTEX_RESOLUTION + x] = planar
+                        ? 0.25f * x * cell + 0.1f * z * cell
+                        : (float) Math.sin(x * 0.7f) * 4f + (float) Math.cos(z * 0.3f) * 6f;
+            }
+        }
+        final Terrain terrain = new Terrain(SIZE, heightData);
+
+        final Field quadTree = Terrain.class.getDeclaredField("quadTree");
+        quadTree.setAccessible(true);
+        quadTree.set(terrain, new TerrainQuadTree(heightData, VERTEX_RESOLUTION, SIZE, SIZE,
+                TerrainQuadTree.DEFAULT_PATCH_SIZE));
+        return terrain;
+    }
+
+    private static Array<TerrainComponent> components(Terrain terrain, Matrix4 transform) {
+        final TerrainAsset asset = Mockito.mock(TerrainAsset.class);
+        Mockito.when(asset.getTerrain()).thenReturn(terrain);
+
+        final ModelInstance modelInstance = new ModelInstance(new Model());
+        modelInstance.transform = transform;
+        final TerrainComponent component = Mockito.mock(TerrainComponent.class);
+        Mockito.when(component.getTerrainAsset()).thenReturn(asset);
+        Mockito.when(component.getModelInstance()).thenReturn(modelInstance);
+
+        final Array<TerrainComponent> components = new Array<>();
+        components.add(component);
+        return components;
+    }
+}
@@ -0,0 +1,319 @@
+package com.mbrlabs.mundus.commons.terrain;
+
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TerrainQuadTreeTest {
+
+    // Position, normal, tangent, uv and morph target
+    private static final int STRIDE = 13;
+    private static final int POS = 0;
+    private static final int NOR = 3;
+    private static final int TAN = 6;
+    private static final int UV = 10;
+    private static final int MORPH = 12;
+
+    @Test
+    public void testLevelsCoverTheTerrain() {
+        // given 128 cells per side and patches of 32 cells
+        final TerrainQuadTree quadTree = new TerrainQuadTree(new float[129 * 129], 129, 128, 128, 32);
+
+        // then
+        Assert.assertEquals(2, quadTree.getLeafLevel());
+        Assert.assertEquals(1 + 4 + 16, quadTree.getNodeCount());
+        Assert.assertEquals(128, quadTree.getNodeCells(0));
+        Assert.assertEquals(32, quadTree.getNodeCells(2));
+        Assert.assertEquals(2, quadTree.getNodeLevel(quadTree.nodeIndex(2, 3, 3)));
+    }
+
+    @Test
+    public void testNodesOutsideOfTheTerrainDoNotExist() {
+        // given 100 cells per side, the leaves cover 128
+        final TerrainQuadTree quadTree = new TerrainQuadTree(new float[101 * 101], 101, 100, 100, 32);
+
+        // then
+        Assert.assertEquals(2, quadTree.getLeafLevel());
+        Assert.assertTrue(quadTree.exists(2, 3, 3));
+        Assert.assertTrue(quadTree.exists(1, 1, 1));
+
+        final TerrainQuadTree smaller = new TerrainQuadTree(new float[65 * 65], 65, 64, 64, 16);
+        Assert.assertEquals(2, smaller.getLeafLevel());
+        Assert.assertFalse(new TerrainQuadTree(new float[49 * 49], 49, 48, 48, 16).exists(2, 3, 0));
+    }
+
+    @Test
+    public void testNodeBoundsContainTheirHeights() {
+        // given a spike in the last leaf
+        final float[] heights = new float[129 * 129];
+        heights[100 * 129 + 100] = 50f;
+        heights[5] = -3f;
+        final TerrainQuadTree quadTree = new TerrainQuadTree(heights, 129, 256, 256, 32);
+
+        // when
+        final BoundingBox root = quadTree.getBounds(new BoundingBox());
+        final BoundingBox leaf = quadTree.getNodeBounds(quadTree.nodeIndex(2, 3, 3), new BoundingBox());
+        final BoundingBox other = quadTree.getNodeBounds(quadTree.nodeIndex(2, 1, 1), new BoundingBox());
+
+        // then
+        Assert.assertEquals(-3f, root.min.y, 0f);
+        Assert.assertEquals(50f, root.max.y, 0f);
+        Assert.assertEquals(256f, root.max.x, 0f);
+        Assert.assertEquals(50f, leaf.max.y, 0f);
+        Assert.assertEquals(192f, leaf.min.x, 0f);
+        Assert.assertEquals(0f, other.max.y, 0f);
+    }
+
+    @Test
+    public void testModifyVertexUpdatesNeighboringNodes() {
+        // given
+        final float[] heights = new float[129 * 129];
+        final TerrainQuadTree quadTree = new TerrainQuadTree(heights, 129, 128, 128, 32);
+        final int left = quadTree.nodeIndex(2, 0, 0);
+        final int right = quadTree.nodeIndex(2, 1, 0);
+        final int far = quadTree.nodeIndex(2, 3, 3);
+        final int leftVersion = quadTree.getVersion(left);
+        final int rightVersion = quadTree.getVersion(right);
+        final int farVersion = quadTree.getVersion(far);
+
+        // when raising the last vertex column of the first leaf
+        heights[10 * 129 + 31] = 7f;
+        quadTree.modifyVertex(31, 10);
+
+        // then its normals affect the next leaf as well
+        Assert.assertEquals(7f, quadTree.getMaxHeight(left), 0f);
+        Assert.assertEquals(7f, quadTree.getMaxHeight(0), 0f);
+        Assert.assertTrue(quadTree.getVersion(left) != leftVersion);
+        Assert.assertTrue(quadTree.getVersion(right) != rightVersion);
+        Assert.assertEquals(farVersion, quadTree.getVersion(far));
+    }
+
+    @Test
+    public void testHeightsChangedOnlyUpdatesModifiedRegion() {
+        // given a raised vertex in the first leaf
+        final float[] heights = new float[129 * 129];
+        heights[10 * 129 + 10] = 7f;
+        final TerrainQuadTree quadTree = new TerrainQuadTree(heights, 129, 128, 128, 32);
+        final int first = quadTree.nodeIndex(2, 0, 0);
+        final int far = quadTree.nodeIndex(2, 3, 3);
+        final int farVersion = quadTree.getVersion(far);
+        final int rootVersion = quadTree.getVersion(0);
+
+        // when it is lowered again
+        heights[10 * 129 + 10] = 0f;
+        quadTree.modifyVertex(10, 10);
+        quadTree.heightsChanged();
+
+        // then the bounds are tightened, patches far away are kept
+        Assert.assertEquals(0f, quadTree.getMaxHeight(first), 0f);
+        Assert.assertEquals(0f, quadTree.getMaxHeight(0), 0f);
+        Assert.assertTrue(quadTree.getVersion(0) != rootVersion);
+        Assert.assertEquals(farVersion, quadTree.getVersion(far));
+    }
+
+    @Test
+    public void testHeightsChangedCoversRegionBetweenModifiedCorners() {
+        // given
+        final float[] heights = new float[129 * 129];
+        final TerrainQuadTree quadTree = new TerrainQuadTree(heights, 129, 128, 128, 32);
+        final int inside = quadTree.nodeIndex(2, 1, 0);
+        final int outside = quadTree.nodeIndex(2, 3, 0);
+        final int insideVersion = quadTree.getVersion(inside);
+        final int outsideVersion = quadTree.getVersion(outside);
+
+        // when a block is replaced and only its corners are reported, as undo does
+        for (int z = 10; z <= 20; z++) {
+            for (int x = 10; x <= 70; x++) {
+                heights[z * 129 + x] = 5f;
+            }
+        }
+        quadTree.modifyVertex(10, 10);
+        quadTree.modifyVertex(70, 20);
+        quadTree.heightsChanged();
+
+        // then
+        Assert.assertEquals(5f, quadTree.getMaxHeight(inside), 0f);
+        Assert.assertTrue(quadTree.getVersion(inside) != insideVersion);
+        Assert.assertEquals(outsideVersion, quadTree.getVersion(outside));
+    }
+
+    @Test
+    public void testHeightsChangedWithoutModifiedVerticesUpdatesAllNodes() {
+        // given
+        final float[] heights = new float[101 * 101];
+        final TerrainQuadTree quadTree = new TerrainQuadTree(heights, 101, 100, 100, 32);
+        final int far = quadTree.nodeIndex(2, 3, 3);
+        final int farVersion = quadTree.getVersion(far);
+
+        // when
+        heights[100 * 101 + 100] = 3f;
+        quadTree.heightsChanged();
+
+        // then
+        Assert.assertEquals(3f, quadTree.getMaxHeight(far), 0f);
+        Assert.assertEquals(3f, quadTree.getMaxHeight(0), 0f);
+        Assert.assertTrue(quadTree.getVersion(far) != farVersion);
+    }
+
+    @Test
+    public void testFarCameraSelectsRoot() {
+        // given
+        final TerrainQuadTree quadTree = new TerrainQuadTree(new float[129 * 129], 129, 128, 128, 32);
+        final IntArray nodes = new IntArray();
+        final FloatArray morphs = new FloatArray();
+
+        // when
+        quadTree.select(new Vector3(64, 10000, 64), null, new Matrix4(), 2f, 0.3f, nodes, morphs);
+
+        // then
+        Assert.assertEquals(1, nodes.size);
+        Assert.assertEquals(0, nodes.get(0));
+        Assert.assertEquals(0f, morphs.get(0), 0f);
+    }
+
+    @Test
+    public void testSelectionCoversTerrainWithMoreDetailNearCamera() {
+        // given
+        final TerrainQuadTree quadTree = new TerrainQuadTree(new float[257 * 257], 257, 256, 256, 16);
+        final IntArray nodes = new IntArray();
+        final FloatArray morphs = new FloatArray();
+
+        // when the camera is at a corner
+        quadTree.select(new Vector3(0, 1, 0), null, new Matrix4(), 2f, 0.3f, nodes, morphs);
+
+        // then the selected nodes tile the terrain without overlap
+        final BoundingBox bounds = new BoundingBox();
+        float area = 0f;
+        int nearLevel = -1;
+        int farLevel = Integer.MAX_VALUE;
+        for (int i = 0; i < nodes.size; i++) {
+            quadTree.getNodeBounds(nodes.get(i), bounds);
+            area += (bounds.max.x - bounds.min.x) * (bounds.max.z - bounds.min.z);
+            if (bounds.min.x == 0f && bounds.min.z == 0f) nearLevel = quadTree.getNodeLevel(nodes.get(i));
+            if (bounds.max.x == 256f && bounds.max.z == 256f) farLevel = quadTree.getNodeLevel(nodes.get(i));
+            Assert.assertTrue(morphs.get(i) >= 0f && morphs.get(i) <= 1f);
+        }
+        Assert.assertEquals(256f * 256f, area, 0.01f);
+        Assert.assertEquals(quadTree.getLeafLevel(), nearLevel);
+        Assert.assertTrue(farLevel < nearLevel);
+    }
+
+    @Test
+    public void testComputeMorph() {
+        Assert.assertEquals(0f, TerrainQuadTree.computeMorph(50f, 100f, 0.3f), 0f);
+        Assert.assertEquals(0f, TerrainQuadTree.computeMorph(70f, 100f, 0.3f), 0.0001f);
+        Assert.assertEquals(0.5f, TerrainQuadTree.computeMorph(85f, 100f, 0.3f), 0.0001f);
+        Assert.assertEquals(1f, TerrainQuadTree.computeMorph(120f, 100f, 0.3f), 0f);
+        Assert.assertEquals(1f, TerrainQuadTree.computeMorph(100f, 100f, 0f), 0f);
+        Assert.assertEquals(0f, TerrainQuadTree.computeMorph(99f, 100f, 0f), 0f);
+    }
+
+    @Test
+    public void testPatchVerticesAndMorphTargets() {
+        // given heights rising along x by 1 per cell and a bump at an odd vertex of the first leaf
+        final int resolution = 65;
+        final float[] heights = new float[resolution * resolution];
+        for (int z = 0; z < resolution; z++) {
+            for (int x = 0; x < resolution; x++) {
+                heights[z * resolution + x] = x;
+            }
+        }
+        heights[1 * resolution + 1] = 20f;
+        final TerrainQuadTree quadTree = new TerrainQuadTree(heights, resolution, 128, 128, 16);
+        final float[] vertices = new float[quadTree.getPatchVertexCount() * STRIDE];
+
+        // when building the first leaf, a step of one cell
+        final int leaf = quadTree.nodeIndex(quadTree.getLeafLevel(), 0, 0);
+        quadTree.buildPatch(leaf, vertices, STRIDE, POS, NOR, TAN, UV, MORPH, 64f, 64f);
+
+        // then positions use the cell size of 2 units
+        final int side = 17;
+        final int v11 = (side + 1) * STRIDE;
+        Assert.assertEquals(2f, vertices[v11 + POS], 0f);
+        Assert.assertEquals(20f, vertices[v11 + POS + 1], 0f);
+        Assert.assertEquals(2f, vertices[v11 + POS + 2], 0f);
+        Assert.assertEquals(1f, vertices[v11 + UV], 0.0001f);
+
+        // the odd vertex morphs to the diagonal of the parent cell, even vertices keep their height
+        Assert.assertEquals(1f, vertices[v11 + MORPH], 0.0001f);
+        final int v20 = 2 * STRIDE;
+        Assert.assertEquals(2f, vertices[v20 + MORPH], 0f);
+        final int v30 = 3 * STRIDE;
+        Assert.assertEquals(3f, vertices[v30 + MORPH], 0.0001f);
+
+        // normals lean against the slope
+        final int v55 = (5 * side + 5) * STRIDE;
+        Assert.assertTrue(vertices[v55 + NOR] < 0f);
+        Assert.assertEquals(1f, new Vector3(vertices[v55 + NOR], vertices[v55 + NOR + 1], vertices[v55 + NOR + 2]).len(), 0.0001f);
+    }
+
+    @Test
+    public void testSkirtsOnlyHangInside() {
+        // given
+        final int resolution = 65;
+        final float[] heights = new float[resolution * resolution];
+        heights[10 * resolution + 10] = 8f;
+        final TerrainQuadTree quadTree = new TerrainQuadTree(heights, resolution, 64, 64, 16);
+        final float[] vertices = new float[quadTree.getPatchVertexCount() * STRIDE];
+
+        // when building the first leaf, north and west are terrain borders
+        quadTree.buildPatch(quadTree.nodeIndex(2, 0, 0), vertices, STRIDE, POS, NOR, TAN, UV, MORPH, 1f, 1f);
+
+        // then
+        final int side = 17;
+        final int north = side * side * STRIDE;
+        final int east = (side * side + side) * STRIDE;
+        final int west = (side * side + 3 * side) * STRIDE;
+        Assert.assertEquals(0f, vertices[north + POS + 1], 0f);
+        Assert.assertEquals(0f, vertices[west + POS + 1], 0f);
+        Assert.assertEquals(-8f, vertices[east + POS + 1], 0f);
+        Assert.assertEquals(-8f, vertices[east + MORPH], 0f);
+        // the first east skirt vertex hangs below the north east corner
+        Assert.assertEquals(16f, vertices[east + POS], 0f);
+        Assert.assertEquals(0f, vertices[east + POS + 2], 0f);
+    }
+
+    @Test
+    public void testPatchIndicesFaceUpAndOutwards() {
+        // given
+        final int patchSize = 4;
+        final int side = patchSize + 1;
+        final short[] indices = TerrainQuadTree.buildPatchIndices(patchSize);
+
+        // then
+        Assert.assertEquals(TerrainQuadTree.getPatchIndexCount(patchSize), indices.length);
+        for (short index : indices) {
+            Assert.assertTrue(index >= 0 && index < side * side + 4 * side);
+        }
+
+        // the first grid triangle faces up, the first skirt triangle (north edge) faces -z
+        final Vector3 grid = normal(indices, 0, patchSize, false);
+        Assert.assertTrue(grid.y > 0f);
+        final Vector3 skirt = normal(indices, patchSize * patchSize * 6, patchSize, true);
+        Assert.assertTrue(skirt.z < 0f);
+    }
+
+    /**
+     * @return the normal of a triangle of a patch with cells of one unit and skirts one unit deep
+     */
+    private static Vector3 normal(short[] indices, int first, int patchSize, boolean skirt) {
+        final int side = patchSize + 1;
+        final float[][] p = new float[3][];
+        for (int i = 0; i < 3; i++) {
+            final int index = indices[first + i];
+            if (index < side * side) {
+                p[i] = new float[]{index % side, 0f, index / side};
+            } else {
+                // north skirt vertices hang below the first row
+                p[i] = new float[]{index - side * side, -1f, 0f};
+            }
+        }
+        final float ax = p[1][0] - p[0][0], ay = p[1][1] - p[0][1], az = p[1][2] - p[0][2];
+        final float bx = p[2][0] - p[0][0], by = p[2][1] - p[0][1], bz = p[2][2] - p[0][2];
+        return new Vector3(ay * bz - az * by, az * bx - ax * bz, ax * by - ay * bx);
+    }
+}
@@ -1,6 +1,8 @@
 package com.mbrlabs.mundus.commons.terrain;
 
 import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.Ray;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -34,4 +36,76 @@ public class TerrainTest {
         Assert.assertEquals(4.57589f, result, 0.01f);
     }
 
+    @Test
+    public void testGetRayIntersectionMatchesHeight() {
+        // given
+        final int vertexResolution = 33;
+        final float[] heightData = new float[vertexResolution * vertexResolution];
+        for (int i = 0; i < heightData.length; i++) {
+            heightData[i] = (float) Math.sin(i * 0.37f) * 10f;
+        }
+        final Terrain terrain = new Terrain(64, heightData);
+        final Matrix4 transform = new Matrix4().setToTranslation(100f, 5f, -20f);
+
+        // when casting rays straight down
+        for (float x = 1.3f; x < 64f; x += 7.1f) {
+            for (float z = 0.7f; z < 64f; z += 5.3f) {
+                Ray ray = new Ray(new Vector3(100f + x, 500f, -20f + z), new Vector3(0, -1, 0));
+                Vector3 out = new Vector3();
+
+                // then the hit is at the terrain height
+                Assert.assertTrue(terrain.getRayIntersection(out, ray, transform));
+                Assert.assertEquals(terrain.getHeightAtLocalCoord(x, z) + 5f, out.y, 0.01f);
+            }
+        }
+    }
+
+    @Test
+    public void testGetRayIntersectionHitsThinRidge() {
+        // given a flat terrain with a one vertex wide ridge
+        final int vertexResolution = 65;
+        final float[] heightData = new float[vertexResolution * vertexResolution];
+        for (int z = 0; z < vertexResolution; z++) {
+            heightData[z * vertexResolution + 32] = 50f;
+        }
+        final Terrain terrain = new Terrain(64, heightData);
+
+        // when a shallow ray passes through the ridge above the ground
+        Ray ray = new Ray(new Vector3(0f, 20f, 10f), new Vector3(1f, -0.01f, 0f).nor());
+        Vector3 out = new Vector3();
+
+        // then the ridge is hit
+        Assert.assertTrue(terrain.getRayIntersection(out, ray, new Matrix4()));
+        Assert.assertEquals(31.39f, out.x, 0.05f);
+
+        // and rays missing the terrain are reported
+        Ray miss = new Ray(new Vector3(0f, 100f, 10f), new Vector3(0f, 1f, 0f));
+        Assert.assertFalse(terrain.getRayIntersection(out, miss, new Matrix4()));
+    }
+
+    @Test
+    public void testGetRayIntersectionsBatch() {
+        // given
+        final int vertexResolution = 17;
+        final float[] heightData = new float[vertexResolution * vertexResolution];
+        final Terrain terrain = new Terrain(16, heightData);
+        final Ray[] rays = {
+                new Ray(new Vector3(4f, 10f, 4f), new Vector3(0, -1, 0)),
+                new Ray(new Vector3(40f, 10f, 4f), new Vector3(0, -1, 0)),
+                new Ray(new Vector3(8f, 10f, 12f), new Vector3(0, -1, 0))
+        };
+        final Vector3[] out = {new Vector3(), new Vector3(), new Vector3()};
+        final boolean[] hits = new boolean[3];
+
+        // when
+        int hitCount = terrain.getRayIntersections(out, hits, rays, rays.length, new Matrix4());
+
+        // then
+        Assert.assertEquals(2, hitCount);
+        Assert.assertTrue(hits[0]);
+        Assert.assertFalse(hits[1]);
+        Assert.assertTrue(hits[2]);
+        Assert.assertEquals(0f, out[2].y, 0.0001f);
+    }
+
 }
@@ -372,7 +372,7 @@ class Editor : Lwjgl3WindowAdapter(), ApplicationListener,
 
     override fun onGameObjectModified(event: GameObjectModifiedEvent) {
         if (event.gameObject == null) return
-        projectManager.current().currScene.modelCacheManager.requestModelCacheRebuild()
+        projectManager.current().currScene.modelCacheManager.requestModelCacheRebuild(event.gameObject)
     }
 
     override fun dispose() {
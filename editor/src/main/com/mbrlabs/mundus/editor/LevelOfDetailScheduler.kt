@@ -1,25 +1,43 @@
 package com.mbrlabs.mundus.editor
 
+import com.badlogic.gdx.Gdx
 import com.badlogic.gdx.utils.Array
 import com.badlogic.gdx.utils.Disposable
 import com.badlogic.gdx.utils.Timer
 import com.mbrlabs.mundus.commons.scene3d.components.TerrainComponent
+import com.mbrlabs.mundus.commons.terrain.Terrain
+import com.mbrlabs.mundus.editor.events.ModelLoDRebuildEvent
 import com.mbrlabs.mundus.editor.events.TerrainLoDRebuildEvent
 import com.mbrlabs.mundus.editor.ui.UI
 import com.mbrlabs.mundus.editor.utils.LoDUtils
+import com.mbrlabs.mundus.editor.utils.MeshUtils
 import com.mbrlabs.mundus.editorcommons.events.TerrainVerticesChangedEvent
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
 import java.util.concurrent.ExecutorService
 import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
 
 /**
  * Scheduled LoD rebuilding when needed.
  * Listens to events that indicate an LoD needs to be rebuilt.
+ * Each level of each terrain is simplified as its own task on a bounded worker pool, finished terrains are
+ * applied on the rendering thread a few at a time per frame.
  * @author JamesTKhan
  * @version October 04, 2023
  */
 class LevelOfDetailScheduler : TerrainVerticesChangedEvent.TerrainVerticesChangedEventListener,
-    TerrainLoDRebuildEvent.TerrainLoDRebuildEventListener, Disposable {
-    var executorService: ExecutorService = Executors.newSingleThreadExecutor()
+    TerrainLoDRebuildEvent.TerrainLoDRebuildEventListener, ModelLoDRebuildEvent.ModelLoDRebuildEventListener, Disposable {
+    var executorService: ExecutorService = Executors.newFixedThreadPool(LOD_THREADS)
+
+    companion object {
+        /** Simplification runs native code on all cores, leave one for the rendering thread */
+        private val LOD_THREADS = (Runtime.getRuntime().availableProcessors() - 1).coerceIn(1, 4)
+
+        /** Time per frame spent creating LoD meshes on the rendering thread */
+        private const val APPLY_BUDGET_NANOS = 4_000_000L
+    }
 
     enum class State {
         PROCESSING, COMPLETE
@@ -30,6 +48,23 @@ class LevelOfDetailScheduler : TerrainVerticesChangedEvent.TerrainVerticesChange
      */
     interface LodSchedulerListener {
         fun onTerrainLoDRebuild(state: State)
+
+        /**
+         * Called on the rendering thread each time a terrain of the running rebuild is finished.
+         */
+        fun onTerrainLoDProgress(completed: Int, total: Int) {}
+    }
+
+    /**
+     * The levels of one terrain being simplified. Cancelled when the terrain changes again before it is applied.
+     */
+    private class TerrainLodJob(val terrain: TerrainComponent, levels: Int) {
+        val results = arrayOfNulls<MeshUtils.SimplifyResult>(levels)
+        val remaining = AtomicInteger(levels)
+        var morphTargets: FloatArray? = null
+
+        @Volatile
+        var cancelled = false
     }
 
     private var interval = 5
@@ -37,6 +72,13 @@ class LevelOfDetailScheduler : TerrainVerticesChangedEvent.TerrainVerticesChange
     private var listeners = Array<LodSchedulerListener>()
     private var terrainSet = HashSet<TerrainComponent>()
 
+    private val activeJobs = ConcurrentHashMap<TerrainComponent, TerrainLodJob>()
+    private val finishedJobs = ConcurrentLinkedQueue<TerrainLodJob>()
+    private val applyPosted = AtomicBoolean(false)
+    private var completedTerrains = 0
+    private var totalTerrains = 0
+    private var rebuilding = false
+
     init {
         Mundus.registerEventListener(this)
 
@@ -45,21 +87,129 @@ class LevelOfDetailScheduler : TerrainVerticesChangedEvent.TerrainVerticesChange
 
                 if (terrainSet.isEmpty()) return
 
+                rebuilding = true
                 listeners.forEach { it.onTerrainLoDRebuild(State.PROCESSING) }
-                val callable = LoDUtils.createTerrainLodProcessingTask(terrainSet) {
-                    UI.toaster.success("Terrain Level of Details generated.")
-                    listeners.forEach { it.onTerrainLoDRebuild(State.COMPLETE) }
-                }
-
-                executorService.submit(callable)
+                val terrains = ArrayList(terrainSet)
                 terrainSet.clear()
+                scheduleTerrains(terrains)
             }
         }, 0f, interval.toFloat())
 
     }
 
+    /**
+     * Submits a task per terrain and level, superseding running jobs of the same terrains.
+     */
+    private fun scheduleTerrains(terrains: Collection<TerrainComponent>) {
+        // Quadtree terrains select their detail per node
+        val components = terrains.filter { !it.terrainAsset.terrain.usesQuadTree() }
+        val maxHeightDiff = LoDUtils.getMaxHeightDifference(components)
+        val factors = Terrain.LOD_SIMPLIFICATION_FACTORS
+
+        for (component in components) {
+            val job = TerrainLodJob(component, factors.size)
+            val superseded = activeJobs.put(component, job)
+            if (superseded != null) {
+                superseded.cancelled = true
+            } else {
+                totalTerrains++
+            }
+
+            // Bounds and meshes are only safe to read on the rendering thread, workers get a copy of the meshes
+            val scale = LoDUtils.getTerrainLodScale(component, maxHeightDiff)
+            val snapshot = MeshUtils.MeshSnapshot.of(component.terrainAsset.terrain.model)
+            for (level in factors.indices) {
+                executorService.submit {
+                    try {
+                        if (!job.cancelled) {
+                            job.results[level] = LoDUtils.buildTerrainLodLevel(snapshot, factors[level] * scale)
+                        }
+                    } catch (e: Exception) {
+                        job.cancelled = true
+                        Gdx.app.error(LevelOfDetailScheduler::class.java.simpleName, "Could not build terrain LoD", e)
+                    } finally {
+                        if (job.remaining.decrementAndGet() == 0) {
+                            finishJob(job)
+                        }
+                    }
+                }
+            }
+        }
+
+        if (isRebuildFinished()) {
+            completeRebuild()
+        }
+    }
+
+    /**
+     * Called on the worker that built the last level of the job.
+     */
+    private fun finishJob(job: TerrainLodJob) {
+        if (!job.cancelled) {
+            job.morphTargets = LoDUtils.computeTerrainMorphTargets(job.terrain.terrainAsset.terrain, job.results)
+        }
+
+        finishedJobs.add(job)
+        if (applyPosted.compareAndSet(false, true)) {
+            Gdx.app.postRunnable { applyFinishedJobs() }
+        }
+    }
+
+    /**
+     * Creates the meshes of finished jobs until the frame budget is used up, the rest is applied next frame.
+     */
+    private fun applyFinishedJobs() {
+        val start = System.nanoTime()
+        while (System.nanoTime() - start < APPLY_BUDGET_NANOS) {
+            val job = finishedJobs.poll() ?: break
+
+            // Superseded and cancelled jobs were already removed, they are not counted as completed
+            if (!activeJobs.remove(job.terrain, job)) continue
+
+            if (job.cancelled) {
+                // Failed while building, the error was logged by the worker
+                totalTerrains--
+            } else {
+                LoDUtils.applyTerrainLod(job.terrain, job.results, job.morphTargets)
+                completedTerrains++
+            }
+            listeners.forEach { it.onTerrainLoDProgress(completedTerrains, totalTerrains) }
+        }
+
+        applyPosted.set(false)
+        if (finishedJobs.isNotEmpty() && applyPosted.compareAndSet(false, true)) {
+            Gdx.app.postRunnable { applyFinishedJobs() }
+        }
+
+        if (rebuilding && isRebuildFinished()) {
+            if (completedTerrains > 0) {
+                UI.toaster.success("Terrain Level of Details generated.")
+            }
+            completeRebuild()
+        }
+    }
+
+    /**
+     * Whether no job is running and no terrain is waiting to be scheduled.
+     */
+    private fun isRebuildFinished(): Boolean {
+        return activeJobs.isEmpty() && terrainSet.isEmpty()
+    }
+
+    private fun completeRebuild() {
+        rebuilding = false
+        completedTerrains = 0
+        totalTerrains = 0
+        listeners.forEach { it.onTerrainLoDRebuild(State.COMPLETE) }
+    }
+
     override fun onTerrainVerticesChanged(event: TerrainVerticesChangedEvent) {
         if (event.terrainComponent.terrainAsset.isUsingLod) {
+            // Levels being built from the previous vertices are outdated, the terrain is counted again when rescheduled
+            activeJobs.remove(event.terrainComponent)?.let {
+                it.cancelled = true
+                totalTerrains--
+            }
             terrainSet.add(event.terrainComponent)
         }
     }
@@ -71,6 +221,13 @@ class LevelOfDetailScheduler : TerrainVerticesChangedEvent.TerrainVerticesChange
         }
     }
 
+    override fun onModelLoDRebuild(event: ModelLoDRebuildEvent) {
+        val callable = LoDUtils.createModelLodProcessingTask(event.modelAsset) {
+            UI.toaster.success("Model Level of Details generated for ${it.name}.")
+        }
+        executorService.submit(callable)
+    }
+
     /**
      * Adds a listener to this scheduler.
      */
@@ -87,6 +244,7 @@ class LevelOfDetailScheduler : TerrainVerticesChangedEvent.TerrainVerticesChange
 
     override fun dispose() {
         Mundus.unregisterEventListener(this)
+        activeJobs.values.forEach { it.cancelled = true }
         executorService.shutdown()
         timer?.cancel()
     }
@@ -754,6 +754,9 @@ class EditorAssetManager(assetsRoot: FileHandle) : AssetManager(assetsRoot) {
                 binFile.delete()
         }
 
+        if (asset is ModelAsset && asset.lodFile.exists())
+            asset.lodFile.delete()
+
         if (asset.meta.file.exists())
             asset.meta.file.delete()
 
@@ -19,6 +19,7 @@ package com.mbrlabs.mundus.editor.core;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.mbrlabs.mundus.commons.Scene;
+import com.mbrlabs.mundus.commons.picking.SceneRayPicker;
 import com.mbrlabs.mundus.commons.scene3d.GameObject;
 import com.mbrlabs.mundus.commons.scene3d.components.Component;
 import com.mbrlabs.mundus.commons.scene3d.components.TerrainComponent;
@@ -35,6 +36,8 @@ public class EditorScene extends Scene {
     public Array<TerrainComponent> terrains;
     public GameObject currentSelection;
 
+    private SceneRayPicker rayPicker;
+
     public EditorScene() {
         super();
         currentSelection = null;
@@ -53,4 +56,24 @@ public class EditorScene extends Scene {
             }
         }
     }
+
+    /**
+     * @return the ray picker of the current scene graph, recreated when the scene graph was replaced
+     */
+    public SceneRayPicker getRayPicker() {
+        if (rayPicker == null || rayPicker.getSceneGraph() != sceneGraph) {
+            if (rayPicker != null) rayPicker.dispose();
+            rayPicker = new SceneRayPicker(sceneGraph);
+        }
+        return rayPicker;
+    }
+
+    @Override
+    public void dispose() {
+        if (rayPicker != null) {
+            rayPicker.dispose();
+            rayPicker = null;
+        }
+        super.dispose();
+    }
 }
@@ -75,6 +75,9 @@ public class SceneConverter {
         dto.setEnableWaterRefractions(scene.settings.enableWaterRefractions);
 
         dto.setUseFrustumCulling(scene.settings.useFrustumCulling);
+        dto.setUseSpatialIndex(scene.settings.useSpatialIndex);
+        dto.setUseInstancing(scene.settings.useInstancing);
+        dto.setTerrainLodPixelError(scene.settings.terrainLodPixelError);
 
         // camera
         dto.setCamPosX(scene.cam.position.x);
@@ -125,6 +128,9 @@ public class SceneConverter {
 
         scene.settings.waterHeight = dto.getWaterHeight();
         scene.settings.useFrustumCulling = dto.isUseFrustumCulling();
+        scene.settings.useSpatialIndex = dto.isUseSpatialIndex();
+        scene.settings.useInstancing = dto.isUseInstancing();
+        scene.settings.terrainLodPixelError = dto.getTerrainLodPixelError();
         scene.settings.enableWaterReflections = dto.isEnableWaterReflections();
         scene.settings.enableWaterRefractions = dto.isEnableWaterRefractions();
 
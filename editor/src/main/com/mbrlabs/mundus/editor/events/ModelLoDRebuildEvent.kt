@@ -0,0 +1,16 @@
+package com.mbrlabs.mundus.editor.events
+
+import com.mbrlabs.mundus.commons.assets.ModelAsset
+import com.mbrlabs.mundus.editorcommons.Subscribe
+
+/**
+ * An event to indicate that a model's LoD levels need to be built/rebuilt.
+ * @version October 18, 2026
+ * @param modelAsset the model asset
+ */
+class ModelLoDRebuildEvent(val modelAsset: ModelAsset) {
+    interface ModelLoDRebuildEventListener {
+        @Subscribe
+        fun onModelLoDRebuild(event: ModelLoDRebuildEvent)
+    }
+}
@@ -23,6 +23,7 @@ import com.badlogic.gdx.utils.JsonWriter
 import com.kotcrab.vis.ui.util.async.AsyncTask
 import com.kotcrab.vis.ui.util.async.AsyncTaskListener
 import com.mbrlabs.mundus.commons.assets.Asset
+import com.mbrlabs.mundus.commons.assets.ModelAsset
 import com.mbrlabs.mundus.commons.dto.GameObjectDTO
 import com.mbrlabs.mundus.commons.dto.ModelComponentDTO
 import com.mbrlabs.mundus.commons.dto.SceneDTO
@@ -122,6 +123,10 @@ class Exporter(val ioManager: IOManager, val project: ProjectContext, val plugin
     private fun exportAsset(asset: Asset, folder: FileHandle) {
         asset.file.copyTo(folder)
         asset.meta.file.copyTo(folder)
+
+        if (asset is ModelAsset && asset.lodFile.exists()) {
+            asset.lodFile.copyTo(folder)
+        }
     }
 
     private fun exportScene(scene: SceneDTO, file: FileHandle, jsonType: JsonWriter.OutputType) {
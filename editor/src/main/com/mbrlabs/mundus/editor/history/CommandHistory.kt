@@ -21,10 +21,13 @@ import com.badlogic.gdx.utils.Array
 /**
  * Add commands to undo/redo a previously called process.
  *
+ * Besides the maximum number of commands, the history has a memory budget. When the commands implementing
+ * [MemoryAwareCommand] exceed it, the oldest commands are removed.
+ *
  * @author Marcus Brummer
  * @version 07-02-2016
  */
-class CommandHistory(private val limit: Int) {
+class CommandHistory @JvmOverloads constructor(private val limit: Int, private val memoryBudget: Long = DEFAULT_MEMORY_BUDGET) {
 
     private var pointer: Int = 0
     private val commands: Array<Command> = Array(limit)
@@ -54,9 +57,38 @@ class CommandHistory(private val limit: Int) {
             }
         }
 
+        enforceMemoryBudget()
         return pointer
     }
 
+    /**
+     * Removes the oldest commands until the history fits into the memory budget, always keeping the latest command.
+     */
+    private fun enforceMemoryBudget() {
+        var memory = getMemorySize()
+        while (memory > memoryBudget && size() > 1) {
+            val oldest = commands.first()
+            if (oldest is MemoryAwareCommand) {
+                memory -= oldest.getMemorySize()
+            }
+            removeCommand(0)
+            pointer--
+        }
+    }
+
+    /**
+     * @return the approximate amount of bytes held by the commands in the history
+     */
+    fun getMemorySize(): Long {
+        var memory = 0L
+        for (command in commands) {
+            if (command is MemoryAwareCommand) {
+                memory += command.getMemorySize()
+            }
+        }
+        return memory
+    }
+
     private fun removeCommand(index: Int) {
         val cmd = commands.get(index)
         if (cmd is DisposableCommand) {
@@ -108,6 +140,9 @@ class CommandHistory(private val limit: Int) {
     companion object {
 
         val DEFAULT_LIMIT = 50
+
+        /** 256 MB */
+        const val DEFAULT_MEMORY_BUDGET = 256L * 1024L * 1024L
     }
 
 }
@@ -16,19 +16,26 @@
 
 package com.mbrlabs.mundus.editor.history.commands
 
+import com.badlogic.gdx.utils.Array
 import com.mbrlabs.mundus.commons.scene3d.components.TerrainComponent
 import com.mbrlabs.mundus.editor.Mundus
 import com.mbrlabs.mundus.editorcommons.events.TerrainVerticesChangedEvent
-import com.mbrlabs.mundus.editor.history.Command
+import com.mbrlabs.mundus.editor.history.MemoryAwareCommand
 
 /**
+ * Stores the height changes of a terrain as tiles of [TILE_SIZE] x [TILE_SIZE] vertices. The full height data is
+ * only held between [setHeightDataBefore] and [setHeightDataAfter], after that only the tiles that changed are kept.
+ *
  * @author Marcus Brummer
  * @version 07-02-2016
  */
-class TerrainHeightCommand(private var terrain: TerrainComponent?) : Command {
+class TerrainHeightCommand(private var terrain: TerrainComponent?) : MemoryAwareCommand {
+
+    private class HeightTile(val x: Int, val z: Int, val width: Int, val depth: Int,
+                             val before: FloatArray, val after: FloatArray)
 
     private var heightDataBefore: FloatArray? = null
-    private var heightDataAfter: FloatArray? = null
+    private val tiles = Array<HeightTile>()
 
     fun setHeightDataBefore(data: FloatArray) {
         heightDataBefore = FloatArray(data.size)
@@ -36,28 +43,93 @@ class TerrainHeightCommand(private var terrain: TerrainComponent?) : Command {
     }
 
     fun setHeightDataAfter(data: FloatArray) {
-        heightDataAfter = FloatArray(data.size)
-        System.arraycopy(data, 0, heightDataAfter!!, 0, data.size)
+        val before = heightDataBefore!!
+        val resolution = terrain!!.terrainAsset.terrain.vertexResolution
+
+        tiles.clear()
+        for (tileZ in 0 until resolution step TILE_SIZE) {
+            for (tileX in 0 until resolution step TILE_SIZE) {
+                val width = minOf(TILE_SIZE, resolution - tileX)
+                val depth = minOf(TILE_SIZE, resolution - tileZ)
+                if (tileChanged(before, data, resolution, tileX, tileZ, width, depth)) {
+                    tiles.add(HeightTile(tileX, tileZ, width, depth,
+                            copyTile(before, resolution, tileX, tileZ, width, depth),
+                            copyTile(data, resolution, tileX, tileZ, width, depth)))
+                }
+            }
+        }
+
+        // Only the changed tiles are needed from now on
+        heightDataBefore = null
     }
 
     override fun execute() {
-        copyHeightData(heightDataAfter!!)
-        terrain!!.terrainAsset.terrain.update()
-        terrain!!.lodManager.disable()
-        Mundus.postEvent(TerrainVerticesChangedEvent(terrain!!))
+        applyTiles(false)
     }
 
     override fun undo() {
-        copyHeightData(heightDataBefore!!)
-        terrain!!.terrainAsset.terrain.update()
+        applyTiles(true)
+    }
+
+    override fun getMemorySize(): Long {
+        var size = (heightDataBefore?.size ?: 0) * 4L
+        for (tile in tiles) {
+            size += (tile.before.size + tile.after.size) * 4L
+        }
+        return size
+    }
+
+    private fun applyTiles(before: Boolean) {
+        val terrainObj = terrain!!.terrainAsset.terrain
+        writeTiles(terrainObj.heightData, terrainObj.vertexResolution, before)
+
+        for (tile in tiles) {
+            // Only the modified region of the mesh is updated
+            terrainObj.modifyVertex(tile.x, tile.z)
+            terrainObj.modifyVertex(tile.x + tile.width - 1, tile.z + tile.depth - 1)
+        }
+
+        if (tiles.size > 0) {
+            terrainObj.update()
+        }
         terrain!!.lodManager.disable()
         Mundus.postEvent(TerrainVerticesChangedEvent(terrain!!))
     }
 
-    private fun copyHeightData(data: FloatArray) {
-        for (i in data.indices) {
-            terrain!!.terrainAsset.terrain.heightData!![i] = data[i]
+    /**
+     * Writes the changed tiles into the height data, without updating the terrain.
+     *
+     * @param before true to write the heights before the change, false for the heights after it
+     */
+    fun writeTiles(heightData: FloatArray, resolution: Int, before: Boolean) {
+        for (tile in tiles) {
+            val data = if (before) tile.before else tile.after
+            for (row in 0 until tile.depth) {
+                System.arraycopy(data, row * tile.width, heightData, (tile.z + row) * resolution + tile.x, tile.width)
+            }
+        }
+    }
+
+    private fun tileChanged(before: FloatArray, after: FloatArray, resolution: Int, tileX: Int, tileZ: Int, width: Int, depth: Int): Boolean {
+        for (z in tileZ until tileZ + depth) {
+            val row = z * resolution
+            for (x in tileX until tileX + width) {
+                if (before[row + x] != after[row + x]) return true
+            }
+        }
+        return false
+    }
+
+    private fun copyTile(data: FloatArray, resolution: Int, tileX: Int, tileZ: Int, width: Int, depth: Int): FloatArray {
+        val tile = FloatArray(width * depth)
+        for (row in 0 until depth) {
+            System.arraycopy(data, (tileZ + row) * resolution + tileX, tile, row * width, width)
         }
+        return tile
+    }
+
+    companion object {
+        const val TILE_SIZE = 32
     }
 
 }
@@ -17,49 +17,144 @@
 package com.mbrlabs.mundus.editor.history.commands
 
 import com.badlogic.gdx.graphics.Pixmap
+import com.badlogic.gdx.utils.Array
 import com.mbrlabs.mundus.commons.terrain.Terrain
 import com.mbrlabs.mundus.editor.history.DisposableCommand
+import com.mbrlabs.mundus.editor.history.MemoryAwareCommand
+import java.nio.ByteBuffer
 
 /**
+ * Stores the splatmap changes of a terrain as tiles of [TILE_SIZE] x [TILE_SIZE] pixels. The full pixel data is
+ * only held between [setBefore] and [setAfter], after that only the tiles that changed are kept.
+ *
  * @author Marcus Brummer
  * @version 07-02-2016
  */
-class TerrainPaintCommand(private var terrain: Terrain?) : DisposableCommand {
+class TerrainPaintCommand(private var terrain: Terrain?) : DisposableCommand, MemoryAwareCommand {
+
+    private class PixelTile(val x: Int, val y: Int, val width: Int, val height: Int,
+                            val before: ByteArray, val after: ByteArray)
 
-    private var after: Pixmap? = null
-    private var before: Pixmap? = null
+    private var before: ByteArray? = null
+    private val tiles = Array<PixelTile>()
+    private var bytesPerPixel = 0
 
     fun setAfter(data: Pixmap) {
-        after = Pixmap(data.width, data.height, data.format)
-        after!!.blending = Pixmap.Blending.None
-        after!!.drawPixmap(data, 0, 0)
+        val beforeData = before!!
+        val afterData = readPixels(data)
+        val rowSize = data.width * bytesPerPixel
+
+        tiles.clear()
+        for (tileY in 0 until data.height step TILE_SIZE) {
+            for (tileX in 0 until data.width step TILE_SIZE) {
+                val width = minOf(TILE_SIZE, data.width - tileX)
+                val height = minOf(TILE_SIZE, data.height - tileY)
+                if (tileChanged(beforeData, afterData, rowSize, tileX, tileY, width, height)) {
+                    tiles.add(PixelTile(tileX, tileY, width, height,
+                            copyTile(beforeData, rowSize, tileX, tileY, width, height),
+                            copyTile(afterData, rowSize, tileX, tileY, width, height)))
+                }
+            }
+        }
+
+        // Only the changed tiles are needed from now on
+        before = null
     }
 
     fun setBefore(data: Pixmap) {
-        before = Pixmap(data.width, data.height, data.format)
-        before!!.blending = Pixmap.Blending.None
-        before!!.drawPixmap(data, 0, 0)
+        bytesPerPixel = data.pixels.capacity() / (data.width * data.height)
+        before = readPixels(data)
     }
 
     override fun execute() {
-        val sm = terrain!!.terrainTexture.splatmap
-        if (sm != null) {
-            sm.pixmap.drawPixmap(after!!, 0, 0)
-            sm.updateTexture()
-        }
+        applyTiles(false)
     }
 
     override fun undo() {
-        val sm = terrain!!.terrainTexture.splatmap
-        if (sm != null) {
-            sm.pixmap.drawPixmap(before!!, 0, 0)
-            sm.updateTexture()
+        applyTiles(true)
+    }
+
+    override fun getMemorySize(): Long {
+        var size = (before?.size ?: 0).toLong()
+        for (tile in tiles) {
+            size += (tile.before.size + tile.after.size).toLong()
+        }
+        return size
+    }
+
+    private fun applyTiles(useBefore: Boolean) {
+        val sm = terrain!!.terrainTexture.splatmap ?: return
+        writeTiles(sm.pixmap.pixels, sm.pixmap.width, useBefore)
+
+        if (tiles.size > 0) {
+            var minX = Int.MAX_VALUE
+            var minY = Int.MAX_VALUE
+            var maxX = Int.MIN_VALUE
+            var maxY = Int.MIN_VALUE
+            for (tile in tiles) {
+                minX = minOf(minX, tile.x)
+                minY = minOf(minY, tile.y)
+                maxX = maxOf(maxX, tile.x + tile.width)
+                maxY = maxOf(maxY, tile.y + tile.height)
+            }
+            sm.updateTexture(minX, minY, maxX - minX, maxY - minY)
         }
     }
 
+    /**
+     * Writes the changed tiles into the pixels, without uploading the splatmap texture.
+     *
+     * @param width the width of the pixmap in pixels
+     * @param useBefore true to write the pixels before the change, false for the pixels after it
+     */
+    fun writeTiles(pixels: ByteBuffer, width: Int, useBefore: Boolean) {
+        val rowSize = width * bytesPerPixel
+        for (tile in tiles) {
+            val data = if (useBefore) tile.before else tile.after
+            val tileRowSize = tile.width * bytesPerPixel
+            for (row in 0 until tile.height) {
+                pixels.position((tile.y + row) * rowSize + tile.x * bytesPerPixel)
+                pixels.put(data, row * tileRowSize, tileRowSize)
+            }
+        }
+        pixels.position(0)
+    }
+
+    private fun readPixels(data: Pixmap): ByteArray {
+        val pixels = data.pixels
+        val bytes = ByteArray(pixels.capacity())
+        pixels.position(0)
+        pixels.get(bytes)
+        pixels.position(0)
+        return bytes
+    }
+
+    private fun tileChanged(before: ByteArray, after: ByteArray, rowSize: Int, tileX: Int, tileY: Int, width: Int, height: Int): Boolean {
+        for (y in tileY until tileY + height) {
+            val start = y * rowSize + tileX * bytesPerPixel
+            for (i in start until start + width * bytesPerPixel) {
+                if (before[i] != after[i]) return true
+            }
+        }
+        return false
+    }
+
+    private fun copyTile(data: ByteArray, rowSize: Int, tileX: Int, tileY: Int, width: Int, height: Int): ByteArray {
+        val tileRowSize = width * bytesPerPixel
+        val tile = ByteArray(tileRowSize * height)
+        for (row in 0 until height) {
+            System.arraycopy(data, (tileY + row) * rowSize + tileX * bytesPerPixel, tile, row * tileRowSize, tileRowSize)
+        }
+        return tile
+    }
+
     override fun dispose() {
-        after!!.dispose()
-        before!!.dispose()
+        before = null
+        tiles.clear()
+    }
+
+    companion object {
+        const val TILE_SIZE = 32
     }
 
 }
@@ -2,7 +2,7 @@ package com.mbrlabs.mundus.editor.history.commands
 
 import com.badlogic.gdx.utils.Array
 import com.mbrlabs.mundus.commons.scene3d.components.TerrainComponent
-import com.mbrlabs.mundus.editor.history.Command
+import com.mbrlabs.mundus.editor.history.MemoryAwareCommand
 
 /**
  * Wrapper for multiple TerrainHeightCommands since Terrain Stitching modifies multiple terrains.
@@ -13,7 +13,7 @@ import com.mbrlabs.mundus.editor.history.Command
  * @author JamesTKhan
  * @version June 26, 2023
  */
-class TerrainStitchCommand(private var terrains: Array<TerrainComponent>) : Command {
+class TerrainStitchCommand(private var terrains: Array<TerrainComponent>) : MemoryAwareCommand {
     private var terrainHeightCommands = HashMap<TerrainComponent, TerrainHeightCommand>()
 
     init {
@@ -38,6 +38,14 @@ class TerrainStitchCommand(private var terrains: Array<TerrainComponent>) : Comm
         }
     }
 
+    override fun getMemorySize(): Long {
+        var size = 0L
+        for (command in terrainHeightCommands.values) {
+            size += command.getMemorySize()
+        }
+        return size
+    }
+
     override fun undo() {
         for (terrain in terrains) {
             val command = terrainHeightCommands[terrain]
@@ -17,14 +17,14 @@
 package com.mbrlabs.mundus.editor.history.commands
 
 import com.mbrlabs.mundus.commons.scene3d.components.TerrainComponent
-import com.mbrlabs.mundus.editor.history.Command
+import com.mbrlabs.mundus.editor.history.MemoryAwareCommand
 
 /**
  * A wrapper for modifying the height of multiple terrains.
  * @author JamesTKhan
  * @version June 30, 2023
  */
-class TerrainsHeightCommand : Command {
+class TerrainsHeightCommand : MemoryAwareCommand {
     private var terrainHeightCommands = HashMap<TerrainComponent, TerrainHeightCommand>()
 
     /**
@@ -54,6 +54,14 @@ class TerrainsHeightCommand : Command {
         }
     }
 
+    override fun getMemorySize(): Long {
+        var size = 0L
+        for (command in terrainHeightCommands.values) {
+            size += command.getMemorySize()
+        }
+        return size
+    }
+
     override fun undo() {
         for (terrain in terrainHeightCommands.keys) {
             val command = terrainHeightCommands[terrain]
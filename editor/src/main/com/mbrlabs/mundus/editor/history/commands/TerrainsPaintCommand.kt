@@ -3,13 +3,14 @@ package com.mbrlabs.mundus.editor.history.commands
 import com.mbrlabs.mundus.commons.terrain.SplatMap
 import com.mbrlabs.mundus.commons.terrain.Terrain
 import com.mbrlabs.mundus.editor.history.DisposableCommand
+import com.mbrlabs.mundus.editor.history.MemoryAwareCommand
 
 /**
  * A wrapper for modifying the splat map paint of multiple terrains.
  * @author JamesTKhan
  * @version June 30, 2023
  */
-class TerrainsPaintCommand : DisposableCommand {
+class TerrainsPaintCommand : DisposableCommand, MemoryAwareCommand {
     private var terrainPaintCommands = HashMap<Terrain, TerrainPaintCommand>()
 
     /**
@@ -36,6 +37,14 @@ class TerrainsPaintCommand : DisposableCommand {
         }
     }
 
+    override fun getMemorySize(): Long {
+        var size = 0L
+        for (command in terrainPaintCommands.values) {
+            size += command.getMemorySize()
+        }
+        return size
+    }
+
     override fun undo() {
         for (terrain in terrainPaintCommands.keys) {
             val command = terrainPaintCommands[terrain]
@@ -22,8 +22,6 @@ import com.badlogic.gdx.InputAdapter
 import com.badlogic.gdx.graphics.Camera
 import com.badlogic.gdx.math.Vector3
 import com.badlogic.gdx.utils.IntIntMap
-import com.mbrlabs.mundus.commons.scene3d.components.Component
-import com.mbrlabs.mundus.commons.scene3d.components.TerrainComponent
 import com.mbrlabs.mundus.commons.utils.Pools
 import com.mbrlabs.mundus.editor.Mundus
 import com.mbrlabs.mundus.editor.core.keymap.KeymapKey
@@ -127,7 +125,6 @@ class FreeCamController(private val projectManager: ProjectManager,
                 if (!newPitchAxis.hasOppositeDirection(oldPitchAxis)) {
                     camera!!.direction.set(newDirection)
                 }
-
             } else {
                 tmp.set(camera!!.direction).crs(camera!!.up).nor().scl(deltaX / velocity)
                 camera!!.position.add(tmp)
@@ -199,14 +196,11 @@ class FreeCamController(private val projectManager: ProjectManager,
         val terrainHoverExtensions = pluginManager.getExtensions(TerrainHoverExtension::class.java)
 
         if (terrainHoverExtensions.isNotEmpty()) {
-            val ray = currentScene.viewport.getPickRay(screenX.toFloat(), screenY.toFloat())
-
-            val go = goPicker.pick(currentScene, screenX, screenY)
-            val terrainComponent: TerrainComponent? = go?.findComponentByType(Component.Type.TERRAIN)
+            // Ray picking, so hovering does not render the scene to the picking buffer on every mouse move
+            val result = Pools.vector3Pool.obtain()
+            val terrainComponent = goPicker.pickTerrain(currentScene, screenX, screenY, true, result)
 
             if (terrainComponent != null) {
-                val result = terrainComponent.getRayIntersection(Pools.vector3Pool.obtain(), ray)
-
                 terrainHoverExtensions.forEach {
                     try {
                         it.hover(terrainComponent, result)
@@ -214,8 +208,6 @@ class FreeCamController(private val projectManager: ProjectManager,
                         Mundus.postEvent(LogEvent(LogType.ERROR, "Exception during plugin hoover event! $ex"))
                     }
                 }
-
-                Pools.vector3Pool.free(result)
             } else {
                 terrainHoverExtensions.forEach {
                     try {
@@ -225,6 +217,7 @@ class FreeCamController(private val projectManager: ProjectManager,
                     }
                 }
             }
+            Pools.vector3Pool.free(result)
         }
 
         return false
@@ -406,6 +406,7 @@ public class MundusGL20Interceptor extends MundusGLInterceptor {
     @Override
     public void glBufferData (int target, int size, Buffer data, int usage) {
         incrementCalls();
+        addBufferBytesUploaded(size);
         gl20.glBufferData(target, size, data, usage);
         check();
     }
@@ -413,6 +414,7 @@ public class MundusGL20Interceptor extends MundusGLInterceptor {
     @Override
     public void glBufferSubData (int target, int offset, int size, Buffer data) {
         incrementCalls();
+        addBufferBytesUploaded(size);
         gl20.glBufferSubData(target, offset, size, data);
         check();
     }
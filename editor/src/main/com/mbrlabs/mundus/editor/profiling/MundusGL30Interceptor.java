@@ -408,6 +408,7 @@ public class MundusGL30Interceptor extends MundusGLInterceptor implements GL30{
     @Override
     public void glBufferData (int target, int size, Buffer data, int usage) {
         incrementCalls();
+        addBufferBytesUploaded(size);
         gl30.glBufferData(target, size, data, usage);
         check();
     }
@@ -415,6 +416,7 @@ public class MundusGL30Interceptor extends MundusGLInterceptor implements GL30{
     @Override
     public void glBufferSubData (int target, int offset, int size, Buffer data) {
         incrementCalls();
+        addBufferBytesUploaded(size);
         gl30.glBufferSubData(target, offset, size, data);
         check();
     }
@@ -1692,6 +1694,7 @@ public class MundusGL30Interceptor extends MundusGLInterceptor implements GL30{
     public void glDrawArraysInstanced (int mode, int first, int count, int instanceCount) {
         putVertexCount(count);
         incrementDrawCalls();
+        addInstancedDrawCall(instanceCount);
         incrementCalls();
         gl30.glDrawArraysInstanced(mode, first, count, instanceCount);
         check();
@@ -1701,6 +1704,7 @@ public class MundusGL30Interceptor extends MundusGLInterceptor implements GL30{
     public void glDrawElementsInstanced (int mode, int count, int type, int indicesOffset, int instanceCount) {
         putVertexCount(count);
         incrementDrawCalls();
+        addInstancedDrawCall(instanceCount);
         incrementCalls();
         gl30.glDrawElementsInstanced(mode, count, type, indicesOffset, instanceCount);
         check();
@@ -13,6 +13,9 @@ import com.badlogic.gdx.graphics.profiling.GLProfiler;
  */
 public abstract class MundusGLInterceptor extends GLInterceptor {
     protected boolean isPaused = false;
+    protected long bufferBytesUploaded = 0;
+    protected int instancedDrawCalls = 0;
+    protected int instanceCount = 0;
 
     protected MundusGLInterceptor(GLProfiler profiler) {
         super(profiler);
@@ -50,4 +53,44 @@ public abstract class MundusGLInterceptor extends GLInterceptor {
         if (isPaused) return;
         vertexCount.put(count);
     }
+
+    protected void addBufferBytesUploaded(int bytes) {
+        if (isPaused) return;
+        bufferBytesUploaded += bytes;
+    }
+
+    protected void addInstancedDrawCall(int instances) {
+        if (isPaused) return;
+        instancedDrawCalls++;
+        instanceCount += instances;
+    }
+
+    /**
+     * @return the amount of bytes uploaded with glBufferData and glBufferSubData since the last reset
+     */
+    public long getBufferBytesUploaded() {
+        return bufferBytesUploaded;
+    }
+
+    /**
+     * @return the amount of instanced draw calls since the last reset, also included in the draw calls
+     */
+    public int getInstancedDrawCalls() {
+        return instancedDrawCalls;
+    }
+
+    /**
+     * @return the amount of instances drawn by instanced draw calls since the last reset
+     */
+    public int getInstanceCount() {
+        return instanceCount;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        bufferBytesUploaded = 0;
+        instancedDrawCalls = 0;
+        instanceCount = 0;
+    }
 }
@@ -130,6 +130,27 @@ public class MundusGLProfiler extends GLProfiler {
         return glInterceptor.getVertexCount();
     }
 
+    /**
+     *
+     * @return the total amount of bytes uploaded to GPU buffers since the last reset
+     */
+    public long getBufferBytesUploaded () {
+        return glInterceptor.getBufferBytesUploaded();
+    }
+
+    /**
+     * @return the amount of instanced draw calls made since the last reset
+     */
+    public int getInstancedDrawCalls () {
+        return glInterceptor.getInstancedDrawCalls();
+    }
+
+    /**
+     * @return the amount of instances drawn by instanced draw calls since the last reset
+     */
+    public int getInstanceCount () {
+        return glInterceptor.getInstanceCount();
+    }
 
     /** Will reset the statistical information which has been collected so far. This should be called after every frame.
      * Error listener is kept as it is. */
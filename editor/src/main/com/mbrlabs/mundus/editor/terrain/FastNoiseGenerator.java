@@ -1,13 +1,11 @@
 package com.mbrlabs.mundus.editor.terrain;
 
-import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Pixmap;
-import com.badlogic.gdx.math.Interpolation;
 import com.badlogic.gdx.math.MathUtils;
 import com.mbrlabs.mundus.commons.terrain.Terrain;
 import com.mbrlabs.mundus.editor.terrain.noise.modifiers.TerrainModifier;
-import com.mbrlabs.mundus.editor.terrain.noise.TerrainNoiseData;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 
 /**
@@ -29,62 +27,47 @@ public class FastNoiseGenerator extends Generator<FastNoiseGenerator> {
 
     @Override
     public void terraform() {
-        TerrainGenerator terrainGenerator = new TerrainGenerator(modifiers);
-        TerrainNoiseData terrainNoiseData = new TerrainNoiseData();
-
-        for (int i = 0; i < terrain.heightData.length; i++) {
-            terrainNoiseData.elevation = 0;
-
-            int x = i % terrain.vertexResolution;
-            int z = (int) Math.floor((double) i / terrain.vertexResolution);
-
-            float modX = offsetX * (terrain.vertexResolution - 1);
-            float modY = offsetZ * (terrain.vertexResolution - 1);
-
-            terrainGenerator.getNoise(terrainNoiseData, x + modX, z + modY);
+        terraform(terrain, offsetX, offsetZ);
+    }
 
-            // Major Elevation
-            float height = Interpolation.linear.apply(minHeight, maxHeight, terrainNoiseData.elevation);
+    /**
+     * Terraforms the given terrain at the given grid offsets without changing the state of this generator, so
+     * multiple terrains can be terraformed concurrently.
+     */
+    public void terraform(Terrain terrain, int offsetX, int offsetZ) {
+        float modX = offsetX * (terrain.vertexResolution - 1);
+        float modZ = offsetZ * (terrain.vertexResolution - 1);
 
-            terrain.heightData[z * terrain.vertexResolution + x] = height;
-        }
+        new ParallelTerrainGenerator(modifiers)
+                .generate(terrain.heightData, terrain.vertexResolution, modX, modZ, minHeight, maxHeight);
     }
 
+    /**
+     * Generates a greyscale preview of the noise, the pixel at x, z shows the elevation sampled at x, z.
+     */
     public Pixmap generateNoise(int width, int height) {
-        Pixmap pixmap = new Pixmap(width, height, Pixmap.Format.RGBA8888);
-        pixmap.setColor(Color.BLACK);
-        pixmap.fill();
+        float[] elevations = new float[width * height];
+        new ParallelTerrainGenerator(modifiers).generateElevations(elevations, width, height, 0, 0);
 
         float maxN = 0;
         float minN = 0;
-
-        TerrainGenerator terrainGenerator = new TerrainGenerator(modifiers);
-        TerrainNoiseData[][] noiseData = new TerrainNoiseData[width][height];
-
-        for (int x = 0; x < width; x++) {
-            for (int z = 0; z < height; z++) {
-
-                TerrainNoiseData terrainNoiseData = new TerrainNoiseData();
-                float noiseValue = terrainGenerator.getNoise(terrainNoiseData, x, z);
-                noiseData[x][z] = terrainNoiseData;
-
-                maxN = Math.max(maxN, noiseValue);
-                minN = Math.min(minN, noiseValue);
-            }
+        for (float elevation : elevations) {
+            float noiseValue = MathUtils.clamp(elevation, -1.0f, 1.0f);
+            maxN = Math.max(maxN, noiseValue);
+            minN = Math.min(minN, noiseValue);
         }
 
         float scale = 255f / (maxN - minN);
 
-        for (int x = 0; x < width; x++) {
-            for (int z = 0; z < height; z++) {
-                int value = Math.round(MathUtils.clamp((noiseData[x][z].elevation - minN) * scale, 0, 255));
-
-                value |= value << 8;
-                value |= value << 16;
-
-                pixmap.drawPixel(x, z, value);
-            }
+        // Write the pixels directly, drawing them one by one is far too slow for large previews
+        Pixmap pixmap = new Pixmap(width, height, Pixmap.Format.RGBA8888);
+        ByteBuffer pixels = pixmap.getPixels();
+        pixels.clear();
+        for (float elevation : elevations) {
+            byte value = (byte) Math.round(MathUtils.clamp((elevation - minN) * scale, 0, 255));
+            pixels.put(value).put(value).put(value).put((byte) 255);
         }
+        pixels.flip();
 
         //PixmapIO.writePNG(Gdx.files.local("test.png"), pixmap);
         return pixmap;
@@ -20,6 +20,8 @@ import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.mbrlabs.mundus.commons.scene3d.components.TerrainComponent;
 import com.mbrlabs.mundus.editor.Mundus;
+import com.mbrlabs.mundus.editor.terrain.filter.BlurFilter;
+import com.mbrlabs.mundus.editor.terrain.heightfield.HeightFieldSource;
 import com.mbrlabs.mundus.editorcommons.events.TerrainVerticesChangedEvent;
 
 import java.nio.ByteBuffer;
@@ -33,9 +35,10 @@ public class HeightMapGenerator extends Generator<HeightMapGenerator> {
 
     private final TerrainComponent terrainComponent;
 
-    private float[] heightMapData;
-    private int imageWidth;
-    private int imageHeight;
+    private HeightFieldSource source;
+    private boolean flip;
+    private float smoothingStrength;
+    private int smoothingPasses;
 
     HeightMapGenerator(final TerrainComponent terrainComponent) {
         super(terrainComponent.getTerrainAsset().getTerrain());
@@ -43,35 +46,54 @@ public class HeightMapGenerator extends Generator<HeightMapGenerator> {
     }
 
     /**
-     * The entire height map data from the texture.
-     * @param map the height map data
+     * The height field to read this chunk from. Only the part of it covered by the chunk is read.
+     * @param source the height field
      */
-    public HeightMapGenerator map(float[] map) {
-        this.heightMapData = map;
+    public HeightMapGenerator source(HeightFieldSource source) {
+        this.source = source;
         return this;
     }
 
-    public HeightMapGenerator imageWidth(int imageWidth) {
-        this.imageWidth = imageWidth;
+    /**
+     * Flips the height field vertically, so the bottom left corner of the image is 0,0 on the terrain.
+     */
+    public HeightMapGenerator flip(boolean flip) {
+        this.flip = flip;
         return this;
     }
 
-    public HeightMapGenerator imageHeight(int imageHeight) {
-        this.imageHeight = imageHeight;
+    /**
+     * Smooths the heights, see {@link #smoothHeightmap(float[], int, int, float, int)}.
+     */
+    public HeightMapGenerator smoothing(float strength, int passes) {
+        this.smoothingStrength = strength;
+        this.smoothingPasses = passes;
         return this;
     }
 
     @Override
     public void terraform() {
-        int idx = 0;
+        final int resolution = terrain.vertexResolution;
+        final int originX = offsetX * (resolution - 1);
+        final int originZ = offsetZ * (resolution - 1);
+
+        // Read only the part of the height field covered by this terrain, with a margin for the smoothing
+        final int margin = Math.max(0, smoothingPasses);
+        final int tileX = Math.max(0, originX - margin);
+        final int tileZ = Math.max(0, originZ - margin);
+        final int tileWidth = Math.min(source.getWidth(), originX + resolution + margin) - tileX;
+        final int tileDepth = Math.min(source.getHeight(), originZ + resolution + margin) - tileZ;
+        if (tileWidth <= 0 || tileDepth <= 0) throw new GdxRuntimeException("Terrain lies outside of the heightmap");
 
-        // Copy only a part of the height map data to this terrain using the offsets
-        for (int i = 0; i < terrain.vertexResolution; i++) {
-            for (int j = 0; j < terrain.vertexResolution; j++) {
-                int xi = offsetX * (terrain.vertexResolution - 1) + i;
-                int zj = offsetZ * (terrain.vertexResolution - 1) + j;
-                int heightDataIndex = xi + zj * imageWidth;
-                float height = heightMapData[heightDataIndex];
+        final float[] tile = readTile(tileX, tileZ, tileWidth, tileDepth);
+        smoothHeightmap(tile, tileWidth, tileDepth, smoothingStrength, smoothingPasses);
+
+        int idx = 0;
+        for (int i = 0; i < resolution; i++) {
+            for (int j = 0; j < resolution; j++) {
+                int xi = Math.min(originX + i - tileX, tileWidth - 1);
+                int zj = Math.min(originZ + j - tileZ, tileDepth - 1);
+                float height = tile[xi + zj * tileWidth];
 
                 terrain.heightData[idx] = (height * (maxHeight - minHeight)) + minHeight;  // map it to the desired range
                 idx++;
@@ -81,6 +103,24 @@ public class HeightMapGenerator extends Generator<HeightMapGenerator> {
         Mundus.INSTANCE.postEvent(new TerrainVerticesChangedEvent(terrainComponent));
     }
 
+    private float[] readTile(int x, int z, int width, int depth) {
+        final float[] tile = new float[width * depth];
+        if (!flip) {
+            source.read(x, z, width, depth, tile);
+            return tile;
+        }
+
+        // The flipped rows are the mirrored block of the source in reverse order
+        source.read(x, source.getHeight() - z - depth, width, depth, tile);
+        final float[] row = new float[width];
+        for (int top = 0, bottom = depth - 1; top < bottom; top++, bottom--) {
+            System.arraycopy(tile, top * width, row, 0, width);
+            System.arraycopy(tile, bottom * width, tile, top * width, width);
+            System.arraycopy(row, 0, tile, bottom * width, width);
+        }
+        return tile;
+    }
+
     // Simply creates an array containing only all the red components of the
     // heightData.
     public static float[] heightColorsToMap(final ByteBuffer data, final Pixmap.Format format, int width, int height) {
@@ -110,42 +150,20 @@ public class HeightMapGenerator extends Generator<HeightMapGenerator> {
     }
 
     /**
-     * Smooths a heightmap by averaging the heights of each vertex and its neighbors.
+     * Smooths a heightmap in place by averaging the heights of each vertex and its neighbors.
      * @param heightmap the heightmap to smooth
      * @param width the width of the heightmap
      * @param height the height of the heightmap
      * @param smoothingStrength should be a number between 0 (no smoothing) and 1 (maximum smoothing)
-     * @return the smoothed heightmap
+     * @param passes the number of smoothing passes
+     * @return the smoothed heightmap, which is the given array
      */
-    public static float[] smoothHeightmap(float[] heightmap, int width, int height, float smoothingStrength) {
-        float[] result = new float[width * height];
-        for(int y = 0; y < height; y++) {
-            for(int x = 0; x < width; x++) {
-                float totalHeight = 0;
-                int count = 0;
-
-                // sum heights of current vertex and its neighbors
-                for(int dy = -1; dy <= 1; dy++) {
-                    for(int dx = -1; dx <= 1; dx++) {
-                        int nx = x + dx;
-                        int ny = y + dy;
-                        if(nx >= 0 && nx < width && ny >= 0 && ny < height) {
-                            totalHeight += heightmap[ny * width + nx];
-                            count++;
-                        }
-                    }
-                }
-
-                // calculate the average height of the neighborhood
-                float avgHeight = totalHeight / count;
-
-                // get the original height of the point
-                float origHeight = heightmap[y * width + x];
-
-                // set smoothed height using a weighted average of the original height and the neighborhood average
-                result[y * width + x] = origHeight * (1 - smoothingStrength) + avgHeight * smoothingStrength;
-            }
-        }
-        return result;
+    public static float[] smoothHeightmap(float[] heightmap, int width, int height, float smoothingStrength, int passes) {
+        if (passes <= 0) return heightmap;
+
+        BlurFilter filter = new BlurFilter(1, passes);
+        filter.setStrength(smoothingStrength);
+        filter.apply(heightmap, width, height);
+        return heightmap;
     }
 }
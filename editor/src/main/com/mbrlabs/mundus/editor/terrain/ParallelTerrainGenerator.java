@@ -0,0 +1,182 @@
+package com.mbrlabs.mundus.editor.terrain;
+
+import com.mbrlabs.mundus.editor.terrain.noise.modifiers.FilterModifier;
+import com.mbrlabs.mundus.editor.terrain.noise.modifiers.TerrainModifier;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Generates terrain heights from a list of modifiers in parallel. The rows of the height grid are split into blocks
+ * that are evaluated on a {@link ForkJoinPool}, each block passing its rows to
+ * {@link TerrainModifier#modifyGrid(float[], int, float, float, int, int)} one row at a time.
+ * <p>
+ * Without {@link FilterModifier}s the generated heights are equal to evaluating the modifiers through
+ * {@link TerrainGenerator} vertex by vertex.
+ *
+ * @version October 18, 2026
+ */
+public class ParallelTerrainGenerator {
+    /** Number of rows below which a block is no longer split */
+    public static final int DEFAULT_ROWS_PER_BLOCK = 16;
+
+    private final TerrainModifier[] modifiers;
+    private final ForkJoinPool pool;
+    private final int rowsPerBlock;
+
+    /**
+     * Creates a generator using the common pool.
+     *
+     * @param modifiers the modifiers to apply, copied so later changes to the list do not affect this generator
+     */
+    public ParallelTerrainGenerator(List<TerrainModifier> modifiers) {
+        this(modifiers, ForkJoinPool.commonPool(), DEFAULT_ROWS_PER_BLOCK);
+    }
+
+    /**
+     * @param modifiers the modifiers to apply, copied so later changes to the list do not affect this generator
+     * @param pool the pool to evaluate the row blocks on
+     * @param rowsPerBlock the number of rows below which a block is no longer split
+     */
+    public ParallelTerrainGenerator(List<TerrainModifier> modifiers, ForkJoinPool pool, int rowsPerBlock) {
+        if (rowsPerBlock < 1) throw new IllegalArgumentException("rowsPerBlock must be at least 1");
+        this.modifiers = modifiers.toArray(new TerrainModifier[0]);
+        this.pool = pool;
+        this.rowsPerBlock = rowsPerBlock;
+    }
+
+    /**
+     * Fills a square height grid. The vertex at x, z samples the modifiers at originX + x, originZ + z and its
+     * elevation is mapped linearly from 0..1 to minHeight..maxHeight.
+     *
+     * @param heights the heights to fill, row major with resolution * resolution entries
+     * @param resolution the vertex resolution of the grid
+     * @param originX the noise x coordinate of the first column
+     * @param originZ the noise z coordinate of the first row
+     * @param minHeight the height of elevation 0
+     * @param maxHeight the height of elevation 1
+     */
+    public void generate(float[] heights, int resolution, float originX, float originZ, float minHeight,
+                         float maxHeight) {
+        run(heights, resolution, resolution, originX, originZ, true, minHeight, maxHeight);
+    }
+
+    /**
+     * Fills a grid with the raw elevations of the modifiers, starting from 0. The point at x, z samples the
+     * modifiers at originX + x, originZ + z.
+     *
+     * @param elevations the elevations to fill, row major with width * height entries
+     * @param width the number of columns
+     * @param height the number of rows
+     * @param originX the noise x coordinate of the first column
+     * @param originZ the noise z coordinate of the first row
+     */
+    public void generateElevations(float[] elevations, int width, int height, float originX, float originZ) {
+        run(elevations, width, height, originX, originZ, false, 0, 0);
+    }
+
+    private void run(float[] target, int width, int height, float originX, float originZ, boolean mapHeights,
+                     float minHeight, float maxHeight) {
+        if (target.length < width * height) {
+            throw new IllegalArgumentException("Target array is smaller than width * height");
+        }
+
+        int margin = 0;
+        for (TerrainModifier modifier : modifiers) {
+            if (modifier instanceof FilterModifier) {
+                margin += ((FilterModifier) modifier).getFilter().getReach();
+            }
+        }
+
+        if (margin == 0) {
+            pool.invoke(new RowBlock(target, width, originX, originZ, 0, modifiers.length, 0, height));
+        } else {
+            generateFiltered(target, width, height, originX, originZ, margin);
+        }
+
+        if (mapHeights) {
+            for (int i = 0; i < width * height; i++) {
+                target[i] = minHeight + (maxHeight - minHeight) * target[i];
+            }
+        }
+    }
+
+    /**
+     * Filters need the points around the grid as well, so a grid extended by the margin is generated and filtered
+     * as a whole, then its center is copied out. This keeps neighbouring chunks seamless.
+     */
+    private void generateFiltered(float[] target, int width, int height, float originX, float originZ, int margin) {
+        final int extendedWidth = width + 2 * margin;
+        final int extendedHeight = height + 2 * margin;
+        final float[] extended = new float[extendedWidth * extendedHeight];
+        final float extendedX = originX - margin;
+        final float extendedZ = originZ - margin;
+
+        // Point modifiers between two filters are evaluated in one parallel pass
+        int first = 0;
+        for (int i = 0; i <= modifiers.length; i++) {
+            if (i < modifiers.length && !(modifiers[i] instanceof FilterModifier)) continue;
+
+            if (i > first) {
+                pool.invoke(new RowBlock(extended, extendedWidth, extendedX, extendedZ, first, i, 0, extendedHeight));
+            }
+            if (i < modifiers.length) {
+                ((FilterModifier) modifiers[i]).filter(extended, extendedWidth, extendedHeight);
+            }
+            first = i + 1;
+        }
+
+        for (int z = 0; z < height; z++) {
+            System.arraycopy(extended, (z + margin) * extendedWidth + margin, target, z * width, width);
+        }
+    }
+
+    private final class RowBlock extends RecursiveAction {
+        private final float[] target;
+        private final int width;
+        private final float originX;
+        private final float originZ;
+        private final int fromModifier;
+        private final int toModifier;
+        private final int fromRow;
+        private final int toRow;
+
+        RowBlock(float[] target, int width, float originX, float originZ, int fromModifier, int toModifier,
+                 int fromRow, int toRow) {
+            this.target = target;
+            this.width = width;
+            this.originX = originX;
+            this.originZ = originZ;
+            this.fromModifier = fromModifier;
+            this.toModifier = toModifier;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+        }
+
+        private RowBlock split(int from, int to) {
+            return new RowBlock(target, width, originX, originZ, fromModifier, toModifier, from, to);
+        }
+
+        @Override
+        protected void compute() {
+            if (toRow - fromRow > rowsPerBlock) {
+                final int mid = (fromRow + toRow) >>> 1;
+                invokeAll(split(fromRow, mid), split(mid, toRow));
+                return;
+            }
+
+            for (int z = fromRow; z < toRow; z++) {
+                final int rowOffset = z * width;
+                if (fromModifier == 0) {
+                    Arrays.fill(target, rowOffset, rowOffset + width, 0f);
+                }
+
+                for (int i = fromModifier; i < toModifier; i++) {
+                    modifiers[i].modifyGrid(target, rowOffset, originX, z + originZ, width, 1);
+                }
+            }
+        }
+    }
+}
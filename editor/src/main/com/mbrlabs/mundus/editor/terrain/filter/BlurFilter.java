@@ -0,0 +1,149 @@
+package com.mbrlabs.mundus.editor.terrain.filter;
+
+/**
+ * Separable box blur with running sums, so the cost per height does not depend on the radius. Points near the
+ * border average over the taps inside the grid. Multiple passes approximate a gaussian blur, see
+ * {@link #gaussian(float)}.
+ *
+ * @version October 18, 2026
+ */
+public class BlurFilter extends HeightMapFilter {
+
+    private int radius;
+    private int passes;
+    private float strength = 1f;
+
+    /**
+     * @param radius the radius of the box in cells
+     * @param passes the number of times the box blur is applied
+     */
+    public BlurFilter(int radius, int passes) {
+        setRadius(radius);
+        setPasses(passes);
+    }
+
+    /**
+     * Creates a filter approximating a gaussian blur with three box blur passes.
+     *
+     * @param sigma the standard deviation of the gaussian in cells
+     */
+    public static BlurFilter gaussian(float sigma) {
+        final int passes = 3;
+        // Width of a box whose repeated application has the given variance
+        final float boxWidth = (float) Math.sqrt(12f * sigma * sigma / passes + 1f);
+        return new BlurFilter(Math.max(1, Math.round((boxWidth - 1f) / 2f)), passes);
+    }
+
+    @Override
+    public void apply(float[] heights, int width, int height) {
+        if (radius == 0 || strength == 0f) return;
+
+        final float[] scratch = new float[width * height];
+        for (int pass = 0; pass < passes; pass++) {
+            forEachStripe(height, (fromRow, toRow) -> blurRows(heights, scratch, width, fromRow, toRow));
+            forEachStripe(height, (fromRow, toRow) -> blurColumns(scratch, heights, width, height, fromRow, toRow));
+        }
+    }
+
+    private void blurRows(float[] src, float[] dst, int width, int fromRow, int toRow) {
+        final int last = Math.min(radius, width - 1);
+
+        for (int z = fromRow; z < toRow; z++) {
+            final int row = z * width;
+
+            double sum = 0;
+            for (int x = 0; x <= last; x++) {
+                sum += src[row + x];
+            }
+            int count = last + 1;
+
+            for (int x = 0; x < width; x++) {
+                dst[row + x] = (float) (sum / count);
+
+                final int add = x + radius + 1;
+                if (add < width) {
+                    sum += src[row + add];
+                    count++;
+                }
+                final int remove = x - radius;
+                if (remove >= 0) {
+                    sum -= src[row + remove];
+                    count--;
+                }
+            }
+        }
+    }
+
+    private void blurColumns(float[] src, float[] dst, int width, int height, int fromRow, int toRow) {
+        final double[] sums = new double[width];
+
+        // Window of the first row of the stripe
+        final int first = Math.max(0, fromRow - radius);
+        final int last = Math.min(height - 1, fromRow + radius);
+        for (int z = first; z <= last; z++) {
+            final int row = z * width;
+            for (int x = 0; x < width; x++) {
+                sums[x] += src[row + x];
+            }
+        }
+        int count = last - first + 1;
+
+        for (int z = fromRow; z < toRow; z++) {
+            final int row = z * width;
+            for (int x = 0; x < width; x++) {
+                final float original = dst[row + x];
+                final float blurred = (float) (sums[x] / count);
+                dst[row + x] = original + (blurred - original) * strength;
+            }
+
+            final int add = z + radius + 1;
+            if (add < height) {
+                final int addRow = add * width;
+                for (int x = 0; x < width; x++) {
+                    sums[x] += src[addRow + x];
+                }
+                count++;
+            }
+            final int remove = z - radius;
+            if (remove >= 0) {
+                final int removeRow = remove * width;
+                for (int x = 0; x < width; x++) {
+                    sums[x] -= src[removeRow + x];
+                }
+                count--;
+            }
+        }
+    }
+
+    @Override
+    public int getReach() {
+        return radius * passes;
+    }
+
+    public int getRadius() {
+        return radius;
+    }
+
+    public void setRadius(int radius) {
+        this.radius = Math.max(0, radius);
+    }
+
+    public int getPasses() {
+        return passes;
+    }
+
+    public void setPasses(int passes) {
+        this.passes = Math.max(1, passes);
+    }
+
+    public float getStrength() {
+        return strength;
+    }
+
+    /**
+     * @param strength how far each pass moves the heights towards their blurred value, 0 to 1
+     */
+    public void setStrength(float strength) {
+        this.strength = Math.max(0f, Math.min(1f, strength));
+    }
+}
@@ -0,0 +1,73 @@
+package com.mbrlabs.mundus.editor.terrain.filter;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A filter modifying a grid of heights in place, where each height depends on its neighbours. Filters work in
+ * passes, each pass reading one buffer and writing another, with the rows of a pass split into stripes that are
+ * processed in parallel on the common {@link ForkJoinPool}.
+ * <p>
+ * Filters keep no state between calls, so the same filter can be applied to multiple grids at once.
+ *
+ * @version October 18, 2026
+ */
+public abstract class HeightMapFilter {
+    /** Number of rows below which a stripe is no longer split */
+    private static final int ROWS_PER_STRIPE = 32;
+
+    /**
+     * Work done on the rows fromRow (inclusive) to toRow (exclusive) of a pass.
+     */
+    protected interface StripeAction {
+        void apply(int fromRow, int toRow);
+    }
+
+    /**
+     * Filters the heights in place.
+     *
+     * @param heights the heights, row major with width * height entries
+     * @param width the number of columns
+     * @param height the number of rows
+     */
+    public abstract void apply(float[] heights, int width, int height);
+
+    /**
+     * @return the distance in cells over which a height can affect other heights. Filtering a region gives the same
+     * result as filtering the whole grid for all points at least this far from the border of the region.
+     */
+    public abstract int getReach();
+
+    /**
+     * Runs one pass over all rows, returning once all stripes are done.
+     */
+    protected void forEachStripe(int height, StripeAction action) {
+        if (height <= ROWS_PER_STRIPE) {
+            action.apply(0, height);
+        } else {
+            ForkJoinPool.commonPool().invoke(new Stripe(action, 0, height));
+        }
+    }
+
+    private static final class Stripe extends RecursiveAction {
+        private final StripeAction action;
+        private final int fromRow;
+        private final int toRow;
+
+        Stripe(StripeAction action, int fromRow, int toRow) {
+            this.action = action;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRow - fromRow > ROWS_PER_STRIPE) {
+                final int mid = (fromRow + toRow) >>> 1;
+                invokeAll(new Stripe(action, fromRow, mid), new Stripe(action, mid, toRow));
+            } else {
+                action.apply(fromRow, toRow);
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.mbrlabs.mundus.editor.terrain.filter;
+
+/**
+ * Grid based hydraulic erosion. Each iteration rain falls on every point and dissolves some of the ground, the water
+ * flows towards lower neighbours carrying its sediment along, then part of it evaporates and the sediment it can no
+ * longer carry is deposited. Flow between two neighbours is computed the same from both sides, so each point can be
+ * updated from its neighbours alone and the total amount of material is preserved.
+ *
+ * @version October 18, 2026
+ */
+public class HydraulicErosionFilter extends HeightMapFilter {
+
+    private int iterations;
+    private float rain;
+    private float solubility;
+    private float evaporation;
+    private float capacity;
+
+    /**
+     * Creates a filter with commonly used rates.
+     *
+     * @param iterations the number of iterations
+     */
+    public HydraulicErosionFilter(int iterations) {
+        this(iterations, 0.01f, 0.01f, 0.5f, 0.01f);
+    }
+
+    /**
+     * @param iterations the number of iterations
+     * @param rain the amount of water added to every point per iteration
+     * @param solubility the amount of ground dissolved per unit of water per iteration
+     * @param evaporation the fraction of water evaporating per iteration, 0 to 1
+     * @param capacity the amount of sediment a unit of water can carry
+     */
+    public HydraulicErosionFilter(int iterations, float rain, float solubility, float evaporation, float capacity) {
+        setIterations(iterations);
+        setRain(rain);
+        setSolubility(solubility);
+        setEvaporation(evaporation);
+        setCapacity(capacity);
+    }
+
+    @Override
+    public void apply(float[] heights, int width, int height) {
+        if (iterations == 0) return;
+
+        final int size = width * height;
+        float[] ground = heights;
+        float[] water = new float[size];
+        float[] sediment = new float[size];
+        float[] nextGround = new float[size];
+        float[] nextWater = new float[size];
+        float[] nextSediment = new float[size];
+
+        for (int i = 0; i < iterations; i++) {
+            final float[] g = ground;
+            final float[] w = water;
+            final float[] s = sediment;
+            final float[] ng = nextGround;
+            final float[] nw = nextWater;
+            final float[] ns = nextSediment;
+            forEachStripe(height, (fromRow, toRow) -> erodeRows(g, w, s, ng, nw, ns, width, height, fromRow, toRow));
+
+            nextGround = ground;
+            nextWater = water;
+            nextSediment = sediment;
+            ground = ng;
+            water = nw;
+            sediment = ns;
+        }
+
+        // Whatever is still carried settles where the water dries up
+        for (int i = 0; i < size; i++) {
+            heights[i] = ground[i] + sediment[i];
+        }
+    }
+
+    private void erodeRows(float[] ground, float[] water, float[] sediment, float[] nextGround, float[] nextWater,
+                           float[] nextSediment, int width, int height, int fromRow, int toRow) {
+        for (int z = fromRow; z < toRow; z++) {
+            for (int x = 0; x < width; x++) {
+                final int index = z * width + x;
+
+                // Rain and dissolving are local, so they are applied to the neighbours as they are read
+                final float w = water[index] + rain;
+                final float g = ground[index] - solubility * w;
+                final float s = sediment[index] + solubility * w;
+                final float level = g + w;
+
+                float waterChange = 0;
+                float sedimentChange = 0;
+                for (int n = 0; n < 4; n++) {
+                    final int neighbour;
+                    if (n == 0) {
+                        if (x == 0) continue;
+                        neighbour = index - 1;
+                    } else if (n == 1) {
+                        if (x == width - 1) continue;
+                        neighbour = index + 1;
+                    } else if (n == 2) {
+                        if (z == 0) continue;
+                        neighbour = index - width;
+                    } else {
+                        if (z == height - 1) continue;
+                        neighbour = index + width;
+                    }
+
+                    final float nw = water[neighbour] + rain;
+                    final float ng = ground[neighbour] - solubility * nw;
+                    final float difference = ng + nw - level;
+
+                    // The higher point gives up to half the difference, split over its four possible neighbours
+                    if (difference > 0 && nw > 0) {
+                        final float flow = Math.min(nw, difference * 0.5f) * 0.25f;
+                        final float ns = sediment[neighbour] + solubility * nw;
+                        waterChange += flow;
+                        sedimentChange += ns * flow / nw;
+                    } else if (difference < 0 && w > 0) {
+                        final float flow = Math.min(w, -difference * 0.5f) * 0.25f;
+                        waterChange -= flow;
+                        sedimentChange -= s * flow / w;
+                    }
+                }
+
+                final float newWater = (w + waterChange) * (1f - evaporation);
+                float newSediment = s + sedimentChange;
+                float newGround = g;
+
+                final float maxSediment = capacity * newWater;
+                if (newSediment > maxSediment) {
+                    newGround += newSediment - maxSediment;
+                    newSediment = maxSediment;
+                }
+
+                nextGround[index] = newGround;
+                nextWater[index] = newWater;
+                nextSediment[index] = newSediment;
+            }
+        }
+    }
+
+    @Override
+    public int getReach() {
+        return iterations;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = Math.max(0, iterations);
+    }
+
+    public float getRain() {
+        return rain;
+    }
+
+    public void setRain(float rain) {
+        this.rain = Math.max(0f, rain);
+    }
+
+    public float getSolubility() {
+        return solubility;
+    }
+
+    public void setSolubility(float solubility) {
+        this.solubility = Math.max(0f, solubility);
+    }
+
+    public float getEvaporation() {
+        return evaporation;
+    }
+
+    public void setEvaporation(float evaporation) {
+        this.evaporation = Math.max(0f, Math.min(1f, evaporation));
+    }
+
+    public float getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(float capacity) {
+        this.capacity = Math.max(0f, capacity);
+    }
+}
@@ -0,0 +1,103 @@
+package com.mbrlabs.mundus.editor.terrain.filter;
+
+/**
+ * Thermal erosion, where material slides down wherever the height difference between two neighbouring points is
+ * larger than the talus. Every pair of neighbours exchanges material symmetrically, so each point can be updated
+ * from its neighbours alone and the total amount of material is preserved.
+ *
+ * @version October 18, 2026
+ */
+public class ThermalErosionFilter extends HeightMapFilter {
+
+    private float talus;
+    private float strength;
+    private int iterations;
+
+    /**
+     * @param talus the largest height difference between two neighbouring points that is stable
+     * @param strength the fraction of the excess height difference that slides per iteration, 0 to 1
+     * @param iterations the number of iterations
+     */
+    public ThermalErosionFilter(float talus, float strength, int iterations) {
+        setTalus(talus);
+        setStrength(strength);
+        setIterations(iterations);
+    }
+
+    @Override
+    public void apply(float[] heights, int width, int height) {
+        if (iterations == 0 || strength == 0f) return;
+
+        // Each point has up to four neighbours, so the exchange is scaled to never overshoot
+        final float rate = strength * 0.125f;
+
+        float[] src = heights;
+        float[] dst = new float[width * height];
+        for (int i = 0; i < iterations; i++) {
+            final float[] read = src;
+            final float[] write = dst;
+            forEachStripe(height, (fromRow, toRow) -> erodeRows(read, write, width, height, rate, fromRow, toRow));
+            dst = src;
+            src = write;
+        }
+
+        if (src != heights) {
+            System.arraycopy(src, 0, heights, 0, width * height);
+        }
+    }
+
+    private void erodeRows(float[] src, float[] dst, int width, int height, float rate, int fromRow, int toRow) {
+        for (int z = fromRow; z < toRow; z++) {
+            for (int x = 0; x < width; x++) {
+                final int index = z * width + x;
+                final float center = src[index];
+
+                float change = 0;
+                if (x > 0) change += exchange(src[index - 1] - center);
+                if (x < width - 1) change += exchange(src[index + 1] - center);
+                if (z > 0) change += exchange(src[index - width] - center);
+                if (z < height - 1) change += exchange(src[index + width] - center);
+
+                dst[index] = center + change * rate;
+            }
+        }
+    }
+
+    /**
+     * The excess of a height difference over the talus, positive when the neighbour is higher.
+     */
+    private float exchange(float difference) {
+        if (difference > talus) return difference - talus;
+        if (difference < -talus) return difference + talus;
+        return 0;
+    }
+
+    @Override
+    public int getReach() {
+        return iterations;
+    }
+
+    public float getTalus() {
+        return talus;
+    }
+
+    public void setTalus(float talus) {
+        this.talus = Math.max(0f, talus);
+    }
+
+    public float getStrength() {
+        return strength;
+    }
+
+    public void setStrength(float strength) {
+        this.strength = Math.max(0f, Math.min(1f, strength));
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = Math.max(0, iterations);
+    }
+}
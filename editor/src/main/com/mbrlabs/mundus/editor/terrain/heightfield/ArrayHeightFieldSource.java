@@ -0,0 +1,47 @@
+package com.mbrlabs.mundus.editor.terrain.heightfield;
+
+/**
+ * A height field held in memory, for image formats that can only be decoded as a whole.
+ *
+ * @version October 18, 2026
+ */
+public class ArrayHeightFieldSource implements HeightFieldSource {
+
+    private final float[] heights;
+    private final int width;
+    private final int height;
+
+    /**
+     * @param heights the heights normalized to 0..1, row major
+     * @param width the number of columns
+     * @param height the number of rows
+     */
+    public ArrayHeightFieldSource(float[] heights, int width, int height) {
+        if (heights.length < width * height) throw new IllegalArgumentException("Height array is too small");
+        this.heights = heights;
+        this.width = width;
+        this.height = height;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public void read(int x, int y, int width, int height, float[] out) {
+        for (int row = 0; row < height; row++) {
+            System.arraycopy(heights, (y + row) * this.width + x, out, row * width, width);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        // Nothing to release
+    }
+}
@@ -0,0 +1,56 @@
+package com.mbrlabs.mundus.editor.terrain.heightfield;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.mbrlabs.mundus.editor.terrain.HeightMapGenerator;
+
+/**
+ * Opens heightmaps for terrain generation. RAW files and 8 or 16 bit PNG images are streamed from disk, all other
+ * images are decoded as a whole.
+ *
+ * @version October 18, 2026
+ */
+public final class HeightFieldImporter {
+
+    public static final String FORMAT_RAW = "raw";
+    public static final String FORMAT_R16 = "r16";
+    public static final String FORMAT_R32 = "r32";
+
+    private HeightFieldImporter() {
+    }
+
+    /**
+     * @return whether the file is a headerless height field
+     */
+    public static boolean isRaw(String filename) {
+        final String fn = filename.toLowerCase();
+        return fn.endsWith(FORMAT_RAW) || fn.endsWith(FORMAT_R16) || fn.endsWith(FORMAT_R32);
+    }
+
+    /**
+     * Opens the heightmap. The returned source must be disposed once the terrain is generated.
+     *
+     * @param file a RAW (.raw, .r16 as unsigned 16 bit, .r32 as 32 bit float, square and little endian) or image file
+     */
+    public static HeightFieldSource open(FileHandle file) {
+        final String name = file.name().toLowerCase();
+        if (name.endsWith(FORMAT_R32)) {
+            return RawHeightFieldSource.open(file.file(), RawHeightFieldSource.Format.R32);
+        }
+        if (name.endsWith(FORMAT_RAW) || name.endsWith(FORMAT_R16)) {
+            return RawHeightFieldSource.open(file.file(), RawHeightFieldSource.Format.R16);
+        }
+        if (name.endsWith("png") && PngHeightFieldDecoder.canDecode(file.file())) {
+            return PngHeightFieldDecoder.decode(file.file());
+        }
+
+        final Pixmap pixmap = new Pixmap(file);
+        try {
+            final float[] heights = HeightMapGenerator.heightColorsToMap(pixmap.getPixels(), pixmap.getFormat(),
+                    pixmap.getWidth(), pixmap.getHeight());
+            return new ArrayHeightFieldSource(heights, pixmap.getWidth(), pixmap.getHeight());
+        } finally {
+            pixmap.dispose();
+        }
+    }
+}
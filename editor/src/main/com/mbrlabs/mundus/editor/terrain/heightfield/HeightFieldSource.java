@@ -0,0 +1,28 @@
+package com.mbrlabs.mundus.editor.terrain.heightfield;
+
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * A grid of heights that is read in rectangles, so terrain chunks can be filled without holding the whole height
+ * field in memory.
+ *
+ * @version October 18, 2026
+ */
+public interface HeightFieldSource extends Disposable {
+
+    int getWidth();
+
+    int getHeight();
+
+    /**
+     * Reads the heights of a rectangle, normalized to 0..1, row by row. The rectangle must lie within the height
+     * field. May be called from multiple threads at once.
+     *
+     * @param x the first column
+     * @param y the first row
+     * @param width the number of columns
+     * @param height the number of rows
+     * @param out the array to write width * height heights to
+     */
+    void read(int x, int y, int width, int height, float[] out);
+}
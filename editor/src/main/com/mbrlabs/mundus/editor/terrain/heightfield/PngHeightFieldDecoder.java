@@ -0,0 +1,274 @@
+package com.mbrlabs.mundus.editor.terrain.heightfield;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Decodes a PNG height field one row at a time into a temporary 16 bit RAW file, so arbitrarily large images never
+ * have to be held in memory. Supports non interlaced greyscale, greyscale alpha, RGB and RGBA images with 8 or 16
+ * bits per channel. The height is taken from the grey or red channel, 8 bit values are expanded to 16 bit.
+ *
+ * @version October 18, 2026
+ */
+public final class PngHeightFieldDecoder {
+
+    private static final byte[] SIGNATURE = {(byte) 137, 80, 78, 71, 13, 10, 26, 10};
+    private static final int IHDR = 0x49484452;
+    private static final int IDAT = 0x49444154;
+
+    private static final int COLOR_GREY = 0;
+    private static final int COLOR_RGB = 2;
+    private static final int COLOR_GREY_ALPHA = 4;
+    private static final int COLOR_RGBA = 6;
+
+    private PngHeightFieldDecoder() {
+    }
+
+    /**
+     * @return whether the image can be decoded, false for palette or interlaced images
+     */
+    public static boolean canDecode(File png) {
+        try (DataInputStream in = open(png)) {
+            return readHeader(in).isSupported();
+        } catch (IOException | GdxRuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Decodes the image into a temporary file, which is deleted when the returned source is disposed.
+     */
+    public static RawHeightFieldSource decode(File png) {
+        File raw = null;
+        try (DataInputStream in = open(png)) {
+            final Header header = readHeader(in);
+            if (!header.isSupported()) {
+                throw new GdxRuntimeException("Unsupported PNG, only non interlaced greyscale or RGB(A) images "
+                        + "with 8 or 16 bits per channel can be imported: " + png);
+            }
+
+            raw = File.createTempFile("mundus-heightfield", ".r16");
+            raw.deleteOnExit();
+            decodeRows(in, header, raw);
+            return new RawHeightFieldSource(raw, RawHeightFieldSource.Format.R16, header.width, header.height,
+                    ByteOrder.LITTLE_ENDIAN, true);
+        } catch (IOException e) {
+            if (raw != null) raw.delete();
+            throw new GdxRuntimeException("Failed to decode heightmap " + png, e);
+        } catch (GdxRuntimeException e) {
+            if (raw != null) raw.delete();
+            throw e;
+        }
+    }
+
+    private static DataInputStream open(File png) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(png), 65536));
+        final byte[] signature = new byte[SIGNATURE.length];
+        in.readFully(signature);
+        for (int i = 0; i < SIGNATURE.length; i++) {
+            if (signature[i] != SIGNATURE[i]) {
+                in.close();
+                throw new GdxRuntimeException("Not a PNG file: " + png);
+            }
+        }
+        return in;
+    }
+
+    private static Header readHeader(DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (in.readInt() != IHDR || length != 13) throw new GdxRuntimeException("PNG does not start with a header");
+
+        final Header header = new Header();
+        header.width = in.readInt();
+        header.height = in.readInt();
+        header.bitDepth = in.readUnsignedByte();
+        header.colorType = in.readUnsignedByte();
+        in.readUnsignedByte(); // compression, always deflate
+        in.readUnsignedByte(); // filter method, always adaptive
+        header.interlace = in.readUnsignedByte();
+        in.readInt(); // CRC
+        return header;
+    }
+
+    private static void decodeRows(DataInputStream in, Header header, File raw) throws IOException {
+        final int bytesPerSample = header.bitDepth / 8;
+        final int bytesPerPixel = header.getChannels() * bytesPerSample;
+        final int rowBytes = header.width * bytesPerPixel;
+
+        byte[] previous = new byte[rowBytes];
+        byte[] current = new byte[rowBytes];
+        final ByteBuffer out = ByteBuffer.allocate(header.width * 2).order(ByteOrder.LITTLE_ENDIAN);
+
+        try (InputStream data = new InflaterInputStream(new ImageDataInputStream(in), new Inflater(), 65536);
+             FileChannel channel = FileChannel.open(raw.toPath(), StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int row = 0; row < header.height; row++) {
+                final int filter = data.read();
+                if (filter < 0) throw new EOFException("PNG image data ends at row " + row);
+                readFully(data, current, rowBytes);
+                unfilter(filter, current, previous, rowBytes, bytesPerPixel);
+
+                out.clear();
+                for (int pixel = 0; pixel < rowBytes; pixel += bytesPerPixel) {
+                    final int value = bytesPerSample == 2
+                            ? ((current[pixel] & 0xFF) << 8) | (current[pixel + 1] & 0xFF)
+                            : (current[pixel] & 0xFF) * 257;
+                    out.putShort((short) value);
+                }
+                out.flip();
+                while (out.hasRemaining()) {
+                    channel.write(out);
+                }
+
+                final byte[] swap = previous;
+                previous = current;
+                current = swap;
+            }
+        }
+    }
+
+    private static void readFully(InputStream in, byte[] buffer, int length) throws IOException {
+        int read = 0;
+        while (read < length) {
+            final int count = in.read(buffer, read, length - read);
+            if (count < 0) throw new EOFException("PNG image data ends early");
+            read += count;
+        }
+    }
+
+    private static void unfilter(int filter, byte[] row, byte[] previous, int length, int bytesPerPixel) {
+        switch (filter) {
+            case 0: // None
+                break;
+            case 1: // Sub
+                for (int i = bytesPerPixel; i < length; i++) {
+                    row[i] += row[i - bytesPerPixel];
+                }
+                break;
+            case 2: // Up
+                for (int i = 0; i < length; i++) {
+                    row[i] += previous[i];
+                }
+                break;
+            case 3: // Average
+                for (int i = 0; i < length; i++) {
+                    final int left = i >= bytesPerPixel ? row[i - bytesPerPixel] & 0xFF : 0;
+                    row[i] += (left + (previous[i] & 0xFF)) >>> 1;
+                }
+                break;
+            case 4: // Paeth
+                for (int i = 0; i < length; i++) {
+                    final int left = i >= bytesPerPixel ? row[i - bytesPerPixel] & 0xFF : 0;
+                    final int up = previous[i] & 0xFF;
+                    final int upLeft = i >= bytesPerPixel ? previous[i - bytesPerPixel] & 0xFF : 0;
+                    row[i] += paeth(left, up, upLeft);
+                }
+                break;
+            default:
+                throw new GdxRuntimeException("Invalid PNG row filter " + filter);
+        }
+    }
+
+    private static int paeth(int left, int up, int upLeft) {
+        final int estimate = left + up - upLeft;
+        final int distanceLeft = Math.abs(estimate - left);
+        final int distanceUp = Math.abs(estimate - up);
+        final int distanceUpLeft = Math.abs(estimate - upLeft);
+        if (distanceLeft <= distanceUp && distanceLeft <= distanceUpLeft) return left;
+        if (distanceUp <= distanceUpLeft) return up;
+        return upLeft;
+    }
+
+    private static final class Header {
+        int width;
+        int height;
+        int bitDepth;
+        int colorType;
+        int interlace;
+
+        boolean isSupported() {
+            return width > 0 && height > 0 && interlace == 0 && (bitDepth == 8 || bitDepth == 16)
+                    && getChannels() > 0;
+        }
+
+        int getChannels() {
+            switch (colorType) {
+                case COLOR_GREY: return 1;
+                case COLOR_GREY_ALPHA: return 2;
+                case COLOR_RGB: return 3;
+                case COLOR_RGBA: return 4;
+                default: return 0;
+            }
+        }
+    }
+
+    /**
+     * The concatenated data of all image data chunks, skipping the chunks before them.
+     */
+    private static final class ImageDataInputStream extends InputStream {
+        private final DataInputStream in;
+        private int remaining = 0;
+        private boolean started = false;
+        private boolean ended = false;
+
+        ImageDataInputStream(DataInputStream in) {
+            this.in = in;
+        }
+
+        private boolean nextChunk() throws IOException {
+            while (!ended && remaining == 0) {
+                if (started) in.readInt(); // CRC of the previous image data chunk
+
+                final int length = in.readInt();
+                final int type = in.readInt();
+                if (type == IDAT) {
+                    started = true;
+                    remaining = length;
+                } else if (started) {
+                    ended = true;
+                } else {
+                    skipFully(length + 4); // chunk data and CRC
+                }
+            }
+            return !ended;
+        }
+
+        private void skipFully(long count) throws IOException {
+            while (count > 0) {
+                final long skipped = in.skip(count);
+                if (skipped <= 0) throw new EOFException("PNG ends before its image data");
+                count -= skipped;
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!nextChunk()) return -1;
+            remaining--;
+            return in.readUnsignedByte();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) return 0;
+            if (!nextChunk()) return -1;
+            final int count = in.read(buffer, offset, Math.min(length, remaining));
+            if (count < 0) throw new EOFException("PNG image data ends early");
+            remaining -= count;
+            return count;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.mbrlabs.mundus.editor.terrain.heightfield;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A headerless height field file, read with positional channel reads so only the rows of the rectangles being
+ * read are loaded. The samples are stored row by row, either as unsigned 16 bit integers (.raw, .r16) or as 32 bit
+ * floats (.r32). Float samples are normalized by the lowest and highest height in the file.
+ *
+ * @version October 18, 2026
+ */
+public class RawHeightFieldSource implements HeightFieldSource {
+
+    public enum Format {
+        R16(2),
+        R32(4);
+
+        public final int bytesPerSample;
+
+        Format(int bytesPerSample) {
+            this.bytesPerSample = bytesPerSample;
+        }
+    }
+
+    private final File file;
+    private final Format format;
+    private final int width;
+    private final int height;
+    private final ByteOrder order;
+    private final boolean deleteOnDispose;
+    private final FileChannel channel;
+
+    private float minHeight = 0;
+    private float heightScale = 1;
+
+    /**
+     * @param file the file to read
+     * @param format the sample format
+     * @param width the number of columns
+     * @param height the number of rows
+     * @param order the byte order of the samples
+     * @param deleteOnDispose whether the file is temporary and deleted on dispose
+     */
+    public RawHeightFieldSource(File file, Format format, int width, int height, ByteOrder order,
+                                boolean deleteOnDispose) {
+        this.file = file;
+        this.format = format;
+        this.width = width;
+        this.height = height;
+        this.order = order;
+        this.deleteOnDispose = deleteOnDispose;
+
+        final long size = (long) width * height * format.bytesPerSample;
+        if (file.length() < size) throw new GdxRuntimeException("Height field is smaller than expected: " + file);
+
+        try {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Failed to open height field " + file, e);
+        }
+
+        if (format == Format.R32) {
+            try {
+                computeHeightRange();
+            } catch (GdxRuntimeException e) {
+                dispose();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Opens a square little endian height field, the most common layout of exported heightmaps.
+     */
+    public static RawHeightFieldSource open(File file, Format format) {
+        final long samples = file.length() / format.bytesPerSample;
+        final int side = (int) Math.round(Math.sqrt(samples));
+        if ((long) side * side != samples || file.length() % format.bytesPerSample != 0) {
+            throw new GdxRuntimeException("Height field is not square, cannot determine its size: " + file);
+        }
+        return new RawHeightFieldSource(file, format, side, side, ByteOrder.LITTLE_ENDIAN, false);
+    }
+
+    private void computeHeightRange() {
+        float min = Float.POSITIVE_INFINITY;
+        float max = Float.NEGATIVE_INFINITY;
+        final ByteBuffer row = ByteBuffer.allocate(width * 4).order(order);
+        for (int y = 0; y < height; y++) {
+            readFully(row, (long) y * width * 4);
+            for (int x = 0; x < width; x++) {
+                final float value = row.getFloat(x * 4);
+                if (value < min) min = value;
+                if (value > max) max = value;
+            }
+        }
+
+        minHeight = min;
+        heightScale = max > min ? 1f / (max - min) : 0f;
+    }
+
+    /**
+     * Fills the remaining bytes of the buffer from the given file position. Positional reads do not move the
+     * channel position, so concurrent readers do not interfere.
+     */
+    private void readFully(ByteBuffer buffer, long position) {
+        buffer.clear();
+        try {
+            while (buffer.hasRemaining()) {
+                final int read = channel.read(buffer, position + buffer.position());
+                if (read < 0) throw new EOFException("Unexpected end of height field " + file);
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Failed to read height field " + file, e);
+        }
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public void read(int x, int y, int width, int height, float[] out) {
+        final int bytes = format.bytesPerSample;
+        final ByteBuffer row = ByteBuffer.allocate(width * bytes).order(order);
+
+        int index = 0;
+        for (int r = 0; r < height; r++) {
+            readFully(row, ((long) (y + r) * this.width + x) * bytes);
+            if (format == Format.R16) {
+                for (int column = 0; column < width; column++) {
+                    out[index++] = (row.getShort(column * bytes) & 0xFFFF) / 65535f;
+                }
+            } else {
+                for (int column = 0; column < width; column++) {
+                    out[index++] = (row.getFloat(column * bytes) - minHeight) * heightScale;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Nothing left to read, the file is deleted below if it is temporary
+        }
+
+        if (deleteOnDispose && !file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+}
@@ -32,12 +32,16 @@ public class ElevationModifier extends NoiseModifier {
     @Override
     public void modify(TerrainNoiseData terrainNoiseData, float x, float y) {
         super.modify(terrainNoiseData, x, y);
+        terrainNoiseData.elevation = combine(terrainNoiseData.elevation, noise.GetNoise(fVector2.x, fVector2.y));
+    }
 
-        if (terrainNoiseData.elevation == 0)
-            terrainNoiseData.elevation = noise.GetNoise(fVector2.x, fVector2.y);
+    @Override
+    protected float combine(float elevation, float noiseValue) {
+        if (elevation == 0)
+            return noiseValue;
         else if (!additive)
-            terrainNoiseData.elevation *= noise.GetNoise(fVector2.x, fVector2.y);
+            return elevation * noiseValue;
         else
-            terrainNoiseData.elevation+= noise.GetNoise(fVector2.x, fVector2.y);
+            return elevation + noiseValue;
     }
 }
@@ -0,0 +1,49 @@
+package com.mbrlabs.mundus.editor.terrain.noise.modifiers;
+
+import com.mbrlabs.mundus.editor.terrain.ParallelTerrainGenerator;
+import com.mbrlabs.mundus.editor.terrain.filter.HeightMapFilter;
+import com.mbrlabs.mundus.editor.terrain.noise.TerrainNoiseData;
+
+/**
+ * Applies a {@link HeightMapFilter} to the elevations produced by the modifiers before it. A filter needs the
+ * neighbours of a point, so this leaves single points unchanged and is only applied by
+ * {@link ParallelTerrainGenerator}, which generates a large enough margin around the grid for the filter.
+ *
+ * @version October 18, 2026
+ */
+public class FilterModifier implements TerrainModifier {
+
+    private final String name;
+    private final HeightMapFilter filter;
+
+    public FilterModifier(String name, HeightMapFilter filter) {
+        this.name = name;
+        this.filter = filter;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void modify(TerrainNoiseData noiseData, float x, float y) {
+        // Nothing to filter for a single point
+    }
+
+    @Override
+    public void modifyGrid(float[] elevations, int offset, float x, float y, int width, int height) {
+        // May be a part of a larger grid, which is filtered as a whole through filter()
+    }
+
+    /**
+     * Filters a complete grid of elevations in place.
+     */
+    public void filter(float[] elevations, int width, int height) {
+        filter.apply(elevations, width, height);
+    }
+
+    public HeightMapFilter getFilter() {
+        return filter;
+    }
+}
@@ -37,6 +37,58 @@ public abstract class NoiseModifier implements TerrainModifier {
         noise.SetFrequency(frequency);
     }
 
+    @Override
+    public void modify(float[] xs, float[] ys, float[] elevations) {
+        final FastNoiseLite warpNoise = createWarpNoise();
+        final FastNoiseLite sampleNoise = createSampleNoise();
+        final FastNoiseLite.Vector2 coord = new FastNoiseLite.Vector2(0, 0);
+
+        for (int i = 0; i < elevations.length; i++) {
+            coord.x = xs[i];
+            coord.y = ys[i];
+            warpNoise.DomainWarp(coord);
+            elevations[i] = combine(elevations[i], sampleNoise.GetNoise(coord.x, coord.y));
+        }
+    }
+
+    @Override
+    public void modifyGrid(float[] elevations, int offset, float x, float y, int width, int height) {
+        final FastNoiseLite warpNoise = createWarpNoise();
+        final FastNoiseLite sampleNoise = createSampleNoise();
+        final float[] row = new float[width];
+
+        for (int j = 0; j < height; j++) {
+            sampleNoise.GetNoiseGrid(row, 0, x, y + j, width, 1, 1, warpNoise);
+
+            final int rowOffset = offset + j * width;
+            for (int i = 0; i < width; i++) {
+                elevations[rowOffset + i] = combine(elevations[rowOffset + i], row[i]);
+            }
+        }
+    }
+
+    // Copies, so concurrent batches never touch the shared frequency or warp vector
+    private FastNoiseLite createWarpNoise() {
+        final FastNoiseLite warpNoise = new FastNoiseLite(noise);
+        warpNoise.SetFrequency(domainWarpFrequency);
+        return warpNoise;
+    }
+
+    private FastNoiseLite createSampleNoise() {
+        final FastNoiseLite sampleNoise = new FastNoiseLite(noise);
+        sampleNoise.SetFrequency(frequency);
+        return sampleNoise;
+    }
+
+    /**
+     * Combines the current elevation of a point with the noise value sampled at its warped position.
+     *
+     * @param elevation the current elevation
+     * @param noiseValue the sampled noise value
+     * @return the new elevation
+     */
+    protected abstract float combine(float elevation, float noiseValue);
+
     public FastNoiseLite.NoiseType getType() {
         return type;
     }
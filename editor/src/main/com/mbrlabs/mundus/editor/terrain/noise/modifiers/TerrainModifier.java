@@ -9,4 +9,46 @@ import com.mbrlabs.mundus.editor.terrain.noise.TerrainNoiseData;
 public interface TerrainModifier {
     String getName();
     void modify(TerrainNoiseData noiseData, float x, float y);
+
+    /**
+     * Modifies the elevations of a batch of points, equal to calling {@link #modify(TerrainNoiseData, float, float)}
+     * for each point. The coordinate arrays must not be modified. May be called from multiple threads at once, so
+     * implementations overriding this must not share any mutable state between calls.
+     *
+     * @param xs the x coordinates of the points
+     * @param ys the y coordinates of the points
+     * @param elevations the elevations to modify, one per point
+     */
+    default void modify(float[] xs, float[] ys, float[] elevations) {
+        final TerrainNoiseData noiseData = new TerrainNoiseData();
+        for (int i = 0; i < elevations.length; i++) {
+            noiseData.elevation = elevations[i];
+            modify(noiseData, xs[i], ys[i]);
+            elevations[i] = noiseData.elevation;
+        }
+    }
+
+    /**
+     * Modifies the elevations of a grid of points, equal to calling {@link #modify(TerrainNoiseData, float, float)}
+     * for each point. The grid is stored row by row starting at offset, the point at column i and row j is at
+     * x + i, y + j. Same threading rules as {@link #modify(float[], float[], float[])}.
+     *
+     * @param elevations the elevations to modify
+     * @param offset the index of the first point in elevations
+     * @param x the x coordinate of the first column
+     * @param y the y coordinate of the first row
+     * @param width the number of columns
+     * @param height the number of rows
+     */
+    default void modifyGrid(float[] elevations, int offset, float x, float y, int width, int height) {
+        final TerrainNoiseData noiseData = new TerrainNoiseData();
+        int index = offset;
+        for (int j = 0; j < height; j++) {
+            for (int i = 0; i < width; i++) {
+                noiseData.elevation = elevations[index];
+                modify(noiseData, x + i, y + j);
+                elevations[index++] = noiseData.elevation;
+            }
+        }
+    }
 }
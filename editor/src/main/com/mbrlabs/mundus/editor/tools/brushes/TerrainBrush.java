@@ -26,11 +26,9 @@ import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.math.collision.BoundingBox;
-import com.badlogic.gdx.math.collision.Ray;
 import com.badlogic.gdx.utils.Array;
 import com.mbrlabs.mundus.commons.assets.TerrainAsset;
 import com.mbrlabs.mundus.commons.scene3d.GameObject;
-import com.mbrlabs.mundus.commons.scene3d.components.Component;
 import com.mbrlabs.mundus.commons.scene3d.components.TerrainComponent;
 import com.mbrlabs.mundus.commons.terrain.SplatMap;
 import com.mbrlabs.mundus.commons.terrain.SplatTexture;
@@ -47,6 +45,7 @@ import com.mbrlabs.mundus.editor.history.commands.TerrainsPaintCommand;
 import com.mbrlabs.mundus.editor.shader.EditorPBRTerrainShader;
 import com.mbrlabs.mundus.editor.tools.Tool;
 import com.mbrlabs.mundus.editor.tools.picker.GameObjectPicker;
+import com.mbrlabs.mundus.editor.tools.terrain.ErodeTool;
 import com.mbrlabs.mundus.editor.tools.terrain.FlattenTool;
 import com.mbrlabs.mundus.editor.tools.terrain.RaiseLowerTool;
 import com.mbrlabs.mundus.editor.tools.terrain.SmoothTool;
@@ -83,7 +82,9 @@ public abstract class TerrainBrush extends Tool {
         /** Paints on the splatmap of the terrainAsset. */
         PAINT,
         /** Create a ramp between two points. */
-        RAMP
+        RAMP,
+        /** Erodes steep slopes within radius */
+        ERODE
     }
 
     /**
@@ -152,10 +153,10 @@ public abstract class TerrainBrush extends Tool {
 
     // all brushes share the some common settings
     private static final GlobalBrushSettingsChangedEvent brushSettingsChangedEvent = new GlobalBrushSettingsChangedEvent();
-    private static final GameObjectPicker.ComponentIgnoreFilter ignoreFilter = component -> !(component instanceof TerrainComponent);
     private static final TerrainTool raiseLowerTool = new RaiseLowerTool();
     private static final TerrainTool flattenTool = new FlattenTool();
     private static final TerrainTool smoothTool = new SmoothTool();
+    private static final TerrainTool erodeTool = new ErodeTool();
     private static boolean optimizeTerrainUpdates = false;
     private static float strength = 0.5f;
     private static float heightSample = 0f;
@@ -237,6 +238,8 @@ public abstract class TerrainBrush extends Tool {
             smoothTool.act(this);
         } else if (mode == BrushMode.RAMP) {
             createRamp();
+        } else if (mode == BrushMode.ERODE) {
+            erodeTool.act(this);
         }
 
     }
@@ -270,30 +273,44 @@ public abstract class TerrainBrush extends Tool {
         final float splatX = (tVec1.x / (float) terrain.terrainWidth) * sm.getWidth();
         final float splatY = (tVec1.z / (float) terrain.terrainDepth) * sm.getHeight();
         final float splatRad = (radius / terrain.terrainWidth) * sm.getWidth();
-        final Pixmap pixmap = sm.getPixmap();
 
-        boolean modified = false;
-
-        for (int smX = 0; smX < pixmap.getWidth(); smX++) {
-            for (int smY = 0; smY < pixmap.getHeight(); smY++) {
-                final float dst = Vector2.dst(splatX, splatY, smX, smY);
-                if (dst <= splatRad) {
+        // Only iterate the pixels within the bounding rectangle of the brush
+        final int minX = Math.max(0, (int) Math.floor(splatX - splatRad));
+        final int maxX = Math.min(sm.getWidth() - 1, (int) Math.ceil(splatX + splatRad));
+        final int minY = Math.max(0, (int) Math.floor(splatY - splatRad));
+        final int maxY = Math.min(sm.getHeight() - 1, (int) Math.ceil(splatY + splatRad));
+        final float splatRad2 = splatRad * splatRad;
+
+        // Bounds of the modified pixels
+        int modifiedMinX = Integer.MAX_VALUE;
+        int modifiedMaxX = Integer.MIN_VALUE;
+        int modifiedMinY = Integer.MAX_VALUE;
+        int modifiedMaxY = Integer.MIN_VALUE;
+
+        for (int smY = minY; smY <= maxY; smY++) {
+            final float dy = smY - splatY;
+            for (int smX = minX; smX <= maxX; smX++) {
+                final float dx = smX - splatX;
+                if (dx * dx + dy * dy <= splatRad2) {
                     // If not already added, add the terrain to the list of modified terrains
                     if (modifiedTerrains.add(terrainComponent)) {
                         paintCommand.addTerrain(terrain);
                     }
 
                     final float opacity = getValueOfBrushPixmap(splatX, splatY, smX, smY, splatRad) * 0.5f * strength;
-                    int newPixelColor = sm.additiveBlend(pixmap.getPixel(smX, smY), paintChannel, opacity);
-                    pixmap.drawPixel(smX, smY, newPixelColor);
-                    modified = true;
+                    sm.blendPixel(smX, smY, paintChannel, opacity);
+
+                    modifiedMinX = Math.min(modifiedMinX, smX);
+                    modifiedMaxX = Math.max(modifiedMaxX, smX);
+                    modifiedMinY = Math.min(modifiedMinY, smY);
+                    modifiedMaxY = Math.max(modifiedMaxY, smY);
                 }
             }
         }
 
-        if (!modified) return;
+        if (modifiedMinX > modifiedMaxX) return;
 
-        sm.updateTexture();
+        sm.updateTexture(modifiedMinX, modifiedMinY, modifiedMaxX - modifiedMinX + 1, modifiedMaxY - modifiedMinY + 1);
         splatmapModified = true;
         getProjectManager().current().assetManager.addModifiedAsset(terrainComponent.getTerrainAsset());
     }
@@ -513,6 +530,8 @@ public abstract class TerrainBrush extends Tool {
 
     private void updateTerrain(Terrain terrain) {
         if (optimizeTerrainUpdates) {
+            // Quadtree patches are rebuilt from the modified vertices when rendered next
+            if (terrain.usesQuadTree()) return;
             terrain.getPlaneMesh().buildVertices();
             terrain.getPlaneMesh().updateMeshVertices();
         } else {
@@ -630,6 +649,7 @@ public abstract class TerrainBrush extends Tool {
             case PAINT:
             case SMOOTH:
             case RAMP:
+            case ERODE:
                 return true;
         }
 
@@ -671,6 +691,7 @@ public abstract class TerrainBrush extends Tool {
                     // We calculate normals after all terrain modifications are done
                     // as calculating normals is more expensive
                     Terrain terrain = terrainComponent.getTerrainAsset().getTerrain();
+                    if (terrain.usesQuadTree()) continue;
 
                     terrain.getPlaneMesh().calculateAverageNormals(Pools.vector3Pool);
                     terrain.getPlaneMesh().computeTangents();
@@ -814,14 +835,11 @@ public abstract class TerrainBrush extends Tool {
     private boolean updateBrushPosition(int screenX, int screenY) {
         if (terrainComponent == null) return false;
 
-        // Use picking to find current hovered terrain, filter picking to only pick terrains
-        goPicker.setIgnoreFilter(ignoreFilter);
-        GameObject go = goPicker.pick(getProjectManager().current().currScene, screenX, screenY);
-        goPicker.clearIgnoreFilter();
-        if (go == null) return false;
-
-        TerrainComponent comp = (TerrainComponent) go.findComponentByType(Component.Type.TERRAIN);
+        // Ray pick the hovered terrain, other game objects do not hide it. Also updates the brush position
+        TerrainComponent comp = goPicker.pickTerrain(getProjectManager().current().currScene, screenX, screenY,
+                false, brushPos);
         if (comp == null) return false;
+        GameObject go = comp.getGameObject();
 
         // If the hovered terrain is not the current terrain or connected to it, set it as the current terrain
         if (!getAllConnectedTerrains().contains(comp)) {
@@ -830,10 +848,6 @@ public abstract class TerrainBrush extends Tool {
             Mundus.INSTANCE.postEvent(new GameObjectSelectedEvent(go, false));
         }
 
-        // Update the brush position
-        Ray ray = getProjectManager().current().currScene.viewport.getPickRay(screenX, screenY);
-        comp.getTerrainAsset().getTerrain().getRayIntersection(brushPos, ray, comp.getModelInstance().transform);
-
         return true;
     }
 
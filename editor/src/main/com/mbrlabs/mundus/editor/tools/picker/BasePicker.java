@@ -17,6 +17,7 @@
 package com.mbrlabs.mundus.editor.tools.picker;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.GL20;
@@ -27,6 +28,7 @@ import com.badlogic.gdx.graphics.glutils.HdpiMode;
 import com.badlogic.gdx.graphics.glutils.HdpiUtils;
 import com.badlogic.gdx.utils.BufferUtils;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.mbrlabs.mundus.editor.utils.Log;
 
@@ -36,8 +38,26 @@ import com.mbrlabs.mundus.editor.utils.Log;
  */
 public abstract class BasePicker implements Disposable {
 
+    /** Largest supported pick radius in pixels, the read back window is at most (2 * radius + 1)² pixels */
+    public static final int MAX_PICK_RADIUS = 8;
+
+    private static final int MAX_PICK_SIZE = 2 * MAX_PICK_RADIUS + 1;
+
     protected FrameBuffer fbo;
 
+    // Big endian so pixels read as rgba8888 ints
+    private final ByteBuffer pickBuffer = BufferUtils.newByteBuffer(MAX_PICK_SIZE * MAX_PICK_SIZE * 4)
+            .order(ByteOrder.BIG_ENDIAN);
+    private final IntArray pickedIds = new IntArray(MAX_PICK_SIZE * MAX_PICK_SIZE);
+
+    // Pick window in framebuffer coordinates
+    private int pickX;
+    private int pickY;
+    private int pickWidth;
+    private int pickHeight;
+    private int pickCenterX;
+    private int pickCenterY;
+
     public BasePicker() {
         int width = Gdx.graphics.getWidth();
         int height = Gdx.graphics.getHeight();
@@ -68,11 +88,79 @@ public abstract class BasePicker implements Disposable {
                 viewport.getScreenHeight());
     }
 
+    /**
+     * Like {@link #begin(Viewport)}, but restricts clearing and rendering to a small window around the given
+     * screen coordinates with a scissor. Use {@link #readPickIds()} after {@link #end()} to read back the window.
+     *
+     * @param screenX screen x coordinate of the cursor
+     * @param screenY screen y coordinate of the cursor, y down
+     * @param radius the pick radius in pixels, 0 picks only the pixel under the cursor
+     */
+    protected void begin(Viewport viewport, int screenX, int screenY, int radius) {
+        radius = Math.max(0, Math.min(radius, MAX_PICK_RADIUS));
+
+        // Framebuffer is y up
+        pickCenterX = screenX;
+        pickCenterY = Gdx.graphics.getHeight() - 1 - screenY;
+
+        pickX = Math.max(0, pickCenterX - radius);
+        pickY = Math.max(0, pickCenterY - radius);
+        pickWidth = Math.max(0, Math.min(fbo.getWidth(), pickCenterX + radius + 1) - pickX);
+        pickHeight = Math.max(0, Math.min(fbo.getHeight(), pickCenterY + radius + 1) - pickY);
+
+        HdpiUtils.setMode(HdpiMode.Pixels);
+        fbo.begin();
+        Gdx.gl.glEnable(GL20.GL_SCISSOR_TEST);
+        Gdx.gl.glScissor(pickX, pickY, pickWidth, pickHeight);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT);
+        HdpiUtils.glViewport(viewport.getScreenX(), viewport.getScreenY(), viewport.getScreenWidth(),
+                viewport.getScreenHeight());
+    }
+
     protected void end() {
+        Gdx.gl.glDisable(GL20.GL_SCISSOR_TEST);
         fbo.end();
         HdpiUtils.setMode(HdpiMode.Logical);
     }
 
+    /**
+     * Reads back the window set up by {@link #begin(Viewport, int, int, int)} and decodes the ids in it.
+     *
+     * @return the distinct ids, ordered by distance to the cursor. The array is reused by the next call.
+     */
+    protected IntArray readPickIds() {
+        pickedIds.clear();
+        if (pickWidth == 0 || pickHeight == 0) return pickedIds;
+
+        pickBuffer.clear();
+        Gdx.gl.glBindFramebuffer(GL20.GL_FRAMEBUFFER, fbo.getFramebufferHandle());
+        Gdx.gl.glReadPixels(pickX, pickY, pickWidth, pickHeight, GL30.GL_RGBA, GL30.GL_UNSIGNED_BYTE, pickBuffer);
+        Gdx.gl.glBindFramebuffer(GL20.GL_FRAMEBUFFER, 0);
+
+        // Visit the window in rings around the cursor, so closer ids come first
+        final int cx = pickCenterX - pickX;
+        final int cy = pickCenterY - pickY;
+        final int maxRing = Math.max(Math.max(cx, pickWidth - 1 - cx), Math.max(cy, pickHeight - 1 - cy));
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int y = cy - ring; y <= cy + ring; y++) {
+                if (y < 0 || y >= pickHeight) continue;
+                final boolean edgeRow = y == cy - ring || y == cy + ring;
+                for (int x = cx - ring; x <= cx + ring; x += edgeRow ? 1 : 2 * ring) {
+                    if (x >= 0 && x < pickWidth) {
+                        final int id = PickerColorEncoder.decode(pickBuffer.getInt((y * pickWidth + x) * 4));
+                        if (!pickedIds.contains(id)) pickedIds.add(id);
+                    }
+                    if (ring == 0) break;
+                }
+            }
+        }
+
+        return pickedIds;
+    }
+
+    /**
+     * Reads back the whole viewport. For picking use {@link #readPickIds()}, which only reads a small window.
+     */
     public Pixmap getFrameBufferPixmap(Viewport viewport) {
         int w = viewport.getScreenWidth();
         int h = viewport.getScreenHeight();
@@ -16,11 +16,16 @@
 
 package com.mbrlabs.mundus.editor.tools.picker;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.Ray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+import com.mbrlabs.mundus.commons.picking.PickResult;
+import com.mbrlabs.mundus.commons.picking.SceneRayPicker;
 import com.mbrlabs.mundus.commons.scene3d.GameObject;
 import com.mbrlabs.mundus.commons.scene3d.SceneGraph;
 import com.mbrlabs.mundus.commons.scene3d.components.Component;
+import com.mbrlabs.mundus.commons.scene3d.components.TerrainComponent;
 import com.mbrlabs.mundus.editor.core.EditorScene;
 import com.mbrlabs.mundus.editor.scene3d.components.PickableComponent;
 
@@ -54,33 +59,68 @@ public class GameObjectPicker extends BasePicker {
      */
     public ComponentIgnoreFilter ignoreFilter;
 
+    private static final SceneRayPicker.Filter terrainFilter = component -> component instanceof TerrainComponent;
+
+    /** Game objects rendered by the last pick, by id */
+    private final IntMap<GameObject> pickableObjects = new IntMap<>();
+    private final PickResult rayPickResult = new PickResult();
+
     public GameObjectPicker() {
         super();
     }
 
     public GameObject pick(EditorScene scene, int screenX, int screenY) {
+        return pick(scene, screenX, screenY, 0);
+    }
+
+    /**
+     * Picks the game object under the cursor. Only a window of (2 * radius + 1)² pixels around the cursor is
+     * rendered and read back.
+     *
+     * @param radius pick radius in pixels, if greater than 0 the game object closest to the cursor within the
+     *               radius is picked
+     * @return the picked game object or null
+     */
+    public GameObject pick(EditorScene scene, int screenX, int screenY, int radius) {
         // Scene not initialized yet
         if (scene.viewport == null) return null;
 
-        begin(scene.viewport);
+        pickableObjects.clear();
+        begin(scene.viewport, screenX, screenY, radius);
         renderPickableScene(scene.sceneGraph);
         end();
-        Pixmap pm = getFrameBufferPixmap(scene.viewport);
 
-        int x = screenX - scene.viewport.getScreenX();
-        int y = screenY - (Gdx.graphics.getHeight() - (scene.viewport.getScreenY() + scene.viewport.getScreenHeight()));
+        IntArray ids = readPickIds();
+        GameObject picked = null;
+        for (int i = 0; i < ids.size && picked == null; i++) {
+            picked = pickableObjects.get(ids.get(i));
+        }
 
-        int id = PickerColorEncoder.decode(pm.getPixel(x, y));
-        pm.dispose();
+        pickableObjects.clear();
+        return picked;
+    }
 
-        for (GameObject go : scene.sceneGraph.getGameObjects()) {
-            if (id == go.id) return go;
-            for (GameObject child : go) {
-                if (id == child.id) return child;
-            }
-        }
+    /**
+     * Picks the terrain under the cursor with the scene's ray picker, without rendering the scene. Used by hover
+     * paths running on every mouse move, selection uses {@link #pick} which also picks light gizmos.
+     *
+     * @param blocking whether other game objects in front of the terrain hide it
+     * @param out the hit point on the terrain, unchanged if no terrain is hit
+     * @return the hovered terrain or null
+     */
+    public TerrainComponent pickTerrain(EditorScene scene, int screenX, int screenY, boolean blocking, Vector3 out) {
+        // Scene not initialized yet
+        if (scene.viewport == null) return null;
+
+        Ray ray = scene.viewport.getPickRay(screenX, screenY);
+        SceneRayPicker.Filter filter = blocking ? null : terrainFilter;
+        if (!scene.getRayPicker().pick(ray, Float.POSITIVE_INFINITY, filter, rayPickResult)) return null;
 
-        return null;
+        TerrainComponent terrain = rayPickResult.component instanceof TerrainComponent
+                ? (TerrainComponent) rayPickResult.component : null;
+        if (terrain != null) out.set(rayPickResult.point);
+        rayPickResult.clear();
+        return terrain;
     }
 
     private void renderPickableScene(SceneGraph sceneGraph) {
@@ -94,6 +134,7 @@ public class GameObjectPicker extends BasePicker {
             if (c instanceof PickableComponent) {
                 if (ignoreFilter != null && ignoreFilter.ignore(c)) continue;
                 ((PickableComponent) c).renderPick();
+                pickableObjects.put(go.id, go);
             }
         }
 
@@ -16,10 +16,9 @@
 
 package com.mbrlabs.mundus.editor.tools.picker;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Camera;
-import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.g3d.ModelBatch;
+import com.badlogic.gdx.utils.IntArray;
 import com.mbrlabs.mundus.editor.core.EditorScene;
 import com.mbrlabs.mundus.editor.tools.ToolHandle;
 import com.mbrlabs.mundus.editor.utils.Log;
@@ -35,19 +34,30 @@ public class ToolHandlePicker extends BasePicker {
     }
 
     public ToolHandle pick(ToolHandle[] handles, EditorScene scene, int screenX, int screenY) {
-        begin(scene.viewport);
+        return pick(handles, scene, screenX, screenY, 0);
+    }
+
+    /**
+     * Picks the tool handle under the cursor. Only a window of (2 * radius + 1)² pixels around the cursor is
+     * rendered and read back.
+     *
+     * @param radius pick radius in pixels, if greater than 0 the handle closest to the cursor within the radius
+     *               is picked
+     * @return the picked handle or null
+     */
+    public ToolHandle pick(ToolHandle[] handles, EditorScene scene, int screenX, int screenY, int radius) {
+        begin(scene.viewport, screenX, screenY, radius);
         renderPickableScene(handles, scene.batch, scene.cam);
         end();
-        Pixmap pm = getFrameBufferPixmap(scene.viewport);
 
-        int x = screenX - scene.viewport.getScreenX();
-        int y = screenY - (Gdx.graphics.getHeight() - (scene.viewport.getScreenY() + scene.viewport.getScreenHeight()));
-
-        int id = PickerColorEncoder.decode(pm.getPixel(x, y));
-        Log.trace("ToolHandlePicker", "Picking handle with id {}", id);
-        for (ToolHandle handle : handles) {
-            if (handle.getId() == id) {
-                return handle;
+        IntArray ids = readPickIds();
+        for (int i = 0; i < ids.size; i++) {
+            int id = ids.get(i);
+            for (ToolHandle handle : handles) {
+                if (handle.getId() == id) {
+                    Log.trace("ToolHandlePicker", "Picking handle with id {}", id);
+                    return handle;
+                }
             }
         }
 
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026. See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mbrlabs.mundus.editor.tools.terrain;
+
+import com.badlogic.gdx.math.Vector3;
+import com.mbrlabs.mundus.commons.terrain.Terrain;
+import com.mbrlabs.mundus.editor.terrain.filter.ThermalErosionFilter;
+import com.mbrlabs.mundus.editor.tools.brushes.TerrainBrush;
+
+/**
+ * Erodes the terrain within the radius, letting material on steep slopes slide down. The region around the brush
+ * is eroded with a {@link ThermalErosionFilter} and the heights are interpolated towards the result with a falloff
+ * effect based on distance from radius.
+ *
+ * @version October 18, 2026
+ */
+public class ErodeTool extends RadiusTerrainTool {
+    /** Erosion iterations per brush step */
+    private static final int ITERATIONS = 4;
+    /** Height difference per unit of horizontal distance above which material slides, about 30 degrees */
+    private static final float TALUS_SLOPE = 0.6f;
+
+    private final ThermalErosionFilter filter = new ThermalErosionFilter(0f, 0.5f, ITERATIONS);
+
+    // The eroded region of the terrain currently being modified
+    private Terrain regionTerrain;
+    private float[] region = new float[0];
+    private int regionX;
+    private int regionZ;
+    private int regionWidth;
+
+    // Interpolate heights to the eroded heights with falloff
+    private final TerrainBrush.TerrainModifyAction modifier = (brush, terrainComponent, x, z, tVec2, vertexPos) -> {
+        Terrain terrain = terrainComponent.getTerrainAsset().getTerrain();
+        if (terrain != regionTerrain) {
+            erodeRegion(brush, terrain, tVec2);
+        }
+
+        final int index = z * terrain.vertexResolution + x;
+        float heightAtIndex = terrain.heightData[index];
+        float erodedHeight = region[(z - regionZ) * regionWidth + (x - regionX)];
+        // Determine how much to interpolate based on distance from radius
+        float elevation = brush.getValueOfBrushPixmap(tVec2.x, tVec2.z, vertexPos.x, vertexPos.z, brush.getScaledRadius(terrainComponent));
+        terrain.heightData[index] = heightAtIndex + (erodedHeight - heightAtIndex) * elevation * TerrainBrush.getStrength();
+    };
+
+    @Override
+    public void act(TerrainBrush brush) {
+        regionTerrain = null;
+        brush.modifyTerrain(modifier, radiusDistanceComparison, true);
+    }
+
+    /**
+     * Erodes a copy of the vertices in range of the brush, with a margin so the erosion near the edge of the brush
+     * sees the terrain outside of it.
+     */
+    private void erodeRegion(TerrainBrush brush, Terrain terrain, Vector3 localBrushPos) {
+        float terrainCellWidth = terrain.terrainWidth / (terrain.vertexResolution - 1f);
+        float terrainCellDepth = terrain.terrainDepth / (terrain.vertexResolution - 1f);
+
+        // Same range as TerrainBrush.calculateBrushRange, extended by the reach of the filter
+        int brushX = Math.round(localBrushPos.x / terrainCellWidth);
+        int brushZ = Math.round(localBrushPos.z / terrainCellDepth);
+        int extentX = Math.round(brush.getRadius() / terrainCellWidth) + filter.getReach();
+        int extentZ = Math.round(brush.getRadius() / terrainCellDepth) + filter.getReach();
+
+        regionX = Math.max(0, brushX - extentX);
+        regionZ = Math.max(0, brushZ - extentZ);
+        regionWidth = Math.min(terrain.vertexResolution, brushX + extentX + 1) - regionX;
+        int regionDepth = Math.min(terrain.vertexResolution, brushZ + extentZ + 1) - regionZ;
+        regionTerrain = terrain;
+        if (regionWidth <= 0 || regionDepth <= 0) return;
+
+        if (region.length < regionWidth * regionDepth) {
+            region = new float[regionWidth * regionDepth];
+        }
+        for (int z = 0; z < regionDepth; z++) {
+            System.arraycopy(terrain.heightData, (regionZ + z) * terrain.vertexResolution + regionX,
+                    region, z * regionWidth, regionWidth);
+        }
+
+        filter.setTalus(Math.min(terrainCellWidth, terrainCellDepth) * TALUS_SLOPE);
+        filter.apply(region, regionWidth, regionDepth);
+    }
+}
@@ -51,6 +51,10 @@ import kotlin.math.abs
  * @version October 24, 2022
  */
 class AddTerrainChunksDialog : BaseDialog("Add Terrain"), TabbedPaneListener {
+    companion object {
+        private val TERRAFORM_THREADS = Runtime.getRuntime().availableProcessors().coerceIn(1, 4)
+    }
+
     private var loadingDialog: VisDialog? = null
     private var parentGO: GameObject? = null
 
@@ -85,6 +89,8 @@ class AddTerrainChunksDialog : BaseDialog("Add Terrain"), TabbedPaneListener {
     }
 
     private var generatingTerrain = false
+    @Volatile
+    private var creationFailed = false
     private var generateLoD = false
     private var terraformingThreads: AtomicInteger = AtomicInteger(0)
     private var creationThreads: AtomicInteger = AtomicInteger(0)
@@ -112,6 +118,13 @@ class AddTerrainChunksDialog : BaseDialog("Add Terrain"), TabbedPaneListener {
             setupNeighborTerrains()
         }
 
+        if (creationFailed && creationThreads.get() == 0 && assetsToTerraform.isEmpty()
+                && terraformingThreads.get() == 0) {
+            creationFailed = false
+            // The chunks created before the failure are terraformed, the heightmap is no longer read
+            heightmapTerrainTab.releaseHeightMap()
+        }
+
         if (generatingTerrain) {
             color.a = 0.4f
             val label = loadingDialog!!.contentTable.getChild(0) as Label
@@ -120,8 +133,11 @@ class AddTerrainChunksDialog : BaseDialog("Add Terrain"), TabbedPaneListener {
                     + "Terraform Queue: ${assetsToTerraform.size}\n")
 
             loadingDialog!!.pack()
-            if (!assetsToCreate && creationThreads.get() == 0 && assetsToTerraform.isEmpty() && lodTasks.isEmpty()) {
+            if (!assetsToCreate && creationThreads.get() == 0 && assetsToTerraform.isEmpty()
+                    && terraformingThreads.get() == 0 && lodTasks.isEmpty()) {
                 generatingTerrain = false
+                // Every chunk is created and terraformed, the heightmap is no longer read
+                heightmapTerrainTab.releaseHeightMap()
                 color.a = 1.0f
                 loadingDialog?.hide()
 
@@ -141,8 +157,10 @@ class AddTerrainChunksDialog : BaseDialog("Add Terrain"), TabbedPaneListener {
 
     fun createTerrainChunk(res: Int, width: Int, multipleTerrain: Boolean, xIteration: Int, yIteration: Int, name: String, splatMapResolution: Int, genLoD: Boolean) {
         terrainName = name
+        creationFailed = false
         executor = Executors.newFixedThreadPool(4)
-        terraformExecutor = Executors.newSingleThreadExecutor()
+        // Chunks are terraformed concurrently, each chunk also spreads its rows over the common fork join pool
+        terraformExecutor = Executors.newFixedThreadPool(TERRAFORM_THREADS)
         generateLoD = genLoD
 
         val context = projectManager.current()
@@ -162,6 +180,7 @@ class AddTerrainChunksDialog : BaseDialog("Add Terrain"), TabbedPaneListener {
         val layerName = "${terrainName}.layer"
         if (projectManager.current().assetManager.assetExists(layerName)) {
             Dialogs.showErrorDialog(UI, "Terrain Layer with name $terrainName already exists. Pick a different name or\nremove existing asset.")
+            heightmapTerrainTab.releaseHeightMap()
             return
         }
 
@@ -173,7 +192,10 @@ class AddTerrainChunksDialog : BaseDialog("Add Terrain"), TabbedPaneListener {
             assetExists = checkSingleTerrainAssetExists(res, width, splatMapResolution)
         }
 
-        if (assetExists) return
+        if (assetExists) {
+            heightmapTerrainTab.releaseHeightMap()
+            return
+        }
 
         terrainChunkMatrix = TerrainChunkMatrix(xIteration, yIteration)
 
@@ -278,11 +300,12 @@ class AddTerrainChunksDialog : BaseDialog("Add Terrain"), TabbedPaneListener {
                 try {
                     asset = createTerrainAsset(res, width, splatMapResolution, i, j)
                     asset.meta.terrain.terrainLayerAssetId = terrainLayerAsset.id
-                    asset.lodLevels = if (generateLoD) arrayOf<LodLevel>() else null
+                    asset.lodLevels = if (generateLoD && res <= Terrain.MAX_MESH_VERTEX_RESOLUTION) arrayOf<LodLevel>() else null
                     loader = asset.startAsyncLoad()
                 } catch (ex: AssetAlreadyExistsException) {
                     Dialogs.showErrorDialog(stage, "An asset with that name already exists.")
                     executor?.shutdownNow()
+                    creationFailed = true
                     creationThreads.decrementAndGet()
                     //break
                     return@submit
@@ -328,15 +351,21 @@ class AddTerrainChunksDialog : BaseDialog("Add Terrain"), TabbedPaneListener {
     }
 
     private fun runTerraformingThreads() {
-        val grid = assetsToTerraform.entries.first().key
-        val component = assetsToTerraform.entries.first().value
-        val asset = component.terrainAsset
-        assetsToTerraform.remove(grid)
+        val entries = assetsToTerraform.entries.iterator()
+        while (entries.hasNext()) {
+            val entry = entries.next()
+            entries.remove()
+            submitTerraforming(entry.key, entry.value)
+        }
+    }
 
-        terraformExecutor?.submit {
-            terraformingThreads.addAndGet(1)
+    private fun submitTerraforming(grid: Vector2, component: TerrainComponent) {
+        val asset = component.terrainAsset
 
+        // Counted on submission, so the last chunk to finish always sees the others as running or done
+        terraformingThreads.addAndGet(1)
 
+        terraformExecutor?.submit {
             if (tabbedPane.activeTab is ProceduralTerrainTab) {
                 proceduralTerrainTab.terraform(grid.x.toInt(), grid.y.toInt(), component)
             } else if (tabbedPane.activeTab is HeightMapTerrainTab) {
@@ -372,7 +401,7 @@ class AddTerrainChunksDialog : BaseDialog("Add Terrain"), TabbedPaneListener {
                 if (component != null) {
                     EditorTerrainStitcher.stitchNormals(component, ThreadLocalPools.vector3ThreadPool.get())
 
-                    if (generateLoD) {
+                    if (generateLoD && !component.terrainAsset.terrain.usesQuadTree()) {
                         Gdx.app.postRunnable {
                             // We cannot generate LoD levels off the rendering thread because it involves mesh creation
                             CreateLods(component)
@@ -409,9 +438,12 @@ class AddTerrainChunksDialog : BaseDialog("Add Terrain"), TabbedPaneListener {
 
         // Generate simplified results for LoD
         val results = LoDUtils.buildTerrainLod(terrainComponent, Terrain.LOD_SIMPLIFICATION_FACTORS, abs(maxHeight - minHeight))
-        val asset = terrainComponent?.terrainAsset
+        val asset = terrainComponent?.terrainAsset ?: return
+        val morphTargets = LoDUtils.computeTerrainMorphTargets(asset.terrain, results)
         // Convert to LodLevels with actual meshes
-        asset?.lodLevels = LoDUtils.convertToLodLevels(asset?.terrain?.model, results)
+        asset.lodLevels = LoDUtils.convertToLodLevels(asset.terrain.model, results)
+        asset.terrain.planeMesh.setLodMorphTargets(morphTargets)
+        asset.terrain.planeMesh.updateMeshVertices()
     }
 
     /**
@@ -29,6 +29,11 @@ class LevelOfDetailDialog : BaseDialog("Level of Detail") {
     private val lodSchedulerListener = object : LevelOfDetailScheduler.LodSchedulerListener {
         override fun onTerrainLoDRebuild(state: LevelOfDetailScheduler.State) {
             Scene2DUtils.setButtonState(generateLoDBtn, state == LevelOfDetailScheduler.State.COMPLETE)
+            if (state == LevelOfDetailScheduler.State.COMPLETE) generateLoDBtn.setText("Generate")
+        }
+
+        override fun onTerrainLoDProgress(completed: Int, total: Int) {
+            generateLoDBtn.setText("Generating $completed/$total")
         }
     }
 
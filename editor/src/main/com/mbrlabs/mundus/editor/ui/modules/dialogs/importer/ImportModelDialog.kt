@@ -54,6 +54,7 @@ import com.mbrlabs.mundus.editor.assets.ModelImporter
 import com.mbrlabs.mundus.editor.core.project.ProjectManager
 import com.mbrlabs.mundus.editor.events.AssetImportEvent
 import com.mbrlabs.mundus.editor.events.LogEvent
+import com.mbrlabs.mundus.editor.events.ModelLoDRebuildEvent
 import com.mbrlabs.mundus.editor.events.LogType
 import com.mbrlabs.mundus.editor.ui.UI
 import com.mbrlabs.mundus.editor.ui.modules.dialogs.BaseDialog
@@ -292,6 +293,9 @@ class ImportModelDialog : BaseDialog("Import Mesh"), Disposable {
 
             modelAsset.applyDependencies()
 
+            // Simplified levels are generated in the background and saved next to the model
+            Mundus.postEvent(ModelLoDRebuildEvent(modelAsset))
+
             return modelAsset
         }
 
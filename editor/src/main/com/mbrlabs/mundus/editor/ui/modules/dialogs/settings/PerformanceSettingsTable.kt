@@ -2,9 +2,11 @@ package com.mbrlabs.mundus.editor.ui.modules.dialogs.settings
 
 import com.badlogic.gdx.scenes.scene2d.Actor
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener
+import com.kotcrab.vis.ui.util.FloatDigitsOnlyFilter
 import com.kotcrab.vis.ui.widget.VisCheckBox
 import com.kotcrab.vis.ui.widget.VisLabel
 import com.kotcrab.vis.ui.widget.VisTable
+import com.kotcrab.vis.ui.widget.VisTextField
 import com.mbrlabs.mundus.editor.Mundus
 import com.mbrlabs.mundus.editor.core.plugin.PluginManagerProvider
 import com.mbrlabs.mundus.editor.core.project.ProjectManager
@@ -28,6 +30,9 @@ class PerformanceSettingsTable : BaseSettingsTable(), ProjectChangedEvent.Projec
     private val pluginManager: PluginManager = Mundus.inject<PluginManagerProvider>().pluginManager
 
     private val frustumCullingChkBox = VisCheckBox(null)
+    private val spatialIndexChkBox = VisCheckBox(null)
+    private val instancingChkBox = VisCheckBox(null)
+    private val terrainLodPixelError = VisTextField("0")
     private val optimizeTerrainUpdates = VisCheckBox(null)
 
     init {
@@ -55,6 +60,49 @@ class PerformanceSettingsTable : BaseSettingsTable(), ProjectChangedEvent.Projec
             }
         })
 
+        val spatialIndexLabel = ToolTipLabel("Use Spatial Index (Per Scene)", "Sorts GameObjects into an octree so frustum " +
+            "culling skips whole regions outside of the camera instead of testing every object.\nRecommended for scenes " +
+                "with thousands of objects, small scenes are culled faster without it. Only used with frustum culling.")
+
+        settingsTable.add(spatialIndexLabel)
+        settingsTable.add(spatialIndexChkBox).row()
+
+        spatialIndexChkBox.addListener(object : ChangeListener() {
+            override fun changed(event: ChangeEvent, actor: Actor) {
+                projectManager.current().currScene.settings.useSpatialIndex = spatialIndexChkBox.isChecked
+            }
+        })
+
+        val instancingLabel = ToolTipLabel("Use GPU Instancing (Per Scene)", "Renders models that share the same model and materials " +
+            "with one draw call per mesh part instead of one per object.\nOnly used when at least a few objects of a model are visible, " +
+                "requires OpenGL 3.0 and does not apply to animated models or the shadow pass.")
+
+        settingsTable.add(instancingLabel)
+        settingsTable.add(instancingChkBox).row()
+
+        instancingChkBox.addListener(object : ChangeListener() {
+            override fun changed(event: ChangeEvent, actor: Actor) {
+                projectManager.current().currScene.settings.useInstancing = instancingChkBox.isChecked
+            }
+        })
+
+        val terrainLodLabel = ToolTipLabel("Terrain LoD Pixel Error (Per Scene)", "The maximum difference in pixels between a " +
+            "terrain level of detail and the full resolution terrain.\nThe coarsest level within this error is rendered, " +
+                "larger values render coarser terrains further away.")
+
+        settingsTable.add(terrainLodLabel)
+        settingsTable.add(terrainLodPixelError).width(60f).row()
+
+        terrainLodPixelError.textFieldFilter = FloatDigitsOnlyFilter(false)
+        terrainLodPixelError.addListener(object : ChangeListener() {
+            override fun changed(event: ChangeEvent, actor: Actor) {
+                val value = terrainLodPixelError.text.toFloatOrNull() ?: return
+                if (value > 0f) {
+                    projectManager.current().currScene.settings.terrainLodPixelError = value
+                }
+            }
+        })
+
         val terrainUpdatesLabel = ToolTipLabel("Optimize Terrain Updates", "Depending on the vertex resolution of your terrain, " +
             "updating the terrain mesh can be very expensive.\nWith this option enabled, normals will only be calculated after releasing the mouse button while modifying terrains." +
                 "\nIf you experience slowdowns when updating terrains, try enabling this option.")
@@ -69,6 +117,9 @@ class PerformanceSettingsTable : BaseSettingsTable(), ProjectChangedEvent.Projec
 
     private fun updateValues() {
         frustumCullingChkBox.isChecked = projectManager.current().currScene.settings.useFrustumCulling
+        spatialIndexChkBox.isChecked = projectManager.current().currScene.settings.useSpatialIndex
+        instancingChkBox.isChecked = projectManager.current().currScene.settings.useInstancing
+        terrainLodPixelError.text = projectManager.current().currScene.settings.terrainLodPixelError.toString()
     }
 
     override fun onSave() {
@@ -1,7 +1,6 @@
 package com.mbrlabs.mundus.editor.ui.modules.dialogs.terrain
 
 import com.badlogic.gdx.files.FileHandle
-import com.badlogic.gdx.graphics.Pixmap
 import com.badlogic.gdx.scenes.scene2d.InputEvent
 import com.badlogic.gdx.scenes.scene2d.ui.Table
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener
@@ -18,6 +17,8 @@ import com.mbrlabs.mundus.commons.scene3d.components.TerrainComponent
 import com.mbrlabs.mundus.commons.terrain.SplatMapResolution
 import com.mbrlabs.mundus.editor.terrain.HeightMapGenerator
 import com.mbrlabs.mundus.editor.terrain.Terraformer
+import com.mbrlabs.mundus.editor.terrain.heightfield.HeightFieldImporter
+import com.mbrlabs.mundus.editor.terrain.heightfield.HeightFieldSource
 import com.mbrlabs.mundus.editor.ui.UI
 import com.mbrlabs.mundus.editor.ui.modules.dialogs.AddTerrainChunksDialog
 import com.mbrlabs.mundus.editor.ui.widgets.FileChooserField
@@ -25,7 +26,7 @@ import com.mbrlabs.mundus.editor.ui.widgets.FloatField
 import com.mbrlabs.mundus.editor.ui.widgets.ImprovedSlider
 import com.mbrlabs.mundus.editor.ui.widgets.IntegerField
 import com.mbrlabs.mundus.editor.ui.widgets.ToolTipLabel
-import com.mbrlabs.mundus.editor.utils.isImage
+import com.mbrlabs.mundus.editor.utils.isHeightField
 
 
 /**
@@ -50,12 +51,14 @@ class HeightMapTerrainTab(var dialog: AddTerrainChunksDialog) : Tab(false, false
     private val terrainWidth = IntegerField(false)
     private val splatMapSelectBox: VisSelectBox<String> = VisSelectBox()
 
-    private lateinit var heightMapData: FloatArray
-    private var imageWidth: Int = 0
-    private var imageHeight: Int = 0
+    private var heightField: HeightFieldSource? = null
+    private var flip = false
+    private var smoothingStrength = 0f
+    private var smoothingPassCount = 0
 
     private val description = """
-            Generate terrain using a heightmap image.
+            Generate terrain using a heightmap image or a RAW heightmap.
+            RAW (.raw, .r16, .r32) heightmaps must be square and little endian.
             
             Terrain height range is from 0 to the maximum height.
             Maximum height must be a positive value.
@@ -126,7 +129,7 @@ class HeightMapTerrainTab(var dialog: AddTerrainChunksDialog) : Tab(false, false
 
         root.add(container).left().row()
 
-        root.add(VisLabel("\n\nSelect heightmap image:")).pad(5f).left().fillX().row()
+        root.add(VisLabel("\n\nSelect heightmap image or RAW file:")).pad(5f).left().fillX().row()
 
         val chooserTable = VisTable()
         chooserTable.add(hmInput).pad(5f).left().expandX().fillX().row()
@@ -142,51 +145,41 @@ class HeightMapTerrainTab(var dialog: AddTerrainChunksDialog) : Tab(false, false
                 if (max < 0f) maxHeightField.text =
                     "" + -max // if max is negative, then set to max to positive value
 
-                if (hm != null && hm.exists() && isImage(hm)) {
+                if (hm != null && hm.exists() && isHeightField(hm)) {
                     loadHeightMap(hm)
                 } else {
-                    Dialogs.showErrorDialog(UI, "Please select a heightmap image")
+                    Dialogs.showErrorDialog(UI, "Please select a heightmap image or RAW file")
                 }
             }
         })
     }
 
     private fun loadHeightMap(heightMap: FileHandle) {
-        val originalMap = Pixmap(heightMap)
-        if (originalMap.width % 2 != 0) {
-            Dialogs.showErrorDialog(UI, "HeightMap dimensions must be divisible by two!")
-            return
-        }
-
-        imageWidth = originalMap.width
-        imageHeight = originalMap.height
-
-        try {
-            heightMapData = HeightMapGenerator.heightColorsToMap(
-                originalMap.getPixels(), originalMap.getFormat(), imageWidth,
-                imageHeight
-            )
+        val source = try {
+            HeightFieldImporter.open(heightMap)
         } catch (e: Exception) {
             Dialogs.showErrorDialog(UI, "Failed to load heightmap. " + e.message)
             return
         }
 
-        if (flipHeightMap.isChecked) {
-            // Bottom left corner of the image is 0,0 on terrain
-            heightMapData = flipHeightMap(heightMapData, imageWidth, imageHeight)
+        if (source.width % 2 != 0) {
+            source.dispose()
+            Dialogs.showErrorDialog(UI, "HeightMap dimensions must be divisible by two!")
+            return
         }
 
-        if (applySmoothing.isChecked) {
-            val strength = smoothingSlider.value
-            for (i in 0 until smoothingPasses.int) {
-                heightMapData = HeightMapGenerator.smoothHeightmap(heightMapData, imageWidth, imageHeight, strength)
-            }
-        }
+        heightField?.dispose()
+        heightField = source
+
+        // Bottom left corner of the image is 0,0 on terrain when flipped
+        flip = flipHeightMap.isChecked
+        smoothingStrength = smoothingSlider.value
+        smoothingPassCount = if (applySmoothing.isChecked) smoothingPasses.int else 0
 
         // Calculate the number of chunks such that each chunk's resolution is <= 180
         val maxResolution = 180
         var divisor = 1
-        while (originalMap.width / divisor > maxResolution + 1) {
+        while (source.width / divisor > maxResolution + 1) {
             divisor++
         }
 
@@ -195,11 +188,9 @@ class HeightMapTerrainTab(var dialog: AddTerrainChunksDialog) : Tab(false, false
         val chunks = divisor
 
         // Now, calculate the vertex resolution
-        val resolution = originalMap.width / chunks - 1
+        val resolution = source.width / chunks - 1
         // Create terrain
         dialog.createTerrainChunk(resolution, width, true, chunks, chunks, name.text, SplatMapResolution.valueFromString(splatMapSelectBox.selected).resolutionValues, genLoD.isChecked)
-
-        originalMap.dispose()
     }
 
     override fun getTabTitle(): String {
@@ -215,26 +206,19 @@ class HeightMapTerrainTab(var dialog: AddTerrainChunksDialog) : Tab(false, false
             .heightMap(terrain)
             .maxHeight(maxHeightField.float)
             .minHeight(minHeightField.float)
-            .map(heightMapData)
-            .imageWidth(imageWidth)
-            .imageHeight(imageHeight)
+            .source(heightField)
+            .flip(flip)
+            .smoothing(smoothingStrength, smoothingPassCount)
             .offset(yOffset, xOffset)
             .terraform()
     }
 
     /**
-     * Flips the heightmap data
+     * Releases the loaded heightmap, deleting the temporary file a streamed image is decoded to.
      */
-    private fun flipHeightMap(heightMapData: FloatArray, width: Int, height: Int): FloatArray {
-        val flippedHeightMapData = FloatArray(width * height)
-        for (y in 0 until height) {
-            for (x in 0 until width) {
-                val srcIndex = y * width + x
-                val destIndex = (height - y - 1) * width + x
-                flippedHeightMapData[destIndex] = heightMapData[srcIndex]
-            }
-        }
-        return flippedHeightMapData
+    fun releaseHeightMap() {
+        heightField?.dispose()
+        heightField = null
     }
 
     fun getMinHeightValue() : Float = minHeightField.float
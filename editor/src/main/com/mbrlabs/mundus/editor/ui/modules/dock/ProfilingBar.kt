@@ -27,6 +27,9 @@ class ProfilingBar : Tab(false, false) {
     private val drawCountLabel = VisLabel("Draw calls: ")
     private val drawCount = VisLabel()
 
+    private val instancedDrawCountLabel = VisLabel("Instanced draw calls: ")
+    private val instancedDrawCount = VisLabel()
+
     private val vertexCountLabel = VisLabel("Vertex count: ")
     private val vertexCount = VisLabel()
 
@@ -36,6 +39,9 @@ class ProfilingBar : Tab(false, false) {
     private val textureBindLabel = VisLabel("Texture bindings: ")
     private val textureBind = VisLabel()
 
+    private val bufferUploadLabel = VisLabel("Buffer uploads: ")
+    private val bufferUpload = VisLabel()
+
     private val cellPadding = 4f
 
     init {
@@ -56,6 +62,9 @@ class ProfilingBar : Tab(false, false) {
         profileTable.add(drawCountLabel).left().pad(cellPadding)
         profileTable.add(drawCount).left().pad(cellPadding).expand().row()
 
+        profileTable.add(instancedDrawCountLabel).left().pad(cellPadding)
+        profileTable.add(instancedDrawCount).left().pad(cellPadding).expand().row()
+
         profileTable.add(vertexCountLabel).left().pad(cellPadding)
         profileTable.add(vertexCount).left().pad(cellPadding).expand().row()
 
@@ -64,6 +73,9 @@ class ProfilingBar : Tab(false, false) {
 
         profileTable.add(textureBindLabel).left().pad(cellPadding)
         profileTable.add(textureBind).left().pad(cellPadding).expand().row()
+
+        profileTable.add(bufferUploadLabel).left().pad(cellPadding)
+        profileTable.add(bufferUpload).left().pad(cellPadding).expand().row()
     }
 
     override fun getTabTitle(): String {
@@ -90,9 +102,11 @@ class ProfilingBar : Tab(false, false) {
         if (!glProfile.isEnabled) return
         fps.setText(Gdx.graphics.framesPerSecond)
         drawCount.setText(glProfile.drawCalls)
+        instancedDrawCount.setText(String.format("%,d (%,d instances)", glProfile.instancedDrawCalls, glProfile.instanceCount))
         vertexCount.setText(String.format("%,d", glProfile.vertexCount.total.toLong()))
         shaderSwitches.setText(glProfile.shaderSwitches)
         textureBind.setText(glProfile.textureBindings)
+        bufferUpload.setText(String.format("%,d bytes", glProfile.bufferBytesUploaded))
     }
 
 }
\ No newline at end of file
@@ -38,6 +38,7 @@ import com.kotcrab.vis.ui.layout.GridGroup
 import com.kotcrab.vis.ui.widget.*
 import com.kotcrab.vis.ui.widget.tabbedpane.Tab
 import com.mbrlabs.mundus.commons.assets.*
+import com.mbrlabs.mundus.commons.scene3d.InvalidComponentException
 import com.mbrlabs.mundus.commons.utils.TextureProvider
 import com.mbrlabs.mundus.editor.Mundus
 import com.mbrlabs.mundus.editor.assets.EditorModelAsset
@@ -45,6 +46,7 @@ import com.mbrlabs.mundus.editor.core.project.ProjectManager
 import com.mbrlabs.mundus.editor.events.*
 import com.mbrlabs.mundus.editor.ui.UI
 import com.mbrlabs.mundus.editor.ui.widgets.AutoFocusScrollPane
+import com.mbrlabs.mundus.editor.utils.BenchmarkSceneGenerator
 import com.mbrlabs.mundus.editor.utils.ObjExporter
 import com.mbrlabs.mundus.editorcommons.events.ProjectChangedEvent
 import java.awt.Desktop
@@ -77,6 +79,7 @@ class AssetsDock : Tab(false, false),
     private val openDirectoryAsset = MenuItem("Open Directory")
     private val deleteAsset = MenuItem("Delete Asset")
     private val exportTerrainAsset = MenuItem("Export to OBJ")
+    private val scatterModelAsset = MenuItem("Scatter Benchmark Grid")
 
     private var currentSelection: AssetItem? = null
     private val projectManager: ProjectManager = Mundus.inject()
@@ -173,6 +176,23 @@ class AssetsDock : Tab(false, false),
             }
         })
 
+        scatterModelAsset.addListener(object : ClickListener() {
+            override fun clicked(event: InputEvent, x: Float, y: Float) {
+                currentSelection?.asset?.let {
+                    it as ModelAsset
+                    try {
+                        BenchmarkSceneGenerator.scatter(projectManager.current(), it,
+                                BenchmarkSceneGenerator.DEFAULT_COUNT, BenchmarkSceneGenerator.DEFAULT_SEED)
+                        Mundus.postEvent(SceneGraphChangedEvent())
+                        UI.toaster.success("Scattered ${BenchmarkSceneGenerator.DEFAULT_COUNT} instances of ${it.name}. " +
+                                "Toggle instancing in the performance settings to compare draw calls.")
+                    } catch (ex: InvalidComponentException) {
+                        UI.toaster.error("Error during scatter. ${ex.message}")
+                    }
+                }
+            }
+        })
+
         filterAssets.addListener(object : ChangeListener() {
             override fun changed(event: ChangeEvent, actor: Actor) {
                 currentFilter = AssetType.valueFromString(filterAssets.selected)
@@ -299,6 +319,14 @@ class AssetsDock : Tab(false, false),
                             assetOpsMenu.pack()
                         }
 
+                        if (asset is ModelAsset) {
+                            if (!scatterModelAsset.hasParent())
+                                assetOpsMenu.addItem(scatterModelAsset)
+                        } else {
+                            scatterModelAsset.remove()
+                            assetOpsMenu.pack()
+                        }
+
                         assetOpsMenu.showMenu(UI, Gdx.input.x.toFloat(),
                                 (Gdx.graphics.height - Gdx.input.y).toFloat())
                     } else if (event.button == Input.Buttons.LEFT) {
@@ -74,7 +74,7 @@ class ModelComponentWidget(modelComponent: ModelComponent) : ComponentWidget<Mod
             override fun changed(event: ChangeEvent, actor: Actor) {
                 if (component.shouldCache() == useModelCache.isChecked) return
                 component.setUseModelCache(useModelCache.isChecked)
-                component.gameObject.sceneGraph.scene.modelCacheManager.requestModelCacheRebuild()
+                component.gameObject.sceneGraph.scene.modelCacheManager.requestModelCacheUpdate()
             }
         })
     }
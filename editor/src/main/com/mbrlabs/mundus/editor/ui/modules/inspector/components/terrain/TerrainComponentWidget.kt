@@ -50,6 +50,7 @@ class TerrainComponentWidget(terrainComponent: TerrainComponent) :
     private val raiseLowerTab = TerrainUpDownTab(this)
     private val flattenTab = TerrainFlattenTab(this)
     private val smoothTab = TerrainSmoothTab(this)
+    private val erodeTab = TerrainErodeTab(this)
     private val rampTab = TerrainRampTab(this)
     private val paintTab = TerrainPaintTab(this)
     private val settingsTab = TerrainSettingsTab(this)
@@ -61,6 +62,7 @@ class TerrainComponentWidget(terrainComponent: TerrainComponent) :
         tabbedPane.add(raiseLowerTab)
         tabbedPane.add(flattenTab)
         tabbedPane.add(smoothTab)
+        tabbedPane.add(erodeTab)
         tabbedPane.add(rampTab)
         tabbedPane.add(paintTab)
         tabbedPane.add(settingsTab)
@@ -0,0 +1,29 @@
+package com.mbrlabs.mundus.editor.ui.modules.inspector.components.terrain
+
+import com.badlogic.gdx.scenes.scene2d.ui.Table
+import com.badlogic.gdx.utils.Align
+import com.kotcrab.vis.ui.widget.VisTable
+import com.mbrlabs.mundus.editor.tools.brushes.TerrainBrush
+
+/**
+ * @version October 18, 2026
+ */
+class TerrainErodeTab(parent: TerrainComponentWidget) : BaseBrushTab(parent, TerrainBrush.BrushMode.ERODE) {
+
+    private val table = VisTable()
+
+    init {
+        table.align(Align.left)
+
+        table.add(terrainBrushGrid).expand().fill().row()
+    }
+
+    override fun getTabTitle(): String {
+        return "Erode"
+    }
+
+    override fun getContentTable(): Table {
+        return table
+    }
+
+}
\ No newline at end of file
@@ -40,7 +40,11 @@ class LevelOfDetailWidget : BaseWidget() {
             }
 
             val lodLabel = VisLabel()
-            lodLabel.setText("LOD $i: $verticesCount vertices, $indicesCount indices")
+            var text = "LOD $i: $verticesCount vertices, $indicesCount indices"
+            if (i > 0 && lodLevels[i].geometricError >= 0) {
+                text += ", error %.2f".format(lodLevels[i].geometricError)
+            }
+            lodLabel.setText(text)
             lodTable.add(lodLabel).growX().row()
         }
     }
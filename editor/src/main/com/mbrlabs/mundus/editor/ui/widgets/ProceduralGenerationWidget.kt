@@ -18,7 +18,11 @@ import com.mbrlabs.mundus.commons.terrain.SplatMapResolution
 import com.mbrlabs.mundus.commons.terrain.Terrain
 import com.mbrlabs.mundus.editor.Mundus
 import com.mbrlabs.mundus.editor.events.UpdateNoiseTextureEvent
+import com.mbrlabs.mundus.editor.terrain.filter.BlurFilter
+import com.mbrlabs.mundus.editor.terrain.filter.HydraulicErosionFilter
+import com.mbrlabs.mundus.editor.terrain.filter.ThermalErosionFilter
 import com.mbrlabs.mundus.editor.terrain.noise.modifiers.ElevationModifier
+import com.mbrlabs.mundus.editor.terrain.noise.modifiers.FilterModifier
 import com.mbrlabs.mundus.editor.terrain.noise.modifiers.NoiseModifier
 import com.mbrlabs.mundus.editor.terrain.noise.modifiers.TerrainModifier
 import com.mbrlabs.mundus.editor.ui.UI
@@ -83,6 +87,12 @@ class ProceduralGenerationWidget(private val nameFieldVisible: Boolean,
         if (proceduralGeneration.noiseModifiers.notEmpty()) {
             noiseGeneratorWidget.generator.modifiers.clear()
             for (elevation in proceduralGeneration.noiseModifiers) {
+                if (elevation.filterType != null) {
+                    val filterModifier = createFilterModifier(elevation)
+                    if (filterModifier != null) noiseGeneratorWidget.generator.modifiers.add(filterModifier)
+                    continue
+                }
+
                 val modifier = ElevationModifier()
                 modifier.type = FastNoiseLite.NoiseType.valueOf(elevation.noiseType)
                 modifier.fractalType = FastNoiseLite.FractalType.valueOf(elevation.fractalType)
@@ -105,7 +115,7 @@ class ProceduralGenerationWidget(private val nameFieldVisible: Boolean,
     }
 
     fun terraform(xOffset: Int, yOffset: Int, terrain: TerrainComponent) {
-        noiseGeneratorWidget.generator.offset(xOffset, yOffset).setTerrain(terrain.terrainAsset.terrain).terraform()
+        noiseGeneratorWidget.generator.terraform(terrain.terrainAsset.terrain, xOffset, yOffset)
     }
 
     fun getTerrainName(): String = name.text
@@ -136,8 +146,44 @@ class ProceduralGenerationWidget(private val nameFieldVisible: Boolean,
                 proceduralNoiseModifier.additive = modifier.noiseAdditive
 
                 noiseModifierList.add(proceduralNoiseModifier)
+            } else if (modifier is FilterModifier) {
+                // Filters are kept, so generating new chunks later matches the filtered chunks next to them
+                noiseModifierList.add(toProceduralModifier(modifier))
+            }
+        }
+    }
+
+    private fun toProceduralModifier(modifier: FilterModifier): ProceduralGeneration.ProceduralNoiseModifier {
+        val proceduralNoiseModifier = ProceduralGeneration.ProceduralNoiseModifier()
+        proceduralNoiseModifier.filterName = modifier.name
+        when (val filter = modifier.filter) {
+            is BlurFilter -> {
+                proceduralNoiseModifier.filterType = FILTER_BLUR
+                proceduralNoiseModifier.filterParameters = floatArrayOf(filter.radius.toFloat(), filter.passes.toFloat(), filter.strength)
             }
+            is ThermalErosionFilter -> {
+                proceduralNoiseModifier.filterType = FILTER_THERMAL_EROSION
+                proceduralNoiseModifier.filterParameters = floatArrayOf(filter.talus, filter.strength, filter.iterations.toFloat())
+            }
+            is HydraulicErosionFilter -> {
+                proceduralNoiseModifier.filterType = FILTER_HYDRAULIC_EROSION
+                proceduralNoiseModifier.filterParameters = floatArrayOf(filter.iterations.toFloat(), filter.rain,
+                        filter.solubility, filter.evaporation, filter.capacity)
+            }
+            else -> throw IllegalArgumentException("Unknown height map filter " + filter.javaClass.simpleName)
+        }
+        return proceduralNoiseModifier
+    }
+
+    private fun createFilterModifier(saved: ProceduralGeneration.ProceduralNoiseModifier): FilterModifier? {
+        val p = saved.filterParameters ?: return null
+        val filter = when (saved.filterType) {
+            FILTER_BLUR -> BlurFilter(p[0].toInt(), p[1].toInt()).also { it.strength = p[2] }
+            FILTER_THERMAL_EROSION -> ThermalErosionFilter(p[0], p[1], p[2].toInt())
+            FILTER_HYDRAULIC_EROSION -> HydraulicErosionFilter(p[0].toInt(), p[1], p[2], p[3], p[4])
+            else -> return null
         }
+        return FilterModifier(saved.filterName ?: saved.filterType, filter)
     }
 
     private fun setupUI() {
@@ -251,10 +297,16 @@ class ProceduralGenerationWidget(private val nameFieldVisible: Boolean,
         modifierTable.clear()
 
         val addModifierBtn = VisTextButton("Add Modifier")
+        val addSmoothingBtn = VisTextButton("Add Smoothing")
+        val addThermalErosionBtn = VisTextButton("Add Thermal Erosion")
+        val addHydraulicErosionBtn = VisTextButton("Add Hydraulic Erosion")
 
         modifierTable.defaults().pad(4f)
         modifierTable.left().top()
         modifierTable.add(addModifierBtn).left().row()
+        modifierTable.add(addSmoothingBtn).left().row()
+        modifierTable.add(addThermalErosionBtn).left().row()
+        modifierTable.add(addHydraulicErosionBtn).left().row()
         modifierTable.addSeparator().row()
 
         addModifierBtn.addListener(object : ClickListener() {
@@ -265,11 +317,27 @@ class ProceduralGenerationWidget(private val nameFieldVisible: Boolean,
             }
         })
 
+        // Filters work on the elevations of the modifiers above them, in noise units
+        addFilterListener(addSmoothingBtn) { FilterModifier("Smoothing", BlurFilter.gaussian(2f)) }
+        addFilterListener(addThermalErosionBtn) { FilterModifier("Thermal Erosion", ThermalErosionFilter(0.01f, 0.5f, 30)) }
+        addFilterListener(addHydraulicErosionBtn) { FilterModifier("Hydraulic Erosion", HydraulicErosionFilter(30)) }
+
         for (mod in noiseGeneratorWidget.generator.modifiers) {
             addModifierToList(mod)
         }
     }
 
+    private fun addFilterListener(button: VisTextButton, createModifier: () -> FilterModifier) {
+        button.addListener(object : ClickListener() {
+            override fun clicked(event: InputEvent?, x: Float, y: Float) {
+                val mod = createModifier()
+                addModifierToList(mod)
+                noiseGeneratorWidget.generator.modifiers.add(mod)
+                Mundus.postEvent(UpdateNoiseTextureEvent())
+            }
+        })
+    }
+
     private fun addModifierToList(mod: TerrainModifier) {
         val button = VisTextButton(mod.name)
         button.addListener(object : ClickListener() {
@@ -288,4 +356,10 @@ class ProceduralGenerationWidget(private val nameFieldVisible: Boolean,
         fun generate()
     }
 
+    companion object {
+        private const val FILTER_BLUR = "BLUR"
+        private const val FILTER_THERMAL_EROSION = "THERMAL_EROSION"
+        private const val FILTER_HYDRAULIC_EROSION = "HYDRAULIC_EROSION"
+    }
+
 }
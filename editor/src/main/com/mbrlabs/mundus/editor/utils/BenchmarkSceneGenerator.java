@@ -0,0 +1,69 @@
+package com.mbrlabs.mundus.editor.utils;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.mbrlabs.mundus.commons.assets.ModelAsset;
+import com.mbrlabs.mundus.commons.scene3d.GameObject;
+import com.mbrlabs.mundus.commons.scene3d.InvalidComponentException;
+import com.mbrlabs.mundus.commons.scene3d.SceneGraph;
+import com.mbrlabs.mundus.editor.core.project.ProjectContext;
+import com.mbrlabs.mundus.editor.scene3d.components.PickableModelComponent;
+
+/**
+ * Fills the current scene with many game objects of the same model, to compare the draw calls shown in the
+ * profiling bar with and without instancing on the same scene. The generated scene only depends on the given seed.
+ *
+ * @version October 18, 2026
+ */
+public class BenchmarkSceneGenerator {
+
+    public static final int DEFAULT_COUNT = 1000;
+    public static final long DEFAULT_SEED = 1L;
+
+    private BenchmarkSceneGenerator() {}
+
+    /**
+     * Scatters game objects with a model component of the model on a square grid around the origin, each randomly
+     * offset within its cell, rotated around the Y axis and scaled. The grid cells are twice the size of the model.
+     *
+     * @param context the project context, its current scene receives the game objects as children of the root
+     * @param model   the model of all game objects, with its default materials
+     * @param count   the number of game objects
+     * @param seed    the random seed
+     * @return the parent game object of the generated game objects
+     * @throws InvalidComponentException if a model component cannot be added
+     */
+    public static GameObject scatter(ProjectContext context, ModelAsset model, int count, long seed)
+            throws InvalidComponentException {
+        final Vector3 dimensions = model.getModel().calculateBoundingBox(new BoundingBox()).getDimensions(new Vector3());
+        final float spacing = Math.max(1f, Math.max(dimensions.x, dimensions.z) * 2f);
+
+        final SceneGraph sceneGraph = context.currScene.sceneGraph;
+        final RandomXS128 random = new RandomXS128(seed);
+        final int columns = (int) Math.ceil(Math.sqrt(count));
+        final float offset = (columns - 1) * spacing * 0.5f;
+
+        final GameObject parent = new GameObject(sceneGraph, "Benchmark " + model.getName(), context.obtainID());
+        sceneGraph.addGameObject(parent);
+
+        for (int i = 0; i < count; i++) {
+            final GameObject go = new GameObject(sceneGraph, model.getName() + " " + i, context.obtainID());
+
+            final float x = (i % columns) * spacing - offset + (random.nextFloat() - 0.5f) * spacing * 0.5f;
+            final float z = (i / columns) * spacing - offset + (random.nextFloat() - 0.5f) * spacing * 0.5f;
+            final float scale = 0.75f + random.nextFloat() * 0.5f;
+            go.setLocalPosition(x, 0f, z);
+            go.setLocalRotation(random.nextFloat() * 360f, 0f, 0f);
+            go.setLocalScale(scale, scale, scale);
+
+            final PickableModelComponent modelComponent = new PickableModelComponent(go);
+            modelComponent.setModel(model, true);
+            modelComponent.encodeRaypickColorId();
+            go.addComponent(modelComponent);
+            parent.addChild(go);
+        }
+
+        return parent;
+    }
+}
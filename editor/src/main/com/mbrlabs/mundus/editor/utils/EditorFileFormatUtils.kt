@@ -19,6 +19,7 @@ package com.mbrlabs.mundus.editor.utils
 
 import com.badlogic.gdx.files.FileHandle
 import com.mbrlabs.mundus.commons.utils.FileFormatUtils
+import com.mbrlabs.mundus.editor.terrain.heightfield.HeightFieldImporter
 
 const val FORMAT_3D_G3DJ = "g3dj"
 const val FORMAT_3D_COLLADA = "dae"
@@ -48,6 +49,7 @@ fun isTGA(filename: String) = filename.lowercase().endsWith(FORMAT_IMG_TGA)
 fun isTGA(file: FileHandle) = isTGA(file.name())
 fun is3DFormat(file: FileHandle) = is3DFormat(file.name())
 fun isImage(file: FileHandle) = isImage(file.name())
+fun isHeightField(file: FileHandle) = isImage(file) || HeightFieldImporter.isRaw(file.name())
 
 fun isJPG(filename: String): Boolean {
     val fn = filename.lowercase()
@@ -153,6 +153,35 @@ public class FastNoiseLite
         SetSeed(seed);
     }
 
+    /// <summary>
+    /// Create new FastNoise object with the settings of another one
+    /// </summary>
+    public FastNoiseLite(FastNoiseLite other)
+    {
+        mSeed = other.mSeed;
+        mFrequency = other.mFrequency;
+        mNoiseType = other.mNoiseType;
+        mRotationType3D = other.mRotationType3D;
+        mTransformType3D = other.mTransformType3D;
+
+        mFractalType = other.mFractalType;
+        mOctaves = other.mOctaves;
+        mLacunarity = other.mLacunarity;
+        mGain = other.mGain;
+        mWeightedStrength = other.mWeightedStrength;
+        mPingPongStrength = other.mPingPongStrength;
+
+        mFractalBounding = other.mFractalBounding;
+
+        mCellularDistanceFunction = other.mCellularDistanceFunction;
+        mCellularReturnType = other.mCellularReturnType;
+        mCellularJitterModifier = other.mCellularJitterModifier;
+
+        mDomainWarpType = other.mDomainWarpType;
+        mWarpTransformType3D = other.mWarpTransformType3D;
+        mDomainWarpAmp = other.mDomainWarpAmp;
+    }
+
     /// <summary>
     /// Sets seed used for all noise types
     /// </summary>
@@ -407,6 +436,49 @@ public class FastNoiseLite
     }
 
 
+    /// <summary>
+    /// Fills a grid with 2D noise using current settings
+    /// </summary>
+    /// <remarks>
+    /// See GetNoiseGrid(noise, offset, x, y, width, height, step, warp)
+    /// </remarks>
+    public void GetNoiseGrid(float[] noise, int offset, /*FNLfloat*/ float x, /*FNLfloat*/ float y, int width, int height)
+    {
+        GetNoiseGrid(noise, offset, x, y, width, height, 1, null);
+    }
+
+    /// <summary>
+    /// Fills a grid with 2D noise using current settings, optionally domain warped by another instance
+    /// </summary>
+    /// <remarks>
+    /// Writes width * height values row by row starting at offset, the value at column i and row j
+    /// is sampled at (x + i * step, y + j * step). Equal to calling DomainWarp on the warp instance
+    /// followed by GetNoise for each position. Neither instance is modified, so grids can be filled
+    /// from multiple threads at once as long as the settings are not changed meanwhile.
+    /// </remarks>
+    public void GetNoiseGrid(float[] noise, int offset, /*FNLfloat*/ float x, /*FNLfloat*/ float y, int width, int height,
+                             /*FNLfloat*/ float step, FastNoiseLite warp)
+    {
+        Vector2 coord = new Vector2(0, 0);
+        int index = offset;
+
+        for (int j = 0; j < height; j++)
+        {
+            /*FNLfloat*/ float rowY = y + j * step;
+
+            for (int i = 0; i < width; i++)
+            {
+                coord.x = x + i * step;
+                coord.y = rowY;
+                if (warp != null)
+                {
+                    warp.DomainWarp(coord);
+                }
+                noise[index++] = GetNoise(coord.x, coord.y);
+            }
+        }
+    }
+
     /// <summary>
     /// 2D warps the input position using current domain warp settings
     /// </summary>
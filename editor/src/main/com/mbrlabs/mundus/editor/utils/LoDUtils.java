@@ -1,15 +1,23 @@
 package com.mbrlabs.mundus.editor.utils;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Mesh;
 import com.badlogic.gdx.graphics.g3d.Model;
 import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.utils.Array;
+import com.mbrlabs.mundus.commons.assets.ModelAsset;
+import com.mbrlabs.mundus.commons.dto.LevelOfDetailDTO;
+import com.mbrlabs.mundus.commons.lod.ModelLevelOfDetailManager;
+import com.mbrlabs.mundus.commons.lod.ModelLodFormat;
+import com.mbrlabs.mundus.commons.lod.TerrainLodMorph;
 import com.mbrlabs.mundus.commons.scene3d.components.TerrainComponent;
 import com.mbrlabs.mundus.commons.terrain.LodLevel;
+import com.mbrlabs.mundus.commons.terrain.PlaneMesh;
 import com.mbrlabs.mundus.commons.terrain.Terrain;
 
-import java.util.HashMap;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.concurrent.Callable;
 
 /**
@@ -18,67 +26,103 @@ import java.util.concurrent.Callable;
  */
 public class LoDUtils {
 
-    public interface TerrainLodCallback {
-        void onComplete();
+    /** Target error of simplified model meshes, relative to the mesh size */
+    public static final float MODEL_LOD_TARGET_ERROR = 0.02f;
+
+    public interface ModelLodCallback {
+        void onComplete(ModelAsset asset);
     }
 
     /**
-     * Returns a Callable that builds the LoD levels for the given terrain components on a background thread.
-     * @param components The terrain components to build LoD levels for
-     * @param callback (optional) The callback to call when the LoD levels are built
+     * Finds the largest height difference of the given terrains, used to scale their simplification factors.
+     * @param components The terrain components that are simplified together
      */
-    public static Callable<Void> createTerrainLodProcessingTask(Iterable<TerrainComponent> components, TerrainLodCallback callback) {
-        Array<TerrainComponent> tcs = new Array<>();
-
-        // Copy the iterable to an array so we can access it from another thread without
-        // worrying about what happens to it on the main thread
-        for (TerrainComponent tc : components) {
-            tcs.add(tc);
+    public static float getMaxHeightDifference(Iterable<TerrainComponent> components) {
+        float maxHeightDiff = 0;
+        for (TerrainComponent terrain : components) {
+            float maxHeight = terrain.getOrientedBoundingBox().getBounds().max.y;
+            float minHeight = terrain.getOrientedBoundingBox().getBounds().min.y;
+            float heightDiff = Math.abs(maxHeight - minHeight);
+            maxHeightDiff = Math.max(maxHeightDiff, heightDiff);
         }
+        return maxHeightDiff;
+    }
 
-        Callable<Void> callable = () -> {
-            HashMap<TerrainComponent, MeshUtils.SimplifyResult[]> lodData = new HashMap<>();
+    /**
+     * Applies simplified levels to the terrain, creating their meshes. Must be called on the main thread.
+     * @param terrain The terrain the levels were built from
+     * @param results The simplified levels, finest first
+     * @param morphTargets The morph targets from {@link #computeTerrainMorphTargets(Terrain, MeshUtils.SimplifyResult[])}
+     */
+    public static void applyTerrainLod(TerrainComponent terrain, MeshUtils.SimplifyResult[] results, float[] morphTargets) {
+        terrain.getTerrainAsset().setLodLevels(convertToLodLevels(terrain.getTerrainAsset().getTerrain().getModel(), results));
+
+        PlaneMesh planeMesh = terrain.getTerrainAsset().getTerrain().getPlaneMesh();
+        planeMesh.setLodMorphTargets(morphTargets);
+        planeMesh.updateMeshVertices();
+        // We mark dirty so it knows to update meshes
+        terrain.getLodManager().markDirty();
+        terrain.getLodManager().enable();
+    }
 
-            // find max height difference between all terrains
-            float maxHeightDiff = 0;
-            for (TerrainComponent terrain : tcs) {
-                float maxHeight = terrain.getOrientedBoundingBox().getBounds().max.y;
-                float minHeight = terrain.getOrientedBoundingBox().getBounds().min.y;
-                float heightDiff = Math.abs(maxHeight - minHeight);
-                maxHeightDiff = Math.max(maxHeightDiff, heightDiff);
-            }
+    /**
+     * Returns a Callable that builds the LoD levels of the given model asset on a background thread. The levels are
+     * applied to the asset and saved next to the model file on the main thread.
+     * @param asset The model asset to build LoD levels for
+     * @param callback (optional) The callback to call when the LoD levels are built
+     */
+    public static Callable<Void> createModelLodProcessingTask(ModelAsset asset, ModelLodCallback callback) {
+        final float[] factors = ModelLevelOfDetailManager.DEFAULT_SIMPLIFICATION_FACTORS;
+        final float[] screenSizes = ModelLevelOfDetailManager.DEFAULT_SCREEN_SIZES;
 
-            for (TerrainComponent terrain : tcs) {
-                lodData.put(terrain, buildTerrainLod(terrain, Terrain.LOD_SIMPLIFICATION_FACTORS, maxHeightDiff));
-            }
+        return () -> {
+            LevelOfDetailDTO[] lods = buildModelLod(asset.getModel(), factors);
 
             Gdx.app.postRunnable(() -> {
-                // Now we have all the lod data, convert it to libGDX meshes on main thread
-                for (TerrainComponent terrain : lodData.keySet()) {
-                    MeshUtils.SimplifyResult[] results = lodData.get(terrain);
-                    LodLevel[] levels = new LodLevel[Terrain.LOD_SIMPLIFICATION_FACTORS.length + 1]; // +1 for base lod
-
-                    // Set base lod to the original meshes
-                    levels[0] = new LodLevel(terrain.getTerrainAsset().getTerrain().getModel().meshes.toArray(Mesh.class));
-
-                    // Convert the rest of the lod levels
-                    for (int i = 0; i < results.length; i++) {
-                        levels[i+1] = convertToLodLevel(terrain.getTerrainAsset().getTerrain().getModel(), results[i]);
-                    }
-
-                    terrain.getTerrainAsset().setLodLevels(levels);
-                    // We mark dirty so it knows to update meshes
-                    terrain.getLodManager().markDirty();
-                    terrain.getLodManager().enable();
+                // Convert to libGDX meshes on main thread
+                asset.createLodLevels(screenSizes, lods);
+                try {
+                    saveModelLod(asset.getLodFile(), screenSizes, lods);
+                } catch (IOException e) {
+                    Gdx.app.error(LoDUtils.class.getSimpleName(), "Could not save LoD of " + asset.getName(), e);
                 }
 
                 if (callback != null) {
-                    callback.onComplete();
+                    callback.onComplete(asset);
                 }
             });
             return null;
         };
-        return callable;
+    }
+
+    /**
+     * Simplifies all meshes of the model once per simplification factor.
+     * @param model The model to simplify
+     * @param simplificationFactors The simplification factors to use, these are applied to target indice count
+     * @return The vertices and indices of each level, excluding the base level
+     */
+    public static LevelOfDetailDTO[] buildModelLod(Model model, float[] simplificationFactors) {
+        LevelOfDetailDTO[] lods = new LevelOfDetailDTO[simplificationFactors.length];
+        MeshUtils.MeshSnapshot snapshot = MeshUtils.MeshSnapshot.of(model);
+        for (int i = 0; i < simplificationFactors.length; i++) {
+            MeshUtils.SimplifyResult result = MeshUtils.simplifyModel(snapshot, simplificationFactors[i], MODEL_LOD_TARGET_ERROR);
+            lods[i] = new LevelOfDetailDTO(result.getVertices(), result.getIndices());
+        }
+        return lods;
+    }
+
+    /**
+     * Writes LoD levels of a model in the {@link ModelLodFormat}.
+     * @param file The file to write, usually {@link ModelAsset#getLodFile()}
+     */
+    public static void saveModelLod(FileHandle file, float[] screenSizes, LevelOfDetailDTO[] lods) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(ModelLodFormat.computeSize(screenSizes, lods));
+        ModelLodFormat.write(buffer, screenSizes, lods);
+        buffer.flip();
+
+        try (FileOutputStream out = new FileOutputStream(file.file())) {
+            out.getChannel().write(buffer);
+        }
     }
 
     /**
@@ -88,14 +132,27 @@ public class LoDUtils {
      * @param maxHeightDiff The maximum height difference between the highest and lowest points on all terrains
      */
     public static MeshUtils.SimplifyResult[] buildTerrainLod(TerrainComponent terrain, float[] simplificationFactors, float maxHeightDiff) {
+        MeshUtils.MeshSnapshot snapshot = MeshUtils.MeshSnapshot.of(terrain.getTerrainAsset().getTerrain().getModel());
+        MeshUtils.SimplifyResult[] results = new MeshUtils.SimplifyResult[simplificationFactors.length];
+        float scaleFactor = getTerrainLodScale(terrain, maxHeightDiff);
+
+        for (int i = 0; i < simplificationFactors.length; i++) {
+            results[i] = buildTerrainLodLevel(snapshot, simplificationFactors[i] * scaleFactor);
+        }
+        return results;
+    }
+
+    /**
+     * Returns the multiplier of the simplification factors of a terrain, see {@link #buildTerrainLod}.
+     * @param terrain The terrain to simplify
+     * @param maxHeightDiff The maximum height difference between the highest and lowest points on all terrains
+     */
+    public static float getTerrainLodScale(TerrainComponent terrain, float maxHeightDiff) {
         // prevent divide by 0
         if (maxHeightDiff == 0) {
             maxHeightDiff = 0.0001f;
         }
 
-        Model model = terrain.getTerrainAsset().getTerrain().getModel();
-        MeshUtils.SimplifyResult[] results = new MeshUtils.SimplifyResult[simplificationFactors.length];
-
         // calculate scale factor based on height difference of this terrain and the max height difference of all terrains
         // lower height difference indicates a flatter terrain, so we can use a higher simplification factor
         float maxHeight = terrain.getOrientedBoundingBox().getBounds().max.y;
@@ -103,15 +160,44 @@ public class LoDUtils {
         float heightDifference = Math.abs(maxHeight - minHeight); // take the absolute to ensure it's positive
         float scaleFactor = 1.0f - (heightDifference / maxHeightDiff);
 
-        scaleFactor = MathUtils.clamp(scaleFactor, 0.1f, 1.0f);
+        return MathUtils.clamp(scaleFactor, 0.1f, 1.0f);
+    }
 
-        for (int i = 0; i < simplificationFactors.length; i++) {
-            float factor = simplificationFactors[i] * scaleFactor;
-            float targetError = 2f;
-            MeshUtils.SimplifyResult result = MeshUtils.simplify(model, factor, targetError);
-            results[i] = result;
+    /**
+     * Simplifies a single LoD level of a terrain. Levels of the same terrain can be built concurrently.
+     * @param snapshot The terrain meshes, copied on the rendering thread
+     * @param factor The scaled simplification factor of the level
+     */
+    public static MeshUtils.SimplifyResult buildTerrainLodLevel(MeshUtils.MeshSnapshot snapshot, float factor) {
+        float targetError = 2f;
+        return MeshUtils.simplify(snapshot, factor, targetError);
+    }
+
+    /**
+     * Sets the geomorphing targets of the simplified terrain levels, see {@link TerrainLodMorph}. The error of a
+     * level never decreases towards coarser levels, so the screen space error selection stays monotonic.
+     * @param terrain The terrain the levels were built from
+     * @param results The simplified levels, finest first. Modified in place.
+     * @return The morph targets of the terrain mesh, or null if the terrain has no morph attribute
+     */
+    public static float[] computeTerrainMorphTargets(Terrain terrain, MeshUtils.SimplifyResult[] results) {
+        for (int i = 1; i < results.length; i++) {
+            for (int m = 0; m < results[i].getErrors().length; m++) {
+                results[i].getErrors()[m] = Math.max(results[i].getErrors()[m], results[i - 1].getErrors()[m]);
+            }
         }
-        return results;
+
+        PlaneMesh planeMesh = terrain.getPlaneMesh();
+        if (planeMesh.getLodMorphOffset() < 0 || results.length == 0) return null;
+
+        float[][] vertices = new float[results.length][];
+        short[][] indices = new short[results.length][];
+        for (int i = 0; i < results.length; i++) {
+            vertices[i] = results[i].getVertices()[0];
+            indices[i] = results[i].getIndices()[0];
+        }
+        return TerrainLodMorph.apply(terrain.vertexResolution, terrain.terrainWidth, terrain.terrainDepth,
+                planeMesh.getStride(), planeMesh.getPositionOffset(), planeMesh.getLodMorphOffset(), vertices, indices);
     }
 
     /**
@@ -123,9 +209,11 @@ public class LoDUtils {
     public static LodLevel[] convertToLodLevels(Model model, MeshUtils.SimplifyResult[] results) {
         LodLevel[] lodLevels = new LodLevel[results.length + 1];
         lodLevels[0] = new LodLevel(model.meshes.toArray(Mesh.class));
+        lodLevels[0].setGeometricError(0f);
 
         for (int i = 1; i < lodLevels.length; i++) {
             lodLevels[i] = convertToLodLevel(model, results[i-1]);
+            lodLevels[i].setGeometricError(results[i-1].getMaxError());
         }
         return lodLevels;
     }
@@ -1,6 +1,8 @@
 package com.mbrlabs.mundus.editor.utils;
 
 import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
 import com.badlogic.gdx.graphics.g3d.Model;
 import com.badlogic.gdx.utils.BufferUtils;
 import org.lwjgl.util.meshoptimizer.MeshOptimizer;
@@ -27,9 +29,17 @@ public class MeshUtils {
         // [Mesh][Indices]
         private final short[][] indices;
 
+        // [Mesh] deviation from the original mesh in model units, 0 for meshes that were not simplified
+        private final float[] errors;
+
         public SimplifyResult(float[][] vertices, short[][] indices) {
+            this(vertices, indices, new float[vertices.length]);
+        }
+
+        public SimplifyResult(float[][] vertices, short[][] indices, float[] errors) {
             this.vertices = vertices;
             this.indices = indices;
+            this.errors = errors;
         }
 
         public float[][] getVertices() {
@@ -39,6 +49,69 @@ public class MeshUtils {
         public short[][] getIndices() {
             return indices;
         }
+
+        public float[] getErrors() {
+            return errors;
+        }
+
+        /**
+         * @return the largest error of all meshes in model units
+         */
+        public float getMaxError() {
+            float max = 0f;
+            for (float error : errors) {
+                max = Math.max(max, error);
+            }
+            return max;
+        }
+    }
+
+    /**
+     * Copy of the vertices and indices of the meshes of a model. Taken on the rendering thread, so the meshes can be
+     * simplified on a background thread while the model keeps being edited and uploaded.
+     */
+    public static class MeshSnapshot {
+        // [Mesh][Vertices], null for meshes that cannot be simplified
+        private final float[][] vertices;
+
+        // [Mesh][Indices], null for meshes that cannot be simplified
+        private final short[][] indices;
+
+        // [Mesh] vertex size in bytes
+        private final int[] vertexSizes;
+
+        private MeshSnapshot(float[][] vertices, short[][] indices, int[] vertexSizes) {
+            this.vertices = vertices;
+            this.indices = indices;
+            this.vertexSizes = vertexSizes;
+        }
+
+        /**
+         * Copies the meshes of the model. Meshes without indices or without the position as first attribute are
+         * left out.
+         */
+        public static MeshSnapshot of(Model model) {
+            float[][] vertices = new float[model.meshes.size][];
+            short[][] indices = new short[model.meshes.size][];
+            int[] vertexSizes = new int[model.meshes.size];
+
+            for (int i = 0; i < model.meshes.size; i++) {
+                Mesh mesh = model.meshes.get(i);
+                VertexAttribute position = mesh.getVertexAttribute(VertexAttributes.Usage.Position);
+                if (mesh.getNumIndices() == 0 || position == null || position.offset != 0) continue;
+
+                vertexSizes[i] = mesh.getVertexSize();
+                vertices[i] = new float[mesh.getNumVertices() * mesh.getVertexSize() / Float.BYTES];
+                indices[i] = new short[mesh.getNumIndices()];
+                mesh.getVertices(vertices[i]);
+                mesh.getIndices(indices[i]);
+            }
+            return new MeshSnapshot(vertices, indices, vertexSizes);
+        }
+
+        public int getMeshCount() {
+            return vertices.length;
+        }
     }
 
     /**
@@ -50,33 +123,71 @@ public class MeshUtils {
      * @return The SimplifyResult object containing the new vertices and indices
      */
     public static SimplifyResult simplify(Model model, float simplificationFactor, float targetError) {
+        return simplify(MeshSnapshot.of(model), simplificationFactor, targetError);
+    }
+
+    /**
+     * Same as {@link #simplify(Model, float, float)} on a copy of the meshes, safe to call from any thread.
+     */
+    public static SimplifyResult simplify(MeshSnapshot snapshot, float simplificationFactor, float targetError) {
+        return simplify(snapshot, simplificationFactor, targetError, true, MeshOptimizer.meshopt_SimplifyLockBorder);
+    }
+
+    /**
+     * Simplifies the meshes of an arbitrary model, the target error is relative to the size of each mesh and mesh
+     * borders may move. Meshes without indices or without the position as first attribute cannot be simplified
+     * and get empty indices.
+     * @param model The model to simplify
+     * @param simplificationFactor The multiplier to apply to the number of indices .5 == 50% target of original indices
+     * @param relativeError The target error relative to the mesh extents, 0.01f == 1% of the mesh size
+     * @return The SimplifyResult object containing the new vertices and indices
+     */
+    public static SimplifyResult simplifyModel(Model model, float simplificationFactor, float relativeError) {
+        return simplifyModel(MeshSnapshot.of(model), simplificationFactor, relativeError);
+    }
+
+    /**
+     * Same as {@link #simplifyModel(Model, float, float)} on a copy of the meshes, safe to call from any thread.
+     */
+    public static SimplifyResult simplifyModel(MeshSnapshot snapshot, float simplificationFactor, float relativeError) {
+        return simplify(snapshot, simplificationFactor, relativeError, false, 0);
+    }
+
+    private static SimplifyResult simplify(MeshSnapshot snapshot, float simplificationFactor, float targetError, boolean absoluteError, int options) {
         // validate simplification factor
         if (simplificationFactor <= 0.0 || simplificationFactor > 1) {
             throw new IllegalArgumentException("Simplification factor must be > 0 and <= 1");
         }
 
-        float[][] vertices = new float[model.meshes.size][];
-        short[][] indices = new short[model.meshes.size][];
-
-        for (int i = 0; i < model.meshes.size; i++) {
-            Mesh mesh = model.meshes.get(i);
-
-            int vertexSize = mesh.getVertexSize() / Float.BYTES;
-            short[] origIndices = new short[mesh.getNumIndices()];
-            float[] origVertices = new float[mesh.getNumVertices() * vertexSize];
+        int meshCount = snapshot.getMeshCount();
+        float[][] vertices = new float[meshCount][];
+        short[][] indices = new short[meshCount][];
+        float[] errors = new float[meshCount];
+        FloatBuffer resultError = BufferUtils.newFloatBuffer(1);
+
+        for (int i = 0; i < meshCount; i++) {
+            short[] origIndices = snapshot.indices[i];
+            float[] origVertices = snapshot.vertices[i];
+            if (origIndices == null) {
+                vertices[i] = new float[0];
+                indices[i] = new short[0];
+                continue;
+            }
 
-            mesh.getVertices(origVertices);
-            mesh.getIndices(origIndices);
+            int vertexSizeBytes = snapshot.vertexSizes[i];
+            int vertexSize = vertexSizeBytes / Float.BYTES;
+            int numVertices = origVertices.length / vertexSize;
+            int numIndices = origIndices.length;
 
-            // MeshOptimizer wants IntBuffers
+            // MeshOptimizer wants IntBuffers, indices are unsigned
             IntBuffer source = BufferUtils.newIntBuffer(origIndices.length);
             for (short value : origIndices) {
-                source.put(value);
+                source.put(value & 0xFFFF);
             }
             source.flip();
 
             // The resulting indices after simplification will be stored in this buffer
-            IntBuffer destination = BufferUtils.newIntBuffer(mesh.getNumIndices());
+            IntBuffer destination = BufferUtils.newIntBuffer(numIndices);
 
             // Create ByteBuffer and derive FloatBuffer view
             ByteBuffer byteBuffer = BufferUtils.newByteBuffer(origVertices.length * Float.BYTES);
@@ -85,18 +196,24 @@ public class MeshUtils {
             vertBuffer.put(origVertices);
             vertBuffer.flip();
 
-            float scale = MeshOptimizer.meshopt_simplifyScale(vertBuffer, mesh.getNumVertices(), mesh.getVertexSize());
+            // Errors of meshopt_simplify are relative to this scale
+            float scale = MeshOptimizer.meshopt_simplifyScale(vertBuffer, numVertices, vertexSizeBytes);
 
-            // Absolute error must be divided by the scaling factor before passing it to simplify as target_error.
-            float scaledTargetError = targetError / scale;
+            float scaledTargetError = targetError;
+            if (absoluteError) {
+                // Absolute error must be divided by the scaling factor before passing it to simplify as target_error.
+                scaledTargetError = targetError / scale;
+            }
 
             // Actual simplification
-            int targetIndexCount = (int) (mesh.getNumIndices() * simplificationFactor);
-            long newIndicesCount = MeshOptimizer.meshopt_simplify(destination, source, vertBuffer, mesh.getNumVertices(), mesh.getVertexSize(), targetIndexCount, scaledTargetError, MeshOptimizer.meshopt_SimplifyLockBorder, null);
+            int targetIndexCount = (int) (numIndices * simplificationFactor);
+            long newIndicesCount = MeshOptimizer.meshopt_simplify(destination, source, vertBuffer, numVertices, vertexSizeBytes, targetIndexCount, scaledTargetError, options, resultError);
+            destination.limit((int) newIndicesCount);
+            errors[i] = resultError.get(0) * scale;
 
             // Optimize the new index buffer for vertex cache efficiency
-            ByteBuffer newVertexBuffer = BufferUtils.newByteBuffer(mesh.getNumVertices() * mesh.getVertexSize());
-            long uniqueVertices = MeshOptimizer.meshopt_optimizeVertexFetch(newVertexBuffer, destination, byteBuffer, mesh.getNumVertices(), mesh.getVertexSize());
+            ByteBuffer newVertexBuffer = BufferUtils.newByteBuffer(numVertices * vertexSizeBytes);
+            long uniqueVertices = MeshOptimizer.meshopt_optimizeVertexFetch(newVertexBuffer, destination, byteBuffer, numVertices, vertexSizeBytes);
 
             float[] newVertices = new float[(int) uniqueVertices * vertexSize];
             newVertexBuffer.asFloatBuffer().get(newVertices, 0, newVertices.length);
@@ -107,13 +224,10 @@ public class MeshUtils {
                 newInd[j] = (short) destination.get(j);
             }
 
-//            Gdx.app.log("TEST", "Old indices: " + origIndices.length);
-//            Gdx.app.log("TEST", "New indices: " + newInd.length);
-
             indices[i] = newInd;
             vertices[i] = newVertices;
         }
 
-        return new SimplifyResult(vertices, indices);
+        return new SimplifyResult(vertices, indices, errors);
     }
 }
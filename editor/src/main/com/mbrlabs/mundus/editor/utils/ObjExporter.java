@@ -21,6 +21,11 @@ public class ObjExporter {
     private static final Vector3 tmpVec = new Vector3();
 
     public static void exportToObj(String fileName, Terrain terrain) throws GdxRuntimeException {
+        if (terrain.usesQuadTree()) {
+            throw new GdxRuntimeException("Terrains above a vertex resolution of "
+                    + Terrain.MAX_MESH_VERTEX_RESOLUTION + " cannot be exported.");
+        }
+
         Model model = terrain.getModel();
         int vertexResolution = terrain.vertexResolution;
         final int w = vertexResolution - 1;
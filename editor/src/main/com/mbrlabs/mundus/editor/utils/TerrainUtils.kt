@@ -56,8 +56,7 @@ fun getRayIntersection(terrains: Array<TerrainComponent>, ray: Ray, out: Vector3
 fun getRayIntersection(terrain: TerrainComponent, ray: Ray, out: Vector3): Vector3? {
     val terr = terrain.terrainAsset.terrain
 
-    terr.getRayIntersection(out, ray, terrain.modelInstance.transform)
-    if (terr.isOnTerrain(out.x, out.z, terrain.modelInstance.transform)) {
+    if (terr.getRayIntersection(out, ray, terrain.modelInstance.transform)) {
         return out
     }
 
@@ -67,8 +66,7 @@ fun getRayIntersection(terrain: TerrainComponent, ray: Ray, out: Vector3): Vecto
 fun getRayIntersectionAndUp(terrains: Array<TerrainComponent>, ray: Ray): VertexInfo? {
     for (terrain in terrains) {
         val terr = terrain.terrainAsset.terrain
-        terr.getRayIntersection(tempVI.position, ray, terrain.modelInstance.transform)
-        if (terr.isOnTerrain(tempVI.position.x, tempVI.position.z, terrain.modelInstance.transform)) {
+        if (terr.getRayIntersection(tempVI.position, ray, terrain.modelInstance.transform)) {
             terr.getNormalAtWordCoordinate(tempVI.normal, tempVI.position.x, tempVI.position.z, terrain.modelInstance.transform)
             return tempVI
         }
@@ -16,12 +16,26 @@
 
 package com.mbrlabs.mundus.editor.history;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 import org.junit.Test;
+import org.mockito.Mockito;
 
+import com.badlogic.gdx.graphics.Pixmap;
+import com.mbrlabs.mundus.commons.assets.TerrainAsset;
+import com.mbrlabs.mundus.commons.scene3d.components.TerrainComponent;
+import com.mbrlabs.mundus.commons.terrain.Terrain;
 import com.mbrlabs.mundus.editor.history.Command;
 import com.mbrlabs.mundus.editor.history.CommandHistory;
+import com.mbrlabs.mundus.editor.history.commands.TerrainHeightCommand;
+import com.mbrlabs.mundus.editor.history.commands.TerrainPaintCommand;
 
 /**
  * @author Marcus Brummer
@@ -29,6 +43,8 @@ import com.mbrlabs.mundus.editor.history.CommandHistory;
  */
 public class HistoryTest {
 
+    private static final long MB = 1024L * 1024L;
+
     @Test
     public void addThenGoBackAndAdd() {
         CommandHistory history = new CommandHistory(CommandHistory.Companion.getDEFAULT_LIMIT());
@@ -84,6 +100,156 @@ public class HistoryTest {
         assertEquals(2, history.size());
     }
 
+    @Test
+    public void memoryBudgetEvictionAfterUndoKeepsPointer() {
+        // given commands of 100 MB in the default 256 MB budget
+        CommandHistory history = new CommandHistory(CommandHistory.Companion.getDEFAULT_LIMIT());
+        List<String> undone = new ArrayList<>();
+        MemoryCommand first = new MemoryCommand("first", undone);
+        MemoryCommand second = new MemoryCommand("second", undone);
+        MemoryCommand third = new MemoryCommand("third", undone);
+        assertEquals(0, history.add(first));
+        assertEquals(1, history.add(second));
+
+        // when the third command exceeds the budget
+        int ptr = history.add(third);
+
+        // then the oldest one is evicted
+        assertEquals(1, ptr);
+        assertEquals(2, history.size());
+        assertTrue(first.disposed);
+        assertEquals(200L * MB, history.getMemorySize());
+
+        // when undoing the latest command and adding two more
+        ptr = history.goBack();
+        assertEquals(0, ptr);
+        assertEquals(1, history.add(new MemoryCommand("fourth", undone)));
+        assertTrue(third.disposed);
+        ptr = history.add(new MemoryCommand("fifth", undone));
+
+        // then the pointer still points at the latest command
+        assertEquals(1, ptr);
+        assertEquals(2, history.size());
+        assertTrue(second.disposed);
+
+        ptr = history.goBack();
+        assertEquals(0, ptr);
+        ptr = history.goBack();
+        assertEquals(-1, ptr);
+        ptr = history.goBack();
+        assertEquals(-1, ptr);
+
+        List<String> expected = new ArrayList<>();
+        expected.add("third");
+        expected.add("fifth");
+        expected.add("fourth");
+        assertEquals(expected, undone);
+    }
+
+    @Test
+    public void terrainHeightCommandRestoresHeightTiles() {
+        // given a resolution with partial tiles at the edges
+        final int resolution = 70;
+        final float[] before = new float[resolution * resolution];
+        final Random random = new Random(resolution);
+        for (int i = 0; i < before.length; i++) {
+            before[i] = random.nextFloat() * 10f;
+        }
+        final float[] after = before.clone();
+        after[5 * resolution + 5] += 1f;
+        after[65 * resolution + 40] += 1f;
+        after[69 * resolution + 69] += 1f;
+
+        TerrainHeightCommand command = new TerrainHeightCommand(mockTerrainComponent(new Terrain(100, before.clone())));
+        command.setHeightDataBefore(before);
+
+        // when
+        command.setHeightDataAfter(after);
+
+        // then only the three changed tiles are kept
+        assertEquals((32 * 32 + 32 * 6 + 6 * 6) * 2 * 4L, command.getMemorySize());
+
+        final float[] heights = after.clone();
+        command.writeTiles(heights, resolution, true);
+        assertArrayEquals(before, heights, 0f);
+        command.writeTiles(heights, resolution, false);
+        assertArrayEquals(after, heights, 0f);
+    }
+
+    @Test
+    public void terrainPaintCommandRestoresPixelTiles() {
+        // given an RGBA pixmap with partial tiles at the edges
+        final int width = 100;
+        final int height = 40;
+        final byte[] before = new byte[width * height * 4];
+        new Random(width).nextBytes(before);
+        final byte[] after = before.clone();
+        after[(3 * width + 3) * 4] ^= 1;
+        after[(39 * width + 99) * 4 + 3] ^= 1;
+
+        TerrainPaintCommand command = new TerrainPaintCommand(null);
+        command.setBefore(mockPixmap(width, height, before));
+
+        // when
+        command.setAfter(mockPixmap(width, height, after));
+
+        // then only the two changed tiles are kept
+        assertEquals((32 * 32 + 4 * 8) * 4 * 2L, command.getMemorySize());
+
+        final ByteBuffer pixels = ByteBuffer.wrap(after.clone());
+        command.writeTiles(pixels, width, true);
+        assertArrayEquals(before, pixels.array());
+        assertEquals(0, pixels.position());
+        command.writeTiles(pixels, width, false);
+        assertArrayEquals(after, pixels.array());
+    }
+
+    private static TerrainComponent mockTerrainComponent(Terrain terrain) {
+        TerrainAsset asset = Mockito.mock(TerrainAsset.class);
+        Mockito.when(asset.getTerrain()).thenReturn(terrain);
+        TerrainComponent component = Mockito.mock(TerrainComponent.class);
+        Mockito.when(component.getTerrainAsset()).thenReturn(asset);
+        return component;
+    }
+
+    private static Pixmap mockPixmap(int width, int height, byte[] pixels) {
+        Pixmap pixmap = Mockito.mock(Pixmap.class);
+        Mockito.when(pixmap.getWidth()).thenReturn(width);
+        Mockito.when(pixmap.getHeight()).thenReturn(height);
+        Mockito.when(pixmap.getPixels()).thenReturn(ByteBuffer.wrap(pixels.clone()));
+        return pixmap;
+    }
+
+    private static class MemoryCommand implements MemoryAwareCommand, DisposableCommand {
+        private final String name;
+        private final List<String> undone;
+        boolean disposed = false;
+
+        MemoryCommand(String name, List<String> undone) {
+            this.name = name;
+            this.undone = undone;
+        }
+
+        @Override
+        public long getMemorySize() {
+            return 100L * MB;
+        }
+
+        @Override
+        public void execute() {
+        }
+
+        @Override
+        public void undo() {
+            undone.add(name);
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+    }
+
     private class MockCommand implements Command {
         @Override
         public void execute() {
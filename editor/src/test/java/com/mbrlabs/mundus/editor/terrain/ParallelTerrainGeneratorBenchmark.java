@@ -0,0 +1,91 @@
+package com.mbrlabs.mundus.editor.terrain;
+
+import com.mbrlabs.mundus.editor.terrain.noise.TerrainNoiseData;
+import com.mbrlabs.mundus.editor.terrain.noise.modifiers.ElevationModifier;
+import com.mbrlabs.mundus.editor.terrain.noise.modifiers.TerrainModifier;
+
+import java.util.ArrayList;
+
+/**
+ * Times the generation of a 16x16 chunk world with {@link TerrainGenerator} point by point and with
+ * {@link ParallelTerrainGenerator}. Not run with the tests, start it with the main method.
+ *
+ * @version October 18, 2026
+ */
+public class ParallelTerrainGeneratorBenchmark {
+
+    private static final int CHUNKS = 16;
+    private static final int RESOLUTION = 64;
+    private static final int WARMUP_RUNS = 2;
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        final ArrayList<TerrainModifier> modifiers = createModifiers();
+        final float[] heights = new float[RESOLUTION * RESOLUTION];
+
+        final TerrainGenerator scalarGenerator = new TerrainGenerator(modifiers);
+        final ParallelTerrainGenerator parallelGenerator = new ParallelTerrainGenerator(modifiers);
+
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            generateScalar(scalarGenerator, heights);
+            generateParallel(parallelGenerator, heights);
+        }
+
+        long scalarNanos = Long.MAX_VALUE;
+        long parallelNanos = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            generateScalar(scalarGenerator, heights);
+            scalarNanos = Math.min(scalarNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            generateParallel(parallelGenerator, heights);
+            parallelNanos = Math.min(parallelNanos, System.nanoTime() - start);
+        }
+
+        System.out.printf("%dx%d chunks of %dx%d vertices, %d cores%n", CHUNKS, CHUNKS, RESOLUTION, RESOLUTION,
+                Runtime.getRuntime().availableProcessors());
+        System.out.printf("TerrainGenerator:         %8.1f ms%n", scalarNanos / 1e6);
+        System.out.printf("ParallelTerrainGenerator: %8.1f ms (%.2fx)%n", parallelNanos / 1e6,
+                (double) scalarNanos / parallelNanos);
+    }
+
+    private static void generateScalar(TerrainGenerator generator, float[] heights) {
+        final TerrainNoiseData noiseData = new TerrainNoiseData();
+        for (int chunkZ = 0; chunkZ < CHUNKS; chunkZ++) {
+            for (int chunkX = 0; chunkX < CHUNKS; chunkX++) {
+                final float originX = chunkX * (RESOLUTION - 1);
+                final float originZ = chunkZ * (RESOLUTION - 1);
+                for (int z = 0; z < RESOLUTION; z++) {
+                    for (int x = 0; x < RESOLUTION; x++) {
+                        noiseData.elevation = 0;
+                        generator.getNoise(noiseData, x + originX, z + originZ);
+                        heights[z * RESOLUTION + x] = noiseData.elevation;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void generateParallel(ParallelTerrainGenerator generator, float[] heights) {
+        for (int chunkZ = 0; chunkZ < CHUNKS; chunkZ++) {
+            for (int chunkX = 0; chunkX < CHUNKS; chunkX++) {
+                generator.generate(heights, RESOLUTION, chunkX * (RESOLUTION - 1), chunkZ * (RESOLUTION - 1), 0f, 1f);
+            }
+        }
+    }
+
+    private static ArrayList<TerrainModifier> createModifiers() {
+        final ElevationModifier base = new ElevationModifier();
+        final ElevationModifier detail = new ElevationModifier();
+        detail.setFrequency(0.05f);
+        detail.setDomainWarpFrequency(0.02f);
+        detail.setDomainWarpAmps(20f);
+        detail.setNoiseAdditive(true);
+
+        final ArrayList<TerrainModifier> modifiers = new ArrayList<>();
+        modifiers.add(base);
+        modifiers.add(detail);
+        return modifiers;
+    }
+}
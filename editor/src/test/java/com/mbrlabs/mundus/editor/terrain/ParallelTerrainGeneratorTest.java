@@ -0,0 +1,182 @@
+package com.mbrlabs.mundus.editor.terrain;
+
+import com.mbrlabs.mundus.editor.terrain.filter.BlurFilter;
+import com.mbrlabs.mundus.editor.terrain.filter.ThermalErosionFilter;
+import com.mbrlabs.mundus.editor.terrain.noise.TerrainNoiseData;
+import com.mbrlabs.mundus.editor.terrain.noise.modifiers.ElevationModifier;
+import com.mbrlabs.mundus.editor.terrain.noise.modifiers.FilterModifier;
+import com.mbrlabs.mundus.editor.terrain.noise.modifiers.TerrainModifier;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * @version October 18, 2026
+ */
+public class ParallelTerrainGeneratorTest {
+
+    @Test
+    public void generateMatchesScalarGeneration() {
+        // given
+        final ArrayList<TerrainModifier> modifiers = createModifiers();
+        final int resolution = 37;
+        final float originX = 2 * (resolution - 1);
+        final float originZ = 3 * (resolution - 1);
+        final float[] heights = new float[resolution * resolution];
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        // when
+        try {
+            new ParallelTerrainGenerator(modifiers, pool, 3)
+                    .generate(heights, resolution, originX, originZ, -10f, 50f);
+        } finally {
+            pool.shutdown();
+        }
+
+        // then
+        final float[] expected = generateScalar(modifiers, resolution, originX, originZ, -10f, 50f);
+        Assert.assertArrayEquals(expected, heights, 0f);
+    }
+
+    @Test
+    public void batchModifyMatchesScalarModify() {
+        // given
+        final ElevationModifier modifier = new ElevationModifier();
+        final float[] xs = {0f, 12.5f, -40f, 300f};
+        final float[] ys = {0f, 7f, 99.25f, -3f};
+        final float[] elevations = {0f, 0.5f, -0.25f, 0f};
+        final float[] expected = new float[elevations.length];
+
+        final TerrainNoiseData noiseData = new TerrainNoiseData();
+        for (int i = 0; i < elevations.length; i++) {
+            noiseData.elevation = elevations[i];
+            modifier.modify(noiseData, xs[i], ys[i]);
+            expected[i] = noiseData.elevation;
+        }
+
+        // when
+        modifier.modify(xs, ys, elevations);
+
+        // then
+        Assert.assertArrayEquals(expected, elevations, 0f);
+    }
+
+    @Test
+    public void modifyGridMatchesScalarModify() {
+        // given
+        final ElevationModifier modifier = new ElevationModifier();
+        modifier.setDomainWarpAmps(30f);
+        modifier.setDomainWarpFrequency(0.03f);
+        final int width = 7;
+        final int height = 5;
+        final float[] elevations = new float[2 + width * height];
+        final float[] expected = new float[elevations.length];
+
+        final TerrainNoiseData noiseData = new TerrainNoiseData();
+        for (int j = 0; j < height; j++) {
+            for (int i = 0; i < width; i++) {
+                noiseData.elevation = 0;
+                modifier.modify(noiseData, -20f + i, 45f + j);
+                expected[2 + j * width + i] = noiseData.elevation;
+            }
+        }
+
+        // when
+        modifier.modifyGrid(elevations, 2, -20f, 45f, width, height);
+
+        // then
+        Assert.assertArrayEquals(expected, elevations, 0f);
+    }
+
+    @Test
+    public void generateElevationsMatchesScalarGeneration() {
+        // given
+        final ArrayList<TerrainModifier> modifiers = createModifiers();
+        final TerrainGenerator terrainGenerator = new TerrainGenerator(modifiers);
+        final TerrainNoiseData noiseData = new TerrainNoiseData();
+        final int width = 40;
+        final int height = 25;
+        final float[] expected = new float[width * height];
+        for (int z = 0; z < height; z++) {
+            for (int x = 0; x < width; x++) {
+                noiseData.elevation = 0;
+                terrainGenerator.getNoise(noiseData, x, z);
+                expected[z * width + x] = noiseData.elevation;
+            }
+        }
+        final float[] elevations = new float[width * height];
+
+        // when
+        new ParallelTerrainGenerator(modifiers).generateElevations(elevations, width, height, 0, 0);
+
+        // then
+        Assert.assertArrayEquals(expected, elevations, 0f);
+    }
+
+    @Test
+    public void filteredChunksShareTheirEdges() {
+        // given
+        final ArrayList<TerrainModifier> modifiers = createModifiers();
+        modifiers.add(new FilterModifier("Smoothing", new BlurFilter(2, 2)));
+        modifiers.add(new FilterModifier("Thermal Erosion", new ThermalErosionFilter(0.01f, 0.5f, 5)));
+        final int resolution = 33;
+        final float[] left = new float[resolution * resolution];
+        final float[] right = new float[resolution * resolution];
+        final ParallelTerrainGenerator generator = new ParallelTerrainGenerator(modifiers);
+
+        // when
+        generator.generate(left, resolution, 0, 0, 0f, 100f);
+        generator.generate(right, resolution, resolution - 1, 0, 0f, 100f);
+
+        // then
+        for (int z = 0; z < resolution; z++) {
+            Assert.assertEquals(left[z * resolution + resolution - 1], right[z * resolution], 1e-3f);
+        }
+    }
+
+    @Test
+    public void generateWithoutModifiersFillsMinHeight() {
+        // given
+        final float[] heights = new float[16 * 16];
+
+        // when
+        new ParallelTerrainGenerator(new ArrayList<TerrainModifier>()).generate(heights, 16, 0, 0, 5f, 20f);
+
+        // then
+        for (float height : heights) {
+            Assert.assertEquals(5f, height, 0f);
+        }
+    }
+
+    private ArrayList<TerrainModifier> createModifiers() {
+        final ElevationModifier base = new ElevationModifier();
+        final ElevationModifier detail = new ElevationModifier();
+        detail.setFrequency(0.05f);
+        detail.setDomainWarpFrequency(0.02f);
+        detail.setDomainWarpAmps(20f);
+        detail.setNoiseAdditive(true);
+
+        final ArrayList<TerrainModifier> modifiers = new ArrayList<>();
+        modifiers.add(base);
+        modifiers.add(detail);
+        return modifiers;
+    }
+
+    private float[] generateScalar(ArrayList<TerrainModifier> modifiers, int resolution, float originX,
+                                   float originZ, float minHeight, float maxHeight) {
+        final TerrainGenerator terrainGenerator = new TerrainGenerator(modifiers);
+        final TerrainNoiseData noiseData = new TerrainNoiseData();
+        final float[] heights = new float[resolution * resolution];
+
+        for (int z = 0; z < resolution; z++) {
+            for (int x = 0; x < resolution; x++) {
+                noiseData.elevation = 0;
+                terrainGenerator.getNoise(noiseData, x + originX, z + originZ);
+                heights[z * resolution + x] = minHeight + (maxHeight - minHeight) * noiseData.elevation;
+            }
+        }
+        return heights;
+    }
+}
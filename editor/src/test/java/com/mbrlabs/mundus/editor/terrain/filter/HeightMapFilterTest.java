@@ -0,0 +1,132 @@
+package com.mbrlabs.mundus.editor.terrain.filter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * @version October 18, 2026
+ */
+public class HeightMapFilterTest {
+
+    @Test
+    public void blurMatchesNaiveBoxAverage() {
+        // given
+        final int width = 53;
+        final int height = 80;
+        final float[] heights = createHeights(width, height);
+        final float[] expected = naiveBlur(heights, width, height, 4, 0.7f);
+        final BlurFilter filter = new BlurFilter(4, 1);
+        filter.setStrength(0.7f);
+
+        // when
+        filter.apply(heights, width, height);
+
+        // then
+        Assert.assertArrayEquals(expected, heights, 1e-4f);
+    }
+
+    @Test
+    public void blurPassesMatchRepeatedBlurs() {
+        // given
+        final int width = 20;
+        final int height = 70;
+        final float[] heights = createHeights(width, height);
+        float[] expected = heights.clone();
+        for (int i = 0; i < 3; i++) {
+            expected = naiveBlur(expected, width, height, 1, 1f);
+        }
+
+        // when
+        new BlurFilter(1, 3).apply(heights, width, height);
+
+        // then
+        Assert.assertArrayEquals(expected, heights, 1e-4f);
+    }
+
+    @Test
+    public void thermalErosionPreservesMaterialAndFlattensSlopes() {
+        // given
+        final int width = 40;
+        final int height = 90;
+        final float[] heights = createHeights(width, height);
+        final double totalBefore = sum(heights);
+        final float slopeBefore = maxSlope(heights, width, height);
+
+        // when
+        new ThermalErosionFilter(1f, 1f, 25).apply(heights, width, height);
+
+        // then
+        Assert.assertEquals(totalBefore, sum(heights), 1e-2);
+        Assert.assertTrue(maxSlope(heights, width, height) < slopeBefore);
+    }
+
+    @Test
+    public void hydraulicErosionPreservesMaterial() {
+        // given
+        final int width = 64;
+        final int height = 48;
+        final float[] heights = createHeights(width, height);
+        final double totalBefore = sum(heights);
+        final float[] original = heights.clone();
+
+        // when
+        new HydraulicErosionFilter(20, 0.1f, 0.05f, 0.3f, 0.05f).apply(heights, width, height);
+
+        // then
+        Assert.assertEquals(totalBefore, sum(heights), 1e-2);
+        Assert.assertFalse(Arrays.equals(original, heights));
+    }
+
+    private float[] createHeights(int width, int height) {
+        final Random random = new Random(42);
+        final float[] heights = new float[width * height];
+        for (int i = 0; i < heights.length; i++) {
+            heights[i] = random.nextFloat() * 20f;
+        }
+        return heights;
+    }
+
+    private float[] naiveBlur(float[] heights, int width, int height, int radius, float strength) {
+        final float[] result = new float[width * height];
+        for (int z = 0; z < height; z++) {
+            for (int x = 0; x < width; x++) {
+                float total = 0;
+                int count = 0;
+                for (int dz = -radius; dz <= radius; dz++) {
+                    for (int dx = -radius; dx <= radius; dx++) {
+                        final int nx = x + dx;
+                        final int nz = z + dz;
+                        if (nx >= 0 && nx < width && nz >= 0 && nz < height) {
+                            total += heights[nz * width + nx];
+                            count++;
+                        }
+                    }
+                }
+                final float original = heights[z * width + x];
+                result[z * width + x] = original + (total / count - original) * strength;
+            }
+        }
+        return result;
+    }
+
+    private double sum(float[] heights) {
+        double sum = 0;
+        for (float height : heights) {
+            sum += height;
+        }
+        return sum;
+    }
+
+    private float maxSlope(float[] heights, int width, int height) {
+        float max = 0;
+        for (int z = 0; z < height; z++) {
+            for (int x = 0; x < width - 1; x++) {
+                max = Math.max(max, Math.abs(heights[z * width + x + 1] - heights[z * width + x]));
+            }
+        }
+        return max;
+    }
+}
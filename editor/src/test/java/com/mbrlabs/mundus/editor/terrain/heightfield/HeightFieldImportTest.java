@@ -0,0 +1,197 @@
+package com.mbrlabs.mundus.editor.terrain.heightfield;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+
+/**
+ * @version October 18, 2026
+ */
+public class HeightFieldImportTest {
+
+    @Test
+    public void decodes16BitGreyscalePng() throws IOException {
+        // given
+        final int width = 37;
+        final int height = 23;
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_USHORT_GRAY);
+        final WritableRaster raster = image.getRaster();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                raster.setSample(x, y, 0, sample16(x, y));
+            }
+        }
+        final File png = writePng(image);
+
+        // when
+        final HeightFieldSource source = PngHeightFieldDecoder.decode(png);
+
+        // then
+        try {
+            Assert.assertEquals(width, source.getWidth());
+            Assert.assertEquals(height, source.getHeight());
+            final float[] tile = new float[5 * 4];
+            source.read(30, 17, 5, 4, tile);
+            for (int y = 0; y < 4; y++) {
+                for (int x = 0; x < 5; x++) {
+                    Assert.assertEquals(sample16(30 + x, 17 + y) / 65535f, tile[y * 5 + x], 1e-6f);
+                }
+            }
+        } finally {
+            source.dispose();
+            png.delete();
+        }
+    }
+
+    @Test
+    public void decodesRedChannelOfRgbPng() throws IOException {
+        // given
+        final int width = 64;
+        final int height = 48;
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, sample8(x, y) << 16 | (x * 3 & 0xFF) << 8 | (y & 0xFF));
+            }
+        }
+        final File png = writePng(image);
+
+        // when
+        final HeightFieldSource source = PngHeightFieldDecoder.decode(png);
+
+        // then
+        try {
+            final float[] heights = new float[width * height];
+            source.read(0, 0, width, height, heights);
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    Assert.assertEquals(sample8(x, y) / 255f, heights[y * width + x], 1e-6f);
+                }
+            }
+        } finally {
+            source.dispose();
+            png.delete();
+        }
+    }
+
+    @Test
+    public void disposeDeletesDecodedFile() throws IOException {
+        // given
+        final File png = writePng(new BufferedImage(8, 8, BufferedImage.TYPE_BYTE_GRAY));
+        final File tempDir = new File(System.getProperty("java.io.tmpdir"));
+        final int before = countDecodedFiles(tempDir);
+
+        // when
+        final HeightFieldSource source = PngHeightFieldDecoder.decode(png);
+        source.dispose();
+        png.delete();
+
+        // then
+        Assert.assertTrue(countDecodedFiles(tempDir) <= before);
+    }
+
+    @Test
+    public void rejectsPalettePng() throws IOException {
+        // given
+        final File png = writePng(new BufferedImage(8, 8, BufferedImage.TYPE_BYTE_INDEXED));
+
+        // when
+        final boolean decodable = PngHeightFieldDecoder.canDecode(png);
+        png.delete();
+
+        // then
+        Assert.assertFalse(decodable);
+    }
+
+    @Test
+    public void readsSquareR16() throws IOException {
+        // given
+        final int side = 16;
+        final ByteBuffer data = ByteBuffer.allocate(side * side * 2).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < side * side; i++) {
+            data.putShort((short) (i * 250));
+        }
+        final File raw = writeRaw(data, ".r16");
+
+        // when
+        final HeightFieldSource source = RawHeightFieldSource.open(raw, RawHeightFieldSource.Format.R16);
+
+        // then
+        try {
+            Assert.assertEquals(side, source.getWidth());
+            Assert.assertEquals(side, source.getHeight());
+            final float[] tile = new float[3 * 2];
+            source.read(13, 14, 3, 2, tile);
+            for (int y = 0; y < 2; y++) {
+                for (int x = 0; x < 3; x++) {
+                    final int index = (14 + y) * side + 13 + x;
+                    Assert.assertEquals((index * 250 & 0xFFFF) / 65535f, tile[y * 3 + x], 1e-6f);
+                }
+            }
+        } finally {
+            source.dispose();
+            raw.delete();
+        }
+    }
+
+    @Test
+    public void normalizesR32ByHeightRange() throws IOException {
+        // given
+        final int side = 4;
+        final ByteBuffer data = ByteBuffer.allocate(side * side * 4).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < side * side; i++) {
+            data.putFloat(-100f + i * 20f);
+        }
+        final File raw = writeRaw(data, ".r32");
+
+        // when
+        final HeightFieldSource source = RawHeightFieldSource.open(raw, RawHeightFieldSource.Format.R32);
+
+        // then
+        try {
+            final float[] heights = new float[side * side];
+            source.read(0, 0, side, side, heights);
+            for (int i = 0; i < side * side; i++) {
+                Assert.assertEquals(i / 15f, heights[i], 1e-6f);
+            }
+        } finally {
+            source.dispose();
+            raw.delete();
+        }
+    }
+
+    private static int sample16(int x, int y) {
+        return (x * 1723 + y * 2917) % 65536;
+    }
+
+    private static int sample8(int x, int y) {
+        return (x * 7 + y * 13) % 256;
+    }
+
+    private static File writePng(BufferedImage image) throws IOException {
+        final File file = File.createTempFile("heightfield-test", ".png");
+        file.deleteOnExit();
+        ImageIO.write(image, "png", file);
+        return file;
+    }
+
+    private static File writeRaw(ByteBuffer data, String suffix) throws IOException {
+        final File file = File.createTempFile("heightfield-test", suffix);
+        file.deleteOnExit();
+        Files.write(file.toPath(), data.array());
+        return file;
+    }
+
+    private static int countDecodedFiles(File directory) {
+        final File[] files = directory.listFiles((dir, name) -> name.startsWith("mundus-heightfield"));
+        return files == null ? 0 : files.length;
+    }
+}
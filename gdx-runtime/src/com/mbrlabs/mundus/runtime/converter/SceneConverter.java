@@ -70,6 +70,9 @@ public class SceneConverter {
 
         scene.settings.waterHeight = dto.getWaterHeight();
         scene.settings.useFrustumCulling = dto.isUseFrustumCulling();
+        scene.settings.useSpatialIndex = dto.isUseSpatialIndex();
+        scene.settings.useInstancing = dto.isUseInstancing();
+        scene.settings.terrainLodPixelError = dto.getTerrainLodPixelError();
         scene.settings.enableWaterReflections = dto.isEnableWaterReflections();
         scene.settings.enableWaterRefractions = dto.isEnableWaterRefractions();
 